@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-only character view on the encoded bytes of a file. The bytes are read into the heap and
+ * decoded once to build an index of page offsets; afterwards pages are decoded on demand and only a
+ * few of them are kept in memory. The bytes are a copy, the file can be changed or deleted while
+ * they are referenced.
+ * <p>
+ * Only charsets that can restart decoding at any character boundary are supported.
+ * </p>
+ */
+final class EncodedFileContent implements CharSequence {
+
+	/**
+	 * System property holding the file size in bytes from which on text files are decoded lazily. A
+	 * negative value disables lazy decoding. Defaults to 64 MB.
+	 */
+	static final String THRESHOLD_PROPERTY= "org.eclipse.core.filebuffers.lazyDecodingThreshold"; //$NON-NLS-1$
+
+	private static final long DEFAULT_THRESHOLD= 64 * 1024 * 1024;
+
+	/** The number of characters decoded per page */
+	private static final int PAGE_SIZE= 32 * 1024;
+
+	/** The maximum number of decoded pages kept in memory */
+	private static final int CACHED_PAGES= 16;
+
+	private final Charset fCharset;
+	/** The encoded file content */
+	private final ByteBuffer fBytes;
+	/** The character offset of each page plus the total length as last element */
+	private final int[] fPageCharOffsets;
+	/** The byte offset of each page plus the end of the content as last element */
+	private final int[] fPageByteOffsets;
+	private final int fLength;
+
+	/** The most recently used decoded pages */
+	private final Map<Integer, char[]> fPages= new LinkedHashMap<>(CACHED_PAGES, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, char[]> eldest) {
+			return size() > CACHED_PAGES;
+		}
+	};
+	private int fLastPageIndex= -1;
+	private char[] fLastPage;
+
+	private EncodedFileContent(ByteBuffer bytes, Charset charset) {
+		fBytes= bytes;
+		fCharset= charset;
+
+		int[] charOffsets= new int[16];
+		int[] byteOffsets= new int[16];
+		int pages= 0;
+		int length= 0;
+		CharsetDecoder decoder= newDecoder();
+		ByteBuffer in= bytes.duplicate();
+		CharBuffer out= CharBuffer.allocate(PAGE_SIZE);
+		CoderResult result;
+		do {
+			if (pages + 1 == charOffsets.length) {
+				charOffsets= Arrays.copyOf(charOffsets, pages * 2);
+				byteOffsets= Arrays.copyOf(byteOffsets, pages * 2);
+			}
+			charOffsets[pages]= length;
+			byteOffsets[pages]= in.position();
+			out.clear();
+			result= decoder.decode(in, out, true);
+			if (result.isUnderflow())
+				result= decoder.flush(out);
+			if (out.position() > Integer.MAX_VALUE - length)
+				throw new IllegalStateException();
+			length+= out.position();
+			pages++;
+		} while (result.isOverflow());
+		charOffsets[pages]= length;
+		byteOffsets[pages]= in.position();
+
+		fPageCharOffsets= Arrays.copyOf(charOffsets, pages + 1);
+		fPageByteOffsets= Arrays.copyOf(byteOffsets, pages + 1);
+		fLength= length;
+	}
+
+	/**
+	 * Reads the encoded content of the given file if it is large enough and its encoding is
+	 * supported.
+	 *
+	 * @param file the file
+	 * @param encoding the encoding of the file
+	 * @param skipUTF8BOM whether the file starts with a UTF-8 BOM that must be skipped
+	 * @return the content of the file or <code>null</code> if the file is not decoded lazily
+	 * @throws IOException if the file cannot be read
+	 */
+	static EncodedFileContent read(File file, String encoding, boolean skipUTF8BOM) throws IOException {
+		long threshold= Long.getLong(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD).longValue();
+		if (threshold < 0 || file == null)
+			return null;
+		long size= file.length();
+		if (size < threshold || size > Integer.MAX_VALUE)
+			return null;
+
+		Charset charset;
+		try {
+			charset= Charset.forName(encoding);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		if (!canRestartDecoding(charset))
+			return null;
+
+		ByteBuffer bytes;
+		try (FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long channelSize= channel.size();
+			if (channelSize > Integer.MAX_VALUE)
+				return null;
+			bytes= ByteBuffer.allocate((int) channelSize);
+			while (bytes.hasRemaining()) {
+				// the file may shrink while it is read
+				if (channel.read(bytes) < 0)
+					break;
+			}
+			bytes.flip();
+		}
+		if (skipUTF8BOM)
+			bytes.position(Math.min(3, bytes.limit()));
+		try {
+			return new EncodedFileContent(bytes.slice(), charset);
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Tells whether decoding can start at any character boundary of the encoded text, i.e. the
+	 * decoder keeps no state across characters.
+	 *
+	 * @param charset the charset
+	 * @return <code>true</code> if decoding can be restarted at character boundaries
+	 */
+	private static boolean canRestartDecoding(Charset charset) {
+		if (charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.UTF_16BE) || charset.equals(StandardCharsets.UTF_16LE))
+			return true;
+		if (!charset.canEncode())
+			return false;
+		return charset.newEncoder().maxBytesPerChar() == 1 && charset.newDecoder().maxCharsPerByte() == 1;
+	}
+
+	private CharsetDecoder newDecoder() {
+		return fCharset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	@Override
+	public int length() {
+		return fLength;
+	}
+
+	@Override
+	public synchronized char charAt(int index) {
+		if (index < 0 || index >= fLength)
+			throw new IndexOutOfBoundsException(index);
+
+		int page= findPage(index);
+		return getPage(page)[index - fPageCharOffsets[page]];
+	}
+
+	@Override
+	public synchronized CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > fLength || start > end)
+			throw new IndexOutOfBoundsException();
+
+		char[] chars= new char[end - start];
+		int offset= start;
+		while (offset < end) {
+			int page= findPage(offset);
+			int pageStart= fPageCharOffsets[page];
+			int count= Math.min(end, fPageCharOffsets[page + 1]) - offset;
+			System.arraycopy(getPage(page), offset - pageStart, chars, offset - start, count);
+			offset+= count;
+		}
+		return new String(chars);
+	}
+
+	@Override
+	public String toString() {
+		return subSequence(0, fLength).toString();
+	}
+
+	private int findPage(int index) {
+		if (fLastPage != null && index >= fPageCharOffsets[fLastPageIndex] && index < fPageCharOffsets[fLastPageIndex + 1])
+			return fLastPageIndex;
+		int page= Arrays.binarySearch(fPageCharOffsets, index);
+		// skip empty pages which share their offset with the next page
+		if (page >= 0) {
+			while (page + 1 < fPageCharOffsets.length && fPageCharOffsets[page + 1] == index)
+				page++;
+			return page;
+		}
+		return -page - 2;
+	}
+
+	private char[] getPage(int page) {
+		if (page == fLastPageIndex && fLastPage != null)
+			return fLastPage;
+
+		char[] chars= fPages.get(Integer.valueOf(page));
+		if (chars == null) {
+			ByteBuffer in= fBytes.duplicate();
+			in.limit(fPageByteOffsets[page + 1]);
+			in.position(fPageByteOffsets[page]);
+			CharBuffer out= CharBuffer.allocate(fPageCharOffsets[page + 1] - fPageCharOffsets[page]);
+			CharsetDecoder decoder= newDecoder();
+			decoder.decode(in, out, true);
+			decoder.flush(out);
+			chars= out.array();
+			fPages.put(Integer.valueOf(page), chars);
+		}
+		fLastPageIndex= page;
+		fLastPage= chars;
+		return chars;
+	}
+}
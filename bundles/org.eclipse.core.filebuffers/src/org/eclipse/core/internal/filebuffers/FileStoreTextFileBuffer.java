@@ -15,6 +15,7 @@
 package org.eclipse.core.internal.filebuffers;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -305,15 +306,44 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 	@Override
 	protected void initializeFileBufferContent(IProgressMonitor monitor) throws CoreException {
 		try {
-			fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
 			cacheEncodingState();
-			setDocumentContent(fDocument, fFileStore, fEncoding, fHasBOM, monitor);
+			fDocument= createLazilyDecodedDocument();
+			if (fDocument == null) {
+				fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
+				setDocumentContent(fDocument, fFileStore, fEncoding, fHasBOM, monitor);
+			}
 		} catch (CoreException x) {
 			fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
 			fStatus= x.getStatus();
 		}
 	}
 
+	/**
+	 * Creates the document for the file from its encoded content if the file is local and large
+	 * enough. The content is decoded lazily, only modified regions are kept decoded in memory.
+	 *
+	 * @return the document or <code>null</code> if the content is not decoded lazily
+	 * @throws CoreException if the local file cannot be determined
+	 */
+	private IDocument createLazilyDecodedDocument() throws CoreException {
+		File file= fFileStore.toLocalFile(EFS.NONE, null);
+		if (file == null)
+			return null;
+
+		String encoding= fEncoding != null ? fEncoding : fManager.getDefaultEncoding();
+		boolean skipUTF8BOM= fHasBOM && StandardCharsets.UTF_8.name().equals(encoding);
+		EncodedFileContent content;
+		try {
+			content= EncodedFileContent.read(file, encoding, skipUTF8BOM);
+		} catch (IOException x) {
+			// read the file through the file store instead
+			content= null;
+		}
+		if (content == null)
+			return null;
+		return fManager.createDocument(getLocationOrName(), LocationKind.LOCATION, content);
+	}
+
 	@Override
 	protected void connected() {
 		super.connected();
@@ -14,6 +14,7 @@
 package org.eclipse.core.internal.filebuffers;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
@@ -37,6 +38,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResourceStatus;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -232,8 +234,11 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 			}
 
 
-			fDocument= getManager().createEmptyDocument(fFile);
-			setDocumentContent(fDocument, fFile, fEncoding);
+			fDocument= createLazilyDecodedDocument();
+			if (fDocument == null) {
+				fDocument= getManager().createEmptyDocument(fFile);
+				setDocumentContent(fDocument, fFile, fEncoding);
+			}
 
 		} catch (CoreException x) {
 			fDocument= getManager().createEmptyDocument(fFile);
@@ -466,6 +471,32 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 		fManager.fireDirtyStateChanged(this, fCanBeSaved);
 	}
 
+	/**
+	 * Creates the document for the file from its encoded content if the file is large enough. The
+	 * content is decoded lazily, only modified regions are kept decoded in memory.
+	 *
+	 * @return the document or <code>null</code> if the content is not decoded lazily
+	 */
+	private IDocument createLazilyDecodedDocument() {
+		IPath location= fFile.getLocation();
+		if (location == null)
+			return null;
+
+		String encoding= fEncoding != null ? fEncoding : fManager.getDefaultEncoding();
+		boolean skipUTF8BOM= fBOM != null && StandardCharsets.UTF_8.name().equals(encoding);
+		File file= location.toFile();
+		EncodedFileContent content;
+		try {
+			content= EncodedFileContent.read(file, encoding, skipUTF8BOM);
+		} catch (IOException x) {
+			// read the file through the workspace instead
+			content= null;
+		}
+		if (content == null)
+			return null;
+		return getManager().createDocument(fFile, content, fFile.getModificationStamp());
+	}
+
 	/**
 	 * Initializes the given document with the given stream using the given encoding.
 	 *
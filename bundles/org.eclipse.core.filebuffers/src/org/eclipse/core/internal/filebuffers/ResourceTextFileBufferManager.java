@@ -132,6 +132,40 @@ public class ResourceTextFileBufferManager extends TextFileBufferManager {
 		else
 			document= new SynchronizableDocument();
 
+		return setUpDocument(document, file);
+	}
+
+	/**
+	 * Creates a new document with the given content for the given file. Unlike
+	 * {@link #createEmptyDocument(IFile)} followed by {@link IDocument#set(String)}, this does not
+	 * copy the content into the document unless a document factory is registered for the file.
+	 *
+	 * @param file the file used to create the new document
+	 * @param content the initial content, must not change while it is referenced by the document
+	 * @param modificationStamp the modification stamp of the new document
+	 * @return the new document
+	 */
+	IDocument createDocument(final IFile file, CharSequence content, long modificationStamp) {
+		IDocument document= createEmptyDocumentFromFactory(file);
+		if (document instanceof IDocumentExtension4 ext4)
+			ext4.set(content.toString(), modificationStamp);
+		else if (document != null)
+			document.set(content.toString());
+		else
+			document= new SynchronizableDocument(content, modificationStamp);
+
+		return setUpDocument(document, file);
+	}
+
+	/**
+	 * Sets the initial line delimiter of the given document and runs the document setup
+	 * participants for the given file.
+	 *
+	 * @param document the document to set up
+	 * @param file the file of the document
+	 * @return the given document
+	 */
+	private IDocument setUpDocument(final IDocument document, final IFile file) {
 		// Set the initial line delimiter
 		if (document instanceof IDocumentExtension4) {
 			String initalLineDelimiter= getLineDelimiterPreference(file);
@@ -20,9 +20,11 @@ import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.DocumentRewriteSession;
 import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.ILineTracker;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.PieceTreeTextStore;
 import org.eclipse.jface.text.Position;
 
 
@@ -36,8 +38,72 @@ import org.eclipse.jface.text.Position;
  */
 public class SynchronizableDocument extends Document implements ISynchronizable {
 
+	/**
+	 * The number of characters passed to the line tracker at once when initializing the line
+	 * information for lazily provided content.
+	 */
+	private static final int LINE_TRACKER_CHUNK_SIZE= 64 * 1024;
+
 	private Object fLockObject;
 
+	/**
+	 * Creates a new empty document.
+	 */
+	public SynchronizableDocument() {
+		super();
+	}
+
+	/**
+	 * Creates a new document with the given initial content. The content is not copied; only the
+	 * modified regions are kept in memory.
+	 *
+	 * @param content the initial content, must not change while it is referenced by this document
+	 */
+	SynchronizableDocument(CharSequence content) {
+		super();
+		setInitialContent(content);
+	}
+
+	/**
+	 * Creates a new document with the given initial content and modification stamp. The content is
+	 * not copied; only the modified regions are kept in memory.
+	 *
+	 * @param content the initial content, must not change while it is referenced by this document
+	 * @param modificationStamp the modification stamp of the document
+	 */
+	SynchronizableDocument(CharSequence content, long modificationStamp) {
+		super();
+		// sets the stamp on the still empty document
+		set("", modificationStamp); //$NON-NLS-1$
+		setInitialContent(content);
+	}
+
+	/**
+	 * Sets the content of this new document without copying it and builds the line information in
+	 * chunks.
+	 *
+	 * @param content the initial content
+	 */
+	private void setInitialContent(CharSequence content) {
+		setTextStore(new PieceTreeTextStore(content));
+		ILineTracker tracker= getTracker();
+		int length= content.length();
+		try {
+			int offset= 0;
+			while (offset < length) {
+				int end= Math.min(length, offset + LINE_TRACKER_CHUNK_SIZE);
+				// the line tracker does not join a "\r" and a "\n" that are appended separately
+				if (end < length && content.charAt(end - 1) == '\r')
+					end++;
+				tracker.replace(offset, 0, content.subSequence(offset, end).toString());
+				offset= end;
+			}
+		} catch (BadLocationException e) {
+			// cannot happen, the chunks are appended
+			throw new IllegalStateException(e);
+		}
+	}
+
 	@Override
 	public synchronized void setLockObject(Object lockObject) {
 		fLockObject= lockObject;
@@ -440,6 +440,40 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		else
 			document= new SynchronizableDocument();
 
+		return setUpDocument(document, location, locationKind);
+	}
+
+	/**
+	 * Creates a new document with the given content for the given location. Unlike
+	 * {@link #createEmptyDocument(IPath, LocationKind)} followed by {@link IDocument#set(String)},
+	 * this does not copy the content into the document unless a document factory is registered for
+	 * the location.
+	 *
+	 * @param location the location used to create the new document
+	 * @param locationKind the kind of the given location
+	 * @param content the initial content, must not change while it is referenced by the document
+	 * @return the new document
+	 */
+	IDocument createDocument(final IPath location, final LocationKind locationKind, CharSequence content) {
+		IDocument document= createDocumentFromFactory(location, locationKind);
+		if (document != null)
+			document.set(content.toString());
+		else
+			document= new SynchronizableDocument(content);
+
+		return setUpDocument(document, location, locationKind);
+	}
+
+	/**
+	 * Sets the initial line delimiter of the given document and runs the document setup
+	 * participants for the given location.
+	 *
+	 * @param document the document to set up
+	 * @param location the location of the document
+	 * @param locationKind the kind of the given location
+	 * @return the given document
+	 */
+	private IDocument setUpDocument(final IDocument document, final IPath location, final LocationKind locationKind) {
 		if (location == null)
 			return document;
 
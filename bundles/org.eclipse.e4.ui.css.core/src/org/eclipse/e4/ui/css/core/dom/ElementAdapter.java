@@ -47,6 +47,8 @@ public abstract class ElementAdapter implements Element, CSSStylableElement {
 
 	private List<String> staticPseudoInstances;
 
+	private Object appliedStyleState;
+
 	public ElementAdapter(Object nativeWidget, CSSEngine engine) {
 		this.nativeWidget = nativeWidget;
 		this.engine = engine;
@@ -401,6 +403,35 @@ public abstract class ElementAdapter implements Element, CSSStylableElement {
 		return staticPseudoInstances.contains(s);
 	}
 
+	/**
+	 * Returns what the engine recorded when it last applied styles to this
+	 * element. The engine uses it to skip elements whose matched rules did not
+	 * change when it restyles a subtree.
+	 *
+	 * @return the recorded state or <code>null</code>
+	 */
+	public Object getAppliedStyleState() {
+		return appliedStyleState;
+	}
+
+	/**
+	 * Records what the engine applied to this element, <code>null</code>
+	 * marks the element as dirty, so it is styled again on the next pass.
+	 */
+	public void setAppliedStyleState(Object appliedStyleState) {
+		this.appliedStyleState = appliedStyleState;
+	}
+
+	/**
+	 * Returns whether styling this element changes its parent, as CSS
+	 * properties of tab items do for their folder. Such an element is styled
+	 * again whenever its parent is, even if its own matched rules did not
+	 * change.
+	 */
+	public boolean isStyledWithParent() {
+		return false;
+	}
+
 	@Override
 	public void initialize() {
 
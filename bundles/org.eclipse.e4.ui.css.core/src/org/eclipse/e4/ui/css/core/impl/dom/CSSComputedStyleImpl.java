@@ -44,6 +44,22 @@ public class CSSComputedStyleImpl extends CSSStyleDeclarationImpl implements CSS
 		}
 	}
 
+	/**
+	 * @return whether the other computed style merges the same style
+	 *         declarations in the same order
+	 */
+	public boolean hasSameStyleRules(CSSComputedStyleImpl other) {
+		if (styleRules.size() != other.styleRules.size()) {
+			return false;
+		}
+		for (int i = 0; i < styleRules.size(); i++) {
+			if (styleRules.get(i).style != other.styleRules.get(i).style) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private void addCSSPropertyList(CSSPropertyList properties) {
 		int length = properties.getLength();
 		for (int i = 0; i < length; i++) {
@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSIdConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.CombinatorCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.ElementSelector;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SiblingSelector;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.CSSStyleRule;
+
+/**
+ * Index of the selectors of a list of style rules, bucketed by the id, the
+ * class or the element name required by the rightmost compound selector, the
+ * way browsers do it. Selectors without such a requirement end up in the
+ * universal bucket.
+ * <p>
+ * Besides the candidate lookup, the index knows which element properties the
+ * selectors can depend on and computes a signature from them which is used as
+ * key of the computed style cache in {@link ViewCSSImpl}.
+ * </p>
+ */
+final class RuleIndex {
+
+	/**
+	 * A selector of a style rule. The order is the position of the selector in
+	 * the combined rule list, the cascade depends on it.
+	 */
+	record Entry(int order, ExtendedSelector selector, CSSStyleDeclaration style) {
+	}
+
+	private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::order);
+
+	private final Map<String, List<Entry>> byName = new HashMap<>();
+	private final Map<String, List<Entry>> byId = new HashMap<>();
+	private final Map<String, List<Entry>> byClass = new HashMap<>();
+	private final List<Entry> universal = new ArrayList<>();
+
+	/** Pseudo classes and attributes used anywhere in the selectors */
+	private final Set<String> pseudoClasses = new LinkedHashSet<>();
+	private final Set<String> attributes = new LinkedHashSet<>();
+	/** Whether any selector looks at the ancestors of an element */
+	private boolean hierarchical;
+	/** Whether the matching result is determined by the signature */
+	private boolean signatureComplete = true;
+
+	RuleIndex(List<CSSRule> rules) {
+		int order = 0;
+		for (CSSRule rule : rules) {
+			if (rule.getType() != CSSRule.STYLE_RULE || (!(rule instanceof ExtendedCSSRule))) {
+				continue; // we only handle the CSSRule.STYLE_RULE and ExtendedCSSRule case
+			}
+			CSSStyleDeclaration style = ((CSSStyleRule) rule).getStyle();
+			SelectorList selectorList = ((ExtendedCSSRule) rule).getSelectorList();
+			int l = selectorList.getLength();
+			for (int j = 0; j < l; j++) {
+				Selector selector = selectorList.item(j);
+				if (selector instanceof ExtendedSelector extendedSelector) {
+					add(new Entry(order++, extendedSelector, style));
+				}
+			}
+		}
+	}
+
+	private void add(Entry entry) {
+		scan(entry.selector());
+
+		Selector subject = entry.selector();
+		while (true) {
+			if (subject instanceof DescendantSelector descendant) {
+				subject = descendant.getSimpleSelector();
+			} else if (subject instanceof SiblingSelector sibling) {
+				subject = sibling.getSiblingSelector();
+			} else {
+				break;
+			}
+		}
+		if (subject instanceof ConditionalSelector conditional) {
+			String id = findCondition(conditional.getCondition(), CSSIdConditionImpl.class);
+			if (id != null) {
+				addEntry(byId, id, entry);
+				return;
+			}
+			String className = findCondition(conditional.getCondition(), CSSClassConditionImpl.class);
+			if (className != null) {
+				addEntry(byClass, className, entry);
+				return;
+			}
+			subject = conditional.getSimpleSelector();
+		}
+		if (subject instanceof ElementSelector element && subject.getSelectorType() == Selector.SAC_ELEMENT_NODE_SELECTOR
+				&& element.getLocalName() != null) {
+			addEntry(byName, element.getLocalName(), entry);
+			return;
+		}
+		universal.add(entry);
+	}
+
+	/**
+	 * Returns the value of a condition of the given type which is required for
+	 * the whole condition to match.
+	 */
+	private static String findCondition(Condition condition, Class<? extends AttributeCondition> type) {
+		if (type.isInstance(condition)) {
+			return ((AttributeCondition) condition).getValue();
+		}
+		if (condition.getConditionType() == Condition.SAC_AND_CONDITION
+				&& condition instanceof CombinatorCondition combinator) {
+			String value = findCondition(combinator.getFirstCondition(), type);
+			return value != null ? value : findCondition(combinator.getSecondCondition(), type);
+		}
+		return null;
+	}
+
+	/**
+	 * Collects the pseudo classes and attributes the selector depends on.
+	 * Selectors this index does not know about make the signature incomplete.
+	 */
+	private void scan(Selector selector) {
+		if (selector instanceof ConditionalSelector conditional) {
+			scan(conditional.getSimpleSelector());
+			scan(conditional.getCondition());
+		} else if (selector instanceof DescendantSelector descendant) {
+			hierarchical = true;
+			scan(descendant.getAncestorSelector());
+			scan(descendant.getSimpleSelector());
+		} else if (!(selector instanceof ElementSelector)) {
+			// sibling selectors look at the siblings, which are not part of the signature
+			signatureComplete = false;
+		}
+	}
+
+	private void scan(Condition condition) {
+		switch (condition.getConditionType()) {
+		case Condition.SAC_AND_CONDITION, Condition.SAC_OR_CONDITION -> {
+			CombinatorCondition combinator = (CombinatorCondition) condition;
+			scan(combinator.getFirstCondition());
+			scan(combinator.getSecondCondition());
+		}
+		case Condition.SAC_ID_CONDITION -> {
+			// part of every signature
+		}
+		case Condition.SAC_PSEUDO_CLASS_CONDITION -> pseudoClasses.add(((AttributeCondition) condition).getValue());
+		case Condition.SAC_ATTRIBUTE_CONDITION, Condition.SAC_ONE_OF_ATTRIBUTE_CONDITION,
+				Condition.SAC_BEGIN_HYPHEN_ATTRIBUTE_CONDITION -> {
+			// class conditions are attribute conditions too, the classes are part of every signature
+			if (!(condition instanceof CSSClassConditionImpl)) {
+				attributes.add(((AttributeCondition) condition).getLocalName());
+			}
+		}
+		case Condition.SAC_LANG_CONDITION -> attributes.add("lang"); //$NON-NLS-1$
+		default -> signatureComplete = false;
+		}
+	}
+
+	private static void addEntry(Map<String, List<Entry>> map, String key, Entry entry) {
+		map.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+	}
+
+	/**
+	 * Returns the selectors which can match the given element, in the order of
+	 * the rule list. Selectors which are not returned cannot match.
+	 */
+	List<Entry> getCandidates(Element elt) {
+		List<Entry> candidates = new ArrayList<>(universal);
+		int buckets = universal.isEmpty() ? 0 : 1;
+		buckets += addCandidates(candidates, byName, getName(elt));
+		buckets += addCandidates(candidates, byId, getId(elt));
+		String classes = getClasses(elt);
+		if (classes != null && !byClass.isEmpty()) {
+			int start = -1;
+			for (int i = 0; i <= classes.length(); i++) {
+				boolean separator = i == classes.length() || Character.isSpaceChar(classes.charAt(i));
+				if (!separator && start < 0) {
+					start = i;
+				} else if (separator && start >= 0) {
+					buckets += addCandidates(candidates, byClass, classes.substring(start, i));
+					start = -1;
+				}
+			}
+		}
+		if (buckets > 1) {
+			candidates.sort(ORDER);
+			// an element can list a class twice
+			Entry previous = null;
+			for (int i = candidates.size() - 1; i >= 0; i--) {
+				Entry entry = candidates.get(i);
+				if (entry == previous) {
+					candidates.remove(i);
+				}
+				previous = entry;
+			}
+		}
+		return candidates;
+	}
+
+	private static int addCandidates(List<Entry> candidates, Map<String, List<Entry>> map, String key) {
+		List<Entry> entries = key == null ? null : map.get(key);
+		if (entries == null) {
+			return 0;
+		}
+		candidates.addAll(entries);
+		return 1;
+	}
+
+	/**
+	 * Returns a key for the element and pseudo element which is equal for two
+	 * elements if and only if all selectors of this index match both or none
+	 * of them, or <code>null</code> if such a key cannot be computed.
+	 */
+	List<Object> getSignature(Element elt, String pseudoElt) {
+		if (!signatureComplete || !(elt instanceof CSSStylableElement)) {
+			return null;
+		}
+		List<Object> signature = new ArrayList<>();
+		signature.add(pseudoElt);
+		addSignature(signature, elt);
+		if (hierarchical) {
+			for (Node n = elt.getParentNode(); n != null; n = n.getParentNode()) {
+				if (n.getNodeType() == Node.ELEMENT_NODE && n instanceof Element parent) {
+					addSignature(signature, parent);
+				} else {
+					signature.add(Short.valueOf(n.getNodeType()));
+				}
+			}
+		}
+		return signature;
+	}
+
+	private void addSignature(List<Object> signature, Element elt) {
+		signature.add(getName(elt));
+		signature.add(elt.getNamespaceURI());
+		signature.add(getId(elt));
+		signature.add(getClasses(elt));
+		if (!pseudoClasses.isEmpty()) {
+			BitSet states = new BitSet();
+			if (elt instanceof CSSStylableElement stylable) {
+				int bit = 0;
+				for (String pseudoClass : pseudoClasses) {
+					states.set(bit++, stylable.isPseudoInstanceOf(pseudoClass));
+					states.set(bit++, stylable.isStaticPseudoInstance(pseudoClass));
+				}
+			}
+			signature.add(states);
+		}
+		for (String attribute : attributes) {
+			signature.add(elt.hasAttribute(attribute) ? elt.getAttribute(attribute) : null);
+		}
+	}
+
+	private static String getName(Element elt) {
+		// same as CSSElementSelectorImpl
+		return elt.getPrefix() == null ? elt.getNodeName() : elt.getLocalName();
+	}
+
+	private static String getId(Element elt) {
+		return elt instanceof CSSStylableElement stylable ? stylable.getCSSId() : elt.getAttribute("id"); //$NON-NLS-1$
+	}
+
+	private static String getClasses(Element elt) {
+		return elt instanceof CSSStylableElement stylable ? stylable.getCSSClass() : elt.getAttribute("class"); //$NON-NLS-1$
+	}
+}
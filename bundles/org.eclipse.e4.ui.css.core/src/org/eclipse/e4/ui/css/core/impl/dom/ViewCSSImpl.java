@@ -18,9 +18,12 @@
 package org.eclipse.e4.ui.css.core.impl.dom;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
 import org.eclipse.e4.ui.css.core.dom.ExtendedDocumentCSS;
+import org.eclipse.e4.ui.css.core.impl.dom.RuleIndex.Entry;
 import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
 import org.w3c.css.sac.Selector;
 import org.w3c.css.sac.SelectorList;
@@ -40,13 +43,33 @@ import org.w3c.dom.views.DocumentView;
 
 /**
  * {@link ViewCSS} implementation used to compute {@link CSSStyleDeclaration}.
+ * <p>
+ * When the stylesheets notify about changes, the rules are indexed by the id,
+ * class and element name their selectors require (see {@link RuleIndex}) and
+ * the computed styles are cached by element signature and pseudo element. The
+ * signature contains the name, id, classes, pseudo class states and selected
+ * attributes of the element and, if a selector needs it, of its ancestors, so a
+ * class change simply leads to a different cache entry. Both are dropped when a
+ * stylesheet is added or removed. Without change notifications the rules are
+ * matched one by one, as building an index for each element would cost more.
+ * </p>
  */
 public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChangeListener {
 
+	/** Upper bound of the computed style cache, it is cleared when reached */
+	private static final int MAX_CACHED_STYLES = 4096;
+
+	/** Marks elements without a computed style in the cache */
+	private static final CSSStyleDeclaration NO_STYLE = new CSSStyleDeclarationImpl(null);
+
 	protected DocumentCSS documentCSS;
 	private boolean ruleCachingEnabled;
 	/** Cached state of combined CSS rules for the current stylesheets */
 	private List<CSSRule> currentCombinedRules;
+	/** Index of {@link #currentCombinedRules} */
+	private RuleIndex currentRuleIndex;
+	/** Computed styles of {@link #currentRuleIndex} keyed by element signature */
+	private final Map<List<Object>, CSSStyleDeclaration> computedStyleCache = new HashMap<>();
 
 	/**
 	 * Creates a new ViewCSS.
@@ -73,7 +96,25 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	 */
 	@Override
 	public CSSStyleDeclaration getComputedStyle(Element elt, String pseudoElt) {
-		return getComputedStyle(getCombinedRules(), elt, pseudoElt);
+		if (!ruleCachingEnabled) {
+			return getComputedStyle(getCombinedRules(), elt, pseudoElt);
+		}
+		if (currentRuleIndex == null) {
+			currentRuleIndex = new RuleIndex(getCombinedRules());
+		}
+		List<Object> signature = currentRuleIndex.getSignature(elt, pseudoElt);
+		if (signature == null) {
+			return getComputedStyle(currentRuleIndex, elt, pseudoElt);
+		}
+		CSSStyleDeclaration style = computedStyleCache.get(signature);
+		if (style == null) {
+			style = getComputedStyle(currentRuleIndex, elt, pseudoElt);
+			if (computedStyleCache.size() >= MAX_CACHED_STYLES) {
+				computedStyleCache.clear();
+			}
+			computedStyleCache.put(signature, style == null ? NO_STYLE : style);
+		}
+		return style == NO_STYLE ? null : style;
 	}
 
 	/**
@@ -112,20 +153,8 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	}
 
 	private CSSStyleDeclaration getComputedStyle(List<CSSRule> ruleList, Element elt, String pseudoElt) {
-		Node parent = elt.getParentNode();
-
-		Node[] hierarchy = null;
-		if (parent != null) {
-			List<Node> hierarchyList = new ArrayList<>();
-			for (Node n = parent; n != null; n = n.getParentNode()) {
-				hierarchyList.add(n);
-			}
-			hierarchy = hierarchyList.toArray(new Node[hierarchyList.size()]);
-		}
-
-		List<StyleWrapper> styleDeclarations = null;
-		StyleWrapper firstStyleDeclaration = null;
-		int position = 0;
+		Node[] hierarchy = getHierarchy(elt);
+		List<StyleWrapper> styleDeclarations = new ArrayList<>();
 		for (CSSRule rule : ruleList) {
 			if (rule.getType() != CSSRule.STYLE_RULE || (!(rule instanceof ExtendedCSSRule)) ) {
 				continue; // we only handle the CSSRule.STYLE_RULE and ExtendedCSSRule case
@@ -137,45 +166,65 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 			int l = selectorList.getLength();
 			for (int j = 0; j < l; j++) {
 				Selector selector = selectorList.item(j);
-				if (selector instanceof ExtendedSelector) {
-					ExtendedSelector extendedSelector = (ExtendedSelector) selector;
-					if (extendedSelector.match(elt, hierarchy, 0, pseudoElt)) {
-						CSSStyleDeclaration style = styleRule.getStyle();
-						int specificity = extendedSelector.getSpecificity();
-						StyleWrapper wrapper = new StyleWrapper(style, specificity, position++);
-						if (firstStyleDeclaration == null) {
-							firstStyleDeclaration = wrapper;
-						} else {
-							// There is several Style Declarations which
-							// match the current element
-							if (styleDeclarations == null) {
-								styleDeclarations = new ArrayList<>();
-								styleDeclarations.add(firstStyleDeclaration);
-							}
-							styleDeclarations.add(wrapper);
-						}
-					}
+				if (selector instanceof ExtendedSelector extendedSelector
+						&& extendedSelector.match(elt, hierarchy, 0, pseudoElt)) {
+					styleDeclarations.add(new StyleWrapper(styleRule.getStyle(), extendedSelector.getSpecificity(),
+							styleDeclarations.size()));
 				}
 			}
 		}
-		if (styleDeclarations != null) {
-			// There is several Style Declarations which match the element, merge the CSS
-			// Property value.
-			return new CSSComputedStyleImpl(styleDeclarations);
+		return merge(styleDeclarations);
+	}
+
+	private CSSStyleDeclaration getComputedStyle(RuleIndex ruleIndex, Element elt, String pseudoElt) {
+		Node[] hierarchy = getHierarchy(elt);
+		List<StyleWrapper> styleDeclarations = new ArrayList<>();
+		// the candidates are in rule order, so the positions are the same as
+		// when matching all rules
+		for (Entry entry : ruleIndex.getCandidates(elt)) {
+			if (entry.selector().match(elt, hierarchy, 0, pseudoElt)) {
+				styleDeclarations.add(new StyleWrapper(entry.style(), entry.selector().getSpecificity(),
+						styleDeclarations.size()));
+			}
+		}
+		return merge(styleDeclarations);
+	}
+
+	private static Node[] getHierarchy(Element elt) {
+		Node parent = elt.getParentNode();
+		if (parent == null) {
+			return null;
 		}
-		if (firstStyleDeclaration != null) {
-			return firstStyleDeclaration.style;
+		List<Node> hierarchyList = new ArrayList<>();
+		for (Node n = parent; n != null; n = n.getParentNode()) {
+			hierarchyList.add(n);
 		}
-		return null;
+		return hierarchyList.toArray(new Node[hierarchyList.size()]);
+	}
+
+	private static CSSStyleDeclaration merge(List<StyleWrapper> styleDeclarations) {
+		if (styleDeclarations.isEmpty()) {
+			return null;
+		}
+		if (styleDeclarations.size() == 1) {
+			return styleDeclarations.get(0).style;
+		}
+		// There is several Style Declarations which match the element, merge the CSS
+		// Property value.
+		return new CSSComputedStyleImpl(styleDeclarations);
 	}
 
 	@Override
 	public void styleSheetAdded(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
+		computedStyleCache.clear();
 	}
 
 	@Override
 	public void styleSheetRemoved(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
+		computedStyleCache.clear();
 	}
 }
@@ -40,6 +40,7 @@ import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
 import org.eclipse.e4.ui.css.core.dom.ChildVisibilityAwareElement;
+import org.eclipse.e4.ui.css.core.dom.ElementAdapter;
 import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
 import org.eclipse.e4.ui.css.core.dom.ExtendedDocumentCSS;
 import org.eclipse.e4.ui.css.core.dom.IElementProvider;
@@ -128,6 +129,12 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	protected boolean computeDefaultStyle = false;
 
+	/**
+	 * Incremented when all elements have to be styled again, even if their
+	 * matched rules did not change.
+	 */
+	private int styleGeneration;
+
 	private Map<Object, CSSElementContext> elementsContext = null;
 
 	/**
@@ -371,6 +378,20 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	@Override
 	public void applyStyles(Object element, boolean applyStylesToChildNodes, boolean computeDefaultStyle) {
+		applyStyles(element, applyStylesToChildNodes, computeDefaultStyle, false, false);
+	}
+
+	/**
+	 * Applies the styles to the element and, if requested, to its children.
+	 * Children whose matched rules, static pseudo instance states and inline
+	 * style are the same as when they were styled last are not styled again,
+	 * unless they are {@link ElementAdapter#isStyledWithParent() styled with
+	 * their parent} and the parent was styled. Their children are visited
+	 * anyway, because their rules can depend on the classes of their
+	 * ancestors.
+	 */
+	private void applyStyles(Object element, boolean applyStylesToChildNodes, boolean computeDefaultStyle,
+			boolean skipUnchanged, boolean parentStyled) {
 		Element elt = getElement(element);
 		if (elt == null || !isVisible(elt)) {
 			return;
@@ -380,51 +401,71 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		 * Compute new Style to apply.
 		 */
 		CSSStyleDeclaration style = viewCSS.getComputedStyle(elt, null);
-		if (computeDefaultStyle) {
-			if (applyStylesToChildNodes) {
-				this.computeDefaultStyle = computeDefaultStyle;
+		String[] pseudoInstances = getStaticPseudoInstances(elt);
+		CSSStyleDeclaration[] pseudoStyles = null;
+		if (pseudoInstances != null && pseudoInstances.length > 0) {
+			pseudoStyles = new CSSStyleDeclaration[pseudoInstances.length];
+			for (int i = 0; i < pseudoInstances.length; i++) {
+				pseudoStyles[i] = viewCSS.getComputedStyle(elt, pseudoInstances[i]);
 			}
-			/*
-			 * Apply default style.
-			 */
-			applyDefaultStyleDeclaration(element, false, style, null);
 		}
 
-		/*
-		 * Manage static pseudo instances
-		 */
-		String[] pseudoInstances = getStaticPseudoInstances(elt);
-		if (pseudoInstances != null && pseudoInstances.length > 0) {
-			// there are static pseudo instances defined, loop for it and
-			// apply styles for each pseudo instance.
-			for (String pseudoInstance : pseudoInstances) {
-				CSSStyleDeclaration styleWithPseudoInstance = viewCSS.getComputedStyle(elt, pseudoInstance);
-				if (computeDefaultStyle) {
-					/*
-					 * Apply default style for the current pseudo instance.
-					 */
-					applyDefaultStyleDeclaration(element, false, styleWithPseudoInstance, pseudoInstance);
+		boolean unchanged = false;
+		if (elt instanceof ElementAdapter adapter) {
+			AppliedStyleState state = new AppliedStyleState(styleGeneration, elt, style, pseudoInstances,
+					pseudoStyles);
+			unchanged = skipUnchanged && !(parentStyled && adapter.isStyledWithParent())
+					&& state.isSame(adapter.getAppliedStyleState());
+			adapter.setAppliedStyleState(state);
+		}
+
+		if (!unchanged) {
+			if (computeDefaultStyle) {
+				if (applyStylesToChildNodes) {
+					this.computeDefaultStyle = computeDefaultStyle;
 				}
+				/*
+				 * Apply default style.
+				 */
+				applyDefaultStyleDeclaration(element, false, style, null);
+			}
 
-				if (styleWithPseudoInstance != null) {
-					CSSRule parentRule = styleWithPseudoInstance.getParentRule();
-					if (parentRule instanceof ExtendedCSSRule) {
-						applyConditionalPseudoStyle((ExtendedCSSRule) parentRule, pseudoInstance, element, styleWithPseudoInstance);
-					} else {
-						applyStyleDeclaration(elt, styleWithPseudoInstance, pseudoInstance);
+			/*
+			 * Manage static pseudo instances
+			 */
+			if (pseudoStyles != null) {
+				// there are static pseudo instances defined, loop for it and
+				// apply styles for each pseudo instance.
+				for (int i = 0; i < pseudoInstances.length; i++) {
+					String pseudoInstance = pseudoInstances[i];
+					CSSStyleDeclaration styleWithPseudoInstance = pseudoStyles[i];
+					if (computeDefaultStyle) {
+						/*
+						 * Apply default style for the current pseudo instance.
+						 */
+						applyDefaultStyleDeclaration(element, false, styleWithPseudoInstance, pseudoInstance);
+					}
+
+					if (styleWithPseudoInstance != null) {
+						CSSRule parentRule = styleWithPseudoInstance.getParentRule();
+						if (parentRule instanceof ExtendedCSSRule) {
+							applyConditionalPseudoStyle((ExtendedCSSRule) parentRule, pseudoInstance, element, styleWithPseudoInstance);
+						} else {
+							applyStyleDeclaration(elt, styleWithPseudoInstance, pseudoInstance);
+						}
 					}
 				}
 			}
-		}
 
-		if (style != null) {
-			applyStyleDeclaration(elt, style, null);
-		}
-		try {
-			// Apply inline style
-			applyInlineStyle(elt, false);
-		} catch (Exception e) {
-			handleExceptions(e);
+			if (style != null) {
+				applyStyleDeclaration(elt, style, null);
+			}
+			try {
+				// Apply inline style
+				applyInlineStyle(elt, false);
+			} catch (Exception e) {
+				handleExceptions(e);
+			}
 		}
 
 		if (applyStylesToChildNodes) {
@@ -434,13 +475,24 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 			NodeList nodes = elt instanceof ChildVisibilityAwareElement
 					? ((ChildVisibilityAwareElement) elt).getVisibleChildNodes()
 							: elt.getChildNodes();
-					if (nodes != null) {
-						processNodeList(nodes, this::applyStyles, applyStylesToChildNodes);
-						onStylesAppliedToChildNodes(elt, nodes);
-					}
+			if (nodes != null) {
+				boolean styled = !unchanged;
+				processNodeList(nodes, (child, applyToChildren) -> applyStyles(child, applyToChildren,
+						this.computeDefaultStyle, true, styled), applyStylesToChildNodes);
+				onStylesAppliedToChildNodes(elt, nodes);
+			}
 		}
 	}
 
+	/**
+	 * Makes the next styling pass apply the styles to all elements again, even
+	 * to those whose matched rules did not change. To be called when the
+	 * resources the styles refer to may have changed.
+	 */
+	protected void invalidateAppliedStyles() {
+		styleGeneration++;
+	}
+
 	/**
 	 * Allow the CSS engine to skip particular elements if they are not visible.
 	 * Elements need to be restyled when they become visible.
@@ -1012,6 +1064,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 	public void reset() {
 		// Remove All Style Sheets
 		documentCSS.removeAllStyleSheets();
+		invalidateAppliedStyles();
 	}
 
 	/*--------------- Resources Registry -----------------*/
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.engine;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.impl.dom.CSSComputedStyleImpl;
+import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSStyleDeclaration;
+
+/**
+ * What {@link AbstractCSSEngine} applied to an element: the computed styles
+ * for the element and its static pseudo instances, the states of these pseudo
+ * instances and the inline style. If the state computed for the next styling
+ * of the element is the same, the element does not need to be styled again.
+ */
+final class AppliedStyleState {
+
+	private final int generation;
+	private final CSSStyleDeclaration style;
+	private final String[] pseudoInstances;
+	private final CSSStyleDeclaration[] pseudoStyles;
+	private final BitSet pseudoStates = new BitSet();
+	private final String inlineStyle;
+
+	AppliedStyleState(int generation, Element element, CSSStyleDeclaration style, String[] pseudoInstances,
+			CSSStyleDeclaration[] pseudoStyles) {
+		this.generation = generation;
+		this.style = style;
+		this.pseudoInstances = pseudoInstances;
+		this.pseudoStyles = pseudoStyles;
+		if (element instanceof CSSStylableElement stylableElement) {
+			if (pseudoInstances != null) {
+				for (int i = 0; i < pseudoInstances.length; i++) {
+					pseudoStates.set(i, stylableElement.isPseudoInstanceOf(pseudoInstances[i]));
+				}
+			}
+			inlineStyle = stylableElement.getCSSStyle();
+		} else {
+			inlineStyle = null;
+		}
+	}
+
+	/**
+	 * @return whether applying this state has the same effect as applying the
+	 *         given, previously applied state
+	 */
+	boolean isSame(Object previous) {
+		if (!(previous instanceof AppliedStyleState other) || generation != other.generation
+				|| !Objects.equals(inlineStyle, other.inlineStyle) || !pseudoStates.equals(other.pseudoStates)
+				|| !Arrays.equals(pseudoInstances, other.pseudoInstances) || !isSame(style, other.style)
+				|| isInheriting(style)) {
+			return false;
+		}
+		if (pseudoStyles != null) {
+			for (int i = 0; i < pseudoStyles.length; i++) {
+				if (!isSame(pseudoStyles[i], other.pseudoStyles[i]) || isInheriting(pseudoStyles[i])) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSame(CSSStyleDeclaration style, CSSStyleDeclaration other) {
+		if (style == other) {
+			return true;
+		}
+		return style instanceof CSSComputedStyleImpl computed && other instanceof CSSComputedStyleImpl otherComputed
+				&& computed.hasSameStyleRules(otherComputed);
+	}
+
+	/**
+	 * Inherited values depend on the parent, which may have been styled
+	 * differently.
+	 */
+	private static boolean isInheriting(CSSStyleDeclaration style) {
+		if (style == null) {
+			return false;
+		}
+		for (int i = 0; i < style.getLength(); i++) {
+			if ("inherit".equals(style.getPropertyValue(style.item(i)))) { //$NON-NLS-1$
+				return true;
+			}
+		}
+		return false;
+	}
+}
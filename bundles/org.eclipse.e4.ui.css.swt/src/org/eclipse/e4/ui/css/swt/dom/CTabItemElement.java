@@ -36,6 +36,12 @@ public class CTabItemElement extends ItemElement {
 		super.addStaticPseudoInstance("selected");
 	}
 
+	@Override
+	public boolean isStyledWithParent() {
+		// the colors of the items are set on the folder
+		return true;
+	}
+
 	@Override
 	public Node getParentNode() {
 		CTabItem item = getItem();
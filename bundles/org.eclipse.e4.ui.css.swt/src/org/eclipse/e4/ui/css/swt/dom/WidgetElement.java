@@ -329,6 +329,7 @@ public class WidgetElement extends ElementAdapter implements NodeList {
 	 */
 
 	public void reset() {
+		setAppliedStyleState(null);
 	}
 
 	@Override
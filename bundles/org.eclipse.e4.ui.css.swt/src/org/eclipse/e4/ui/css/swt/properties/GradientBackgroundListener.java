@@ -89,12 +89,25 @@ public class GradientBackgroundListener implements Listener {
 			handler = new GradientBackgroundListener(control, grad);
 			handlers.put(control, handler);
 			handler.handleEvent(null);
-		} else {
+		} else if (!isSameGradient(handler.grad, grad) || handler.gradientImage == null
+				|| control.getBackgroundImage() != handler.gradientImage) {
 			handler.grad = grad;
 			handler.handleEvent(null);
 		}
 	}
 
+	/** Avoids recreating the gradient image when a restyle sets the same gradient */
+	private static boolean isSameGradient(Gradient grad1, Gradient grad2) {
+		if (grad1 == grad2) {
+			return true;
+		}
+		if (grad1 == null || grad2 == null) {
+			return false;
+		}
+		return grad1.isLinear() == grad2.isLinear() && grad1.getVerticalGradient() == grad2.getVerticalGradient()
+				&& grad1.getRGBs().equals(grad2.getRGBs()) && grad1.getPercents().equals(grad2.getPercents());
+	}
+
 	public static void remove(Control control) {
 		GradientBackgroundListener handler = handlers.remove(control);
 		if (handler != null) {
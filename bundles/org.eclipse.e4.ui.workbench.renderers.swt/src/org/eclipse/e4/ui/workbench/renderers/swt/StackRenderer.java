@@ -44,6 +44,7 @@ import org.eclipse.e4.ui.di.UIEventTopic;
 import org.eclipse.e4.ui.di.UISynchronize;
 import org.eclipse.e4.ui.internal.workbench.OpaqueElementUtil;
 import org.eclipse.e4.ui.internal.workbench.PartStackUtil;
+import org.eclipse.e4.ui.internal.workbench.UIEventPublisher;
 import org.eclipse.e4.ui.internal.workbench.renderers.swt.BasicPartList;
 import org.eclipse.e4.ui.internal.workbench.renderers.swt.SWTRenderersMessages;
 import org.eclipse.e4.ui.internal.workbench.swt.AbstractPartRenderer;
@@ -394,6 +395,22 @@ public class StackRenderer extends LazyStackRenderer {
 	@Inject
 	@Optional
 	void subscribeTopicUILabelChanged(@UIEventTopic(UIEvents.UILabel.TOPIC_ALL) Event event) {
+		// label changes of a batch are applied once, see subscribeTopicModelBatch
+		if (UIEventPublisher.isInBatch(event)) {
+			return;
+		}
+		updateLabel(event);
+	}
+
+	@Inject
+	@Optional
+	void subscribeTopicModelBatch(@UIEventTopic(UIEventPublisher.TOPIC_BATCH) Event event) {
+		for (Event labelEvent : UIEventPublisher.getBatchEvents(event, UIEvents.UILabel.TOPIC_ALL)) {
+			updateLabel(labelEvent);
+		}
+	}
+
+	private void updateLabel(Event event) {
 		Object element = event.getProperty(UIEvents.EventTags.ELEMENT);
 		if (!(element instanceof MPart))
 			return;
@@ -27,6 +27,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -64,6 +65,7 @@ import org.eclipse.e4.ui.css.swt.theme.IThemeManager;
 import org.eclipse.e4.ui.di.Focus;
 import org.eclipse.e4.ui.di.PersistState;
 import org.eclipse.e4.ui.internal.workbench.E4Workbench;
+import org.eclipse.e4.ui.internal.workbench.UIEventPublisher;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
 import org.eclipse.e4.ui.model.application.MContribution;
@@ -130,6 +132,11 @@ public class PartRenderingEngine implements IPresentationEngine {
 
 	org.eclipse.swt.widgets.Listener keyListener;
 
+	/**
+	 * Windows that got a global placeholder during the current model batch.
+	 */
+	private final Set<MWindow> batchedPlaceholderWindows = new LinkedHashSet<>();
+
 	@Inject
 	@Optional
 	private void subscribeTopicToBeRendered(@EventTopic(UIEvents.UIElement.TOPIC_TOBERENDERED) Event event) {
@@ -327,7 +334,12 @@ public class PartRenderingEngine implements IPresentationEngine {
 				if (added instanceof MPlaceholder && (newLocation == EModelService.IN_SHARED_AREA
 						|| newLocation == EModelService.OUTSIDE_PERSPECTIVE)) {
 					MWindow topWin = modelService.getTopLevelWindowFor(added);
-					modelService.hideLocalPlaceholders(topWin, null);
+					if (UIEventPublisher.isInBatch(event)) {
+						// done once for all placeholders added in the batch
+						batchedPlaceholderWindows.add(topWin);
+					} else {
+						modelService.hideLocalPlaceholders(topWin, null);
+					}
 				}
 			}
 		} else if (UIEvents.isREMOVE(event)) {
@@ -361,6 +373,19 @@ public class PartRenderingEngine implements IPresentationEngine {
 		}
 	}
 
+	@Inject
+	@Optional
+	private void subscribeModelBatch(@EventTopic(UIEventPublisher.TOPIC_BATCH) Event event) {
+		if (batchedPlaceholderWindows.isEmpty()) {
+			return;
+		}
+		List<MWindow> windows = new ArrayList<>(batchedPlaceholderWindows);
+		batchedPlaceholderWindows.clear();
+		for (MWindow window : windows) {
+			modelService.hideLocalPlaceholders(window, null);
+		}
+	}
+
 	@Inject
 	@Optional
 	private void subscribeWindowsHandler(@EventTopic(UIEvents.Window.TOPIC_WINDOWS) Event event) {
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.EcoreUtil.Copier;
+import org.eclipse.emf.ecore.util.EcoreUtil.UsageCrossReferencer;
+
+/**
+ * Binary persistence of an {@link E4XMIResource}.
+ * <p>
+ * The model is written with EMF's {@link BinaryResourceImpl} format, which
+ * does not keep the XMI ids. They are written in front of it, in containment
+ * order:
+ * </p>
+ *
+ * <pre>
+ * int magic, int version, int count, count * (boolean present, [UTF id]), binary resource
+ * </pre>
+ * <p>
+ * {@link E4XMIResource} recognizes the format by its magic number when
+ * loading, so a model saved as XMI is read just as well and the other way
+ * round.
+ * </p>
+ */
+final class E4BinaryFormat {
+
+	/** "E4BM" */
+	private static final int MAGIC = 0x4534424D;
+	private static final int VERSION = 1;
+
+	private E4BinaryFormat() {
+	}
+
+	/**
+	 * Checks whether the stream starts with a binary model. The stream must
+	 * support {@link InputStream#mark(int)}, its position is not changed.
+	 */
+	static boolean isBinary(InputStream in) throws IOException {
+		in.mark(4);
+		try {
+			int magic = 0;
+			for (int i = 0; i < 4; i++) {
+				int b = in.read();
+				if (b < 0) {
+					return false;
+				}
+				magic = (magic << 8) | b;
+			}
+			return magic == MAGIC;
+		} finally {
+			in.reset();
+		}
+	}
+
+	/**
+	 * Writes the contents of the resource. Like {@link E4XMISave}, elements
+	 * that are not persisted are left out if
+	 * {@link E4XMIResource#OPTION_FILTER_PERSIST_STATE} is set; references to
+	 * them are dropped.
+	 */
+	static void save(E4XMIResource resource, OutputStream out, Map<?, ?> options) throws IOException {
+		boolean filter = options != null && Boolean.TRUE.equals(options.get(E4XMIResource.OPTION_FILTER_PERSIST_STATE));
+
+		// work on a copy, the binary resource has to own the objects it saves
+		Copier copier = new Copier();
+		Collection<EObject> copies = copier.copyAll(resource.getContents());
+		copier.copyReferences();
+		Map<EObject, EObject> originals = new HashMap<>();
+		for (Map.Entry<EObject, EObject> entry : copier.entrySet()) {
+			originals.put(entry.getValue(), entry.getKey());
+		}
+
+		Resource binary = new BinaryResourceImpl(resource.getURI());
+		binary.getContents().addAll(copies);
+		if (filter) {
+			removeFiltered(binary, originals);
+		}
+
+		List<String> ids = new ArrayList<>();
+		for (TreeIterator<EObject> it = binary.getAllContents(); it.hasNext();) {
+			EObject original = originals.get(it.next());
+			ids.add(original == null ? null : resource.getID(original));
+		}
+
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(ids.size());
+		for (String id : ids) {
+			data.writeBoolean(id != null);
+			if (id != null) {
+				data.writeUTF(id);
+			}
+		}
+		data.flush();
+		binary.save(out, null);
+	}
+
+	private static void removeFiltered(Resource binary, Map<EObject, EObject> originals) {
+		List<EObject> filtered = new ArrayList<>();
+		for (TreeIterator<EObject> it = binary.getAllContents(); it.hasNext();) {
+			EObject copy = it.next();
+			if (copy.eContainer() != null && E4XMISave.isFiltered(originals.get(copy))) {
+				filtered.add(copy);
+				it.prune();
+			}
+		}
+		if (filtered.isEmpty()) {
+			return;
+		}
+		List<EObject> removed = new ArrayList<>();
+		for (EObject root : filtered) {
+			removed.add(root);
+			root.eAllContents().forEachRemaining(removed::add);
+		}
+		for (Map.Entry<EObject, Collection<Setting>> usage : UsageCrossReferencer.findAll(removed, binary)
+				.entrySet()) {
+			for (Setting setting : usage.getValue()) {
+				if (setting.getEStructuralFeature().isChangeable()) {
+					EcoreUtil.remove(setting, usage.getKey());
+				}
+			}
+		}
+		for (EObject root : filtered) {
+			EcoreUtil.remove(root);
+		}
+	}
+
+	/**
+	 * Reads a model written by {@link #save} into the given, empty resource.
+	 */
+	static void load(E4XMIResource resource, InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != MAGIC) {
+			throw new IOException("Not a binary workbench model: " + resource.getURI()); //$NON-NLS-1$
+		}
+		int version = data.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported binary workbench model version " + version); //$NON-NLS-1$
+		}
+		String[] ids = new String[data.readInt()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = data.readBoolean() ? data.readUTF() : null;
+		}
+
+		// resolve the packages through the resource set of the target resource
+		Resource binary = new BinaryResourceImpl(resource.getURI());
+		ResourceSet resourceSet = resource.getResourceSet();
+		if (resourceSet != null) {
+			resourceSet.getResources().add(binary);
+		}
+		try {
+			binary.load(in, null);
+			resource.getContents().addAll(new ArrayList<>(binary.getContents()));
+		} finally {
+			if (resourceSet != null) {
+				resourceSet.getResources().remove(binary);
+			}
+		}
+
+		int i = 0;
+		for (TreeIterator<EObject> it = resource.getAllContents(); it.hasNext(); i++) {
+			EObject eObject = it.next();
+			if (i >= ids.length) {
+				throw new IOException("Corrupt binary workbench model: " + resource.getURI()); //$NON-NLS-1$
+			}
+			if (ids[i] != null) {
+				resource.setID(eObject, ids[i]);
+			}
+		}
+		if (i != ids.length) {
+			throw new IOException("Corrupt binary workbench model: " + resource.getURI()); //$NON-NLS-1$
+		}
+	}
+}
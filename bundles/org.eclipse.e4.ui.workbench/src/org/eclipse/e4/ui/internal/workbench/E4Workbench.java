@@ -80,6 +80,13 @@ public class E4Workbench implements IWorkbench {
 	public static final String FORCED_PERSPECTIVE_ID = "forcedPerspetiveId"; //$NON-NLS-1$
 
 	public static final String NO_SAVED_MODEL_FOUND = "NO_SAVED_MODEL_FOUND"; //$NON-NLS-1$
+	/**
+	 * The argument for whether the workbench state should be persisted in a
+	 * binary format instead of XMI <br>
+	 * <br>
+	 * Value is: <code>binaryPersistedState</code>
+	 */
+	public static final String BINARY_PERSISTED_STATE = "binaryPersistedState"; //$NON-NLS-1$
 	/**
 	 * The argument for the whether to forcefully show the location in the window title (set on the
 	 * command line)<br>
@@ -15,6 +15,10 @@
 
 package org.eclipse.e4.ui.internal.workbench;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -30,6 +34,12 @@ public class E4XMIResource extends XMIResourceImpl {
 
 	public static final String OPTION_FILTER_PERSIST_STATE = "E4_FILTER_PERSISTED_STATE"; //$NON-NLS-1$
 
+	/**
+	 * Save option to write the model in a compact binary format instead of
+	 * XMI. Models in either format are loaded regardless of this option.
+	 */
+	public static final String OPTION_BINARY_FORMAT = "E4_BINARY_FORMAT"; //$NON-NLS-1$
+
 	private Map<EObject, String> objectMap = new WeakHashMap<>();
 	private Set<String> knownIds = new HashSet<>();
 
@@ -111,4 +121,23 @@ public class E4XMIResource extends XMIResourceImpl {
 		}
 		return super.createXMLSave(options);
 	}
+
+	@Override
+	public void doSave(OutputStream outputStream, Map<?, ?> options) throws IOException {
+		if (options != null && Boolean.TRUE.equals(options.get(OPTION_BINARY_FORMAT))) {
+			E4BinaryFormat.save(this, outputStream, options);
+			return;
+		}
+		super.doSave(outputStream, options);
+	}
+
+	@Override
+	public void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException {
+		InputStream in = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+		if (E4BinaryFormat.isBinary(in)) {
+			E4BinaryFormat.load(this, in);
+			return;
+		}
+		super.doLoad(in, options);
+	}
 }
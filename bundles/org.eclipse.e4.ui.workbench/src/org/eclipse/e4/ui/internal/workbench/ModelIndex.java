@@ -0,0 +1,260 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.application.impl.ApplicationPackageImpl;
+import org.eclipse.e4.ui.model.application.ui.MUIElement;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
+import org.eclipse.e4.ui.model.application.ui.advanced.impl.AdvancedPackageImpl;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Index of the model elements seen by the {@link UIEventPublisher}, keyed by
+ * element id, tag and type.
+ * <p>
+ * Elements enter the index when the publisher is attached to them and leave it
+ * when it is detached, so the index covers exactly the containment trees the
+ * publisher adapts. Id, tag and placeholder reference changes are picked up
+ * from the publisher's notifications.
+ * </p>
+ * <p>
+ * The index does not know about search flags. {@link ModelServiceImpl} uses it
+ * to compute the set of elements a search has to pass through to reach a
+ * candidate (see {@link #getSearchScope(Collection)}) and prunes its regular
+ * walk to that set, so results and their order are unchanged.
+ * </p>
+ */
+public final class ModelIndex {
+
+	/**
+	 * Candidate sets larger than this are not worth a scope computation; the
+	 * caller should fall back to a full walk instead.
+	 */
+	static final int MAX_CANDIDATES = 1024;
+
+	private static final class Entry {
+		String id;
+		String[] tags;
+		MUIElement ref;
+	}
+
+	private final Map<MApplicationElement, Entry> entries = new HashMap<>();
+	private final Map<String, Set<MApplicationElement>> byId = new HashMap<>();
+	private final Map<String, Set<MApplicationElement>> byTag = new HashMap<>();
+	private final Map<EClass, Set<MApplicationElement>> byType = new HashMap<>();
+	private final Map<MUIElement, Set<MPlaceholder>> referrers = new HashMap<>();
+
+	/**
+	 * Adds the given element to the index. Called once for every element the
+	 * publisher gets attached to.
+	 */
+	void add(EObject object) {
+		if (!(object instanceof MApplicationElement element) || entries.containsKey(element)) {
+			return;
+		}
+		Entry entry = new Entry();
+		entries.put(element, entry);
+		addToSet(byType, object.eClass(), element);
+		indexAttributes(element, entry);
+	}
+
+	/**
+	 * Removes the given element from the index. Called once for every element
+	 * the publisher gets detached from.
+	 */
+	void remove(EObject object) {
+		if (!(object instanceof MApplicationElement element)) {
+			return;
+		}
+		Entry entry = entries.remove(element);
+		if (entry == null) {
+			return;
+		}
+		removeFromSet(byType, object.eClass(), element);
+		unindexAttributes(element, entry);
+	}
+
+	/**
+	 * Updates the index for a change of an element id, of the tags or of a
+	 * placeholder reference.
+	 */
+	void notifyChanged(Notification notification) {
+		if (notification.isTouch()) {
+			return;
+		}
+		Object feature = notification.getFeature();
+		if (feature != ApplicationPackageImpl.Literals.APPLICATION_ELEMENT__ELEMENT_ID
+				&& feature != ApplicationPackageImpl.Literals.APPLICATION_ELEMENT__TAGS
+				&& feature != AdvancedPackageImpl.Literals.PLACEHOLDER__REF) {
+			return;
+		}
+		if (notification.getNotifier() instanceof MApplicationElement element) {
+			Entry entry = entries.get(element);
+			if (entry != null) {
+				unindexAttributes(element, entry);
+				indexAttributes(element, entry);
+			}
+		}
+	}
+
+	/**
+	 * @return whether the element is part of a containment tree covered by
+	 *         this index
+	 */
+	public boolean isIndexed(Object element) {
+		return element instanceof MApplicationElement && entries.containsKey(element);
+	}
+
+	/**
+	 * Returns the smallest candidate set for the given criteria. Every element
+	 * of the index matching all criteria is contained in the result, but not
+	 * every element of the result necessarily matches.
+	 *
+	 * @param id
+	 *            the element id or <code>null</code>
+	 * @param clazz
+	 *            the element type or <code>null</code>
+	 * @param tags
+	 *            the tags or <code>null</code>
+	 * @return the candidates or <code>null</code> if the criteria do not
+	 *         narrow the search down
+	 */
+	public Collection<MApplicationElement> getCandidates(String id, Class<?> clazz, List<String> tags) {
+		Collection<MApplicationElement> best = null;
+		if (id != null) {
+			best = byId.getOrDefault(id, Collections.emptySet());
+		}
+		if (tags != null) {
+			for (String tag : tags) {
+				Set<MApplicationElement> tagged = byTag.getOrDefault(tag, Collections.emptySet());
+				if (best == null || tagged.size() < best.size()) {
+					best = tagged;
+				}
+			}
+		}
+		if (clazz != null && (best == null || best.size() > MAX_CANDIDATES)) {
+			Collection<MApplicationElement> typed = getTypeCandidates(clazz, best == null ? MAX_CANDIDATES : best.size());
+			if (typed != null) {
+				best = typed;
+			}
+		}
+		return best;
+	}
+
+	private Collection<MApplicationElement> getTypeCandidates(Class<?> clazz, int limit) {
+		Collection<MApplicationElement> result = new HashSet<>();
+		for (Map.Entry<EClass, Set<MApplicationElement>> e : byType.entrySet()) {
+			Class<?> instanceClass = e.getKey().getInstanceClass();
+			if (instanceClass != null && clazz.isAssignableFrom(instanceClass)) {
+				result.addAll(e.getValue());
+				if (result.size() > limit) {
+					return null;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the elements a model search has to enter to reach one of the
+	 * candidates: the candidates, their containers, and recursively the
+	 * placeholders referencing any of these together with their containers.
+	 *
+	 * @param candidates
+	 *            the candidates returned by
+	 *            {@link #getCandidates(String, Class, List)}
+	 * @return the search scope
+	 */
+	public Set<Object> getSearchScope(Collection<? extends MApplicationElement> candidates) {
+		Set<Object> scope = new HashSet<>();
+		Deque<EObject> pending = new ArrayDeque<>();
+		for (MApplicationElement candidate : candidates) {
+			pending.add((EObject) candidate);
+		}
+		while (!pending.isEmpty()) {
+			EObject current = pending.poll();
+			while (current != null && scope.add(current)) {
+				Set<MPlaceholder> placeholders = referrers.get(current);
+				if (placeholders != null) {
+					for (MPlaceholder placeholder : placeholders) {
+						pending.add((EObject) placeholder);
+					}
+				}
+				current = current.eContainer();
+			}
+		}
+		return scope;
+	}
+
+	private void indexAttributes(MApplicationElement element, Entry entry) {
+		entry.id = element.getElementId();
+		if (entry.id != null) {
+			addToSet(byId, entry.id, element);
+		}
+		List<String> tags = element.getTags();
+		entry.tags = tags.isEmpty() ? null : tags.toArray(new String[tags.size()]);
+		if (entry.tags != null) {
+			for (String tag : entry.tags) {
+				addToSet(byTag, tag, element);
+			}
+		}
+		if (element instanceof MPlaceholder placeholder) {
+			entry.ref = placeholder.getRef();
+			if (entry.ref != null) {
+				addToSet(referrers, entry.ref, placeholder);
+			}
+		}
+	}
+
+	private void unindexAttributes(MApplicationElement element, Entry entry) {
+		if (entry.id != null) {
+			removeFromSet(byId, entry.id, element);
+			entry.id = null;
+		}
+		if (entry.tags != null) {
+			for (String tag : entry.tags) {
+				removeFromSet(byTag, tag, element);
+			}
+			entry.tags = null;
+		}
+		if (entry.ref != null) {
+			removeFromSet(referrers, entry.ref, (MPlaceholder) element);
+			entry.ref = null;
+		}
+	}
+
+	private static <K, V> void addToSet(Map<K, Set<V>> map, K key, V value) {
+		map.computeIfAbsent(key, k -> new HashSet<>()).add(value);
+	}
+
+	private static <K, V> void removeFromSet(Map<K, Set<V>> map, K key, V value) {
+		Set<V> set = map.get(key);
+		if (set != null && set.remove(value) && set.isEmpty()) {
+			map.remove(key);
+		}
+	}
+}
@@ -27,6 +27,7 @@ import java.util.Hashtable;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.e4.core.contexts.ContextInjectionFactory;
@@ -168,12 +169,20 @@ public class ModelServiceImpl implements EModelService {
 
 	}
 
+	/**
+	 * Walks the model below {@code searchRoot} according to the search flags.
+	 * If {@code scope} is not <code>null</code>, the walk does not enter
+	 * elements outside of it, see {@link #getSearchScope}.
+	 */
 	private <T> void findElementsRecursive(MApplicationElement searchRoot, Class<T> clazz,
-			Selector matcher, LinkedHashSet<T> elements, int searchFlags) {
+			Selector matcher, LinkedHashSet<T> elements, int searchFlags, Set<Object> scope) {
 		Assert.isLegal(searchRoot != null);
 		if (searchFlags == 0) {
 			return;
 		}
+		if (scope != null && !scope.contains(searchRoot)) {
+			return;
+		}
 
 		// are *we* a match ?
 		boolean classMatch = clazz == null ? true : clazz.isInstance(searchRoot);
@@ -206,21 +215,21 @@ public class ModelServiceImpl implements EModelService {
 			}
 
 			for (MApplicationElement child : children) {
-				findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 			}
 		}
 
 		if (searchRoot instanceof MBindingContext && (searchFlags == ANYWHERE)) {
 			MBindingContext bindingContext = (MBindingContext) searchRoot;
 			for (MBindingContext child : bindingContext.getChildren()) {
-				findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 			}
 		}
 
 		if (searchRoot instanceof MBindingTable) {
 			MBindingTable bindingTable = (MBindingTable) searchRoot;
 			for (MKeyBinding child : bindingTable.getBindings()) {
-				findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 			}
 		}
 
@@ -240,7 +249,7 @@ public class ModelServiceImpl implements EModelService {
 				if((searchFlags & IN_SHARED_ELEMENTS) != 0) {
 					List<MUIElement> sharedElements = ((MWindow) searchRoot).getSharedElements();
 					for (MUIElement muiElement : sharedElements) {
-						findElementsRecursive(muiElement, clazz, matcher, elements, searchFlags);
+						findElementsRecursive(muiElement, clazz, matcher, elements, searchFlags, scope);
 					}
 				}
 
@@ -255,19 +264,19 @@ public class ModelServiceImpl implements EModelService {
 					MElementContainer<? extends MUIElement> container = searchContainer;
 					List<? extends MUIElement> children = container.getChildren();
 					for (MUIElement child : children) {
-						findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+						findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 					}
 				} else if ((searchFlags & IN_ACTIVE_PERSPECTIVE) != 0) {
 					// Only search the currently active perspective, if any
 					MPerspective active = ((MPerspectiveStack) searchContainer).getSelectedElement();
 					if (active != null) {
-						findElementsRecursive(active, clazz, matcher, elements, searchFlags);
+						findElementsRecursive(active, clazz, matcher, elements, searchFlags, scope);
 					}
 				} else if ((searchFlags & IN_SHARED_AREA) != 0) {
 					// Only recurse through the shared areas
 					List<MArea> areas = findElements(searchContainer, null, MArea.class);
 					for (MArea area : areas) {
-						findElementsRecursive(area, clazz, matcher, elements, searchFlags);
+						findElementsRecursive(area, clazz, matcher, elements, searchFlags, scope);
 					}
 				}
 			} else {
@@ -275,7 +284,7 @@ public class ModelServiceImpl implements EModelService {
 				MElementContainer<MUIElement> container = (MElementContainer<MUIElement>) searchRoot;
 				List<MUIElement> children = container.getChildren();
 				for (MUIElement child : children) {
-					findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+					findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 				}
 			}
 		}
@@ -285,7 +294,7 @@ public class ModelServiceImpl implements EModelService {
 			MTrimmedWindow tw = (MTrimmedWindow) searchRoot;
 			List<MTrimBar> bars = tw.getTrimBars();
 			for (MTrimBar bar : bars) {
-				findElementsRecursive(bar, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(bar, clazz, matcher, elements, searchFlags, scope);
 			}
 		}
 
@@ -293,17 +302,17 @@ public class ModelServiceImpl implements EModelService {
 		if (searchRoot instanceof MWindow) {
 			MWindow window = (MWindow) searchRoot;
 			for (MWindow dw : window.getWindows()) {
-				findElementsRecursive(dw, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(dw, clazz, matcher, elements, searchFlags, scope);
 			}
 
 			MMenu menu = window.getMainMenu();
 			if (menu != null && (searchFlags & IN_MAIN_MENU) != 0) {
-				findElementsRecursive(menu, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(menu, clazz, matcher, elements, searchFlags, scope);
 			}
 			// Check for Handlers
 			if (searchFlags == ANYWHERE && MHandler.class.equals(clazz)) {
 				for (MHandler child : window.getHandlers()) {
-					findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+					findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 				}
 			}
 		}
@@ -311,7 +320,7 @@ public class ModelServiceImpl implements EModelService {
 		if (searchRoot instanceof MPerspective) {
 			MPerspective persp = (MPerspective) searchRoot;
 			for (MWindow dw : persp.getWindows()) {
-				findElementsRecursive(dw, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(dw, clazz, matcher, elements, searchFlags, scope);
 			}
 		}
 		// Search shared elements
@@ -321,7 +330,8 @@ public class ModelServiceImpl implements EModelService {
 			// Don't search in shared areas unless the flag is set
 			if (ph.getRef() != null
 					&& (!(ph.getRef() instanceof MArea) || (searchFlags & IN_SHARED_AREA) != 0)) {
-				findElementsRecursive(ph.getRef(), clazz, matcher, elements, searchFlags);
+				findElementsRecursive(ph.getRef(), clazz, matcher, elements, searchFlags,
+						getReferenceScope(ph.getRef(), scope));
 			}
 		}
 
@@ -329,16 +339,16 @@ public class ModelServiceImpl implements EModelService {
 			MPart part = (MPart) searchRoot;
 
 			for (MMenu menu : part.getMenus()) {
-				findElementsRecursive(menu, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(menu, clazz, matcher, elements, searchFlags, scope);
 			}
 
 			MToolBar toolBar = part.getToolbar();
 			if (toolBar != null) {
-				findElementsRecursive(toolBar, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(toolBar, clazz, matcher, elements, searchFlags, scope);
 			}
 			if (MHandler.class.equals(clazz)) {
 				for (MHandler child : part.getHandlers()) {
-					findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+					findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 				}
 			}
 		}
@@ -410,8 +420,7 @@ public class ModelServiceImpl implements EModelService {
 
 	@Override
 	public <T> List<T> findElements(MUIElement searchRoot, String id, Class<T> clazz, List<String> tagsToMatch) {
-		ElementMatcher matcher = new ElementMatcher(id, clazz, tagsToMatch);
-		return findElements(searchRoot, clazz, ANYWHERE, matcher);
+		return findElements(searchRoot, id, clazz, tagsToMatch, ANYWHERE);
 	}
 
 	@Override
@@ -422,15 +431,18 @@ public class ModelServiceImpl implements EModelService {
 	@Override
 	public <T> List<T> findElements(MUIElement searchRoot, String id, Class<T> clazz,
 			List<String> tagsToMatch, int searchFlags) {
+		LinkedHashSet<T> elements = new LinkedHashSet<>();
 		ElementMatcher matcher = new ElementMatcher(id, clazz, tagsToMatch);
-		return findElements(searchRoot, clazz, searchFlags, matcher);
+		findElementsRecursive(searchRoot, clazz, matcher, elements, searchFlags,
+				getSearchScope(searchRoot, id, clazz, tagsToMatch));
+		return new ArrayList<>(elements);
 	}
 
 	@Override
 	public <T> List<T> findElements(MApplicationElement searchRoot, Class<T> clazz,
 			int searchFlags, Selector matcher) {
 		LinkedHashSet<T> elements = new LinkedHashSet<>();
-		findElementsRecursive(searchRoot, clazz, matcher, elements, searchFlags);
+		findElementsRecursive(searchRoot, clazz, matcher, elements, searchFlags, null);
 		return new ArrayList<>(elements);
 	}
 
@@ -439,10 +451,68 @@ public class ModelServiceImpl implements EModelService {
 			List<String> tagsToMatch) {
 		LinkedHashSet<T> elements = new LinkedHashSet<>();
 		ElementMatcher matcher = new ElementMatcher(id, clazz, tagsToMatch);
-		findElementsRecursive(searchRoot, clazz, matcher, elements, PRESENTATION);
+		findElementsRecursive(searchRoot, clazz, matcher, elements, PRESENTATION,
+				getSearchScope(searchRoot, id, clazz, tagsToMatch));
 		return elements;
 	}
 
+	/**
+	 * Opens a batch on the {@link UIEventPublisher} of the running workbench,
+	 * if any, for a bulk model change.
+	 *
+	 * @return the publisher to pass to {@link #endBatch(UIEventPublisher)}
+	 */
+	private UIEventPublisher beginBatch() {
+		UIEventPublisher publisher = appContext.get(UIEventPublisher.class);
+		if (publisher != null) {
+			publisher.beginBatch();
+		}
+		return publisher;
+	}
+
+	private void endBatch(UIEventPublisher publisher) {
+		if (publisher != null) {
+			publisher.endBatch();
+		}
+	}
+
+	private ModelIndex getModelIndex() {
+		UIEventPublisher publisher = appContext.get(UIEventPublisher.class);
+		return publisher == null ? null : publisher.getModelIndex();
+	}
+
+	/**
+	 * Uses the {@link ModelIndex} of the running workbench to restrict a search
+	 * for the given criteria to the elements leading to a candidate.
+	 *
+	 * @return the elements the search has to enter or <code>null</code> if the
+	 *         whole model below {@code searchRoot} has to be searched
+	 */
+	private Set<Object> getSearchScope(MApplicationElement searchRoot, String id, Class<?> clazz,
+			List<String> tagsToMatch) {
+		ModelIndex index = getModelIndex();
+		if (index == null || !index.isIndexed(searchRoot)) {
+			return null;
+		}
+		Collection<MApplicationElement> candidates = index.getCandidates(id, clazz, tagsToMatch);
+		if (candidates == null || candidates.size() > ModelIndex.MAX_CANDIDATES) {
+			return null;
+		}
+		return index.getSearchScope(candidates);
+	}
+
+	/**
+	 * Placeholders may reference elements outside of the indexed model, these
+	 * have to be searched without a scope.
+	 */
+	private Set<Object> getReferenceScope(MUIElement ref, Set<Object> scope) {
+		if (scope == null || scope.contains(ref)) {
+			return scope;
+		}
+		ModelIndex index = getModelIndex();
+		return index != null && index.isIndexed(ref) ? scope : null;
+	}
+
 	@Override
 	public MUIElement find(String id, MUIElement searchRoot) {
 		if (id == null || id.isEmpty()) {
@@ -542,7 +612,12 @@ public class ModelServiceImpl implements EModelService {
 
 		MUIElement appElement = refWin == null ? null : refWin.getParent();
 		if (appElement instanceof MApplication) {
-			getNullRefPlaceHolders(element, refWin, true);
+			UIEventPublisher publisher = beginBatch();
+			try {
+				getNullRefPlaceHolders(element, refWin, true);
+			} finally {
+				endBatch(publisher);
+			}
 		}
 
 		return element;
@@ -711,20 +786,25 @@ public class ModelServiceImpl implements EModelService {
 		MElementContainer<MUIElement> curParent = element.getParent();
 		int curIndex = curParent.getChildren().indexOf(element);
 
-		// Move the model element
-		if (newParent == curParent) {
-			int target = index != -1 ? index : newParent.getChildren().size() - 1;
-			ECollections.move(newParent.getChildren(), target, element);
-		} else if (index == -1) {
-			newParent.getChildren().add(element);
-		} else {
-			newParent.getChildren().add(index, element);
-		}
+		UIEventPublisher publisher = beginBatch();
+		try {
+			// Move the model element
+			if (newParent == curParent) {
+				int target = index != -1 ? index : newParent.getChildren().size() - 1;
+				ECollections.move(newParent.getChildren(), target, element);
+			} else if (index == -1) {
+				newParent.getChildren().add(element);
+			} else {
+				newParent.getChildren().add(index, element);
+			}
 
-		if (leavePlaceholder) {
-			MPlaceholder ph = MAdvancedFactory.INSTANCE.createPlaceholder();
-			ph.setRef(element);
-			curParent.getChildren().add(curIndex, ph);
+			if (leavePlaceholder) {
+				MPlaceholder ph = MAdvancedFactory.INSTANCE.createPlaceholder();
+				ph.setRef(element);
+				curParent.getChildren().add(curIndex, ph);
+			}
+		} finally {
+			endBatch(publisher);
 		}
 	}
 
@@ -902,7 +982,12 @@ public class ModelServiceImpl implements EModelService {
 
 	@Override
 	public void resetPerspectiveModel(MPerspective persp, MWindow window) {
-		resetPerspectiveModel(persp, window, true);
+		UIEventPublisher publisher = beginBatch();
+		try {
+			resetPerspectiveModel(persp, window, true);
+		} finally {
+			endBatch(publisher);
+		}
 	}
 
 	private void resetPerspectiveModel(MPerspective persp, MWindow window,
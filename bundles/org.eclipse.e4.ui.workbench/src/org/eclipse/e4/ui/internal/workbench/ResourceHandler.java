@@ -90,6 +90,11 @@ public class ResourceHandler implements IModelResourceHandler {
 	@Named(IWorkbench.CLEAR_PERSISTED_STATE)
 	private boolean clearPersistedState;
 
+	@Inject
+	@Optional
+	@Named(E4Workbench.BINARY_PERSISTED_STATE)
+	private boolean binaryPersistedState;
+
 	/**
 	 * Constructor.
 	 */
@@ -163,7 +168,12 @@ public class ResourceHandler implements IModelResourceHandler {
 
 		resource = null;
 		if (restore && saveAndRestore) {
+			// a model saved in the other format is read as well and written in
+			// the configured one on the next save
 			resource = loadResource(restoreLocation);
+			if (resource != null) {
+				configureSaveFormat(resource);
+			}
 			// If the saved model does not have any top-level windows, Eclipse will exit
 			// immediately, so throw out the persisted state and reinitialize with the defaults.
 			if (!hasTopLevelWindows(resource)) {
@@ -235,11 +245,23 @@ public class ResourceHandler implements IModelResourceHandler {
 	private Resource createResource() {
 		if (saveAndRestore) {
 			URI saveLocation = URI.createFileURI(getWorkbenchSaveLocation().getAbsolutePath());
-			return resourceSet.createResource(saveLocation);
+			return configureSaveFormat(resourceSet.createResource(saveLocation));
 		}
 		return resourceSet.createResource(URI.createURI("workbench.xmi")); //$NON-NLS-1$
 	}
 
+	/**
+	 * Makes the resource save in binary format if requested with
+	 * {@link E4Workbench#BINARY_PERSISTED_STATE}. This also applies to the
+	 * copies saved by the workbench auto-save.
+	 */
+	private Resource configureSaveFormat(Resource res) {
+		if (binaryPersistedState && res instanceof E4XMIResource) {
+			((E4XMIResource) res).getDefaultSaveOptions().put(E4XMIResource.OPTION_BINARY_FORMAT, Boolean.TRUE);
+		}
+		return res;
+	}
+
 	private File getWorkbenchSaveLocation() {
 		return new File(getBaseLocation(), "workbench.xmi"); //$NON-NLS-1$
 	}
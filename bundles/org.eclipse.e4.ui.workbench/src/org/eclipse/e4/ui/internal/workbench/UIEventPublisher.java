@@ -14,7 +14,10 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.internal.workbench;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.e4.core.contexts.IEclipseContext;
@@ -28,23 +31,181 @@ import org.eclipse.e4.ui.workbench.UIEvents.EventTags;
 import org.eclipse.e4.ui.workbench.UIEvents.EventTypes;
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.osgi.service.event.Event;
 
 /**
  * Transforms E4 MPart events into 3.x legacy events.
  */
 public class UIEventPublisher extends EContentAdapter {
 
+	/**
+	 * Topic of the event sent at the end of a batch, see {@link #beginBatch()}.
+	 */
+	public static final String TOPIC_BATCH = UIEvents.UITopicBase + "/modelBatch"; //$NON-NLS-1$
+
+	/**
+	 * Property of the {@link #TOPIC_BATCH} event holding the coalesced model
+	 * events of the batch as a {@code List<Event>}.
+	 */
+	public static final String BATCH_EVENTS = "BatchEvents"; //$NON-NLS-1$
+
+	/**
+	 * Property set on model events sent while a batch is open. Handlers that
+	 * process the {@link #TOPIC_BATCH} event can skip these.
+	 */
+	public static final String IN_BATCH = "InBatch"; //$NON-NLS-1$
+
+	private record BatchKey(String topic, Object element) {
+	}
+
 	private IEclipseContext context;
 
+	private final ModelIndex modelIndex = new ModelIndex();
+
+	/**
+	 * The thread owning the open batch, or <code>null</code>. Written while
+	 * holding the lock of this publisher, the other batch fields are only
+	 * accessed by the owning thread.
+	 */
+	private volatile Thread batchThread;
+	private int batchDepth;
+	private List<Event> batchEvents;
+	private Map<BatchKey, Integer> batchSetEvents;
+
 	public UIEventPublisher(IEclipseContext e4Context) {
 		this.context = e4Context;
 	}
 
+	/**
+	 * @return the index of the model elements this publisher is attached to
+	 */
+	public ModelIndex getModelIndex() {
+		return modelIndex;
+	}
+
+	/**
+	 * Opens a batch for the model changes made by the calling thread. Model
+	 * events are still sent one by one, but carry the {@link #IN_BATCH}
+	 * property. When the outermost batch is closed with {@link #endBatch()},
+	 * one {@link #TOPIC_BATCH} event with all of them is sent. Events that set
+	 * the same attribute of the same element are coalesced into one, which
+	 * keeps the first old and the last new value.
+	 * <p>
+	 * Calls must be paired with {@link #endBatch()} in a finally block.
+	 * </p>
+	 */
+	public void beginBatch() {
+		Thread current = Thread.currentThread();
+		if (batchThread != current) {
+			synchronized (this) {
+				if (batchThread != null) {
+					// a batch of another thread is open, don't interfere with it
+					return;
+				}
+				batchThread = current;
+			}
+			batchEvents = new ArrayList<>();
+			batchSetEvents = new HashMap<>();
+		}
+		batchDepth++;
+	}
+
+	/**
+	 * Closes a batch opened by {@link #beginBatch()}.
+	 */
+	public void endBatch() {
+		if (batchThread != Thread.currentThread()) {
+			return;
+		}
+		if (--batchDepth > 0) {
+			return;
+		}
+		List<Event> events = batchEvents;
+		batchEvents = null;
+		batchSetEvents = null;
+		synchronized (this) {
+			batchThread = null;
+		}
+		if (!events.isEmpty()) {
+			Map<String, Object> argMap = new HashMap<>();
+			argMap.put(BATCH_EVENTS, Collections.unmodifiableList(events));
+			context.get(IEventBroker.class).send(TOPIC_BATCH, argMap);
+		}
+	}
+
+	/**
+	 * @return whether the event was sent while a batch was open
+	 */
+	public static boolean isInBatch(Event event) {
+		return Boolean.TRUE.equals(event.getProperty(IN_BATCH));
+	}
+
+	/**
+	 * Returns the events of a {@link #TOPIC_BATCH} event matching the given
+	 * topic, which may end with the {@link UIEvents#ALL_SUB_TOPICS} wildcard.
+	 */
+	public static List<Event> getBatchEvents(Event batchEvent, String topic) {
+		@SuppressWarnings("unchecked")
+		List<Event> events = (List<Event>) batchEvent.getProperty(BATCH_EVENTS);
+		if (events == null) {
+			return Collections.emptyList();
+		}
+		boolean wildcard = topic.endsWith(UIEvents.TOPIC_SEP + UIEvents.ALL_SUB_TOPICS);
+		String prefix = wildcard ? topic.substring(0, topic.length() - UIEvents.ALL_SUB_TOPICS.length()) : topic;
+		List<Event> result = new ArrayList<>();
+		for (Event event : events) {
+			if (wildcard ? event.getTopic().startsWith(prefix) : event.getTopic().equals(prefix)) {
+				result.add(event);
+			}
+		}
+		return result;
+	}
+
+	private boolean isBatching() {
+		return batchThread == Thread.currentThread();
+	}
+
+	private void addToBatch(String topic, Map<String, Object> argMap) {
+		Object element = argMap.get(EventTags.ELEMENT);
+		if (EventTypes.SET.equals(argMap.get(EventTags.TYPE))) {
+			BatchKey key = new BatchKey(topic, element);
+			Integer index = batchSetEvents.get(key);
+			if (index != null) {
+				// keep the first old value, take everything else from the latest change
+				Event previous = batchEvents.get(index.intValue());
+				Map<String, Object> merged = new HashMap<>(argMap);
+				merged.remove(EventTags.OLD_VALUE);
+				Object oldValue = previous.getProperty(EventTags.OLD_VALUE);
+				if (oldValue != null) {
+					merged.put(EventTags.OLD_VALUE, oldValue);
+				}
+				batchEvents.set(index.intValue(), new Event(topic, merged));
+				return;
+			}
+			batchSetEvents.put(key, Integer.valueOf(batchEvents.size()));
+		}
+		batchEvents.add(new Event(topic, argMap));
+	}
+
+	@Override
+	protected void setTarget(EObject target) {
+		super.setTarget(target);
+		modelIndex.add(target);
+	}
+
+	@Override
+	protected void unsetTarget(EObject target) {
+		super.unsetTarget(target);
+		modelIndex.remove(target);
+	}
+
 	@Override
 	public void notifyChanged(Notification notification) {
 		super.notifyChanged(notification);
+		modelIndex.notifyChanged(notification);
 
 		// Ignore events that did not change the model value
 		if (notification.isTouch())
@@ -56,6 +217,10 @@ public class UIEventPublisher extends EContentAdapter {
 		String topic = formatData(notification, argMap);
 
 		if (topic != null) {
+			if (isBatching()) {
+				argMap.put(IN_BATCH, Boolean.TRUE);
+				addToBatch(topic, argMap);
+			}
 			IEventBroker eventManager = context.get(IEventBroker.class);
 			eventManager.send(topic, argMap);
 		}
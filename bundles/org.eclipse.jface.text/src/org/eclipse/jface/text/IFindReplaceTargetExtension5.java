@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.IFindReplaceTarget}.
+ * <p>
+ * Allows to replace all occurrences of a string in one batch operation instead of a sequence
+ * of <code>findAndSelect</code> and <code>replaceSelection</code> calls.
+ *
+ * @see FindReplaceDocumentAdapter#replaceAll(int, int, String, String, boolean, boolean, boolean,
+ *      IProgressMonitor)
+ * @since 3.26
+ */
+public interface IFindReplaceTargetExtension5 {
+
+	/**
+	 * Replaces all occurrences of a string within the target's scope, or within the whole target
+	 * if no scope is set. All occurrences are searched first; the target is only modified if the
+	 * search completes. Afterwards the last replacement is selected.
+	 * <p>
+	 * This target must be editable. Otherwise nothing happens.
+	 *
+	 * @param findString the specification of what should be found
+	 * @param replaceString the specification of the substitution text
+	 * @param caseSensitive <code>true</code> performs a case sensitive search, <code>false</code> an insensitive search
+	 * @param wholeWord if <code>true</code> only occurrences are reported in which the findString stands as a word by itself.
+	 * 				Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression and
+	 * 				replaceString a replace pattern. Must not be used in combination with <code>wholeWord</code>.
+	 * @param monitor the progress monitor to report the search progress to and to check for
+	 * 				cancellation, or <code>null</code>
+	 * @return the number of replaced occurrences
+	 * @throws java.util.regex.PatternSyntaxException if regExSearch is <code>true</code> and
+	 *             findString or replaceString is invalid
+	 * @throws org.eclipse.core.runtime.OperationCanceledException if the monitor has been
+	 *             canceled
+	 */
+	int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor);
+}
@@ -67,6 +67,7 @@ import org.eclipse.swt.widgets.ScrollBar;
 import org.eclipse.swt.widgets.Shell;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.internal.text.NonDeletingPositionUpdater;
@@ -767,7 +768,7 @@ public class TextViewer extends Viewer implements
 	/**
 	 * This viewer's find/replace target.
 	 */
-	class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension3, IFindReplaceTargetExtension4 {
+	class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension3, IFindReplaceTargetExtension4, IFindReplaceTargetExtension5 {
 
 		/** The range for this target. */
 		private FindReplaceRange fRange;
@@ -853,6 +854,32 @@ public class TextViewer extends Viewer implements
 			return widgetOffset;
 		}
 
+		@Override
+		public int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) {
+			if (!isEditable())
+				return 0;
+
+			FindReplaceDocumentAdapter adapter= TextViewer.this.getFindReplaceDocumentAdapter();
+			IRegion scope= fRange != null ? modelRange2WidgetRange(fRange.getRange()) : new Region(0, adapter.length());
+			if (scope == null)
+				return 0;
+
+			try {
+				IRegion[] replaced= adapter.replaceAll(scope.getOffset(), scope.getLength(), findString, replaceString, caseSensitive, wholeWord, regExSearch, monitor);
+				if (replaced.length > 0) {
+					IRegion last= replaced[replaced.length - 1];
+					int modelOffset= widgetOffset2ModelOffset(last.getOffset());
+					if (modelOffset != -1)
+						TextViewer.this.setSelectedRange(modelOffset, last.getLength());
+				}
+				return replaced.length;
+			} catch (BadLocationException x) {
+				if (TRACE_ERRORS)
+					System.out.println(JFaceTextMessages.getString("TextViewer.error.bad_location.findAndSelect")); //$NON-NLS-1$
+				return 0;
+			}
+		}
+
 		@Override
 		public boolean canPerformFind() {
 			return TextViewer.this.canPerformFind();
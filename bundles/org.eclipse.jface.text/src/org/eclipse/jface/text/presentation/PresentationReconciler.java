@@ -14,11 +14,14 @@
 
 package org.eclipse.jface.text.presentation;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -40,6 +43,8 @@ import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerExtension5;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextEvent;
 import org.eclipse.jface.text.TextPresentation;
@@ -52,9 +57,11 @@ import org.eclipse.jface.text.TypedPosition;
  * Standard implementation of <code>IPresentationReconciler</code>. This
  * implementation assumes that the tasks performed by its presentation damagers
  * and repairers are lightweight and of low cost. This presentation reconciler
- * runs in the UI thread and always repairs the complete damage caused by a
+ * runs in the UI thread and by default repairs the complete damage caused by a
  * document change rather than just the portion overlapping with the viewer's
- * viewport.
+ * viewport. With an {@link #setIdleRepairBudget(int) idle repair budget}, only
+ * the damage in the viewport is repaired right away and the rest is repaired
+ * in slices when the viewer is idle.
  * <p>
  * Usually, clients instantiate this class and configure it before using it.
  * </p>
@@ -64,6 +71,17 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	/** Prefix of the name of the position category for tracking damage regions. */
 	protected final static String TRACKED_PARTITION= "__reconciler_tracked_partition"; //$NON-NLS-1$
 
+	/**
+	 * The delay in milliseconds after the last change or scroll before pending damage is repaired.
+	 * @since 3.26
+	 */
+	private static final int IDLE_DELAY= 50;
+	/**
+	 * The maximal number of lines repaired at once when repairing pending damage.
+	 * @since 3.26
+	 */
+	private static final int SLICE_LINES= 100;
+
 
 	/**
 	 * Internal listener class.
@@ -91,6 +109,7 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 					oldDocument.removePositionUpdater(fPositionUpdater);
 					oldDocument.removePositionCategory(fPositionCategory);
+					cancelPendingDamage();
 
 				} catch (BadPositionCategoryException x) {
 					// should not happened for former input documents;
@@ -265,6 +284,33 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 * @since 3.0
 	 */
 	private String fPartitioning;
+	/**
+	 * The time in milliseconds per slice for repairing damage outside of the viewport, or 0 to
+	 * repair the complete damage at once.
+	 * @since 3.26
+	 */
+	private int fIdleRepairBudget= 0;
+	/**
+	 * The damage outside of the viewport which is yet to be repaired, tracked as positions in the
+	 * position category of the damage regions. Overlapping damage is merged when added.
+	 * @since 3.26
+	 */
+	private final List<Position> fPendingDamage= new ArrayList<>();
+	/**
+	 * Repairs a slice of the pending damage.
+	 * @since 3.26
+	 */
+	private final Runnable fIdleRepairer= this::repairPendingDamage;
+	/**
+	 * Repairs the pending damage scrolled into the viewport.
+	 * @since 3.26
+	 */
+	private final IViewportListener fViewportListener= verticalOffset -> {
+		if (!fPendingDamage.isEmpty()) {
+			repairVisibleDamage(fViewer.getDocument());
+			scheduleIdleRepair(IDLE_DELAY);
+		}
+	};
 
 	/**
 	 * Creates a new presentation reconciler. There are no damagers or repairers
@@ -289,6 +335,21 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		fPartitioning= partitioning;
 	}
 
+	/**
+	 * Sets the time budget for repairing damage outside of the viewer's viewport. If the budget
+	 * is positive, only the damage overlapping with the viewport is repaired when a change occurs.
+	 * The remaining damage is repaired when the viewer is idle, in slices which take about the
+	 * given time, starting next to the viewport. Damage scrolled into the viewport is repaired
+	 * right away. By default, the budget is 0 and the complete damage is repaired at once.
+	 *
+	 * @param budget the time in milliseconds per slice, or 0 to repair the complete damage at once
+	 * @since 3.26
+	 */
+	public void setIdleRepairBudget(int budget) {
+		Assert.isLegal(budget >= 0);
+		fIdleRepairBudget= budget;
+	}
+
 	/*
 	 * @see org.eclipse.jface.text.presentation.IPresentationReconcilerExtension#geDocumenttPartitioning()
 	 * @since 3.0
@@ -346,6 +407,7 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 		fViewer= viewer;
 		fViewer.addTextInputListener(fInternalListener);
+		fViewer.addViewportListener(fViewportListener);
 
 		IDocument document= viewer.getDocument();
 		if (document != null)
@@ -355,6 +417,7 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	@Override
 	public void uninstall() {
 		fViewer.removeTextInputListener(fInternalListener);
+		fViewer.removeViewportListener(fViewportListener);
 
 		// Ensure we uninstall all listeners
 		fInternalListener.inputDocumentAboutToBeChanged(fViewer.getDocument(), null);
@@ -546,9 +609,231 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 */
 	private void processDamage(IRegion damage, IDocument document) {
 		if (damage != null && damage.getLength() > 0) {
-			TextPresentation p= createPresentation(damage, document);
-			if (p != null)
-				applyTextRegionCollection(p);
+			IRegion viewport= fIdleRepairBudget > 0 ? getViewport(document) : null;
+			int end= damage.getOffset() + damage.getLength();
+			if (viewport == null || (viewport.getOffset() <= damage.getOffset() && end <= viewport.getOffset() + viewport.getLength())) {
+				repair(damage, document);
+			} else {
+				addPendingDamage(document, damage.getOffset(), end);
+				repairVisibleDamage(document);
+			}
+			// postpone the repair of the pending damage while the user is busy
+			if (!fPendingDamage.isEmpty())
+				scheduleIdleRepair(IDLE_DELAY);
+		}
+	}
+
+	/**
+	 * Repairs the given damage.
+	 *
+	 * @param damage the damage to be repaired
+	 * @param document the document whose presentation must be repaired
+	 * @since 3.26
+	 */
+	private void repair(IRegion damage, IDocument document) {
+		TextPresentation p= createPresentation(damage, document);
+		if (p != null)
+			applyTextRegionCollection(p);
+	}
+
+	/**
+	 * Returns the range of the document shown in the viewer's viewport, made of complete lines.
+	 *
+	 * @param document the viewer's document
+	 * @return the viewport range or <code>null</code> if the viewer's widget is not available
+	 * @since 3.26
+	 */
+	private IRegion getViewport(IDocument document) {
+		StyledText widget= fViewer.getTextWidget();
+		if (widget == null || widget.isDisposed())
+			return null;
+
+		try {
+			int top= fViewer.getTopIndexStartOffset();
+			int bottom= fViewer.getBottomIndexEndOffset();
+			if (top < 0 || bottom < top)
+				return null;
+			int bottomLine= document.getLineOfOffset(Math.min(bottom, document.getLength()));
+			int end= document.getLineOffset(bottomLine) + document.getLineLength(bottomLine);
+			return new Region(top, end - top);
+		} catch (BadLocationException x) {
+			return null;
+		}
+	}
+
+	/**
+	 * Adds the given range to the pending damage, merging it with the pending damage it overlaps
+	 * or touches.
+	 *
+	 * @param document the document whose presentation must be repaired
+	 * @param start the start offset of the damage
+	 * @param end the end offset of the damage (excluding)
+	 * @since 3.26
+	 */
+	private void addPendingDamage(IDocument document, int start, int end) {
+		if (end <= start)
+			return;
+
+		for (Iterator<Position> iterator= fPendingDamage.iterator(); iterator.hasNext();) {
+			Position pending= iterator.next();
+			if (pending.isDeleted || (pending.offset <= end && start <= pending.offset + pending.length)) {
+				if (!pending.isDeleted) {
+					start= Math.min(start, pending.offset);
+					end= Math.max(end, pending.offset + pending.length);
+				}
+				iterator.remove();
+				removeTrackedPosition(document, pending);
+			}
+		}
+
+		Position damage= new Position(start, end - start);
+		try {
+			document.addPosition(fPositionCategory, damage);
+			fPendingDamage.add(damage);
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			// the damage cannot be tracked, repair it right away
+			repair(new Region(start, end - start), document);
+		}
+	}
+
+	/**
+	 * Repairs the pending damage overlapping with the viewport, the rest stays pending.
+	 *
+	 * @param document the document whose presentation must be repaired
+	 * @since 3.26
+	 */
+	private void repairVisibleDamage(IDocument document) {
+		IRegion viewport= document == null ? null : getViewport(document);
+		if (viewport == null)
+			return;
+
+		int top= viewport.getOffset();
+		int bottom= top + viewport.getLength();
+		for (Position pending : new ArrayList<>(fPendingDamage)) {
+			if (pending.isDeleted || pending.offset >= bottom || pending.offset + pending.length <= top || !fPendingDamage.remove(pending))
+				continue;
+
+			int start= pending.offset;
+			int end= pending.offset + pending.length;
+			removeTrackedPosition(document, pending);
+			addPendingDamage(document, start, top);
+			addPendingDamage(document, bottom, end);
+
+			int visibleStart= Math.max(start, top);
+			int visibleEnd= Math.min(end, bottom);
+			repair(new Region(visibleStart, visibleEnd - visibleStart), document);
+		}
+	}
+
+	/**
+	 * Repairs slices of the pending damage, the ones next to the viewport first, until the idle
+	 * repair budget is exhausted, and schedules the repair of the rest.
+	 *
+	 * @since 3.26
+	 */
+	private void repairPendingDamage() {
+		IDocument document= fViewer == null ? null : fViewer.getDocument();
+		if (document == null || !fInternalListener.fCachedRedrawState)
+			return; // repairing resumes with the damage of the next change or redraw
+
+		fPendingDamage.removeIf(pending -> pending.isDeleted);
+		IRegion viewport= getViewport(document);
+		if (viewport == null)
+			return;
+
+		long deadline= System.currentTimeMillis() + fIdleRepairBudget;
+		while (!fPendingDamage.isEmpty() && System.currentTimeMillis() < deadline) {
+			Position pending= getNearestPendingDamage(viewport);
+			int start= pending.offset;
+			int end= pending.offset + pending.length;
+			fPendingDamage.remove(pending);
+			removeTrackedPosition(document, pending);
+
+			try {
+				int sliceStart, sliceEnd;
+				if (end <= viewport.getOffset()) {
+					// above the viewport, repair upwards
+					int line= document.getLineOfOffset(end) - SLICE_LINES;
+					sliceStart= line <= 0 ? start : Math.max(start, document.getLineOffset(line));
+					sliceEnd= end;
+					addPendingDamage(document, start, sliceStart);
+				} else {
+					// below the viewport, repair downwards
+					int line= document.getLineOfOffset(start) + SLICE_LINES;
+					sliceStart= start;
+					sliceEnd= line >= document.getNumberOfLines() ? end : Math.min(end, document.getLineOffset(line));
+					addPendingDamage(document, sliceEnd, end);
+				}
+				repair(new Region(sliceStart, sliceEnd - sliceStart), document);
+			} catch (BadLocationException x) {
+				// the damage is no longer valid and dropped
+			}
+		}
+
+		if (!fPendingDamage.isEmpty())
+			scheduleIdleRepair(0);
+	}
+
+	/**
+	 * Returns the pending damage closest to the viewport.
+	 *
+	 * @param viewport the viewport range
+	 * @return the closest pending damage
+	 * @since 3.26
+	 */
+	private Position getNearestPendingDamage(IRegion viewport) {
+		Position nearest= null;
+		int nearestDistance= Integer.MAX_VALUE;
+		for (Position pending : fPendingDamage) {
+			int distance;
+			if (pending.offset + pending.length <= viewport.getOffset())
+				distance= viewport.getOffset() - (pending.offset + pending.length);
+			else
+				distance= Math.max(0, pending.offset - (viewport.getOffset() + viewport.getLength()));
+			if (distance < nearestDistance) {
+				nearest= pending;
+				nearestDistance= distance;
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * Schedules the repair of the pending damage, postponing an already scheduled one.
+	 *
+	 * @param delay the delay in milliseconds
+	 * @since 3.26
+	 */
+	private void scheduleIdleRepair(int delay) {
+		StyledText widget= fViewer.getTextWidget();
+		if (widget != null && !widget.isDisposed())
+			widget.getDisplay().timerExec(delay, fIdleRepairer);
+	}
+
+	/**
+	 * Drops the pending damage and cancels its scheduled repair.
+	 *
+	 * @since 3.26
+	 */
+	private void cancelPendingDamage() {
+		fPendingDamage.clear();
+		StyledText widget= fViewer.getTextWidget();
+		if (widget != null && !widget.isDisposed())
+			widget.getDisplay().timerExec(-1, fIdleRepairer);
+	}
+
+	/**
+	 * Removes the given position from the position category of the damage regions.
+	 *
+	 * @param document the document
+	 * @param position the position to remove
+	 * @since 3.26
+	 */
+	private void removeTrackedPosition(IDocument document, Position position) {
+		try {
+			document.removePosition(fPositionCategory, position);
+		} catch (BadPositionCategoryException x) {
+			// can not happen on input documents
 		}
 	}
 
@@ -2922,47 +2922,18 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 			}
 		}
 
-		int min = Math.min(elementChildren.length, items.length);
-
-		// dispose of surplus items, optimizing for the case where elements have
-		// been deleted but not reordered, or all elements have been removed.
-		int numItemsToDispose = items.length - min;
-		if (numItemsToDispose > 0) {
-			CustomHashtable children = newHashtable(elementChildren.length * 2);
-			for (Object elementChild : elementChildren) {
-				children.put(elementChild, elementChild);
-			}
-			int i = 0;
-			while (numItemsToDispose > 0 && i < items.length) {
-				Object data = items[i].getData();
-				if (data == null || !children.containsKey(data)) {
-					if (data != null) {
-						disassociate(items[i]);
-					}
-					items[i].dispose();
-					if (i + 1 < items.length) {
-						// The components at positions i+1 through
-						// items.length-1 in the source array are copied into
-						// positions i through items.length-2
-						System.arraycopy(items, i + 1, items, i, items.length - (i+1));
-					}
-					numItemsToDispose--;
-				} else {
-					i++;
-				}
-			}
-		}
+		Item[] targets = matchItems(items, elementChildren);
 
-		// compare first min items, and update item if necessary
+		// compare the matched items, and update item if necessary
 		// need to do it in two passes:
 		// 1: disassociate old items
 		// 2: associate new items
 		// because otherwise a later disassociate can remove a mapping made for
 		// a previous associate,
 		// making the map inconsistent
-		for (int i = 0; i < min; ++i) {
-			Item item = items[i];
-			Object oldElement = item.getData();
+		for (int i = 0; i < elementChildren.length; ++i) {
+			Item item = targets[i];
+			Object oldElement = item == null ? null : item.getData();
 			if (oldElement != null) {
 				Object newElement = elementChildren[i];
 				if (newElement != oldElement) {
@@ -2992,10 +2963,16 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 			}
 		}
 
-		for (int i = 0; i < min; ++i) {
-			Item item = items[i];
+		// new items are created at their final index, all surplus items have
+		// been disposed and the items before are already in place
+		boolean created = false;
+		for (int i = 0; i < elementChildren.length; ++i) {
+			Item item = targets[i];
 			Object newElement = elementChildren[i];
-			if (item.getData() == null) {
+			if (item == null) {
+				createTreeItem(widget, newElement, i);
+				created = true;
+			} else if (item.getData() == null) {
 				// old and new elements are not equal
 				associate(newElement, item);
 				updatePlus(item, newElement);
@@ -3017,34 +2994,24 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		// Need to call setExpanded for both expanded and unexpanded
 		// cases since the expanded state can change either way.
 		// This needs to be done in a second loop, see bug 148025.
-		for (int i = 0; i < min; ++i) {
-			Item item = items[i];
-			Object newElement = elementChildren[i];
-			setExpanded(item, expanded.containsKey(newElement));
-		}
-
-		// add any remaining elements
-		if (min < elementChildren.length) {
-			for (int i = min; i < elementChildren.length; ++i) {
-				createTreeItem(widget, elementChildren[i], -1);
-			}
-
-			// Need to restore expanded state in a separate pass
-			// because createTreeItem does not return the new item.
-			// Avoid doing this unless needed.
-			if (expanded.size() > 0) {
-				// get the items again, to include the new items
-				items = getChildren(widget);
-				for (int i = min; i < elementChildren.length; ++i) {
-					// Restore expanded state for items that changed position.
-					// Make sure setExpanded is called after updatePlus (called
-					// in createTreeItem), since
-					// setExpanded(false) fails if item has no children.
-					// Only need to call setExpanded if element was expanded
-					// since new items are initially unexpanded.
-					if (expanded.containsKey(elementChildren[i])) {
-						setExpanded(items[i], true);
-					}
+		for (int i = 0; i < elementChildren.length; ++i) {
+			Item item = targets[i];
+			if (item != null) {
+				setExpanded(item, expanded.containsKey(elementChildren[i]));
+			}
+		}
+
+		// Need to restore expanded state of new items in a separate pass
+		// because createTreeItem does not return the new item.
+		// Avoid doing this unless needed.
+		// Only need to call setExpanded if element was expanded
+		// since new items are initially unexpanded.
+		if (created && expanded.size() > 0) {
+			// get the items again, to include the new items
+			items = getChildren(widget);
+			for (int i = 0; i < elementChildren.length; ++i) {
+				if (targets[i] == null && expanded.containsKey(elementChildren[i])) {
+					setExpanded(items[i], true);
 				}
 			}
 		}
@@ -3057,6 +3024,122 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 	}
 
+	/**
+	 * Decides which of the given items show which of the given elements after
+	 * an update, and disposes the items that are no longer needed.
+	 * <p>
+	 * Items are matched to the elements they show using the element comparer.
+	 * The longest run of matched items that keeps its order stays in place,
+	 * with its labels and child items. The other items are reused, in order,
+	 * for the elements between the same items that stay in place, and
+	 * disposed if there are more of them than elements. Items cannot be moved
+	 * in SWT, so reordering elements only changes the labels of the items
+	 * outside that run.
+	 * </p>
+	 *
+	 * @param items
+	 *            the current items
+	 * @param elements
+	 *            the new elements
+	 * @return the item to use for each element, or <code>null</code> where a
+	 *         new item has to be created
+	 */
+	private Item[] matchItems(Item[] items, Object[] elements) {
+		// chain equal elements, so that duplicates are matched in order
+		CustomHashtable firstIndices = newHashtable(items.length * 2 + 1);
+		int[] nextIndices = new int[items.length];
+		for (int i = items.length - 1; i >= 0; i--) {
+			Object data = items[i].getData();
+			if (data != null) {
+				Integer next = (Integer) firstIndices.put(data, Integer.valueOf(i));
+				nextIndices[i] = next == null ? -1 : next.intValue();
+			}
+		}
+
+		int[] oldIndices = new int[elements.length];
+		for (int j = 0; j < elements.length; j++) {
+			Integer index = firstIndices.size() == 0 ? null : (Integer) firstIndices.get(elements[j]);
+			if (index == null) {
+				oldIndices[j] = -1;
+				continue;
+			}
+			int i = index.intValue();
+			oldIndices[j] = i;
+			if (nextIndices[i] < 0) {
+				firstIndices.remove(elements[j]);
+			} else {
+				firstIndices.put(elements[j], Integer.valueOf(nextIndices[i]));
+			}
+		}
+
+		boolean[] inPlace = longestIncreasingSubsequence(oldIndices);
+
+		// fill the gaps between the items that stay in place
+		Item[] targets = new Item[elements.length];
+		int oldStart = 0;
+		int newStart = 0;
+		for (int j = 0; j <= elements.length; j++) {
+			if (j < elements.length && !inPlace[j]) {
+				continue;
+			}
+			int oldEnd = j < elements.length ? oldIndices[j] : items.length;
+			int reused = Math.min(oldEnd - oldStart, j - newStart);
+			for (int k = 0; k < reused; k++) {
+				targets[newStart + k] = items[oldStart + k];
+			}
+			for (int i = oldStart + reused; i < oldEnd; i++) {
+				if (items[i].getData() != null) {
+					disassociate(items[i]);
+				}
+				items[i].dispose();
+			}
+			if (j < elements.length) {
+				targets[j] = items[oldEnd];
+			}
+			oldStart = oldEnd + 1;
+			newStart = j + 1;
+		}
+		return targets;
+	}
+
+	/**
+	 * Returns which of the given non-negative values form a longest strictly
+	 * increasing subsequence. Negative values are never part of it.
+	 */
+	private static boolean[] longestIncreasingSubsequence(int[] values) {
+		// tails[k] is the position of the smallest value ending a subsequence
+		// of length k + 1
+		int[] tails = new int[values.length];
+		int[] previous = new int[values.length];
+		int length = 0;
+		for (int j = 0; j < values.length; j++) {
+			int value = values[j];
+			if (value < 0) {
+				continue;
+			}
+			int low = 0;
+			int high = length;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (values[tails[middle]] < value) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			previous[j] = low > 0 ? tails[low - 1] : -1;
+			tails[low] = j;
+			if (low == length) {
+				length++;
+			}
+		}
+		boolean[] result = new boolean[values.length];
+		for (int j = length > 0 ? tails[length - 1] : -1; j >= 0; j = previous[j]) {
+			result[j] = true;
+		}
+		return result;
+	}
+
 	/** Returns true if children were pruned */
 	/*package*/ boolean optionallyPruneChildren(Item item, Object element) {
 		// need a dummy node if element is expandable;
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Filters and sorts the children of the root of a {@link StructuredViewer} in
+ * the background. The children are obtained from the content provider in the
+ * UI thread, filtered and sorted in a worker thread and then handed to a normal
+ * refresh of the viewer in the UI thread, which updates the existing items in
+ * one pass.
+ * <p>
+ * Only one computation is current at a time. Scheduling a new one, or a
+ * refresh of the root in the UI thread, supersedes the running one, which
+ * stops at the next filter or comparison.
+ * </p>
+ */
+/* package */final class BackgroundRefresh {
+
+	/**
+	 * The outcome of a computation.
+	 *
+	 * @param root     the root whose children were computed
+	 * @param raw      the children before filtering and sorting
+	 * @param filtered the filtered children, in the order of <code>raw</code>
+	 * @param sorted   the filtered and sorted children
+	 */
+	record Result(Object root, Object[] raw, Object[] filtered, Object[] sorted) {
+	}
+
+	private final StructuredViewer viewer;
+
+	/** Incremented whenever the running computation is superseded */
+	private final AtomicInteger generation = new AtomicInteger();
+
+	/** The result being applied, only accessed in the UI thread */
+	private Result result;
+
+	BackgroundRefresh(StructuredViewer viewer) {
+		this.viewer = viewer;
+	}
+
+	/**
+	 * Starts filtering and sorting the children of the given element in the
+	 * background if the element is the root of the viewer and there is anything
+	 * to filter or sort. Must be called in the UI thread.
+	 *
+	 * @return <code>true</code> if the refresh has been scheduled,
+	 *         <code>false</code> if the caller has to refresh the element itself
+	 */
+	boolean schedule(Object element, boolean updateLabels, boolean reveal) {
+		Object root = viewer.getRoot();
+		if (root == null || element != root) {
+			return false;
+		}
+		int current = generation.incrementAndGet();
+		ViewerComparator comparator = viewer.getComparator();
+		ViewerFilter[] filters = viewer.getFilters();
+		if ((comparator == null && filters.length == 0) || comparator instanceof TreePathViewerSorter) {
+			return false;
+		}
+		Object[] raw = viewer.getRawChildren(root);
+		Display display = viewer.getControl().getDisplay();
+		CompletableFuture.supplyAsync(() -> compute(current, root, raw, filters, comparator))
+				.whenComplete((computed, exception) -> {
+					if (exception == null || !(exception.getCause() instanceof OperationCanceledException)) {
+						display.asyncExec(() -> apply(current, root, computed, updateLabels, reveal));
+					}
+				});
+		return true;
+	}
+
+	/**
+	 * Supersedes the running computation.
+	 */
+	void cancel() {
+		generation.incrementAndGet();
+	}
+
+	private Result compute(int current, Object root, Object[] raw, ViewerFilter[] filters,
+			ViewerComparator comparator) {
+		Object[] filtered = raw;
+		for (ViewerFilter filter : filters) {
+			checkCanceled(current);
+			filtered = filter.filter(viewer, root, filtered);
+		}
+		Object[] sorted = filtered;
+		if (comparator != null) {
+			// be sure we're not modifying the original array from the model
+			sorted = filtered.clone();
+			if (isDefaultSort(comparator)) {
+				Arrays.parallelSort(sorted, (a, b) -> {
+					checkCanceled(current);
+					return comparator.compare(viewer, a, b);
+				});
+			} else {
+				checkCanceled(current);
+				comparator.sort(viewer, sorted);
+			}
+		}
+		return new Result(root, raw, filtered, sorted);
+	}
+
+	private void checkCanceled(int current) {
+		if (generation.get() != current) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	/**
+	 * Answers whether the comparator sorts with the
+	 * {@link ViewerComparator#sort(Viewer, Object[])} implementation, which only
+	 * depends on <code>compare</code> and can therefore be replaced by a parallel
+	 * sort.
+	 */
+	private static boolean isDefaultSort(ViewerComparator comparator) {
+		try {
+			return comparator.getClass().getMethod("sort", Viewer.class, Object[].class) //$NON-NLS-1$
+					.getDeclaringClass() == ViewerComparator.class;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Refreshes the viewer with the computed children. If the computation
+	 * failed, the viewer is refreshed the normal way, which reports the failure
+	 * in the UI thread.
+	 */
+	private void apply(int current, Object root, Result computed, boolean updateLabels, boolean reveal) {
+		Control control = viewer.getControl();
+		if (generation.get() != current || control == null || control.isDisposed() || viewer.getRoot() != root) {
+			return;
+		}
+		result = computed;
+		control.setRedraw(false);
+		try {
+			viewer.preservingSelection(() -> viewer.internalRefresh(root, updateLabels), reveal);
+		} finally {
+			result = null;
+			control.setRedraw(true);
+		}
+	}
+
+	/**
+	 * Returns the computed children of the given parent if a computed result is
+	 * being applied and the content provider still returns the children the
+	 * result was computed from. The result is returned only once.
+	 *
+	 * @param parent the parent element or tree path
+	 * @return the result, or <code>null</code> if the children have to be
+	 *         filtered and sorted in the UI thread
+	 */
+	Result take(Object parent) {
+		Result computed = result;
+		if (computed == null) {
+			return null;
+		}
+		if (parent instanceof TreePath path ? path.getSegmentCount() != 0 : parent != computed.root()) {
+			return null;
+		}
+		result = null;
+		Object[] raw = viewer.getRawChildren(parent);
+		if (raw.length != computed.raw().length) {
+			return null;
+		}
+		for (int i = 0; i < raw.length; i++) {
+			if (raw[i] != computed.raw()[i]) {
+				return null;
+			}
+		}
+		return computed;
+	}
+}
@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * ElementItemMap associates the elements of a viewer with their items. An
+ * element can be shown by more than one item. Elements and items cannot be
+ * null.
+ * <p>
+ * The map uses open addressing with linear probing. Elements, items and hash
+ * codes are stored in parallel arrays, so no object is allocated per entry.
+ * Elements are compared with the element comparer of the viewer, if there is
+ * one.
+ * </p>
+ */
+/* package */final class ElementItemMap {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private static final float LOAD_FACTOR = 0.75f;
+
+	/** The elements, <code>null</code> for free slots */
+	private Object[] keys;
+
+	/** A <code>Widget</code> or, for more than one item, a <code>Widget[]</code> */
+	private Object[] values;
+
+	/** The hash codes of the elements */
+	private int[] hashes;
+
+	private int size;
+
+	private int threshold;
+
+	private final IElementComparer comparer;
+
+	/**
+	 * Constructs a new map with enough capacity for the given number of elements.
+	 *
+	 * @param expectedSize the number of elements that can be added without
+	 *                     rehashing
+	 * @param comparer     the element comparer to use to compare elements and
+	 *                     obtain hash codes for elements, or <code>null</code> to
+	 *                     use the normal <code>equals</code> and
+	 *                     <code>hashCode</code> methods
+	 */
+	ElementItemMap(int expectedSize, IElementComparer comparer) {
+		this.comparer = comparer;
+		int capacity = MIN_CAPACITY;
+		while (capacity * LOAD_FACTOR < expectedSize) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+	/**
+	 * Constructs a new map with all entries of the given map, using the given
+	 * element comparer.
+	 *
+	 * @param map      the map to copy from
+	 * @param comparer the element comparer to use, or <code>null</code> to use
+	 *                 the normal <code>equals</code> and <code>hashCode</code>
+	 *                 methods
+	 */
+	ElementItemMap(ElementItemMap map, IElementComparer comparer) {
+		this(map.size, comparer);
+		for (int i = 0; i < map.keys.length; i++) {
+			if (map.keys[i] != null) {
+				put(map.keys[i], map.values[i]);
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new Object[capacity];
+		values = new Object[capacity];
+		hashes = new int[capacity];
+		threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	/**
+	 * Returns the number of elements in this map.
+	 *
+	 * @return the number of elements
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the items of the given element.
+	 *
+	 * @param element the element
+	 * @return a <code>Widget</code>, a <code>Widget[]</code> if the element is
+	 *         shown by more than one item, or <code>null</code> if the element is
+	 *         not mapped
+	 */
+	Object get(Object element) {
+		int index = indexOf(element, hash(element));
+		return index < 0 ? null : values[index];
+	}
+
+	/**
+	 * Adds the item to the items of the given element. Does nothing if the
+	 * element is already mapped to the item.
+	 *
+	 * @param element the element
+	 * @param item    the item
+	 */
+	void addItem(Object element, Widget item) {
+		int hash = hash(element);
+		int index = indexOf(element, hash);
+		if (index < 0) {
+			insert(element, item, hash);
+			return;
+		}
+		// avoid hanging onto elements that are equal but "old" -- see bug 30607
+		keys[index] = element;
+		Object widgetOrWidgets = values[index];
+		if (widgetOrWidgets instanceof Widget) {
+			if (widgetOrWidgets != item) {
+				values[index] = new Widget[] { (Widget) widgetOrWidgets, item };
+			}
+		} else {
+			Widget[] widgets = (Widget[]) widgetOrWidgets;
+			for (Widget widget : widgets) {
+				if (widget == item) {
+					return;
+				}
+			}
+			int length = widgets.length;
+			System.arraycopy(widgets, 0, widgets = new Widget[length + 1], 0, length);
+			widgets[length] = item;
+			values[index] = widgets;
+		}
+	}
+
+	/**
+	 * Removes the item from the items of the given element. The element is
+	 * removed if it has no more items. Does nothing if the element is not mapped
+	 * to the item.
+	 *
+	 * @param element the element
+	 * @param item    the item
+	 */
+	void removeItem(Object element, Widget item) {
+		int index = indexOf(element, hash(element));
+		if (index < 0) {
+			return;
+		}
+		Object widgetOrWidgets = values[index];
+		if (widgetOrWidgets instanceof Widget) {
+			if (widgetOrWidgets == item) {
+				removeAt(index);
+			}
+			return;
+		}
+		Widget[] widgets = (Widget[]) widgetOrWidgets;
+		int indexOfItem = -1;
+		for (int i = 0; i < widgets.length; i++) {
+			if (widgets[i] == item) {
+				indexOfItem = i;
+				break;
+			}
+		}
+		if (indexOfItem == -1) {
+			return;
+		}
+		int length = widgets.length;
+		if (length == 1) {
+			removeAt(index);
+		} else if (length == 2) {
+			values[index] = widgets[1 - indexOfItem];
+		} else {
+			Widget[] updatedWidgets = new Widget[length - 1];
+			System.arraycopy(widgets, 0, updatedWidgets, 0, indexOfItem);
+			System.arraycopy(widgets, indexOfItem + 1, updatedWidgets, indexOfItem, length - indexOfItem - 1);
+			values[index] = updatedWidgets;
+		}
+	}
+
+	/**
+	 * Removes the given element and all its items.
+	 *
+	 * @param element the element
+	 */
+	void remove(Object element) {
+		int index = indexOf(element, hash(element));
+		if (index >= 0) {
+			removeAt(index);
+		}
+	}
+
+	/**
+	 * Associates the element with the items, replacing any items it had before.
+	 * The element replaces an equal element, to avoid hanging onto elements that
+	 * are equal but "old" -- see bug 30607.
+	 */
+	private void put(Object element, Object widgetOrWidgets) {
+		int hash = hash(element);
+		int index = indexOf(element, hash);
+		if (index < 0) {
+			insert(element, widgetOrWidgets, hash);
+		} else {
+			keys[index] = element;
+			values[index] = widgetOrWidgets;
+		}
+	}
+
+	private void insert(Object element, Object widgetOrWidgets, int hash) {
+		if (size >= threshold) {
+			rehash(keys.length << 1);
+		}
+		int mask = keys.length - 1;
+		int index = hash & mask;
+		while (keys[index] != null) {
+			index = (index + 1) & mask;
+		}
+		keys[index] = element;
+		values[index] = widgetOrWidgets;
+		hashes[index] = hash;
+		size++;
+	}
+
+	private int indexOf(Object element, int hash) {
+		int mask = keys.length - 1;
+		int index = hash & mask;
+		Object key;
+		while ((key = keys[index]) != null) {
+			if (hashes[index] == hash && keyEquals(element, key)) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Frees the slot and moves entries of the same probe sequence back into it,
+	 * so lookups do not need markers for removed entries.
+	 */
+	private void removeAt(int index) {
+		int mask = keys.length - 1;
+		int free = index;
+		int next = index;
+		while (true) {
+			next = (next + 1) & mask;
+			Object key = keys[next];
+			if (key == null) {
+				break;
+			}
+			int home = hashes[next] & mask;
+			// move the entry if its home slot is not between the free slot
+			// and its current slot
+			if (free <= next ? (home <= free || home > next) : (home <= free && home > next)) {
+				keys[free] = key;
+				values[free] = values[next];
+				hashes[free] = hashes[next];
+				free = next;
+			}
+		}
+		keys[free] = null;
+		values[free] = null;
+		size--;
+	}
+
+	private void rehash(int capacity) {
+		Object[] oldKeys = keys;
+		Object[] oldValues = values;
+		int[] oldHashes = hashes;
+		allocate(capacity);
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != null) {
+				int index = oldHashes[i] & mask;
+				while (keys[index] != null) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+				hashes[index] = oldHashes[i];
+			}
+		}
+	}
+
+	/**
+	 * Answers the spread hash code for the given element.
+	 */
+	private int hash(Object element) {
+		int h = comparer == null ? element.hashCode() : comparer.hashCode(element);
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Compares two elements for equality.
+	 */
+	private boolean keyEquals(Object a, Object b) {
+		if (comparer == null) {
+			return a.equals(b);
+		}
+		return comparer.equals(a, b);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append('{');
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != null) {
+				if (buffer.length() > 1) {
+					buffer.append(", "); //$NON-NLS-1$
+				}
+				buffer.append(keys[i]);
+				buffer.append('=');
+				buffer.append(values[i]);
+			}
+		}
+		buffer.append('}');
+		return buffer.toString();
+	}
+}
@@ -69,7 +69,13 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * <code>Object</code>, value type: <code>Widget</code>, or <code>Widget[]</code>).
 	 * <code>null</code> means that the element map is disabled.
 	 */
-	private CustomHashtable elementMap;
+	private ElementItemMap elementMap;
+
+	/**
+	 * Filters and sorts the children of the root in the background, or
+	 * <code>null</code> if refreshes happen in the UI thread only.
+	 */
+	private BackgroundRefresh backgroundRefresh;
 
 	/**
 	 * The comparer to use for comparing elements, or <code>null</code> to use
@@ -1022,6 +1028,15 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * @return a sorted and filtered array of child elements
 	 */
 	protected Object[] getSortedChildren(Object parent) {
+		if (backgroundRefresh != null) {
+			BackgroundRefresh.Result computed = backgroundRefresh.take(parent);
+			if (computed != null) {
+				if (associateListener != null && computed.filtered().length != computed.raw().length) {
+					notifyFilteredOut(computed.raw(), computed.filtered());
+				}
+				return computed.sorted();
+			}
+		}
 		Object[] result = getFilteredChildren(parent);
 		if (sorter != null) {
 			// be sure we're not modifying the original array from the model
@@ -1264,25 +1279,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	protected void mapElement(Object element, Widget item) {
 		if (elementMap != null) {
-			Object widgetOrWidgets = elementMap.get(element);
-			if (widgetOrWidgets == null) {
-				elementMap.put(element, item);
-			} else if (widgetOrWidgets instanceof Widget) {
-				if (widgetOrWidgets != item) {
-					elementMap.put(element, new Widget[] {
-							(Widget) widgetOrWidgets, item });
-				}
-			} else {
-				Widget[] widgets = (Widget[]) widgetOrWidgets;
-				int indexOfItem = Arrays.asList(widgets).indexOf(item);
-				if (indexOfItem == -1) {
-					int length = widgets.length;
-					System.arraycopy(widgets, 0,
-							widgets = new Widget[length + 1], 0, length);
-					widgets[length] = item;
-					elementMap.put(element, widgets);
-				}
-			}
+			elementMap.addItem(element, item);
 		}
 	}
 
@@ -1460,6 +1457,9 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 *            the element
 	 */
 	public void refresh(final Object element) {
+		if (refreshInBackground(element, true, false)) {
+			return;
+		}
 		preservingSelection(() -> internalRefresh(element));
 	}
 
@@ -1483,9 +1483,28 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * @since 2.0
 	 */
 	public void refresh(final Object element, final boolean updateLabels) {
+		if (refreshInBackground(element, updateLabels, false)) {
+			return;
+		}
 		preservingSelection(() -> internalRefresh(element, updateLabels));
 	}
 
+	/**
+	 * Starts a background refresh of the given element if background refresh
+	 * is enabled and applicable, see {@link #setUseBackgroundRefresh(boolean)}.
+	 * Otherwise supersedes a running background refresh if the element is the
+	 * root.
+	 *
+	 * @return <code>true</code> if the refresh has been started,
+	 *         <code>false</code> if the caller has to refresh the element
+	 */
+	boolean refreshInBackground(Object element, boolean updateLabels, boolean reveal) {
+		if (backgroundRefresh == null) {
+			return false;
+		}
+		return backgroundRefresh.schedule(element, updateLabels, reveal);
+	}
+
 	/**
 	 *
 	 * Refreshes the given item with the given element. Calls
@@ -1766,12 +1785,61 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 		Assert.isTrue(getInput() == null,
 				"Can only enable the hash look up before input has been set");//$NON-NLS-1$
 		if (enable) {
-			elementMap = newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+			elementMap = new ElementItemMap(0, getComparer());
 		} else {
 			elementMap = null;
 		}
 	}
 
+	/**
+	 * Configures whether refreshes of the whole viewer filter and sort the
+	 * elements in the background. This is useful for viewers with many elements
+	 * and expensive filters or comparators, which would otherwise block the UI
+	 * thread.
+	 * <p>
+	 * If enabled, {@link #refresh()} and the other <code>refresh</code> methods,
+	 * when called for the root, obtain the elements from the content provider
+	 * and return. The elements are filtered and sorted by a worker thread, a
+	 * comparator that does not override
+	 * {@link ViewerComparator#sort(Viewer, Object[])} sorts in parallel. The
+	 * viewer is then updated in the UI thread in a single refresh that uses the
+	 * computed elements. A refresh started later supersedes a running one. The
+	 * filters and the comparator, as well as the label provider if the
+	 * comparator uses the labels, must therefore be safe to call from other
+	 * threads. Refreshes of other elements and viewers with a
+	 * {@link TreePathViewerSorter} are not affected.
+	 * </p>
+	 * <p>
+	 * The default is <code>false</code>.
+	 * </p>
+	 *
+	 * @param enable <code>true</code> to filter and sort in the background,
+	 *               <code>false</code> to do it in the UI thread
+	 * @since 3.35
+	 */
+	public void setUseBackgroundRefresh(boolean enable) {
+		if (enable) {
+			if (backgroundRefresh == null) {
+				backgroundRefresh = new BackgroundRefresh(this);
+			}
+		} else if (backgroundRefresh != null) {
+			backgroundRefresh.cancel();
+			backgroundRefresh = null;
+		}
+	}
+
+	/**
+	 * Returns whether refreshes of the whole viewer filter and sort the elements
+	 * in the background.
+	 *
+	 * @return <code>true</code> if background refresh is enabled
+	 * @see #setUseBackgroundRefresh(boolean)
+	 * @since 3.35
+	 */
+	public boolean isUseBackgroundRefresh() {
+		return backgroundRefresh != null;
+	}
+
 	/**
 	 * Sets the comparer to use for comparing elements, or <code>null</code>
 	 * to use the default <code>equals</code> and <code>hashCode</code>
@@ -1784,7 +1852,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	public void setComparer(IElementComparer comparer) {
 		this.comparer = comparer;
 		if (elementMap != null) {
-			elementMap = new CustomHashtable(elementMap, comparer);
+			elementMap = new ElementItemMap(elementMap, comparer);
 		}
 	}
 
@@ -1855,7 +1923,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	protected void unmapAllElements() {
 		if (elementMap != null) {
-			elementMap = newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+			elementMap = new ElementItemMap(0, getComparer());
 		}
 	}
 
@@ -1895,36 +1963,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 		// double-check that the element actually maps to the given item before
 		// unmapping it
 		if (elementMap != null) {
-			Object widgetOrWidgets = elementMap.get(element);
-			if (widgetOrWidgets == null) {
-				// item was not mapped, return
-				return;
-			} else if (widgetOrWidgets instanceof Widget) {
-				if (item == widgetOrWidgets) {
-					elementMap.remove(element);
-				}
-			} else {
-				Widget[] widgets = (Widget[]) widgetOrWidgets;
-				int indexOfItem = Arrays.asList(widgets).indexOf(item);
-				if (indexOfItem == -1) {
-					return;
-				}
-				int length = widgets.length;
-				if (indexOfItem == 0) {
-					if(length == 1) {
-						elementMap.remove(element);
-					} else {
-						Widget[] updatedWidgets = new Widget[length - 1];
-						System.arraycopy(widgets, 1, updatedWidgets, 0, length -1 );
-						elementMap.put(element, updatedWidgets);
-					}
-				} else {
-					Widget[] updatedWidgets = new Widget[length - 1];
-					System.arraycopy(widgets, 0, updatedWidgets, 0, indexOfItem);
-					System.arraycopy(widgets, indexOfItem + 1, updatedWidgets, indexOfItem, length - indexOfItem - 1);
-					elementMap.put(element, updatedWidgets);
-				}
-			}
+			elementMap.removeItem(element, item);
 		}
 	}
 
@@ -2269,11 +2308,14 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	@Override
 	protected void handleDispose(DisposeEvent event) {
 		super.handleDispose(event);
+		if (backgroundRefresh != null) {
+			backgroundRefresh.cancel();
+		}
 		sorter = null;
 		comparer = null;
 		if (filters != null)
 			filters.clear();
-		elementMap = newHashtable(1);
+		elementMap = new ElementItemMap(0, null);
 		openListeners.clear();
 		doubleClickListeners.clear();
 		colorAndFontCollector.clear();
@@ -371,6 +371,9 @@ public class TableViewer extends AbstractTableViewer {
 			cancelEditing();
 		}
 
+		if (refreshInBackground(element, updateLabels, reveal)) {
+			return;
+		}
 		preservingSelection(() -> internalRefresh(element, updateLabels), reveal);
 	}
 
@@ -370,6 +370,49 @@ public class TreeViewer extends AbstractTreeViewer {
 		}
 	}
 
+	/**
+	 * For a TreeViewer with a tree with the VIRTUAL style bit set, clear the
+	 * given parent's child at index, so that it is requested again from the
+	 * content provider when it becomes visible. If the given parent is this
+	 * viewer's input or an empty tree path, this will clear the root element at
+	 * the given index.
+	 *
+	 * @param parentElementOrTreePath
+	 *            the parent of the element that should be cleared, or the tree
+	 *            path to that parent
+	 * @param index
+	 *            the index in the parent's children
+	 *
+	 * @see ILazyTreeContentProvider
+	 *
+	 * @since 3.35
+	 */
+	public void clear(final Object parentElementOrTreePath, final int index) {
+		if (checkBusy())
+			return;
+		if (internalIsInputOrEmptyPath(parentElementOrTreePath)) {
+			if (index < tree.getItemCount()) {
+				TreeItem item = tree.getItem(index);
+				if (item.getData() != null) {
+					disassociate(item);
+				}
+				tree.clear(index, true);
+			}
+			return;
+		}
+		Widget[] parentItems = internalFindItems(parentElementOrTreePath);
+		for (Widget widget : parentItems) {
+			TreeItem parentItem = (TreeItem) widget;
+			if (index < parentItem.getItemCount()) {
+				TreeItem item = parentItem.getItem(index);
+				if (item.getData() != null) {
+					disassociate(item);
+				}
+				parentItem.clear(index, true);
+			}
+		}
+	}
+
 	/**
 	 * For a TreeViewer with a tree with the VIRTUAL style bit set, set the
 	 * number of children of the given element or tree path. To set the number
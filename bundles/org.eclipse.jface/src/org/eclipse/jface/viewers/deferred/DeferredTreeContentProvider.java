@@ -0,0 +1,346 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.viewers.deferred;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.jface.viewers.AcceptAllFilter;
+import org.eclipse.jface.viewers.IFilter;
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.ITreeViewerListener;
+import org.eclipse.jface.viewers.TreeExpansionEvent;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+
+/**
+ * Content provider that performs sorting and filtering of the children of
+ * expanded elements in a background thread. Requires a <code>TreeViewer</code>
+ * created with the <code>SWT.VIRTUAL</code> flag and an
+ * <code>IConcurrentTreeModel</code> as input.
+ * <p>
+ * The children of every expanded element are handled like the rows of a
+ * <code>DeferredContentProvider</code>: they are sorted incrementally in the
+ * background, and only the children in the visible part of the tree are sent
+ * to the viewer. Expanding an element with many children therefore only
+ * creates the visible items. When an element is collapsed, its children are
+ * discarded and requested again from the model on the next expansion.
+ * </p>
+ * <p>
+ * The sorter and filter must be set directly on the content provider. Any
+ * sorter or filter on the TreeViewer will be ignored. The sorter and filter
+ * apply to the children of all elements. Elements are identified by
+ * <code>equals</code> and <code>hashCode</code>; the viewer should use hash
+ * lookup (see {@link TreeViewer#setUseHashlookup(boolean)}) since children
+ * are replaced by element.
+ * </p>
+ *
+ * @see DeferredContentProvider
+ * @since 3.35
+ */
+public class DeferredTreeContentProvider implements ILazyTreeContentProvider {
+
+	private int limit = -1;
+	private Comparator sortOrder;
+	private IFilter filter = AcceptAllFilter.getInstance();
+	private TreeViewer viewer;
+	private IConcurrentTreeModel model;
+
+	/**
+	 * The expanded elements, and the input, mapped to the providers of their
+	 * children
+	 */
+	private final Map<Object, ChildrenAdapter> expanded = new HashMap<>();
+
+	private final ITreeViewerListener collapseListener = new ITreeViewerListener() {
+		@Override
+		public void treeCollapsed(TreeExpansionEvent event) {
+			Object element = event.getElement();
+			Control control = viewer.getControl();
+			// the item is collapsed after the event
+			control.getDisplay().asyncExec(() -> {
+				if (!control.isDisposed() && viewer != null && !viewer.getExpandedState(element)) {
+					collapse(element);
+				}
+			});
+		}
+
+		@Override
+		public void treeExpanded(TreeExpansionEvent event) {
+			// the children are requested when they become visible
+		}
+	};
+
+	/**
+	 * Adapts the children of one element to the algorithm of
+	 * <code>BackgroundContentProvider</code>.
+	 */
+	private final class ChildrenAdapter extends AbstractVirtualTable {
+
+		private final Object parent;
+
+		private final BackgroundContentProvider provider;
+
+		private int itemCount = -1;
+
+		private boolean disposed;
+
+		ChildrenAdapter(Object parent) {
+			this.parent = parent;
+			provider = new BackgroundContentProvider(this, model.getChildren(parent), sortOrder);
+			provider.setLimit(limit);
+			provider.setFilter(filter);
+		}
+
+		void dispose() {
+			disposed = true;
+			provider.dispose();
+		}
+
+		@Override
+		public void clear(int index) {
+			if (!disposed) {
+				viewer.clear(parent, index);
+			}
+		}
+
+		@Override
+		public void replace(Object element, int itemIndex) {
+			if (!disposed) {
+				viewer.replace(parent, itemIndex, element);
+			}
+		}
+
+		@Override
+		public void setItemCount(int total) {
+			if (!disposed) {
+				itemCount = total;
+				viewer.setChildCount(parent, total);
+			}
+		}
+
+		@Override
+		public int getItemCount() {
+			return Math.max(itemCount, 0);
+		}
+
+		/**
+		 * Returns the index of the child which is, or contains, the top item of
+		 * the tree, or 0 if the children start below the top item.
+		 */
+		@Override
+		public int getTopIndex() {
+			Tree tree = viewer.getTree();
+			TreeItem item = tree.getTopItem();
+			while (item != null) {
+				TreeItem parentItem = item.getParentItem();
+				if (parentItem == null ? parent == viewer.getInput() : parent.equals(parentItem.getData())) {
+					int index = parentItem == null ? tree.indexOf(item) : parentItem.indexOf(item);
+					return Math.max(index - 1, 0);
+				}
+				item = parentItem;
+			}
+			return 0;
+		}
+
+		@Override
+		public int getVisibleItemCount() {
+			Tree tree = viewer.getTree();
+			Rectangle rect = tree.getClientArea();
+			int itemHeight = tree.getItemHeight();
+			int headerHeight = tree.getHeaderHeight();
+			return (rect.height - headerHeight + itemHeight - 1) / (itemHeight + tree.getGridLineWidth());
+		}
+
+		@Override
+		public Control getControl() {
+			return viewer.getControl();
+		}
+	}
+
+	/**
+	 * Create a DeferredTreeContentProvider with the given sort order.
+	 *
+	 * @param sortOrder a comparator that sorts the children of every element.
+	 */
+	public DeferredTreeContentProvider(Comparator sortOrder) {
+		this.sortOrder = sortOrder;
+	}
+
+	@Override
+	public void dispose() {
+		disposeAll();
+		if (viewer != null) {
+			viewer.removeTreeListener(collapseListener);
+			viewer = null;
+		}
+	}
+
+	@Override
+	public void inputChanged(Viewer v, Object oldInput, Object newInput) {
+		disposeAll();
+		if (viewer != null) {
+			viewer.removeTreeListener(collapseListener);
+			viewer = null;
+		}
+		model = null;
+		if (newInput == null) {
+			return;
+		}
+
+		Assert.isTrue(newInput instanceof IConcurrentTreeModel);
+		Assert.isTrue(v instanceof TreeViewer);
+		model = (IConcurrentTreeModel) newInput;
+		viewer = (TreeViewer) v;
+		viewer.addTreeListener(collapseListener);
+	}
+
+	/**
+	 * Sets the sort order for this content provider. This sort order takes
+	 * priority over anything that was supplied to the <code>TreeViewer</code>.
+	 *
+	 * @param sortOrder new sort order. The comparator must be able to support
+	 *                  being used in a background thread.
+	 */
+	public void setSortOrder(Comparator sortOrder) {
+		Assert.isNotNull(sortOrder);
+		this.sortOrder = sortOrder;
+		for (ChildrenAdapter children : expanded.values()) {
+			children.provider.setSortOrder(sortOrder);
+		}
+	}
+
+	/**
+	 * Sets the filter for this content provider. This filter takes priority
+	 * over anything that was supplied to the <code>TreeViewer</code>. The
+	 * filter must be capable of being used in a background thread.
+	 *
+	 * @param toSet filter to set
+	 */
+	public void setFilter(IFilter toSet) {
+		this.filter = toSet;
+		for (ChildrenAdapter children : expanded.values()) {
+			children.provider.setFilter(toSet);
+		}
+	}
+
+	/**
+	 * Sets the maximum number of children shown for each element. If an element
+	 * has more children, only the top children will be shown based on the
+	 * current sort order.
+	 *
+	 * @param limit maximum number of children to show or -1 if unbounded
+	 */
+	public void setLimit(int limit) {
+		this.limit = limit;
+		for (ChildrenAdapter children : expanded.values()) {
+			children.provider.setLimit(limit);
+		}
+	}
+
+	/**
+	 * Returns the current maximum number of children or -1 if unbounded
+	 *
+	 * @return the current maximum number of children or -1 if unbounded
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	@Override
+	public void updateElement(Object parent, int index) {
+		if (viewer != null) {
+			getChildren(parent).provider.checkVisibleRange(index);
+		}
+	}
+
+	@Override
+	public void updateChildCount(Object element, int currentChildCount) {
+		if (viewer == null) {
+			return;
+		}
+		ChildrenAdapter children = element == viewer.getInput() ? getChildren(element) : expanded.get(element);
+		if (children != null) {
+			if (children.itemCount >= 0 && children.itemCount != currentChildCount) {
+				viewer.setChildCount(element, children.itemCount);
+			}
+			return;
+		}
+		// show the expand indicator with a single blank child, the children
+		// are computed when it is requested
+		boolean hasChildren = model.hasChildren(element);
+		if (!hasChildren && currentChildCount != 0) {
+			viewer.setChildCount(element, 0);
+		} else if (hasChildren && currentChildCount == 0) {
+			viewer.setChildCount(element, 1);
+		}
+	}
+
+	@Override
+	public Object getParent(Object element) {
+		return model == null ? null : model.getParent(element);
+	}
+
+	private ChildrenAdapter getChildren(Object parent) {
+		ChildrenAdapter children = expanded.get(parent);
+		if (children == null) {
+			children = new ChildrenAdapter(parent);
+			expanded.put(parent, children);
+		}
+		return children;
+	}
+
+	/**
+	 * Discards the children of the given element and of its expanded
+	 * descendants.
+	 */
+	private void collapse(Object element) {
+		ChildrenAdapter children = expanded.remove(element);
+		if (children == null) {
+			return;
+		}
+		children.dispose();
+		List<Object> descendants = new ArrayList<>();
+		for (Object expandedElement : expanded.keySet()) {
+			Object parent = model.getParent(expandedElement);
+			while (parent != null && parent != model) {
+				if (parent.equals(element)) {
+					descendants.add(expandedElement);
+					break;
+				}
+				parent = model.getParent(parent);
+			}
+		}
+		for (Object descendant : descendants) {
+			expanded.remove(descendant).dispose();
+		}
+		viewer.setHasChildren(element, model.hasChildren(element));
+	}
+
+	private void disposeAll() {
+		for (Iterator<ChildrenAdapter> iterator = expanded.values().iterator(); iterator.hasNext();) {
+			iterator.next().dispose();
+			iterator.remove();
+		}
+	}
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.viewers.deferred;
+
+/**
+ * Interface for a tree of elements whose children are provided by
+ * <code>IConcurrentModel</code>s. This is the input of a
+ * <code>DeferredTreeContentProvider</code>.
+ * <p>
+ * The methods of this interface are called in the UI thread and should return
+ * quickly. The children themselves are computed by the returned
+ * <code>IConcurrentModel</code>, which may do so in any thread.
+ * </p>
+ *
+ * @see DeferredTreeContentProvider
+ * @since 3.35
+ */
+public interface IConcurrentTreeModel {
+
+	/**
+	 * Returns the model of the children of the given element. Called when the
+	 * element is expanded. The returned model can be created on demand, the
+	 * content provider removes its listener when the element is collapsed.
+	 *
+	 * @param parent the parent element, or this tree model for the root
+	 *               elements
+	 * @return the model of the children of the given element
+	 */
+	public IConcurrentModel getChildren(Object parent);
+
+	/**
+	 * Returns whether the given element has children. This is used to show
+	 * the expand indicator without computing the children.
+	 *
+	 * @param element the element
+	 * @return <code>true</code> if the element has or may have children
+	 */
+	public boolean hasChildren(Object element);
+
+	/**
+	 * Returns the parent of the given element, or <code>null</code> if it
+	 * cannot be computed.
+	 *
+	 * @param element the element
+	 * @return the parent, this tree model for root elements, or
+	 *         <code>null</code>
+	 */
+	public Object getParent(Object element);
+}
@@ -22,6 +22,7 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.search.internal.core.text.DirtyFileProvider;
 import org.eclipse.search.internal.core.text.TextSearchEngineRegistry;
+import org.eclipse.search.internal.core.text.TrigramIndexManager;
 
 public class SearchCorePlugin extends Plugin {
 	/**
@@ -58,7 +59,7 @@ public class SearchCorePlugin extends Plugin {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
-		// do nothing
+		TrigramIndexManager.shutdown();
 	}
 
 	public TextSearchEngineRegistry getTextSearchEngineRegistry() {
@@ -48,6 +48,29 @@ public class FileCharSequenceProvider {
 		return charSequence;
 	}
 
+	/**
+	 * Returns a sequence that streams the content of the given file through this provider's
+	 * buffers, without first trying to read it into a String. Callers that already know the file
+	 * is too large for {@link #toShortString(IFile)} use this to avoid reading it twice.
+	 *
+	 * @param file the file to read
+	 * @return the streamed content, to be released with {@link #releaseCharSequence(CharSequence)}
+	 * @throws CoreException if the file cannot be opened
+	 * @throws IOException if reading from the file fails
+	 */
+	CharSequence newStreamedCharSequence(IFile file) throws CoreException, IOException {
+		return getCharSequence(file);
+	}
+
+	/**
+	 * Returns the number of chars that a streamed sequence keeps in memory at most.
+	 *
+	 * @return the buffer footprint of a streamed sequence
+	 */
+	static int getStreamFootprint() {
+		return NUMBER_OF_BUFFERS * BUFFER_SIZE;
+	}
+
 	private FileCharSequence getCharSequence(IFile file) throws CoreException, IOException {
 		if (fReused == null) {
 			return new FileCharSequence(file);
@@ -490,7 +513,7 @@ public class FileCharSequenceProvider {
 	 * Try to get a content as String. Avoids to scanning whole InputStream to
 	 * get length
 	 */
-	private static String toShortString(IFile file) {
+	static String toShortString(IFile file) {
 		try {
 			byte[] content = file.readNBytes(MAX_BUFFER_LENGTH);
 			int length = content.length;
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBuffer;
+
+import org.eclipse.search.core.text.TextSearchEngine;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * A text search engine that uses the {@link TrigramIndex} of the workspace to skip the files that
+ * cannot contain a match. Files open in editors and files not yet indexed are always searched;
+ * patterns without required trigrams search all files, like the default engine.
+ */
+public class IndexedTextSearchEngine extends TextSearchEngine {
+
+	@Override
+	public IStatus search(TextSearchScope scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		DirtyFileProvider discovery= SearchCorePlugin.getDefault().getDirtyFileDiscovery();
+		return new TextSearchVisitor(requestor, searchPattern, discovery).search(scope, files -> selectCandidates(files, searchPattern, discovery), monitor);
+	}
+
+	@Override
+	public IStatus search(IFile[] scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		DirtyFileProvider discovery= SearchCorePlugin.getDefault().getDirtyFileDiscovery();
+		return new TextSearchVisitor(requestor, searchPattern, discovery).search(selectCandidates(scope, searchPattern, discovery), monitor);
+	}
+
+	private static IFile[] selectCandidates(IFile[] files, Pattern searchPattern, DirtyFileProvider discovery) {
+		int[] trigrams= Trigrams.of(searchPattern);
+		if (trigrams == null || trigrams.length == 0 || files.length == 0) {
+			return files;
+		}
+		TrigramIndex index= TrigramIndexManager.getDefault().getIndex();
+		if (index == null) {
+			return files;
+		}
+		// the content of open buffers may differ from the indexed content
+		Set<IPath> openFiles= new HashSet<>();
+		for (IFileBuffer buffer : FileBuffers.getTextFileBufferManager().getFileBuffers()) {
+			openFiles.add(buffer.getLocation());
+		}
+		if (discovery != null) {
+			discovery.dirtyFiles().keySet().forEach(file -> openFiles.add(file.getFullPath()));
+		}
+		// with lightweight refresh the search refreshes files that changed on disk
+		boolean checkSynchronized= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
+
+		String[] paths= new String[files.length];
+		long[] stamps= new long[files.length];
+		for (int i= 0; i < files.length; i++) {
+			IFile file= files[i];
+			IPath path= file.getFullPath();
+			paths[i]= path.toString();
+			if (openFiles.contains(path) || (checkSynchronized && !file.isSynchronized(IResource.DEPTH_ZERO))) {
+				stamps[i]= TrigramIndex.NO_STAMP;
+			} else {
+				stamps[i]= file.getModificationStamp();
+			}
+		}
+		BitSet candidates;
+		try {
+			candidates= index.selectCandidates(paths, stamps, trigrams);
+		} catch (IOException e) {
+			SearchCorePlugin.log(e);
+			return files;
+		}
+		IFile[] result= new IFile[candidates.cardinality()];
+		int count= 0;
+		for (int i= candidates.nextSetBit(0); i >= 0; i= candidates.nextSetBit(i + 1)) {
+			result[count++]= files[i];
+		}
+		return result;
+	}
+}
@@ -21,12 +21,19 @@ import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,7 +46,6 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.content.IContentTypeManager;
 import org.eclipse.core.runtime.jobs.Job;
@@ -65,6 +71,11 @@ import org.eclipse.search.internal.core.text.FileCharSequenceProvider.FileCharSe
 
 /**
  * The visitor that does the actual work.
+ * <p>
+ * Files are read ahead by a few reader jobs and handed over to a work-stealing pool of matchers.
+ * The content that waits to be matched is bounded by {@link #MAX_PREFETCHED_CHARS}. The matches of
+ * a file are reported to the collector while the file is scanned and flushed once it is done.
+ * </p>
  */
 public class TextSearchVisitor {
 
@@ -72,7 +83,22 @@ public class TextSearchVisitor {
 	private static final int NUMBER_OF_LOGICAL_THREADS= Runtime.getRuntime().availableProcessors();
 
 	/**
-	 * Queue of files to be searched. IFile pointing to the same local file are
+	 * Upper bound for the chars that have been read ahead but not been matched yet. Keeps the
+	 * memory of a search independent of the number of files.
+	 */
+	private static final int MAX_PREFETCHED_CHARS= 1 << 24;
+
+	/**
+	 * Minimum weight of a read ahead file, bounds the number of small files waiting to be matched.
+	 */
+	private static final int MIN_PREFETCH_WEIGHT= 1 << 10;
+
+	private static final long PROGRESS_INTERVAL= 100; // ms
+
+	private static final int[] NO_MATCHES= new int[0];
+
+	/**
+	 * Queue of files to be read. IFile pointing to the same local file are
 	 * grouped together
 	 **/
 	private final Queue<List<IFile>> fileBatches;
@@ -138,162 +164,141 @@ public class TextSearchVisitor {
 	}
 
 	/**
-	 * A job to find matches in a set of files.
+	 * The content of a file that has been read ahead and waits to be matched.
+	 */
+	private static final class FileContent {
+		private final List<IFile> fSameFiles;
+		private final CharSequence fContent; // null if the file is too large and has to be streamed
+		private final boolean fCheckBinary;
+		private final int fWeight;
+
+		public FileContent(List<IFile> sameFiles, CharSequence content, boolean checkBinary, int weight) {
+			fSameFiles= sameFiles;
+			fContent= content;
+			fCheckBinary= checkBinary;
+			fWeight= Math.min(Math.max(weight, MIN_PREFETCH_WEIGHT), MAX_PREFETCHED_CHARS);
+		}
+	}
+
+	/**
+	 * A job that reads files ahead and hands their content over to the matchers.
 	 */
-	private class TextSearchJob extends Job {
+	private class TextSearchReadJob extends Job {
 		private final Map<IFile, IDocument> fDocumentsInEditors;
-		private FileCharSequenceProvider fileCharSequenceProvider;
-		private final int jobCount;
 
 		/**
-		 * Searches for matches in the files.
+		 * Reads the files of the search.
 		 *
 		 * @param documentsInEditors
 		 *            a map from IFile to IDocument for all open, dirty editors
-		 * @param jobCount
-		 *            number of Jobs
 		 */
-		public TextSearchJob(Map<IFile, IDocument> documentsInEditors, int jobCount) {
-			super("File Search Worker"); //$NON-NLS-1$
-			this.jobCount = jobCount;
+		public TextSearchReadJob(Map<IFile, IDocument> documentsInEditors) {
+			super("File Search Reader"); //$NON-NLS-1$
 			setSystem(true);
 			fDocumentsInEditors= documentsInEditors;
 		}
 
 		@Override
-		protected IStatus run(IProgressMonitor inner) {
-			MultiStatus multiStatus=
-					new MultiStatus(SearchCorePlugin.PLUGIN_ID, IStatus.OK,
-							SearchCoreMessages.TextSearchEngine_statusMessage, null);
-			SubMonitor subMonitor = SubMonitor.convert(inner, fileBatches.size() / jobCount); // approximate
-			this.fileCharSequenceProvider= new FileCharSequenceProvider();
+		protected IStatus run(IProgressMonitor monitor) {
 			List<IFile> sameFiles;
-			while (((sameFiles = fileBatches.poll()) != null) && !fFatalError && !fProgressMonitor.isCanceled()) {
-				IStatus status = processFile(sameFiles, subMonitor.split(1));
-				// Only accumulate interesting status
-				if (!status.isOK())
-					multiStatus.add(status);
-				// Group cancellation is propagated to this job's monitor.
-				// Stop processing and return the status for the completed jobs.
+			// Group cancellation is propagated to this job's monitor.
+			while (!fFatalError && !fProgressMonitor.isCanceled() && !monitor.isCanceled()
+					&& (sameFiles= fileBatches.poll()) != null) {
+				IFile file= sameFiles.get(0);
+				FileContent content;
+				try {
+					content= readFile(sameFiles);
+				} catch (CoreException | RuntimeException e) {
+					addStatus(createErrorStatus(file, e));
+					content= null;
+				}
+				if (content == null) {
+					fileScanned(file);
+				} else if (!dispatch(content)) {
+					break;
+				}
+			}
+			// Errors are collected per file, see fFileErrors
+			return Status.OK_STATUS;
+		}
+
+		private FileContent readFile(List<IFile> sameFiles) throws CoreException {
+			IFile file= sameFiles.get(0);
+			if (!fCollector.acceptFile(file) || fSearchPattern.pattern().isEmpty()) {
+				return null;
+			}
+			IDocument document= getOpenDocument(file, fDocumentsInEditors);
+			if (document != null) {
+				// assume all documents are non-binary, the content is in memory already
+				return new FileContent(sameFiles, new DocumentCharSequence(document), false, 0);
 			}
-			fileCharSequenceProvider= null;
-			synchronized (fLock) {
-				fLock.notify();
+			boolean reportTextOnly= !fCollector.reportBinaryFile(file);
+			if (reportTextOnly && hasBinaryContentType(file)) {
+				// fail fast for binary file types without opening the file
+				return null;
 			}
-			return multiStatus;
+			String content= FileCharSequenceProvider.toShortString(file);
+			if (content == null) {
+				// too large to be read ahead (or unreadable), the matcher streams it and reports errors
+				return new FileContent(sameFiles, null, reportTextOnly, FileCharSequenceProvider.getStreamFootprint());
+			}
+			if (reportTextOnly && hasBinaryContent(content)) {
+				return null;
+			}
+			return new FileContent(sameFiles, content, false, content.length());
 		}
 
-		public IStatus processFile(List<IFile> sameFiles, IProgressMonitor monitor) {
-			// A natural cleanup after the change to use JobGroups is accepted would be to move these
-			// methods to the TextSearchJob class.
-			Matcher matcher= fSearchPattern.pattern().isEmpty() ? null : fSearchPattern.matcher(""); //$NON-NLS-1$
-			IFile file = sameFiles.remove(0);
-			monitor.setTaskName(file.getFullPath().toString());
+		/**
+		 * Hands the content over to the matchers. Blocks while the read ahead content exceeds
+		 * {@link TextSearchVisitor#MAX_PREFETCHED_CHARS}.
+		 *
+		 * @param content the content to match
+		 * @return <code>false</code> if the search was canceled
+		 */
+		private boolean dispatch(FileContent content) {
+			ForkJoinPool matchers= fMatchers;
+			if (matchers == null) {
+				match(content);
+				return true;
+			}
+			Semaphore budget= fPrefetchBudget;
 			try {
-				if (!fCollector.acceptFile(file) || matcher == null) {
-					return Status.OK_STATUS;
-				}
-
-				List<TextSearchMatchAccess> occurences;
-				CharSequence charsequence;
-
-				IDocument document= getOpenDocument(file, getDocumentsInEditors());
-				if (document != null) {
-					charsequence = new DocumentCharSequence(document);
-					// assume all documents are non-binary
-					occurences = locateMatches(file, charsequence, matcher, monitor);
-				} else {
-					try {
-						boolean reportTextOnly = !fCollector.reportBinaryFile(file);
-						if (reportTextOnly && hasBinaryContentType(file)) {
-							// fail fast for binary file types without opening the file
-							return Status.OK_STATUS;
-						}
-						charsequence = fileCharSequenceProvider.newCharSequence(file);
-						if (reportTextOnly && hasBinaryContent(charsequence)) {
-							return Status.OK_STATUS;
-						}
-						occurences = locateMatches(file, charsequence, matcher, monitor);
-					} catch (FileCharSequenceProvider.FileCharSequenceException e) {
-						if (e.getCause() instanceof RuntimeException runtimeEx) {
-							throw runtimeEx;
-						}
-						throw e;
+				while (!budget.tryAcquire(content.fWeight, PROGRESS_INTERVAL, TimeUnit.MILLISECONDS)) {
+					if (fFatalError || fProgressMonitor.isCanceled()) {
+						return false;
 					}
 				}
-				fCollector.flushMatches(file);
-
-				for (IFile duplicateFiles : sameFiles) {
-					// reuse previous result
-					ReusableMatchAccess matchAccess= new ReusableMatchAccess();
-					for (TextSearchMatchAccess occurence : occurences) {
-						matchAccess.initialize(duplicateFiles, occurence.getMatchOffset(), occurence.getMatchLength(),
-								charsequence);
-						boolean goOn= fCollector.acceptPatternMatch(matchAccess);
-						if (!goOn) {
-							break;
-						}
-					}
-					fCollector.flushMatches(duplicateFiles);
-				}
-				if (document == null) {
-					try {
-						fileCharSequenceProvider.releaseCharSequence(charsequence);
-					} catch (IOException e) {
-						SearchCorePlugin.log(e);
-					}
-				}
-			} catch (UnsupportedCharsetException e) {
-				Object[] args= { getCharSetName(file), file.getFullPath().makeRelative().toString()};
-				String message = MessageFormat.format(SearchCoreMessages.TextSearchVisitor_unsupportedcharset, args);
-				return new Status(IStatus.ERROR, SearchCorePlugin.PLUGIN_ID, IStatus.ERROR, message, e);
-			} catch (IllegalCharsetNameException e) {
-				Object[] args= { getCharSetName(file), file.getFullPath().makeRelative().toString()};
-				String message = MessageFormat.format(SearchCoreMessages.TextSearchVisitor_illegalcharset, args);
-				return new Status(IStatus.ERROR, SearchCorePlugin.PLUGIN_ID, IStatus.ERROR, message, e);
-			} catch (IOException e) {
-				Object[] args= { getExceptionMessage(e), file.getFullPath().makeRelative().toString()};
-				String message = MessageFormat.format(SearchCoreMessages.TextSearchVisitor_error, args);
-				return new Status(IStatus.ERROR, SearchCorePlugin.PLUGIN_ID, IStatus.ERROR, message, e);
-			} catch (CoreException e) {
-				if (fIsLightweightAutoRefresh && IResourceStatus.RESOURCE_NOT_FOUND == e.getStatus().getCode()) {
-					return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
-				}
-				Object[] args= { getExceptionMessage(e), file.getFullPath().makeRelative().toString() };
-				String message = MessageFormat.format(SearchCoreMessages.TextSearchVisitor_error, args);
-				return new Status(IStatus.ERROR, SearchCorePlugin.PLUGIN_ID, IStatus.ERROR, message, e);
-			} catch (StackOverflowError e) {
-				fFatalError= true;
-				String message= SearchCoreMessages.TextSearchVisitor_patterntoocomplex0;
-				return new Status(IStatus.ERROR, SearchCorePlugin.PLUGIN_ID, IStatus.ERROR, message, e);
-			} finally {
-				synchronized (fLock) {
-					fCurrentFile= file;
-					fNumberOfScannedFiles++;
-				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
 			}
-			if (monitor.isCanceled()) {
-				fFatalError = true;
-				return Status.CANCEL_STATUS;
+			try {
+				matchers.execute(() -> match(content));
+			} catch (RejectedExecutionException e) {
+				// matchers were shut down because the search was canceled
+				budget.release(content.fWeight);
+				return false;
 			}
-			return Status.OK_STATUS;
-		}
-
-		public Map<IFile, IDocument> getDocumentsInEditors() {
-			return fDocumentsInEditors;
+			return true;
 		}
-
 	}
 
-
 	private final TextSearchRequestor fCollector;
 	private final Pattern fSearchPattern;
 
 	private volatile IProgressMonitor fProgressMonitor;
 
-	private int fNumberOfScannedFiles;  // Protected by fLock
-	private IFile fCurrentFile;  // Protected by fLock
-	private final Object fLock = new Object();
+	private final AtomicInteger fNumberOfScannedFiles= new AtomicInteger();
+	private volatile IFile fCurrentFile;
+
+	/**
+	 * Matches the read ahead files with work stealing, or <code>null</code> if the readers match
+	 * themselves because the collector can't run in parallel.
+	 */
+	private volatile ForkJoinPool fMatchers;
+	private volatile Semaphore fPrefetchBudget;
+	private final Queue<FileCharSequenceProvider> fProviders= new ConcurrentLinkedQueue<>();
+	private final Queue<IStatus> fFileErrors= new ConcurrentLinkedQueue<>();
 
 	private final MultiStatus fStatus;
 	private volatile boolean fFatalError; // If true, terminates the search.
@@ -318,13 +323,14 @@ public class TextSearchVisitor {
 			return fStatus;
 		}
 		fProgressMonitor = monitor == null ? new NullProgressMonitor() : monitor;
-		synchronized (fLock) {
-			fNumberOfScannedFiles = 0;
-			fCurrentFile = null;
-		}
+		fNumberOfScannedFiles.set(0);
+		fCurrentFile= null;
 		int threadsNeeded = Math.min(files.length, NUMBER_OF_LOGICAL_THREADS);
-		// All but 1 threads should search. 1 thread does the UI updates:
-		int jobCount = fCollector.canRunInParallel() && threadsNeeded > 1 ? threadsNeeded - 1 : 1;
+		// All but 1 threads should match. 1 thread does the UI updates:
+		boolean parallel= fCollector.canRunInParallel() && threadsNeeded > 1;
+		int matcherCount= parallel ? threadsNeeded - 1 : 0;
+		// Readers mostly wait for I/O, a few of them keep the matchers busy:
+		int readerCount= parallel ? Math.max(1, matcherCount / 2) : 1;
 		long startTime= TRACING ? System.currentTimeMillis() : 0;
 
 		try {
@@ -356,76 +362,182 @@ public class TextSearchVisitor {
 				int numberOfFilesToScan = fileBatches.size();
 				fProgressMonitor.beginTask(taskName, numberOfFilesToScan);
 
+				fPrefetchBudget= new Semaphore(MAX_PREFETCHED_CHARS);
+				fMatchers= parallel ? new ForkJoinPool(matcherCount) : null;
+
 				// Seed count over 1 can cause endless waits, see bug 543629
 				// comment 2
-				// TODO use seed = jobCount after the bug 543660 in JobGroup is
+				// TODO use seed = readerCount after the bug 543660 in JobGroup is
 				// fixed
 
 				final int seed = 1;
-				final JobGroup jobGroup = new TextSearchJobGroup("Text Search", jobCount, seed); //$NON-NLS-1$
-				for (int i = 0; i < jobCount; i++) {
-					Job job = new TextSearchJob(documentsInEditors, jobCount);
+				final JobGroup jobGroup = new TextSearchJobGroup("Text Search", readerCount, seed); //$NON-NLS-1$
+				for (int i = 0; i < readerCount; i++) {
+					Job job = new TextSearchReadJob(documentsInEditors);
 					job.setJobGroup(jobGroup);
 					job.schedule();
 				}
 				// update progress until finished or canceled:
-				int numberOfScannedFiles = 0;
 				int lastNumberOfScannedFiles = 0;
-				while (!fProgressMonitor.isCanceled() && !jobGroup.getActiveJobs().isEmpty()
-						&& numberOfScannedFiles != numberOfFilesToScan) {
-					IFile file;
-					synchronized (fLock) {
-						try {
-							// time only relevant on how often progress is
-							// updated, but cancel is notified immediately:
-							fLock.wait(100);
-						} catch (InterruptedException e) {
-							fProgressMonitor.setCanceled(true);
-							break;
+				boolean readersDone= false;
+				while (!fProgressMonitor.isCanceled()) {
+					// time only relevant on how often progress is updated:
+					if (!readersDone) {
+						readersDone= jobGroup.join(PROGRESS_INTERVAL, null);
+						if (readersDone && fMatchers != null) {
+							// all files are dispatched, let the matchers drain
+							fMatchers.shutdown();
 						}
-						file = fCurrentFile;
-						numberOfScannedFiles = fNumberOfScannedFiles;
-					}
-					if (file != null) {
-						String fileName = file.getName();
-						Object[] args = { fileName, Integer.valueOf(numberOfScannedFiles),
-								Integer.valueOf(numberOfFilesToScan) };
-						fProgressMonitor
-								.subTask(MessageFormat.format(SearchCoreMessages.TextSearchVisitor_scanning, args));
-						int steps = numberOfScannedFiles - lastNumberOfScannedFiles;
-						fProgressMonitor.worked(steps);
-						lastNumberOfScannedFiles += steps;
+					} else if (fMatchers == null || fMatchers.awaitTermination(PROGRESS_INTERVAL, TimeUnit.MILLISECONDS)) {
+						break;
 					}
+					lastNumberOfScannedFiles= updateProgress(lastNumberOfScannedFiles, numberOfFilesToScan);
 				}
 				if (fProgressMonitor.isCanceled()) {
 					jobGroup.cancel();
+					if (fMatchers != null) {
+						fMatchers.shutdownNow();
+					}
 				}
 				// no need to pass progressMonitor (which would show wrong
 				// progress) but null because jobGroup was already finished /
 				// canceled anyway:
 				jobGroup.join(0, null);
+				if (fMatchers != null) {
+					fMatchers.shutdown();
+					fMatchers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+				}
 				if (fProgressMonitor.isCanceled()) {
 					throw new OperationCanceledException(SearchCoreMessages.TextSearchVisitor_canceled);
 				}
 
-				fStatus.addAll(jobGroup.getResult());
+				fFileErrors.forEach(fStatus::add);
 				return fStatus;
 			} catch (InterruptedException e) {
 				throw new OperationCanceledException(SearchCoreMessages.TextSearchVisitor_canceled);
 			} finally {
+				if (fMatchers != null) {
+					fMatchers.shutdownNow();
+					fMatchers= null;
+				}
 				fileBatches.clear();
+				fFileErrors.clear();
+				fProviders.clear();
 			}
 		} finally {
 			fProgressMonitor.done();
 			fCollector.endReporting();
 			if (TRACING) {
-				Object[] args= { Integer.valueOf(fNumberOfScannedFiles), Integer.valueOf(jobCount), Integer.valueOf(NUMBER_OF_LOGICAL_THREADS), Long.valueOf(System.currentTimeMillis() - startTime) };
+				Object[] args= { Integer.valueOf(fNumberOfScannedFiles.get()), Integer.valueOf(readerCount), Integer.valueOf(matcherCount), Integer.valueOf(NUMBER_OF_LOGICAL_THREADS), Long.valueOf(System.currentTimeMillis() - startTime) };
 				System.out.println(MessageFormat.format(
-						"[TextSearch] Search duration for {0} files in {1} jobs using {2} threads: {3}ms", args)); //$NON-NLS-1$
+						"[TextSearch] Search duration for {0} files in {1} readers and {2} matchers using {3} threads: {4}ms", args)); //$NON-NLS-1$
 			}
 		}
 	}
 
+	private int updateProgress(int lastNumberOfScannedFiles, int numberOfFilesToScan) {
+		IFile file= fCurrentFile;
+		if (file == null) {
+			return lastNumberOfScannedFiles;
+		}
+		int numberOfScannedFiles= fNumberOfScannedFiles.get();
+		Object[] args= { file.getName(), Integer.valueOf(numberOfScannedFiles), Integer.valueOf(numberOfFilesToScan) };
+		fProgressMonitor.subTask(MessageFormat.format(SearchCoreMessages.TextSearchVisitor_scanning, args));
+		fProgressMonitor.worked(numberOfScannedFiles - lastNumberOfScannedFiles);
+		return numberOfScannedFiles;
+	}
+
+	private void fileScanned(IFile file) {
+		fCurrentFile= file;
+		fNumberOfScannedFiles.incrementAndGet();
+	}
+
+	private void addStatus(IStatus status) {
+		// Only accumulate interesting status
+		if (!status.isOK()) {
+			fFileErrors.add(status);
+		}
+	}
+
+	/**
+	 * Matches a read ahead file and reports the matches. Runs in a matcher thread, or in the
+	 * reader job if the collector can't run in parallel.
+	 *
+	 * @param content the content to match
+	 */
+	private void match(FileContent content) {
+		try {
+			if (!fFatalError && !fProgressMonitor.isCanceled()) {
+				addStatus(processFile(content));
+			}
+		} finally {
+			if (fMatchers != null) {
+				fPrefetchBudget.release(content.fWeight);
+			}
+			fileScanned(content.fSameFiles.get(0));
+		}
+	}
+
+	private IStatus processFile(FileContent content) {
+		IFile file= content.fSameFiles.get(0);
+		Matcher matcher= fSearchPattern.matcher(""); //$NON-NLS-1$
+		CharSequence charsequence= content.fContent;
+		FileCharSequenceProvider provider= null;
+		try {
+			if (charsequence == null) {
+				provider= fProviders.poll();
+				if (provider == null) {
+					provider= new FileCharSequenceProvider();
+				}
+				charsequence= provider.newStreamedCharSequence(file);
+				if (content.fCheckBinary && hasBinaryContent(charsequence)) {
+					return Status.OK_STATUS;
+				}
+			}
+			int[] matches= locateMatches(file, charsequence, matcher);
+			fCollector.flushMatches(file);
+			if (content.fSameFiles.size() > 1) {
+				reportDuplicateMatches(content.fSameFiles, charsequence, matches);
+			}
+		} catch (FileCharSequenceException e) {
+			return createErrorStatus(file, e.getCause() != null ? e.getCause() : e);
+		} catch (CoreException | IOException | RuntimeException | StackOverflowError e) {
+			return createErrorStatus(file, e);
+		} finally {
+			if (provider != null) {
+				try {
+					provider.releaseCharSequence(charsequence);
+				} catch (IOException e) {
+					SearchCorePlugin.log(e);
+				}
+				fProviders.offer(provider);
+			}
+		}
+		return Status.OK_STATUS;
+	}
+
+	private IStatus createErrorStatus(IFile file, Throwable e) {
+		String message;
+		if (e instanceof UnsupportedCharsetException) {
+			Object[] args= { getCharSetName(file), file.getFullPath().makeRelative().toString()};
+			message= MessageFormat.format(SearchCoreMessages.TextSearchVisitor_unsupportedcharset, args);
+		} else if (e instanceof IllegalCharsetNameException) {
+			Object[] args= { getCharSetName(file), file.getFullPath().makeRelative().toString()};
+			message= MessageFormat.format(SearchCoreMessages.TextSearchVisitor_illegalcharset, args);
+		} else if (e instanceof StackOverflowError) {
+			fFatalError= true;
+			message= SearchCoreMessages.TextSearchVisitor_patterntoocomplex0;
+		} else {
+			if (e instanceof CoreException coreException && fIsLightweightAutoRefresh
+					&& IResourceStatus.RESOURCE_NOT_FOUND == coreException.getStatus().getCode()) {
+				return Status.OK_STATUS;
+			}
+			Object[] args= { getExceptionMessage(e), file.getFullPath().makeRelative().toString() };
+			message= MessageFormat.format(SearchCoreMessages.TextSearchVisitor_error, args);
+		}
+		return new Status(IStatus.ERROR, SearchCorePlugin.PLUGIN_ID, IStatus.ERROR, message, e);
+	}
+
 	private Map<IFile, IDocument> findDirtyFiles() {
 		if (fDirtyDiscovery != null) {
 			Map<IFile, IDocument> ret = fDirtyDiscovery.dirtyFiles();
@@ -439,6 +551,18 @@ public class TextSearchVisitor {
 		return search(scope.evaluateFilesInScope(fStatus), monitor);
 	}
 
+	/**
+	 * Searches the files of the scope that pass the given filter.
+	 *
+	 * @param scope the scope
+	 * @param filter returns the files of the scope that need to be searched
+	 * @param monitor the progress monitor to use
+	 * @return the status of the search
+	 */
+	public IStatus search(TextSearchScope scope, UnaryOperator<IFile[]> filter, IProgressMonitor monitor) {
+		return search(filter.apply(scope.evaluateFilesInScope(fStatus)), monitor);
+	}
+
 	private final IContentType TEXT_TYPE = Platform.getContentTypeManager().getContentType(IContentTypeManager.CT_TEXT);
 
 	private boolean hasBinaryContentType(IFile file) {
@@ -477,35 +601,58 @@ public class TextSearchVisitor {
 		return false;
 	}
 
-	private List<TextSearchMatchAccess> locateMatches(IFile file, CharSequence searchInput, Matcher matcher, IProgressMonitor monitor) throws CoreException {
-		List<TextSearchMatchAccess> occurences= null;
+	/**
+	 * Reports the matches of the content to the collector while scanning it, so that cancellation
+	 * and a collector that requests no further matches stop the scan.
+	 *
+	 * @param file the file to report the matches for
+	 * @param searchInput the content to match
+	 * @param matcher the matcher to use
+	 * @return offset and length of each reported match as consecutive pairs
+	 * @throws CoreException thrown by the collector
+	 */
+	private int[] locateMatches(IFile file, CharSequence searchInput, Matcher matcher) throws CoreException {
+		int[] matches= NO_MATCHES;
+		int count= 0;
+		ReusableMatchAccess matchAccess= new ReusableMatchAccess();
 		matcher.reset(searchInput);
 		// Check for cancellation before calling matcher.find() since that call
 		// can be very expensive
-		while (!monitor.isCanceled() && matcher.find()) {
-			if (occurences == null) {
-				occurences= new ArrayList<>();
-			}
+		while (!fProgressMonitor.isCanceled() && matcher.find()) {
 			int start= matcher.start();
 			int end= matcher.end();
 			if (end != start) { // don't report 0-length matches
-				ReusableMatchAccess access= new ReusableMatchAccess();
-				access.initialize(file, start, end - start, searchInput);
-				occurences.add(access);
-				boolean res= fCollector.acceptPatternMatch(access);
-				if (!res) {
-					return occurences; // no further reporting requested
+				if (count == matches.length) {
+					matches= Arrays.copyOf(matches, Math.max(16, 2 * count));
+				}
+				matches[count++]= start;
+				matches[count++]= end - start;
+				matchAccess.initialize(file, start, end - start, searchInput);
+				if (!fCollector.acceptPatternMatch(matchAccess)) {
+					break; // no further reporting requested
 				}
 			}
 		}
-		if (occurences == null) {
-			occurences= Collections.emptyList();
-		}
-		return occurences;
+		return count == matches.length ? matches : Arrays.copyOf(matches, count);
 	}
 
+	/**
+	 * Reports the matches of the first file again for the other files with the same location.
+	 */
+	private void reportDuplicateMatches(List<IFile> sameFiles, CharSequence content, int[] matches) throws CoreException {
+		ReusableMatchAccess matchAccess= new ReusableMatchAccess();
+		for (IFile file : sameFiles.subList(1, sameFiles.size())) {
+			for (int i= 0; i < matches.length; i+= 2) {
+				matchAccess.initialize(file, matches[i], matches[i + 1], content);
+				if (!fCollector.acceptPatternMatch(matchAccess)) {
+					break; // no further reporting requested
+				}
+			}
+			fCollector.flushMatches(file);
+		}
+	}
 
-	private String getExceptionMessage(Exception e) {
+	private String getExceptionMessage(Throwable e) {
 		String message= e.getLocalizedMessage();
 		if (message == null) {
 			return e.getClass().getName();
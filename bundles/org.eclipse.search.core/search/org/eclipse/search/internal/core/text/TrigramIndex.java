@@ -0,0 +1,625 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A persistent index from trigrams to the files containing them, used to prune the files a text
+ * search has to read.
+ * <p>
+ * Files are identified by the hash of their full path and carry the modification stamp of the
+ * indexed content. Updated files get a new id, so posting lists only ever grow at the end. New
+ * postings are kept in memory until they are written as a new {@link TrigramIndexSegment}; when
+ * there are too many segments they are merged into one and the ids of removed files are dropped.
+ * The table of files and the list of segments are written by {@link #save()}. Segments replaced
+ * by a merge are deleted only after that, so the files on disk always describe a consistent
+ * index.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public final class TrigramIndex {
+
+	/** Stamp of a file that must always be searched, see {@link #selectCandidates} */
+	public static final long NO_STAMP= -1;
+
+	private static final int MAGIC= 0x54524749; // "TRGI"
+	private static final int VERSION= 1;
+	private static final String TABLE_FILE= "files.idx"; //$NON-NLS-1$
+	private static final String SEGMENT_PREFIX= "segment-"; //$NON-NLS-1$
+	private static final String SEGMENT_SUFFIX= ".idx"; //$NON-NLS-1$
+
+	private static final int MAX_PENDING_POSTINGS= 1 << 22;
+	private static final int MAX_SEGMENTS= 8;
+	private static final int MAX_QUERY_TRIGRAMS= 32;
+
+	private final Path fDirectory;
+
+	// the file table, indexed by id
+	private long[] fPathHashes= new long[1024];
+	private long[] fStamps= new long[1024];
+	private final BitSet fLive= new BitSet();
+	private final BitSet fUnindexed= new BitSet();
+	private final PathHashMap fIds= new PathHashMap();
+	private int fNextId;
+
+	// files indexed since the last flush, in ascending id order
+	private int[] fPendingIds= new int[256];
+	private int[][] fPendingTrigrams= new int[256][];
+	private int fPendingCount;
+	private int fPendingPostings;
+
+	private final List<TrigramIndexSegment> fSegments= new ArrayList<>();
+	private final List<Path> fObsoleteSegments= new ArrayList<>();
+	private int fNextSegment;
+	private boolean fDirty;
+
+	/**
+	 * Creates an empty index that is stored in the given directory.
+	 *
+	 * @param directory the directory of the index files
+	 */
+	public TrigramIndex(Path directory) {
+		fDirectory= directory;
+	}
+
+	/**
+	 * Loads the index from its directory. Files in the directory that don't belong to the saved
+	 * index are deleted.
+	 *
+	 * @throws IOException if the index cannot be read; the index should then be {@link #clear()
+	 *             cleared}
+	 */
+	public synchronized void load() throws IOException {
+		Files.createDirectories(fDirectory);
+		Path table= fDirectory.resolve(TABLE_FILE);
+		Set<Path> referenced= new HashSet<>();
+		referenced.add(table);
+		if (Files.exists(table)) {
+			List<String> segmentNames= new ArrayList<>();
+			try (DataInputStream in= new DataInputStream(new BufferedInputStream(Files.newInputStream(table), 1 << 16))) {
+				if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+					throw new IOException("Incompatible trigram index: " + table); //$NON-NLS-1$
+				}
+				fNextId= in.readInt();
+				fNextSegment= in.readInt();
+				int segmentCount= in.readInt();
+				for (int i= 0; i < segmentCount; i++) {
+					segmentNames.add(in.readUTF());
+				}
+				int fileCount= in.readInt();
+				for (int i= 0; i < fileCount; i++) {
+					int id= in.readInt();
+					long hash= in.readLong();
+					long stamp= in.readLong();
+					boolean unindexed= in.readBoolean();
+					if (id < 0 || id >= fNextId) {
+						throw new IOException("Corrupt trigram index: " + table); //$NON-NLS-1$
+					}
+					addFile(id, hash, stamp, unindexed);
+				}
+			}
+			for (String name : segmentNames) {
+				Path file= fDirectory.resolve(name);
+				fSegments.add(TrigramIndexSegment.open(file));
+				referenced.add(file);
+			}
+		}
+		try (DirectoryStream<Path> files= Files.newDirectoryStream(fDirectory)) {
+			for (Path file : files) {
+				if (!referenced.contains(file)) {
+					Files.deleteIfExists(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes pending postings and the file table to disk.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	public synchronized void save() throws IOException {
+		flush();
+		if (!fDirty) {
+			return;
+		}
+		Path table= fDirectory.resolve(TABLE_FILE);
+		Path temp= fDirectory.resolve(TABLE_FILE + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(fNextId);
+			out.writeInt(fNextSegment);
+			out.writeInt(fSegments.size());
+			for (TrigramIndexSegment segment : fSegments) {
+				out.writeUTF(segment.getFile().getFileName().toString());
+			}
+			out.writeInt(fLive.cardinality());
+			for (int id= fLive.nextSetBit(0); id >= 0; id= fLive.nextSetBit(id + 1)) {
+				out.writeInt(id);
+				out.writeLong(fPathHashes[id]);
+				out.writeLong(fStamps[id]);
+				out.writeBoolean(fUnindexed.get(id));
+			}
+		}
+		Files.move(temp, table, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		for (Path file : fObsoleteSegments) {
+			Files.deleteIfExists(file);
+		}
+		fObsoleteSegments.clear();
+		fDirty= false;
+	}
+
+	/**
+	 * Closes the segment files without saving.
+	 */
+	public synchronized void close() {
+		for (TrigramIndexSegment segment : fSegments) {
+			try {
+				segment.close();
+			} catch (IOException e) {
+				// ignore, nothing to write
+			}
+		}
+		fSegments.clear();
+	}
+
+	/**
+	 * Removes all files from the index and deletes its files on disk.
+	 *
+	 * @throws IOException if the files cannot be deleted
+	 */
+	public synchronized void clear() throws IOException {
+		close();
+		fIds.clear();
+		fLive.clear();
+		fUnindexed.clear();
+		fNextId= 0;
+		fPendingCount= 0;
+		fPendingPostings= 0;
+		fObsoleteSegments.clear();
+		fDirty= false;
+		if (Files.isDirectory(fDirectory)) {
+			try (DirectoryStream<Path> files= Files.newDirectoryStream(fDirectory)) {
+				for (Path file : files) {
+					Files.deleteIfExists(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of files in the index
+	 */
+	public synchronized int getFileCount() {
+		return fLive.cardinality();
+	}
+
+	/**
+	 * Tells whether the index contains the given version of a file.
+	 *
+	 * @param path the full path of the file
+	 * @param stamp the modification stamp of the file
+	 * @return <code>true</code> if the file has been indexed with the given stamp
+	 */
+	public synchronized boolean isCurrent(String path, long stamp) {
+		int id= fIds.get(hash(path));
+		return id >= 0 && fStamps[id] == stamp;
+	}
+
+	/**
+	 * Adds or replaces a file.
+	 *
+	 * @param path the full path of the file
+	 * @param stamp the modification stamp of the indexed content
+	 * @param trigrams the trigrams of the content as returned by {@link Trigrams#of(CharSequence)},
+	 *            or <code>null</code> if the content could not be indexed and the file must
+	 *            always be searched
+	 * @throws IOException if writing a segment fails
+	 */
+	public synchronized void update(String path, long stamp, int[] trigrams) throws IOException {
+		long hash= hash(path);
+		removeId(fIds.remove(hash));
+		int id= fNextId++;
+		addFile(id, hash, stamp, trigrams == null);
+		if (trigrams != null && trigrams.length > 0) {
+			if (fPendingCount == fPendingIds.length) {
+				fPendingIds= Arrays.copyOf(fPendingIds, 2 * fPendingCount);
+				fPendingTrigrams= Arrays.copyOf(fPendingTrigrams, 2 * fPendingCount);
+			}
+			fPendingIds[fPendingCount]= id;
+			fPendingTrigrams[fPendingCount++]= trigrams;
+			fPendingPostings+= trigrams.length;
+			if (fPendingPostings > MAX_PENDING_POSTINGS) {
+				flush();
+			}
+		}
+		fDirty= true;
+	}
+
+	/**
+	 * Removes a file.
+	 *
+	 * @param path the full path of the file
+	 */
+	public synchronized void remove(String path) {
+		removeId(fIds.remove(hash(path)));
+	}
+
+	/**
+	 * Removes all files whose path hash is not contained in the given array.
+	 *
+	 * @param sortedPathHashes the sorted {@link #hash(String) hashes} of the files to keep
+	 */
+	public synchronized void retainAll(long[] sortedPathHashes) {
+		for (int id= fLive.nextSetBit(0); id >= 0; id= fLive.nextSetBit(id + 1)) {
+			if (Arrays.binarySearch(sortedPathHashes, fPathHashes[id]) < 0) {
+				removeId(fIds.remove(fPathHashes[id]));
+			}
+		}
+	}
+
+	/**
+	 * Selects the files that may contain all the given trigrams. Files that are not in the index,
+	 * that have been indexed with a different stamp, or that could not be indexed are always
+	 * selected.
+	 *
+	 * @param paths the full paths of the files to select from
+	 * @param stamps the current modification stamps of the files, or {@link #NO_STAMP} for files
+	 *            that must be selected
+	 * @param trigrams the trigrams required by the search pattern
+	 * @return the indices of the selected files in <code>paths</code>
+	 * @throws IOException if reading a segment fails
+	 */
+	public synchronized BitSet selectCandidates(String[] paths, long[] stamps, int[] trigrams) throws IOException {
+		BitSet matching= null;
+		// any subset of the required trigrams is sound, long literals don't need all of them
+		for (int i= 0; i < trigrams.length && i < MAX_QUERY_TRIGRAMS; i++) {
+			int key= trigrams[i];
+			BitSet ids= new BitSet(fNextId);
+			for (TrigramIndexSegment segment : fSegments) {
+				segment.readPostings(key, ids);
+			}
+			for (int j= 0; j < fPendingCount; j++) {
+				if (Arrays.binarySearch(fPendingTrigrams[j], key) >= 0) {
+					ids.set(fPendingIds[j]);
+				}
+			}
+			if (matching == null) {
+				matching= ids;
+			} else {
+				matching.and(ids);
+			}
+			if (matching.isEmpty()) {
+				break;
+			}
+		}
+		BitSet candidates= new BitSet(paths.length);
+		for (int i= 0; i < paths.length; i++) {
+			int id= stamps[i] == NO_STAMP ? -1 : fIds.get(hash(paths[i]));
+			if (id < 0 || fStamps[id] != stamps[i] || fUnindexed.get(id) || matching == null || matching.get(id)) {
+				candidates.set(i);
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns the 64-bit FNV-1a hash of a path.
+	 *
+	 * @param path the full path of a file
+	 * @return the hash that identifies the file in the index
+	 */
+	public static long hash(String path) {
+		long hash= 0xcbf29ce484222325L;
+		for (int i= 0; i < path.length(); i++) {
+			hash^= path.charAt(i);
+			hash*= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	private void addFile(int id, long hash, long stamp, boolean unindexed) {
+		if (id >= fPathHashes.length) {
+			int capacity= Math.max(id + 1, 2 * fPathHashes.length);
+			fPathHashes= Arrays.copyOf(fPathHashes, capacity);
+			fStamps= Arrays.copyOf(fStamps, capacity);
+		}
+		fPathHashes[id]= hash;
+		fStamps[id]= stamp;
+		fLive.set(id);
+		fUnindexed.set(id, unindexed);
+		fIds.put(hash, id);
+	}
+
+	private void removeId(int id) {
+		if (id >= 0) {
+			fLive.clear(id);
+			fUnindexed.clear(id);
+			fDirty= true;
+		}
+	}
+
+	private Path newSegmentFile() {
+		return fDirectory.resolve(SEGMENT_PREFIX + fNextSegment++ + SEGMENT_SUFFIX);
+	}
+
+	/**
+	 * Writes the pending postings as a new segment.
+	 */
+	private void flush() throws IOException {
+		if (fPendingCount == 0) {
+			return;
+		}
+		int total= 0;
+		for (int i= 0; i < fPendingCount; i++) {
+			if (fLive.get(fPendingIds[i])) {
+				total+= fPendingTrigrams[i].length;
+			}
+		}
+		int[] keys= new int[total];
+		int count= 0;
+		for (int i= 0; i < fPendingCount; i++) {
+			if (fLive.get(fPendingIds[i])) {
+				System.arraycopy(fPendingTrigrams[i], 0, keys, count, fPendingTrigrams[i].length);
+				count+= fPendingTrigrams[i].length;
+			}
+		}
+		Arrays.sort(keys);
+		int keyCount= 0;
+		for (int i= 0; i < total; i++) {
+			if (keyCount == 0 || keys[i] != keys[keyCount - 1]) {
+				keys[keyCount++]= keys[i];
+			}
+		}
+		// group the ids by key, the pending files are in ascending id order
+		int[] starts= new int[keyCount + 1];
+		for (int i= 0; i < fPendingCount; i++) {
+			if (fLive.get(fPendingIds[i])) {
+				for (int key : fPendingTrigrams[i]) {
+					starts[Arrays.binarySearch(keys, 0, keyCount, key) + 1]++;
+				}
+			}
+		}
+		for (int i= 0; i < keyCount; i++) {
+			starts[i + 1]+= starts[i];
+		}
+		int[] postings= new int[total];
+		int[] next= Arrays.copyOf(starts, keyCount);
+		for (int i= 0; i < fPendingCount; i++) {
+			int id= fPendingIds[i];
+			if (fLive.get(id)) {
+				for (int key : fPendingTrigrams[i]) {
+					postings[next[Arrays.binarySearch(keys, 0, keyCount, key)]++]= id;
+				}
+			}
+		}
+		final int segmentKeyCount= keyCount;
+		fSegments.add(TrigramIndexSegment.write(newSegmentFile(), new TrigramIndexSegment.PostingsSource() {
+			private int fIndex= -1;
+
+			@Override
+			public boolean next() {
+				return ++fIndex < segmentKeyCount;
+			}
+
+			@Override
+			public int key() {
+				return keys[fIndex];
+			}
+
+			@Override
+			public void writePostings(TrigramIndexSegment.PostingsWriter writer) throws IOException {
+				for (int i= starts[fIndex]; i < starts[fIndex + 1]; i++) {
+					writer.add(postings[i]);
+				}
+			}
+		}));
+		Arrays.fill(fPendingTrigrams, 0, fPendingCount, null);
+		fPendingCount= 0;
+		fPendingPostings= 0;
+		fDirty= true;
+		if (fSegments.size() > MAX_SEGMENTS) {
+			merge();
+		}
+	}
+
+	/**
+	 * Merges all segments into one and compacts the ids of the live files.
+	 */
+	private void merge() throws IOException {
+		int[] newIds= new int[fNextId];
+		Arrays.fill(newIds, -1);
+		int liveCount= 0;
+		for (int id= fLive.nextSetBit(0); id >= 0; id= fLive.nextSetBit(id + 1)) {
+			newIds[id]= liveCount++;
+		}
+		int segmentCount= fSegments.size();
+		TrigramIndexSegment.Cursor[] cursors= new TrigramIndexSegment.Cursor[segmentCount];
+		boolean[] hasNext= new boolean[segmentCount];
+		TrigramIndexSegment merged;
+		try {
+			for (int i= 0; i < segmentCount; i++) {
+				cursors[i]= fSegments.get(i).new Cursor();
+				hasNext[i]= cursors[i].next();
+			}
+			merged= TrigramIndexSegment.write(newSegmentFile(), new TrigramIndexSegment.PostingsSource() {
+				private int fKey;
+
+				@Override
+				public boolean next() {
+					boolean found= false;
+					for (int i= 0; i < segmentCount; i++) {
+						if (hasNext[i] && (!found || cursors[i].key() < fKey)) {
+							fKey= cursors[i].key();
+							found= true;
+						}
+					}
+					return found;
+				}
+
+				@Override
+				public int key() {
+					return fKey;
+				}
+
+				@Override
+				public void writePostings(TrigramIndexSegment.PostingsWriter writer) throws IOException {
+					// segments hold ascending id ranges, so concatenating keeps the ids sorted
+					for (int i= 0; i < segmentCount; i++) {
+						if (hasNext[i] && cursors[i].key() == fKey) {
+							cursors[i].copyPostings(writer, newIds);
+							hasNext[i]= cursors[i].next();
+						}
+					}
+				}
+			});
+		} finally {
+			for (TrigramIndexSegment.Cursor cursor : cursors) {
+				if (cursor != null) {
+					cursor.close();
+				}
+			}
+		}
+		for (TrigramIndexSegment segment : fSegments) {
+			segment.close();
+			fObsoleteSegments.add(segment.getFile());
+		}
+		fSegments.clear();
+		fSegments.add(merged);
+
+		long[] pathHashes= new long[Math.max(liveCount, 1024)];
+		long[] stamps= new long[pathHashes.length];
+		BitSet unindexed= new BitSet();
+		fIds.clear();
+		for (int id= fLive.nextSetBit(0); id >= 0; id= fLive.nextSetBit(id + 1)) {
+			int newId= newIds[id];
+			pathHashes[newId]= fPathHashes[id];
+			stamps[newId]= fStamps[id];
+			unindexed.set(newId, fUnindexed.get(id));
+			fIds.put(fPathHashes[id], newId);
+		}
+		fPathHashes= pathHashes;
+		fStamps= stamps;
+		fLive.clear();
+		fLive.set(0, liveCount);
+		fUnindexed.clear();
+		fUnindexed.or(unindexed);
+		fNextId= liveCount;
+	}
+
+	/**
+	 * An open addressing map from path hashes to ids.
+	 */
+	private static final class PathHashMap {
+		private long[] fKeys= new long[1024];
+		private int[] fValues= new int[1024]; // id + 1, 0 for empty slots
+		private int fSize;
+
+		private static int slot(long key, int mask) {
+			return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+		}
+
+		int get(long key) {
+			int mask= fKeys.length - 1;
+			for (int i= slot(key, mask);; i= (i + 1) & mask) {
+				int value= fValues[i];
+				if (value == 0) {
+					return -1;
+				}
+				if (fKeys[i] == key) {
+					return value - 1;
+				}
+			}
+		}
+
+		void put(long key, int id) {
+			if (2 * (fSize + 1) > fKeys.length) {
+				rehash(2 * fKeys.length);
+			}
+			int mask= fKeys.length - 1;
+			for (int i= slot(key, mask);; i= (i + 1) & mask) {
+				if (fValues[i] == 0) {
+					fKeys[i]= key;
+					fValues[i]= id + 1;
+					fSize++;
+					return;
+				}
+				if (fKeys[i] == key) {
+					fValues[i]= id + 1;
+					return;
+				}
+			}
+		}
+
+		int remove(long key) {
+			int mask= fKeys.length - 1;
+			int hole= slot(key, mask);
+			while (fValues[hole] != 0 && fKeys[hole] != key) {
+				hole= (hole + 1) & mask;
+			}
+			if (fValues[hole] == 0) {
+				return -1;
+			}
+			int id= fValues[hole] - 1;
+			// shift following entries back so that lookups don't stop at the hole
+			for (int i= (hole + 1) & mask; fValues[i] != 0; i= (i + 1) & mask) {
+				int ideal= slot(fKeys[i], mask);
+				if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+					fKeys[hole]= fKeys[i];
+					fValues[hole]= fValues[i];
+					hole= i;
+				}
+			}
+			fValues[hole]= 0;
+			fSize--;
+			return id;
+		}
+
+		void clear() {
+			Arrays.fill(fValues, 0);
+			fSize= 0;
+		}
+
+		private void rehash(int capacity) {
+			long[] keys= fKeys;
+			int[] values= fValues;
+			fKeys= new long[capacity];
+			fValues= new int[capacity];
+			fSize= 0;
+			for (int i= 0; i < keys.length; i++) {
+				if (values[i] != 0) {
+					put(keys[i], values[i] - 1);
+				}
+			}
+		}
+	}
+}
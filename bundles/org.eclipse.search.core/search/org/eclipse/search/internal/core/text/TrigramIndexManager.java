@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * Keeps the {@link TrigramIndex} of the workspace files up to date.
+ * <p>
+ * The index is loaded and reconciled with the workspace by a background job when the manager is
+ * first used. Afterwards the job indexes the files reported by resource deltas. Searches can use
+ * the index while it is being updated since files whose stamp does not match the index are always
+ * searched.
+ * </p>
+ */
+public final class TrigramIndexManager implements IResourceChangeListener {
+
+	private static final String INDEX_DIRECTORY= "trigram-index"; //$NON-NLS-1$
+	private static final int SAVE_INTERVAL= 10_000; // files
+
+	private static TrigramIndexManager fgInstance;
+
+	private final TrigramIndex fIndex;
+	private final Queue<IFile> fPendingFiles= new ConcurrentLinkedQueue<>();
+	/**
+	 * Pending files whose encoding changed. Their stamp did not change, so they are reindexed even
+	 * if the index is current.
+	 */
+	private final Set<IFile> fReencodedFiles= ConcurrentHashMap.newKeySet();
+	private final IndexJob fJob= new IndexJob();
+	private volatile boolean fLoaded;
+	private boolean fReconciled; // only accessed by the job
+
+	private TrigramIndexManager(Path directory) {
+		fIndex= new TrigramIndex(directory);
+	}
+
+	/**
+	 * Returns the manager of the workspace index, starting it if needed.
+	 *
+	 * @return the manager
+	 */
+	public static synchronized TrigramIndexManager getDefault() {
+		if (fgInstance == null) {
+			Path directory= SearchCorePlugin.getDefault().getStateLocation().append(INDEX_DIRECTORY).toFile().toPath();
+			fgInstance= new TrigramIndexManager(directory);
+			fgInstance.start();
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Stops indexing and saves the index if the manager has been started.
+	 */
+	public static synchronized void shutdown() {
+		if (fgInstance != null) {
+			fgInstance.stop();
+			fgInstance= null;
+		}
+	}
+
+	/**
+	 * Returns the index if it has been loaded.
+	 *
+	 * @return the index or <code>null</code> if it is not available yet
+	 */
+	public TrigramIndex getIndex() {
+		return fLoaded ? fIndex : null;
+	}
+
+	private void start() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		fJob.schedule();
+	}
+
+	private void stop() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		fJob.cancel();
+		try {
+			fJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (fLoaded) {
+			try {
+				fIndex.save();
+			} catch (IOException e) {
+				SearchCorePlugin.log(e);
+			}
+		}
+		fIndex.close();
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(child -> {
+				IResource resource= child.getResource();
+				boolean encodingChanged= (child.getFlags() & IResourceDelta.ENCODING) != 0;
+				if (resource.getType() != IResource.FILE) {
+					if (encodingChanged && child.getKind() == IResourceDelta.CHANGED && resource.isAccessible()) {
+						// the files inheriting the encoding are not part of the delta
+						queueReencodedFiles(resource);
+					}
+					return true;
+				}
+				if (encodingChanged) {
+					fReencodedFiles.add((IFile) resource);
+					fPendingFiles.add((IFile) resource);
+				} else if (child.getKind() != IResourceDelta.CHANGED
+						|| (child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) {
+					fPendingFiles.add((IFile) resource);
+				}
+				return false;
+			});
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e.getStatus());
+		}
+		if (!fPendingFiles.isEmpty()) {
+			fJob.schedule();
+		}
+	}
+
+	private void queueReencodedFiles(IResource container) throws CoreException {
+		container.accept(proxy -> {
+			if (proxy.getType() != IResource.FILE) {
+				return true;
+			}
+			IFile file= (IFile) proxy.requestResource();
+			fReencodedFiles.add(file);
+			fPendingFiles.add(file);
+			return false;
+		}, IResource.NONE);
+	}
+
+	private void load() {
+		try {
+			fIndex.load();
+		} catch (IOException e) {
+			// rebuild from scratch
+			try {
+				fIndex.clear();
+			} catch (IOException e1) {
+				SearchCorePlugin.log(e1);
+			}
+		}
+	}
+
+	/**
+	 * Queues the files that changed while the index was not running and removes the files that no
+	 * longer exist.
+	 */
+	private void reconcile(IProgressMonitor monitor) throws CoreException {
+		long[][] hashes= { new long[1024] };
+		int[] count= { 0 };
+		ResourcesPlugin.getWorkspace().getRoot().accept(proxy -> {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			if (proxy.getType() != IResource.FILE) {
+				return true;
+			}
+			String path= proxy.requestFullPath().toString();
+			if (count[0] == hashes[0].length) {
+				hashes[0]= Arrays.copyOf(hashes[0], 2 * count[0]);
+			}
+			hashes[0][count[0]++]= TrigramIndex.hash(path);
+			if (!fIndex.isCurrent(path, proxy.getModificationStamp())) {
+				fPendingFiles.add((IFile) proxy.requestResource());
+			}
+			return false;
+		}, IResource.NONE);
+		long[] sorted= Arrays.copyOf(hashes[0], count[0]);
+		Arrays.sort(sorted);
+		fIndex.retainAll(sorted);
+	}
+
+	private void indexFile(IFile file) throws IOException {
+		String path= file.getFullPath().toString();
+		boolean reencoded= fReencodedFiles.remove(file);
+		if (!file.exists()) {
+			fIndex.remove(path);
+			return;
+		}
+		// take the stamp first, a change while reading is then seen as a stamp mismatch
+		long stamp= file.getModificationStamp();
+		if (stamp == IResource.NULL_STAMP || (!reencoded && fIndex.isCurrent(path, stamp))) {
+			return;
+		}
+		String content= FileCharSequenceProvider.toShortString(file);
+		// files too large to read at once are always searched
+		fIndex.update(path, stamp, content == null ? null : Trigrams.of(content));
+	}
+
+	private class IndexJob extends Job {
+
+		IndexJob() {
+			super(SearchCoreMessages.TrigramIndexManager_job_name);
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				if (!fLoaded) {
+					load();
+					fLoaded= true;
+				}
+				if (!fReconciled) {
+					reconcile(monitor);
+					fReconciled= true;
+				}
+				int indexed= 0;
+				IFile file;
+				while (!monitor.isCanceled() && (file= fPendingFiles.poll()) != null) {
+					indexFile(file);
+					if (++indexed % SAVE_INTERVAL == 0) {
+						fIndex.save();
+					}
+				}
+				fIndex.save();
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			} catch (CoreException e) {
+				SearchCorePlugin.log(e.getStatus());
+			} catch (IOException e) {
+				SearchCorePlugin.log(e);
+			}
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == TrigramIndexManager.class;
+		}
+	}
+}
@@ -0,0 +1,313 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An immutable, on-disk part of a {@link TrigramIndex} that maps trigram keys to the ids of the
+ * files containing them.
+ * <p>
+ * The file starts with the posting lists, one per key in ascending key order. Each list holds
+ * ascending file ids, delta and variable length encoded. The sorted keys and the offsets of their
+ * lists follow, the last 8 bytes point to them. Only keys and offsets are held in memory, posting
+ * lists are read on demand.
+ * </p>
+ */
+final class TrigramIndexSegment implements Closeable {
+
+	private static final int MAGIC= 0x54524753; // "TRGS"
+	private static final int VERSION= 1;
+	private static final int HEADER_LENGTH= 8;
+
+	private final Path fFile;
+	private final FileChannel fChannel;
+	private final int[] fKeys;
+	private final long[] fOffsets; // fKeys.length + 1 entries
+
+	private TrigramIndexSegment(Path file, FileChannel channel, int[] keys, long[] offsets) {
+		fFile= file;
+		fChannel= channel;
+		fKeys= keys;
+		fOffsets= offsets;
+	}
+
+	/**
+	 * Opens an existing segment.
+	 *
+	 * @param file the segment file
+	 * @return the segment
+	 * @throws IOException if the file cannot be read or is not a valid segment
+	 */
+	static TrigramIndexSegment open(Path file) throws IOException {
+		FileChannel channel= FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			long size= channel.size();
+			if (size < HEADER_LENGTH + 8) {
+				throw new EOFException(file.toString());
+			}
+			ByteBuffer header= ByteBuffer.allocate(HEADER_LENGTH);
+			readFully(channel, header, 0);
+			if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+				throw new IOException("Not a trigram index segment: " + file); //$NON-NLS-1$
+			}
+			ByteBuffer footer= ByteBuffer.allocate(8);
+			readFully(channel, footer, size - 8);
+			long tablePosition= footer.getLong(0);
+			if (tablePosition < HEADER_LENGTH || tablePosition > size - 12) {
+				throw new IOException("Corrupt trigram index segment: " + file); //$NON-NLS-1$
+			}
+			channel.position(tablePosition);
+			DataInputStream in= new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+			int count= in.readInt();
+			int[] keys= new int[count];
+			for (int i= 0; i < count; i++) {
+				keys[i]= in.readInt();
+			}
+			long[] offsets= new long[count + 1];
+			for (int i= 0; i <= count; i++) {
+				offsets[i]= in.readLong();
+			}
+			return new TrigramIndexSegment(file, channel, keys, offsets);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException();
+			}
+		}
+	}
+
+	Path getFile() {
+		return fFile;
+	}
+
+	int getKeyCount() {
+		return fKeys.length;
+	}
+
+	/**
+	 * Adds the ids of the files that contain the given trigram to <code>ids</code>.
+	 *
+	 * @param key the trigram key
+	 * @param ids the set to add to
+	 * @throws IOException if reading the segment fails
+	 */
+	void readPostings(int key, BitSet ids) throws IOException {
+		int index= Arrays.binarySearch(fKeys, key);
+		if (index < 0) {
+			return;
+		}
+		int length= (int) (fOffsets[index + 1] - fOffsets[index]);
+		ByteBuffer buffer= ByteBuffer.allocate(length);
+		readFully(fChannel, buffer, fOffsets[index]);
+		byte[] bytes= buffer.array();
+		int id= -1;
+		for (int pos= 0; pos < length;) {
+			int delta= 0;
+			int shift= 0;
+			byte b;
+			do {
+				b= bytes[pos++];
+				delta|= (b & 0x7F) << shift;
+				shift+= 7;
+			} while (b < 0);
+			id+= delta + 1;
+			ids.set(id);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		fChannel.close();
+	}
+
+	/**
+	 * Source of the posting lists of a segment that is written.
+	 */
+	interface PostingsSource {
+		/**
+		 * Advances to the next key.
+		 *
+		 * @return <code>false</code> if there are no more keys
+		 * @throws IOException if reading the source fails
+		 */
+		boolean next() throws IOException;
+
+		/**
+		 * @return the current key, keys are returned in ascending order
+		 */
+		int key();
+
+		/**
+		 * Writes the ascending ids of the current key.
+		 *
+		 * @param writer the writer to write to
+		 * @throws IOException if reading the source fails
+		 */
+		void writePostings(PostingsWriter writer) throws IOException;
+	}
+
+	/**
+	 * Writes the posting list of one key.
+	 */
+	static final class PostingsWriter {
+		private final OutputStream fOut;
+		private long fPosition;
+		private int fLastId;
+
+		PostingsWriter(OutputStream out, long position) {
+			fOut= out;
+			fPosition= position;
+		}
+
+		void add(int id) throws IOException {
+			int delta= id - fLastId - 1;
+			while ((delta & ~0x7F) != 0) {
+				fOut.write((delta & 0x7F) | 0x80);
+				delta>>>= 7;
+				fPosition++;
+			}
+			fOut.write(delta);
+			fPosition++;
+			fLastId= id;
+		}
+
+		void startList() {
+			fLastId= -1;
+		}
+	}
+
+	/**
+	 * Writes a new segment. The file is written to a temporary file first and moved into place
+	 * when complete.
+	 *
+	 * @param file the segment file
+	 * @param source the posting lists
+	 * @return the opened segment
+	 * @throws IOException if writing fails
+	 */
+	static TrigramIndexSegment write(Path file, PostingsSource source) throws IOException {
+		Path temp= file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+		int[] keys= new int[1024];
+		long[] offsets= new long[1025];
+		int count= 0;
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			PostingsWriter writer= new PostingsWriter(out, HEADER_LENGTH);
+			while (source.next()) {
+				if (count == keys.length) {
+					keys= Arrays.copyOf(keys, 2 * count);
+					offsets= Arrays.copyOf(offsets, 2 * count + 1);
+				}
+				keys[count]= source.key();
+				offsets[count]= writer.fPosition;
+				writer.startList();
+				source.writePostings(writer);
+				count++;
+			}
+			long tablePosition= writer.fPosition;
+			offsets[count]= tablePosition;
+			out.writeInt(count);
+			for (int i= 0; i < count; i++) {
+				out.writeInt(keys[i]);
+			}
+			for (int i= 0; i <= count; i++) {
+				out.writeLong(offsets[i]);
+			}
+			out.writeLong(tablePosition);
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		return open(file);
+	}
+
+	/**
+	 * Reads the posting lists of a segment in key order, used to merge segments.
+	 */
+	final class Cursor implements Closeable {
+		private final InputStream fIn;
+		private int fIndex= -1;
+
+		Cursor() throws IOException {
+			fIn= new BufferedInputStream(Files.newInputStream(fFile), 1 << 16);
+			fIn.skipNBytes(HEADER_LENGTH);
+		}
+
+		boolean next() {
+			return ++fIndex < fKeys.length;
+		}
+
+		int key() {
+			return fKeys[fIndex];
+		}
+
+		/**
+		 * Adds the ids of the current key that are still alive to the writer.
+		 *
+		 * @param writer the writer
+		 * @param newIds maps old ids to new ids, negative for ids that are dropped
+		 * @throws IOException if reading fails
+		 */
+		void copyPostings(PostingsWriter writer, int[] newIds) throws IOException {
+			long remaining= fOffsets[fIndex + 1] - fOffsets[fIndex];
+			int id= -1;
+			while (remaining > 0) {
+				int delta= 0;
+				int shift= 0;
+				int b;
+				do {
+					b= fIn.read();
+					if (b < 0) {
+						throw new EOFException(fFile.toString());
+					}
+					remaining--;
+					delta|= (b & 0x7F) << shift;
+					shift+= 7;
+				} while ((b & 0x80) != 0);
+				id+= delta + 1;
+				if (id < newIds.length && newIds[id] >= 0) {
+					writer.add(newIds[id]);
+				}
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			fIn.close();
+		}
+	}
+}
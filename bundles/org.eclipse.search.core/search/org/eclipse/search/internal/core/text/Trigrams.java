@@ -0,0 +1,376 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Computes the trigrams of file contents and the trigrams that every match of a search pattern
+ * must contain. A file can only contain a match if it contains all trigrams of the pattern.
+ * <p>
+ * Trigrams are case folded the same way {@link Pattern#CASE_INSENSITIVE} with
+ * {@link Pattern#UNICODE_CASE} compares characters, so the same index serves case sensitive and
+ * case insensitive searches. Trigrams are hashed to <code>int</code> keys; a collision can only
+ * add candidates, never drop a match.
+ * </p>
+ */
+public final class Trigrams {
+
+	private static final int[] NO_TRIGRAMS= new int[0];
+
+	private static final char[] FOLD= createFoldTable();
+
+	private Trigrams() {
+		// don't instantiate
+	}
+
+	private static char[] createFoldTable() {
+		char[] table= new char[Character.MAX_VALUE + 1];
+		for (int c= 0; c <= Character.MAX_VALUE; c++) {
+			// the key java.util.regex uses to compare characters case insensitively
+			table[c]= Character.toLowerCase(Character.toUpperCase((char) c));
+		}
+		return table;
+	}
+
+	static char fold(char c) {
+		return FOLD[c];
+	}
+
+	static int key(char c0, char c1, char c2) {
+		long trigram= ((long) c0 << 32) | ((long) c1 << 16) | c2;
+		return (int) ((trigram * 0x9E3779B97F4A7C15L) >>> 32);
+	}
+
+	/**
+	 * Returns the trigrams of a text.
+	 *
+	 * @param text the text
+	 * @return the sorted, distinct trigram keys of the text
+	 */
+	public static int[] of(CharSequence text) {
+		int length= text.length();
+		if (length < 3) {
+			return NO_TRIGRAMS;
+		}
+		int[] keys= new int[length - 2];
+		char c0= FOLD[text.charAt(0)];
+		char c1= FOLD[text.charAt(1)];
+		for (int i= 2; i < length; i++) {
+			char c2= FOLD[text.charAt(i)];
+			keys[i - 2]= key(c0, c1, c2);
+			c0= c1;
+			c1= c2;
+		}
+		return distinct(keys, keys.length);
+	}
+
+	/**
+	 * Returns the trigrams that every match of the given pattern contains. The analysis is
+	 * conservative: constructs it does not understand end the current literal, and patterns with
+	 * top level alternatives or inline flags yield <code>null</code>.
+	 *
+	 * @param pattern the search pattern
+	 * @return the sorted, distinct trigram keys, or <code>null</code> if the pattern does not
+	 *         require any trigram
+	 */
+	public static int[] of(Pattern pattern) {
+		int flags= pattern.flags();
+		if ((flags & (Pattern.COMMENTS | Pattern.CANON_EQ)) != 0) {
+			return null;
+		}
+		PatternScanner scanner= new PatternScanner(pattern.pattern(), (flags & Pattern.CASE_INSENSITIVE) != 0);
+		if ((flags & Pattern.LITERAL) != 0) {
+			scanner.literals(pattern.pattern());
+		} else if (!scanner.scan()) {
+			return null;
+		}
+		return scanner.getTrigrams();
+	}
+
+	private static int[] distinct(int[] keys, int length) {
+		if (length == 0) {
+			return NO_TRIGRAMS;
+		}
+		Arrays.sort(keys, 0, length);
+		int count= 1;
+		for (int i= 1; i < length; i++) {
+			if (keys[i] != keys[count - 1]) {
+				keys[count++]= keys[i];
+			}
+		}
+		return count == keys.length ? keys : Arrays.copyOf(keys, count);
+	}
+
+	/**
+	 * Collects the literal runs of a regular expression that every match must contain.
+	 */
+	private static final class PatternScanner {
+		private final String fPattern;
+		private final boolean fIgnoreCase;
+		private final StringBuilder fRun= new StringBuilder();
+		private int[] fTrigrams= new int[16];
+		private int fTrigramCount;
+		private int fPos;
+		/** <code>true</code> if the last atom was a literal that is the last char of the run */
+		private boolean fLastIsLiteral;
+
+		PatternScanner(String pattern, boolean ignoreCase) {
+			fPattern= pattern;
+			fIgnoreCase= ignoreCase;
+		}
+
+		int[] getTrigrams() {
+			endRun();
+			return fTrigramCount == 0 ? null : distinct(fTrigrams, fTrigramCount);
+		}
+
+		boolean scan() {
+			int length= fPattern.length();
+			while (fPos < length) {
+				char c= fPattern.charAt(fPos++);
+				switch (c) {
+					case '\\':
+						if (!escape()) {
+							return false;
+						}
+						break;
+					case '[':
+						endRun();
+						if (!skipClass()) {
+							return false;
+						}
+						break;
+					case '(':
+						endRun();
+						if (!skipGroup()) {
+							return false;
+						}
+						break;
+					case '|':
+					case ')':
+						return false;
+					case '*':
+					case '?':
+					case '+':
+					case '{':
+						if (!quantifier(c)) {
+							return false;
+						}
+						break;
+					case '.':
+					case '^':
+					case '$':
+						endRun();
+						break;
+					default:
+						literal(c);
+						break;
+				}
+			}
+			return true;
+		}
+
+		void literals(String text) {
+			for (int i= 0; i < text.length(); i++) {
+				literal(text.charAt(i));
+			}
+		}
+
+		private void literal(char c) {
+			if (fIgnoreCase && Character.isSurrogate(c)) {
+				// supplementary characters are compared as code points, not as chars
+				endRun();
+				return;
+			}
+			fRun.append(FOLD[c]);
+			fLastIsLiteral= true;
+		}
+
+		private void endRun() {
+			for (int i= 2; i < fRun.length(); i++) {
+				if (fTrigramCount == fTrigrams.length) {
+					fTrigrams= Arrays.copyOf(fTrigrams, 2 * fTrigramCount);
+				}
+				fTrigrams[fTrigramCount++]= key(fRun.charAt(i - 2), fRun.charAt(i - 1), fRun.charAt(i));
+			}
+			fRun.setLength(0);
+			fLastIsLiteral= false;
+		}
+
+		private boolean quantifier(char c) {
+			boolean optional= c == '*' || c == '?';
+			if (c == '{') {
+				int end= fPattern.indexOf('}', fPos);
+				if (end < 0) {
+					return false;
+				}
+				optional= fPattern.startsWith("0", fPos); //$NON-NLS-1$
+				fPos= end + 1;
+			}
+			if (fLastIsLiteral && optional) {
+				// the quantified char may be absent
+				fRun.setLength(fRun.length() - 1);
+			}
+			endRun();
+			if (fPos < fPattern.length() && (fPattern.charAt(fPos) == '?' || fPattern.charAt(fPos) == '+')) {
+				fPos++; // reluctant or possessive
+			}
+			return true;
+		}
+
+		private boolean escape() {
+			if (fPos >= fPattern.length()) {
+				return false;
+			}
+			char c= fPattern.charAt(fPos++);
+			switch (c) {
+				case 'Q':
+					int end= fPattern.indexOf("\\E", fPos); //$NON-NLS-1$
+					if (end < 0) {
+						end= fPattern.length();
+					}
+					literals(fPattern.substring(fPos, end));
+					fPos= Math.min(end + 2, fPattern.length());
+					return true;
+				case 't':
+					literal('\t');
+					return true;
+				case 'n':
+					literal('\n');
+					return true;
+				case 'r':
+					literal('\r');
+					return true;
+				case 'f':
+					literal('\f');
+					return true;
+				case 'a':
+					literal('\u0007');
+					return true;
+				case 'e':
+					literal('\u001B');
+					return true;
+				case 'x':
+				case 'p':
+				case 'P':
+				case 'N':
+					endRun();
+					if (fPos < fPattern.length() && fPattern.charAt(fPos) == '{') {
+						return skipTo('}');
+					}
+					fPos+= c == 'x' ? 2 : 1;
+					return true;
+				case 'u':
+					endRun();
+					fPos+= 4;
+					return true;
+				case 'c':
+					endRun();
+					fPos++;
+					return true;
+				case 'k':
+					endRun();
+					return skipTo('>');
+				default:
+					if (Character.isLetterOrDigit(c)) {
+						// character classes, boundaries, back references and octal escapes
+						endRun();
+						while (Character.isDigit(c) && fPos < fPattern.length() && Character.isDigit(fPattern.charAt(fPos))) {
+							fPos++;
+						}
+					} else {
+						literal(c);
+					}
+					return true;
+			}
+		}
+
+		private boolean skipTo(char c) {
+			int end= fPattern.indexOf(c, fPos);
+			if (end < 0) {
+				return false;
+			}
+			fPos= end + 1;
+			return true;
+		}
+
+		private boolean skipClass() {
+			int length= fPattern.length();
+			if (fPos < length && fPattern.charAt(fPos) == '^') {
+				fPos++;
+			}
+			if (fPos < length && fPattern.charAt(fPos) == ']') {
+				fPos++;
+			}
+			int depth= 1;
+			while (fPos < length) {
+				char c= fPattern.charAt(fPos++);
+				if (c == '\\') {
+					if (!skipEscaped()) {
+						return false;
+					}
+				} else if (c == '[') {
+					depth++;
+				} else if (c == ']' && --depth == 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean skipGroup() {
+			int length= fPattern.length();
+			if (fPos < length && fPattern.charAt(fPos) == '?') {
+				char kind= fPos + 1 < length ? fPattern.charAt(fPos + 1) : 0;
+				if (kind != ':' && kind != '=' && kind != '!' && kind != '>' && kind != '<') {
+					return false; // inline flags can switch the case sensitivity
+				}
+			}
+			int depth= 1;
+			while (fPos < length) {
+				char c= fPattern.charAt(fPos++);
+				if (c == '\\') {
+					if (!skipEscaped()) {
+						return false;
+					}
+				} else if (c == '[') {
+					if (!skipClass()) {
+						return false;
+					}
+				} else if (c == '(') {
+					// inline flags in nested groups end with the enclosing group
+					depth++;
+				} else if (c == ')' && --depth == 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean skipEscaped() {
+			if (fPos >= fPattern.length()) {
+				return false;
+			}
+			if (fPattern.charAt(fPos) == 'Q') {
+				int end= fPattern.indexOf("\\E", fPos); //$NON-NLS-1$
+				fPos= end < 0 ? fPattern.length() : end + 2;
+			} else {
+				fPos++;
+			}
+			return true;
+		}
+	}
+}
@@ -92,20 +92,20 @@ public class FileSearchQuery implements ISearchQuery {
 			if (stop) {
 				return false;
 			}
-			fCachedMatches.compute(matchRequestor.getFile(), (f, matches) -> {
-				// each file is processed by at most one job
-				int matchOffset = matchRequestor.getMatchOffset();
-				LineElement lineElement = getLineElement(matchOffset, matchRequestor, matches);
-				if (lineElement != null) {
-					FileMatch fileMatch = new FileMatch(matchRequestor.getFile(), matchOffset,
-							matchRequestor.getMatchLength(), lineElement);
-					if (matches == null) {
-						matches = new ArrayList<>();
-					}
-					matches.add(fileMatch);
+			// each file is processed by at most one thread, which reports all its matches
+			// followed by flushMatches(IFile), so the list needs no lock
+			IFile file = matchRequestor.getFile();
+			ArrayList<FileMatch> matches = fCachedMatches.get(file);
+			int matchOffset = matchRequestor.getMatchOffset();
+			LineElement lineElement = getLineElement(matchOffset, matchRequestor, matches);
+			if (lineElement != null) {
+				FileMatch fileMatch = new FileMatch(file, matchOffset, matchRequestor.getMatchLength(), lineElement);
+				if (matches == null) {
+					matches = new ArrayList<>();
+					fCachedMatches.put(file, matches);
 				}
-				return matches;
-			});
+				matches.add(fileMatch);
+			}
 			return true;
 		}
 
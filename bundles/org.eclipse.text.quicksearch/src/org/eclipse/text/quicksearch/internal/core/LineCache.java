@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.internal.core;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Keeps the decoded lines of recently searched files in memory, so that a changed query can be
+ * answered without reading the files again. Entries are validated with the modification stamp of
+ * the file and the least recently used entries are evicted when the cached text exceeds the memory
+ * budget. Files that are out of sync with the file system must not be cached, their stamp does not
+ * change with the content on disk.
+ * <p>
+ * This class is thread safe.
+ */
+public class LineCache {
+
+	/**
+	 * Default budget for the text of all cached lines, in chars.
+	 */
+	public static final long DEFAULT_MAX_CHARS = 16L * 1024 * 1024;
+
+	/**
+	 * The lines of one file.
+	 */
+	public static final class FileLines {
+		private final long stamp;
+		private final String[] lines;
+		private final int[] offsets;
+		private volatile String[] lowerCaseLines;
+		private long chars; // guarded by the cache
+		private boolean cached; // guarded by the cache
+
+		/**
+		 * @param stamp the modification stamp of the file the lines were read from
+		 * @param lines the lines
+		 * @param offsets the offset of each line in the file
+		 */
+		public FileLines(long stamp, String[] lines, int[] offsets) {
+			this.stamp = stamp;
+			this.lines = lines;
+			this.offsets = offsets;
+			long count = 0;
+			for (String line : lines) {
+				count += line.length();
+			}
+			this.chars = count;
+		}
+
+		public int getLineCount() {
+			return lines.length;
+		}
+
+		public String getLine(int index) {
+			return lines[index];
+		}
+
+		public int getOffset(int index) {
+			return offsets[index];
+		}
+
+		String[] getLines() {
+			return lines;
+		}
+	}
+
+	private final long maxChars;
+	private final Map<IFile, FileLines> entries = new LinkedHashMap<>(256, 0.75f, true);
+	private long cachedChars;
+
+	public LineCache(long maxChars) {
+		this.maxChars = maxChars;
+	}
+
+	/**
+	 * Returns the cached lines of a file.
+	 *
+	 * @param file the file
+	 * @param stamp the current modification stamp of the file
+	 * @return the lines or <code>null</code> if the file is not cached or has changed since
+	 */
+	public synchronized FileLines get(IFile file, long stamp) {
+		FileLines lines = entries.get(file);
+		if (lines != null && lines.stamp != stamp) {
+			remove(file);
+			return null;
+		}
+		return lines;
+	}
+
+	/**
+	 * Caches the lines of a file. Files taking more than a quarter of the budget are not cached,
+	 * they would evict most other files.
+	 */
+	public synchronized void put(IFile file, FileLines lines) {
+		remove(file);
+		if (lines.chars > maxChars / 4) {
+			return;
+		}
+		entries.put(file, lines);
+		lines.cached = true;
+		cachedChars += lines.chars;
+		evict();
+	}
+
+	public synchronized void clear() {
+		entries.values().forEach(lines -> lines.cached = false);
+		entries.clear();
+		cachedChars = 0;
+	}
+
+	/**
+	 * @return the number of chars held by the cached lines and their lower case copies
+	 */
+	public synchronized long getCachedChars() {
+		return cachedChars;
+	}
+
+	/**
+	 * Returns the lines converted with {@link #toLowerCase(String)}. The copies are created on
+	 * first use and are charged to the memory budget.
+	 */
+	public String[] getLowerCaseLines(FileLines lines) {
+		String[] lowerCaseLines = lines.lowerCaseLines;
+		if (lowerCaseLines == null) {
+			String[] original = lines.lines;
+			lowerCaseLines = new String[original.length];
+			long copied = 0;
+			for (int i = 0; i < original.length; i++) {
+				lowerCaseLines[i] = toLowerCase(original[i]);
+				if (lowerCaseLines[i] != original[i]) {
+					copied += original[i].length();
+				}
+			}
+			synchronized (this) {
+				if (lines.lowerCaseLines == null) {
+					lines.lowerCaseLines = lowerCaseLines;
+					lines.chars += copied;
+					if (lines.cached) {
+						cachedChars += copied;
+						evict();
+					}
+				}
+			}
+		}
+		return lowerCaseLines;
+	}
+
+	/**
+	 * Converts each char to lower case. Unlike {@link String#toLowerCase()} the result does not
+	 * depend on the locale or the surrounding chars and has the same length, so a case insensitive
+	 * literal can be found in the converted text with {@link String#contains(CharSequence)}.
+	 *
+	 * @return the converted string, or the given string if it has no upper case chars
+	 */
+	static String toLowerCase(String s) {
+		int length = s.length();
+		int i = 0;
+		while (i < length && Character.toLowerCase(s.charAt(i)) == s.charAt(i)) {
+			i++;
+		}
+		if (i == length) {
+			return s;
+		}
+		char[] chars = s.toCharArray();
+		for (; i < length; i++) {
+			chars[i] = Character.toLowerCase(chars[i]);
+		}
+		return new String(chars);
+	}
+
+	private void remove(IFile file) {
+		FileLines old = entries.remove(file);
+		if (old != null) {
+			old.cached = false;
+			cachedChars -= old.chars;
+		}
+	}
+
+	private void evict() {
+		Iterator<FileLines> eldest = entries.values().iterator();
+		while (cachedChars > maxChars && eldest.hasNext()) {
+			FileLines lines = eldest.next();
+			eldest.remove();
+			lines.cached = false;
+			cachedChars -= lines.chars;
+		}
+	}
+}
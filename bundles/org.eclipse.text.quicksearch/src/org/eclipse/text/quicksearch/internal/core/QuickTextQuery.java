@@ -49,6 +49,11 @@ public class QuickTextQuery {
 	private boolean caseInsensitive;
 	private String orgPattern; //Original pattern case preserved even if search is case insensitive.
 	final Pattern pattern;
+	/**
+	 * The longest literal segment of the pattern, which every matching line contains. Converted
+	 * with {@link LineCache#toLowerCase(String)} for case insensitive queries.
+	 */
+	private String requiredText;
 
 	/**
 	 * A query that matches anything.
@@ -62,6 +67,9 @@ public class QuickTextQuery {
 		this.caseInsensitive = caseInsensitive;
 		String regex = createRegEx(substring);
 		pattern = Pattern.compile(regex, caseInsensitive ? Pattern.CASE_INSENSITIVE : 0);
+		if (requiredText != null && caseInsensitive) {
+			requiredText = LineCache.toLowerCase(requiredText);
+		}
 	}
 
 	private String createRegEx(String patString) {
@@ -102,6 +110,9 @@ public class QuickTextQuery {
 
 	private void appendSegment(StringBuilder segment, StringBuilder regexp) {
 		if (segment.length()>0) {
+			if (requiredText == null || segment.length() > requiredText.length()) {
+				requiredText = segment.toString();
+			}
 			regexp.append(Pattern.quote(segment.toString()));
 			segment.setLength(0); //clear: ready for next segment
 		}
@@ -199,4 +210,19 @@ public class QuickTextQuery {
 		return orgPattern;
 	}
 
+	public boolean isCaseInsensitive() {
+		return caseInsensitive;
+	}
+
+	/**
+	 * Returns text that every line matching this query contains. For case insensitive queries the
+	 * text is lower case and must be looked up in lines converted with
+	 * {@link LineCache#toLowerCase(String)}.
+	 *
+	 * @return the text or <code>null</code> if the query has no literal text
+	 */
+	String getRequiredText() {
+		return requiredText;
+	}
+
 }
@@ -16,13 +16,15 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -32,6 +34,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.text.quicksearch.internal.core.LineCache.FileLines;
 import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatcher;
 import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatchers;
 import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
@@ -56,6 +59,13 @@ public class QuickTextSearcher {
 	private ISchedulingRule matchesRule = new LightSchedulingRule("QuickSearchMatchesRule"); //$NON-NLS-1$
 
 	private final SearchInFilesWalker walker;
+
+	/**
+	 * Lines of the files searched so far, so a restarted search only reads files that were
+	 * evicted or changed.
+	 */
+	private final LineCache lineCache = new LineCache(LineCache.DEFAULT_MAX_CHARS);
+
 	private IncrementalUpdateJob incrementalUpdate;
 
 	/**
@@ -152,36 +162,78 @@ public class QuickTextSearcher {
 		@Override
 		protected boolean searchIn(IFile f, BooleanSupplier canceled) {
 			currentFile = f;
-			return search(f, canceled, MAX_LINE_LEN, query.pattern, QuickTextSearcher.this::add);
+			return search(f, canceled, MAX_LINE_LEN, query, lineCache, QuickTextSearcher.this::add);
 		}
 
 		private static boolean search(IFile f, BooleanSupplier canceled,
-				int maxLineLength, Pattern pattern, Consumer<LineItem> add) {
+				int maxLineLength, QuickTextQuery query, LineCache cache, Consumer<LineItem> add) {
 			if (canceled.getAsBoolean()) {
 				return false;
 			}
+			long stamp = f.getModificationStamp();
+			// the stamp does not change when the file is modified outside of the workspace, while
+			// getContents(true) does read the new content, so such a file is not cached
+			LineCache fileCache = f.isSynchronized(IResource.DEPTH_ZERO) ? cache : null;
+			FileLines lines = fileCache == null ? null : fileCache.get(f, stamp);
+			if (lines == null) {
+				lines = readLines(f, stamp, canceled, maxLineLength, fileCache);
+				if (lines == null) {
+					return false;
+				}
+			}
+			// cheap substring test before running the regex on a line
+			String requiredText = query.getRequiredText();
+			String[] text = requiredText == null ? null
+					: query.isCaseInsensitive() ? cache.getLowerCaseLines(lines) : lines.getLines();
+			Matcher matcher = query.pattern.matcher(""); //$NON-NLS-1$
+			for (int i = 0; i < lines.getLineCount(); i++) {
+				if (canceled.getAsBoolean()) {
+					return false;
+				}
+				if (text != null && !text[i].contains(requiredText)) {
+					continue;
+				}
+				String line = lines.getLine(i);
+				if (matcher.reset(line).find()) {
+					LineItem lineItem = new LineItem(f, line, i + 1, lines.getOffset(i));
+					add.accept(lineItem);
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Reads the lines of a file up to the first line longer than <code>maxLineLength</code>
+		 * and caches them unless reading failed.
+		 *
+		 * @param cache the cache to put the lines in, or <code>null</code> to not cache them
+		 * @return the lines, or <code>null</code> if canceled
+		 */
+		private static FileLines readLines(IFile f, long stamp, BooleanSupplier canceled, int maxLineLength, LineCache cache) {
+			List<String> lines = new ArrayList<>();
+			int[] offsets = new int[64];
 			try (LineReader lr = new LineReader(getReader(f),
 					maxLineLength)) {
 				String line;
-				int lineIndex = 1;
 				while ((line = lr.readLine()) != null) {
-					int offset = lr.getLastLineOffset();
 					if (canceled.getAsBoolean()) {
-						return false;
+						return null;
 					}
-
-					Matcher matcher = pattern.matcher(line);
-					if (matcher.find()) {
-						LineItem lineItem = new LineItem(f, line, lineIndex, offset);
-						add.accept(lineItem);
+					if (lines.size() == offsets.length) {
+						offsets = Arrays.copyOf(offsets, 2 * offsets.length);
 					}
-
-					lineIndex++;
+					offsets[lines.size()] = lr.getLastLineOffset();
+					lines.add(line);
 				}
 			} catch (Exception e) {
-				// ignored
+				// ignored, search the lines read so far but don't cache them
+				return new FileLines(stamp, lines.toArray(new String[lines.size()]), offsets);
 			}
-			return true;
+			FileLines fileLines = new FileLines(stamp, lines.toArray(new String[lines.size()]), offsets);
+			if (cache != null) {
+				cache.put(f, fileLines);
+			}
+			return fileLines;
 		}
 
 		private static Reader getReader(IFile f) throws UnsupportedEncodingException, CoreException {
@@ -353,6 +405,7 @@ public class QuickTextSearcher {
 
 	public void cancel() {
 		walker.cancel();
+		lineCache.clear();
 		if (incrementalUpdate instanceof IncrementalUpdateJob update) {
 			update.cancel();
 		}
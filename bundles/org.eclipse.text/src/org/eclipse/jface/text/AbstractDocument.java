@@ -351,7 +351,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		List<Position> endPositions= fEndPositions.get(category);
 		if (endPositions == null)
 			throw new BadPositionCategoryException();
-		endPositions.add(computeIndexInPositionList(endPositions, position.offset + position.length - 1, false), position);
+		endPositions.add(computeIndexInPositionList(endPositions, getOffset(false, position), false), position);
 	}
 
 	@Override
@@ -1001,7 +1001,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		int size= positions.size();
 
 		//Assume position is somewhere near it was before
-		int index= computeIndexInPositionList(positions, orderedByOffset ? position.offset : position.offset + position.length - 1, orderedByOffset);
+		int index= computeIndexInPositionList(positions, getOffset(orderedByOffset, position), orderedByOffset);
 		if (index < size && positions.get(index) == position) {
 			positions.remove(index);
 			return;
@@ -1585,11 +1585,11 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (canStartBefore && canEndAfter || (!canStartBefore && !canEndAfter)) {
 			List<Position> documentPositions;
 			if (canStartBefore && canEndAfter) {
-				if (offset < getLength() / 2) {
-					documentPositions= getStartingPositions(category, 0, offset + length);
-				} else {
-					documentPositions= getEndingPositions(category, offset, getLength() - offset + 1);
-				}
+				// the overlapping positions are both among the positions starting before the
+				// region's end and among those ending after its start, filter the fewer ones
+				List<Position> startingPositions= getStartingPositions(category, 0, offset + length);
+				List<Position> endingPositions= getEndingPositions(category, offset, getLength() - offset + 1);
+				documentPositions= startingPositions.size() <= endingPositions.size() ? startingPositions : endingPositions;
 			} else {
 				documentPositions= getStartingPositions(category, offset, length);
 			}
@@ -1682,6 +1682,63 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		return positions.subList(indexStart, indexEnd);
 	}
 
+	/**
+	 * Returns the index of the first position of the given category with a last offset at or
+	 * behind the given offset among the positions ordered by their last offsets.
+	 *
+	 * @param category the position category
+	 * @param offset the offset
+	 * @return the index among the positions ordered by their last offsets
+	 * @throws BadPositionCategoryException if category is undefined in this document
+	 * @since 3.15
+	 */
+	int computeIndexInEndPositions(String category, int offset) throws BadPositionCategoryException {
+		List<Position> positions= fEndPositions.get(category);
+		if (positions == null)
+			throw new BadPositionCategoryException();
+
+		return computeIndexInPositionList(positions, offset, false);
+	}
+
+	/**
+	 * Returns the positions of the given category from the given index on among the positions
+	 * ordered by their last offsets.
+	 *
+	 * @param category the position category
+	 * @param index the index among the positions ordered by their last offsets
+	 * @return the positions from the index on
+	 * @throws BadPositionCategoryException if category is undefined in this document
+	 * @since 3.15
+	 */
+	Position[] getEndPositions(String category, int index) throws BadPositionCategoryException {
+		List<Position> positions= fEndPositions.get(category);
+		if (positions == null)
+			throw new BadPositionCategoryException();
+
+		List<Position> list= positions.subList(index, positions.size());
+		return list.toArray(new Position[list.size()]);
+	}
+
+	/**
+	 * Orders the positions of the given category from the given index on by their last offsets
+	 * again. Adapting positions to a change can reorder them, e.g. a zero-length position at the
+	 * end of a shrunken position is shifted by an insertion while the other is not. The positions
+	 * before the index must neither have changed nor end behind the positions from the index on.
+	 *
+	 * @param category the position category
+	 * @param index the index among the positions ordered by their last offsets
+	 * @throws BadPositionCategoryException if category is undefined in this document
+	 * @since 3.15
+	 */
+	void sortEndPositions(String category, int index) throws BadPositionCategoryException {
+		List<Position> positions= fEndPositions.get(category);
+		if (positions == null)
+			throw new BadPositionCategoryException();
+
+		// mostly still in order, which the stable sort handles in linear time
+		positions.subList(index, positions.size()).sort((p1, p2) -> Integer.compare(getOffset(false, p1), getOffset(false, p2)));
+	}
+
 	/**
 	 * Logs the given exception by reusing the code in {@link SafeRunner}.
 	 *
@@ -198,6 +198,11 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 		protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
 			return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
 		}
+
+		@Override
+		boolean hasDefaultDelimiters() {
+			return AbstractLineTracker.this.hasDefaultDelimiters();
+		}
 	};
 	/**
 	 * Whether the delegate needs conversion when the line structure is modified.
@@ -308,10 +313,27 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 				public String[] getLegalLineDelimiters() {
 					return AbstractLineTracker.this.getLegalLineDelimiters();
 				}
+
+				@Override
+				boolean hasDefaultDelimiters() {
+					return AbstractLineTracker.this.hasDefaultDelimiters();
+				}
 			};
 		}
 	}
 
+	/**
+	 * Tells whether this tracker recognizes exactly the {@link DefaultLineTracker#DELIMITERS
+	 * default delimiters}. Only then may large texts be scanned in parallel, since
+	 * {@link #nextDelimiterInfo(String, int)} is neither required to be thread-safe nor known to
+	 * be stateless.
+	 *
+	 * @return <code>true</code> if this tracker is a plain {@link DefaultLineTracker}
+	 */
+	private boolean hasDefaultDelimiters() {
+		return getClass() == DefaultLineTracker.class;
+	}
+
 	/**
 	 * Returns the information about the first delimiter found in the given text starting at the
 	 * given offset.
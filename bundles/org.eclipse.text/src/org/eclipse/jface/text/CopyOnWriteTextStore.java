@@ -21,7 +21,8 @@ import org.eclipse.core.runtime.Assert;
  * <p>
  * This implementation uses an unmodifiable text store for the initial content. Upon first
  * modification attempt, the unmodifiable store is replaced with a modifiable instance which must be
- * supplied in the constructor.
+ * supplied in the constructor. Optionally, a different modifiable instance can be supplied for
+ * content that exceeds a given length, e.g. a {@link PieceTreeTextStore} for very large documents.
  * </p>
  * <p>
  * This class is not intended to be subclassed.
@@ -105,6 +106,15 @@ public class CopyOnWriteTextStore implements ITextStore {
 	/** A modifiable <code>ITextStore</code> instance */
 	private final ITextStore fModifiableTextStore;
 
+	/**
+	 * A modifiable <code>ITextStore</code> instance used for large content, may be
+	 * <code>null</code>
+	 */
+	private final ITextStore fLargeTextStore;
+
+	/** The content length from which on {@link #fLargeTextStore} is used */
+	private final int fLargeTextThreshold;
+
 	/**
 	 * Creates an empty text store. The given text store will be used upon first modification
 	 * attempt.
@@ -116,6 +126,31 @@ public class CopyOnWriteTextStore implements ITextStore {
 		Assert.isNotNull(modifiableTextStore);
 		fTextStore= new StringTextStore();
 		fModifiableTextStore= modifiableTextStore;
+		fLargeTextStore= null;
+		fLargeTextThreshold= Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Creates an empty text store. Upon first modification attempt, <code>largeTextStore</code>
+	 * will be used if the content length is at least <code>largeTextThreshold</code>,
+	 * <code>modifiableTextStore</code> otherwise.
+	 *
+	 * @param modifiableTextStore a modifiable <code>ITextStore</code> instance, may not be
+	 *            <code>null</code>
+	 * @param largeTextStore a modifiable <code>ITextStore</code> instance used for large content,
+	 *            may not be <code>null</code>
+	 * @param largeTextThreshold the content length from which on <code>largeTextStore</code> is
+	 *            used (&gt;=&nbsp;0)
+	 * @since 3.15
+	 */
+	public CopyOnWriteTextStore(ITextStore modifiableTextStore, ITextStore largeTextStore, int largeTextThreshold) {
+		Assert.isNotNull(modifiableTextStore);
+		Assert.isNotNull(largeTextStore);
+		Assert.isLegal(largeTextThreshold >= 0);
+		fTextStore= new StringTextStore();
+		fModifiableTextStore= modifiableTextStore;
+		fLargeTextStore= largeTextStore;
+		fLargeTextThreshold= largeTextThreshold;
 	}
 
 	@Override
@@ -135,9 +170,12 @@ public class CopyOnWriteTextStore implements ITextStore {
 
 	@Override
 	public void replace(int offset, int length, String text) {
-		if (fTextStore != fModifiableTextStore) {
+		if (fTextStore != fModifiableTextStore && fTextStore != fLargeTextStore) {
 			String content= fTextStore.get(0, fTextStore.getLength());
-			fTextStore= fModifiableTextStore;
+			if (fLargeTextStore != null && content.length() >= fLargeTextThreshold)
+				fTextStore= fLargeTextStore;
+			else
+				fTextStore= fModifiableTextStore;
 			fTextStore.set(content);
 		}
 		fTextStore.replace(offset, length, text);
@@ -147,6 +185,8 @@ public class CopyOnWriteTextStore implements ITextStore {
 	public void set(String text) {
 		fTextStore= new StringTextStore(text);
 		fModifiableTextStore.set(""); //$NON-NLS-1$
+		if (fLargeTextStore != null)
+			fLargeTextStore.set(""); //$NON-NLS-1$
 	}
 
 }
@@ -44,9 +44,18 @@ package org.eclipse.jface.text;
  */
 public class DefaultPositionUpdater implements IPositionUpdater {
 
+	/**
+	 * Whether plain default position updaters only visit the positions which may be affected by a
+	 * change, see {@link #DefaultPositionUpdater(String, boolean)}.
+	 */
+	private static final boolean SKIP_UNAFFECTED_POSITIONS= Boolean.getBoolean("org.eclipse.text/DefaultPositionUpdater/skipUnaffectedPositions"); //$NON-NLS-1$
+
 	/** The position category the updater draws responsible for */
 	private final String fCategory;
 
+	/** Whether only the positions ending at or after the replaced text are visited */
+	private final boolean fSkipUnaffectedPositions;
+
 	/** Caches the currently investigated position */
 	protected Position fPosition;
 	/** Caches the original state of the investigated position */
@@ -69,6 +78,23 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 	 */
 	public DefaultPositionUpdater(String category) {
 		fCategory= category;
+		fSkipUnaffectedPositions= SKIP_UNAFFECTED_POSITIONS && getClass() == DefaultPositionUpdater.class;
+	}
+
+	/**
+	 * Creates a new default position updater for the given category. If requested, the updater
+	 * only visits the positions which end at or after the replaced text, as all other positions
+	 * are left untouched. This relies on the document's positions ordered by their end positions
+	 * being kept in order, which does not hold if other updaters of the same category reorder the
+	 * positions or if subclasses adapt positions ending before the replaced text.
+	 *
+	 * @param category the category the updater is responsible for
+	 * @param skipUnaffectedPositions whether to only visit the positions which may be affected
+	 * @since 3.15
+	 */
+	public DefaultPositionUpdater(String category, boolean skipUnaffectedPositions) {
+		fCategory= category;
+		fSkipUnaffectedPositions= skipUnaffectedPositions;
 	}
 
 	/**
@@ -212,15 +238,17 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 			fReplaceLength= (event.getText() == null ? 0 : event.getText().length());
 			fDocument= event.getDocument();
 
-			Position[] category= fDocument.getPositions(fCategory);
-			for (Position element : category) {
-
-				fPosition= element;
-				fOriginalPosition.offset= fPosition.offset;
-				fOriginalPosition.length= fPosition.length;
-
-				if (notDeleted())
-					adaptToReplace();
+			if (fSkipUnaffectedPositions && fDocument instanceof AbstractDocument document) {
+				// positions ending before the replaced text are neither shifted nor deleted, the
+				// others are found in O(log n) among the positions ordered by their last offsets
+				int index= document.computeIndexInEndPositions(fCategory, fOffset);
+				try {
+					adaptPositions(document.getEndPositions(fCategory, index));
+				} finally {
+					document.sortEndPositions(fCategory, index);
+				}
+			} else {
+				adaptPositions(fDocument.getPositions(fCategory));
 			}
 
 		} catch (BadPositionCategoryException x) {
@@ -229,4 +257,21 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 			fDocument= null;
 		}
 	}
+
+	/**
+	 * Adapts the given positions to the current event.
+	 *
+	 * @param positions the positions to adapt
+	 */
+	private void adaptPositions(Position[] positions) {
+		for (Position element : positions) {
+
+			fPosition= element;
+			fOriginalPosition.offset= fPosition.offset;
+			fOriginalPosition.length= fPosition.length;
+
+			if (notDeleted())
+				adaptToReplace();
+		}
+	}
 }
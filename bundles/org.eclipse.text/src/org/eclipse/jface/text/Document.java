@@ -16,7 +16,9 @@ package org.eclipse.jface.text;
 
 /**
  * Default document implementation. Uses a {@link org.eclipse.jface.text.GapTextStore} wrapped
- * inside a {@link org.eclipse.jface.text.CopyOnWriteTextStore} as text store.
+ * inside a {@link org.eclipse.jface.text.CopyOnWriteTextStore} as text store. Documents whose
+ * content exceeds {@value #LARGE_DOCUMENT_THRESHOLD} characters when they are first modified use a
+ * {@link org.eclipse.jface.text.PieceTreeTextStore} instead.
  * <p>
  * The used line tracker considers the following strings as line delimiters: "\n", "\r", "\r\n". In
  * case of a text replacement across line delimiter boundaries and with different line delimiters,
@@ -36,20 +38,31 @@ package org.eclipse.jface.text;
  * document structures to efficiently handle updates.
  * </p>
  * <p>
- * See {@link GapTextStore} and <code>TreeLineTracker</code> for algorithmic behavior of the used
- * document structures.
+ * See {@link GapTextStore}, {@link PieceTreeTextStore} and <code>TreeLineTracker</code> for
+ * algorithmic behavior of the used document structures.
  * </p>
  *
  * @see org.eclipse.jface.text.GapTextStore
+ * @see org.eclipse.jface.text.PieceTreeTextStore
  * @see org.eclipse.jface.text.CopyOnWriteTextStore
  */
 public class Document extends AbstractDocument {
+
+	/**
+	 * The content length from which on a {@link PieceTreeTextStore} is used instead of a
+	 * {@link GapTextStore}. The gap text store has to move large parts of its content for changes
+	 * which are far apart from each other.
+	 *
+	 * @since 3.15
+	 */
+	public static final int LARGE_DOCUMENT_THRESHOLD= 8 * 1024 * 1024;
+
 	/**
 	 * Creates a new empty document.
 	 */
 	public Document() {
 		super();
-		setTextStore(new CopyOnWriteTextStore(new GapTextStore()));
+		setTextStore(createTextStore());
 		setLineTracker(new DefaultLineTracker());
 		completeInitialization();
 	}
@@ -61,13 +74,22 @@ public class Document extends AbstractDocument {
 	 */
 	public Document(String initialContent) {
 		super();
-		setTextStore(new CopyOnWriteTextStore(new GapTextStore()));
+		setTextStore(createTextStore());
 		setLineTracker(new DefaultLineTracker());
 		getStore().set(initialContent);
 		getTracker().set(initialContent);
 		completeInitialization();
 	}
 
+	/**
+	 * Creates the text store of this document.
+	 *
+	 * @return the text store
+	 */
+	private static ITextStore createTextStore() {
+		return new CopyOnWriteTextStore(new GapTextStore(), new PieceTreeTextStore(), LARGE_DOCUMENT_THRESHOLD);
+	}
+
 	@Override
 	public boolean isLineInformationRepairNeeded(int offset, int length, String text) throws BadLocationException {
 		if ((0 > offset) || (0 > length) || (offset + length > getLength()))
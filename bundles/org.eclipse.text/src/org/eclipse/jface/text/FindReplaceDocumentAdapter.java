@@ -15,11 +15,22 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
 
 
 /**
@@ -54,6 +65,71 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	private static final int RC_LOWER= 2;
 	private static final int RC_FIRSTUPPER= 3;
 
+	/**
+	 * The maximal number of compiled patterns kept in {@link #fgPatternCache}.
+	 * @since 3.15
+	 */
+	private static final int PATTERN_CACHE_SIZE= 32;
+
+	/**
+	 * The most recently used compiled patterns, keyed by flags and pattern string.
+	 * @since 3.15
+	 */
+	private static final Map<String, Pattern> fgPatternCache= new LinkedHashMap<>(PATTERN_CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+			return size() > PATTERN_CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * Receives the matches of a {@link FindReplaceDocumentAdapter#scan scan}.
+	 * @since 3.15
+	 */
+	private interface MatchCollector {
+		void accept(Matcher matcher) throws BadLocationException;
+	}
+
+	/**
+	 * Read-only view on a document snapshot which regularly checks a progress monitor for
+	 * cancellation, so that even a long running match attempt can be aborted.
+	 * @since 3.15
+	 */
+	private static final class CancelableText implements CharSequence {
+		private final String fText;
+		private final IProgressMonitor fMonitor;
+		private int fAccesses;
+
+		CancelableText(String text, IProgressMonitor monitor) {
+			fText= text;
+			fMonitor= monitor;
+		}
+
+		@Override
+		public int length() {
+			return fText.length();
+		}
+
+		@Override
+		public char charAt(int index) {
+			if ((++fAccesses & 0xffff) == 0 && fMonitor.isCanceled())
+				throw new OperationCanceledException();
+			return fText.charAt(index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return fText.subSequence(start, end);
+		}
+
+		@Override
+		public String toString() {
+			return fText;
+		}
+	}
+
 
 	/**
 	 * The adapted document.
@@ -159,31 +235,17 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 			if (startOffset < 0 || startOffset > length())
 				throw new BadLocationException();
 
-			int patternFlags= 0;
-
-			if (regExSearch) {
-				patternFlags |= Pattern.MULTILINE;
-				findString= substituteLinebreak(findString);
-			}
-
-			if (!caseSensitive)
-				patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
-
-			if (!regExSearch)
-				findString= asRegPattern(findString);
-
-			if (wholeWord)
-				findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+			Pattern pattern= compilePattern(findString, caseSensitive, wholeWord, regExSearch);
+			findString= pattern.pattern();
 
 			fFindReplaceMatchOffset= startOffset;
-			if (fFindReplaceMatcher != null && fFindReplaceMatcher.pattern().pattern().equals(findString) && fFindReplaceMatcher.pattern().flags() == patternFlags) {
+			if (fFindReplaceMatcher != null && fFindReplaceMatcher.pattern().pattern().equals(findString) && fFindReplaceMatcher.pattern().flags() == pattern.flags()) {
 				/*
 				 * Commented out for optimization:
 				 * The call is not needed since FIND_FIRST uses find(int) which resets the matcher
 				 */
 				// fFindReplaceMatcher.reset();
 			} else {
-				Pattern pattern= Pattern.compile(findString, patternFlags);
 				fFindReplaceMatcher= pattern.matcher(this);
 			}
 		}
@@ -262,6 +324,221 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		return null;
 	}
 
+	/**
+	 * Returns the regions of all non-empty matches of a search string that lie completely within
+	 * the given range. All matches are collected in a single forward scan over a snapshot of the
+	 * document, which is why this method may also be called outside the UI thread as long as the
+	 * document is not modified concurrently. Matching may look at the text around the range, e.g.
+	 * for word boundaries or look-behind constructs.
+	 *
+	 * @param offset the offset of the range to search
+	 * @param length the length of the range to search
+	 * @param findString the string to find
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * 			Must not be used in combination with <code>wholeWord</code>.
+	 * @param monitor the progress monitor to report progress to and to check for cancellation,
+	 * 			or <code>null</code>
+	 * @return the matched regions in ascending order, an empty array if there is no match
+	 * @throws BadLocationException if the range is invalid in this adapter's document
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 * @since 3.15
+	 */
+	public IRegion[] findAll(int offset, int length, String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) throws BadLocationException {
+		Assert.isTrue(!(regExSearch && wholeWord));
+
+		List<IRegion> matches= new ArrayList<>();
+		scan(offset, length, findString, caseSensitive, wholeWord, regExSearch, monitor,
+				matcher -> matches.add(new Region(matcher.start(), matcher.end() - matcher.start())));
+		return matches.toArray(new IRegion[matches.size()]);
+	}
+
+	/**
+	 * Replaces all non-empty matches of a search string that lie completely within the given range.
+	 * The matches are collected as for {@link #findAll(int, int, String, boolean, boolean, boolean, IProgressMonitor)}
+	 * and replaced by a single {@link MultiTextEdit}. If the document supports rewrite sessions
+	 * and none is active yet, the edit is applied inside a new rewrite session. The document is
+	 * not modified if the search is canceled or fails.
+	 * <p>
+	 * In case of a regular expression search, <code>replaceText</code> is a replace pattern as
+	 * for {@link #replace(String, boolean)}; its group references are resolved against the
+	 * respective match.
+	 * </p>
+	 *
+	 * @param offset the offset of the range to search
+	 * @param length the length of the range to search
+	 * @param findString the string to find
+	 * @param replaceText the string to replace each match with, <code>null</code> for the empty string
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression and
+	 * 			replaceText a replace pattern. Must not be used in combination with <code>wholeWord</code>.
+	 * @param monitor the progress monitor to report progress to and to check for cancellation,
+	 * 			or <code>null</code>
+	 * @return the regions of the inserted texts in the modified document in ascending order, an
+	 *         empty array if there was no match
+	 * @throws BadLocationException if the range is invalid in this adapter's document
+	 * @throws PatternSyntaxException if a regular expression or replace pattern has invalid syntax
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 * @since 3.15
+	 */
+	public IRegion[] replaceAll(int offset, int length, String findString, String replaceText, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) throws BadLocationException {
+		Assert.isTrue(!(regExSearch && wholeWord));
+
+		String replacePattern= replaceText == null ? "" : replaceText; //$NON-NLS-1$
+		List<ReplaceEdit> edits= new ArrayList<>();
+		StringBuilder buffer= new StringBuilder();
+		int[] appendPosition= { 0 };
+		scan(offset, length, findString, caseSensitive, wholeWord, regExSearch, monitor, matcher -> {
+			int start= matcher.start();
+			int end= matcher.end();
+			String text= replacePattern;
+			if (regExSearch) {
+				try {
+					text= interpretReplaceEscapes(replacePattern, matcher.group());
+					buffer.setLength(0);
+					matcher.appendReplacement(buffer, text);
+					text= buffer.substring(start - appendPosition[0]);
+					appendPosition[0]= end;
+				} catch (IndexOutOfBoundsException ex) {
+					throw new PatternSyntaxException(ex.getLocalizedMessage(), replacePattern, -1);
+				}
+			}
+
+			if (fDocument instanceof IRepairableDocumentExtension
+					&& ((IRepairableDocumentExtension) fDocument).isLineInformationRepairNeeded(start, end - start, text)) {
+				String message= TextMessages.getString("FindReplaceDocumentAdapter.incompatibleLineDelimiter"); //$NON-NLS-1$
+				throw new PatternSyntaxException(message, text, start);
+			}
+			edits.add(new ReplaceEdit(start, end - start, text));
+		});
+
+		IRegion[] replaced= new IRegion[edits.size()];
+		if (replaced.length == 0)
+			return replaced;
+
+		MultiTextEdit edit= new MultiTextEdit();
+		int delta= 0;
+		for (int i= 0; i < replaced.length; i++) {
+			ReplaceEdit child= edits.get(i);
+			edit.addChild(child);
+			replaced[i]= new Region(child.getOffset() + delta, child.getText().length());
+			delta+= child.getText().length() - child.getLength();
+		}
+
+		// the stateful find/replace operations no longer match the document
+		fFindReplaceState= null;
+
+		DocumentRewriteSession session= null;
+		if (fDocument instanceof IDocumentExtension4) {
+			IDocumentExtension4 extension= (IDocumentExtension4) fDocument;
+			if (extension.getActiveRewriteSession() == null)
+				session= extension.startRewriteSession(DocumentRewriteSessionType.UNRESTRICTED);
+		}
+		try {
+			edit.apply(fDocument, TextEdit.NONE);
+		} finally {
+			if (session != null)
+				((IDocumentExtension4) fDocument).stopRewriteSession(session);
+		}
+		return replaced;
+	}
+
+	/**
+	 * Scans a snapshot of the document once and passes every non-empty match lying completely
+	 * within the given range to <code>collector</code>.
+	 *
+	 * @param offset the offset of the range to search
+	 * @param length the length of the range to search
+	 * @param findString the string to find
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @param collector receives the matcher positioned at each match
+	 * @throws BadLocationException if the range is invalid or thrown by the collector
+	 * @since 3.15
+	 */
+	private void scan(int offset, int length, String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor, MatchCollector collector) throws BadLocationException {
+		String text= fDocument.get();
+		if (offset < 0 || length < 0 || offset + length > text.length())
+			throw new BadLocationException();
+
+		if (findString == null || findString.isEmpty())
+			return;
+
+		if (monitor == null)
+			monitor= new NullProgressMonitor();
+
+		Pattern pattern= compilePattern(findString, caseSensitive, wholeWord, regExSearch);
+		monitor.beginTask(TextMessages.getString("FindReplaceDocumentAdapter.searching"), length); //$NON-NLS-1$
+		try {
+			Matcher matcher= pattern.matcher(new CancelableText(text, monitor));
+			matcher.region(offset, offset + length);
+			matcher.useTransparentBounds(true);
+			matcher.useAnchoringBounds(false);
+			int reported= offset;
+			while (matcher.find()) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				if (matcher.end() > matcher.start())
+					collector.accept(matcher);
+				monitor.worked(matcher.end() - reported);
+				reported= matcher.end();
+			}
+		} catch (StackOverflowError e) {
+			String message= TextMessages.getString("FindReplaceDocumentAdapter.patternTooComplex"); //$NON-NLS-1$
+			throw new PatternSyntaxException(message, pattern.pattern(), -1);
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Returns the compiled pattern for the given search string and options. Patterns are shared
+	 * through a bounded cache of recently used patterns, since compiling is expensive compared to
+	 * searching small documents.
+	 *
+	 * @param findString the string to find
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * @return the compiled pattern
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax
+	 * @since 3.15
+	 */
+	private Pattern compilePattern(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch) {
+		int patternFlags= 0;
+
+		if (regExSearch) {
+			patternFlags |= Pattern.MULTILINE;
+			findString= substituteLinebreak(findString);
+		}
+
+		if (!caseSensitive)
+			patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+
+		if (!regExSearch)
+			findString= asRegPattern(findString);
+
+		if (wholeWord)
+			findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+
+		String key= patternFlags + ":" + findString; //$NON-NLS-1$
+		synchronized (fgPatternCache) {
+			Pattern pattern= fgPatternCache.get(key);
+			if (pattern == null) {
+				pattern= Pattern.compile(findString, patternFlags);
+				fgPatternCache.put(key, pattern);
+			}
+			return pattern;
+		}
+	}
+
 	/**
 	 * Substitutes \R in a regex find pattern with {@code (?>\r\n?|\n)}
 	 *
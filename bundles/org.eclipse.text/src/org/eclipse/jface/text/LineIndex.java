@@ -0,0 +1,344 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
+
+/**
+ * Compact, read-only line structure of a text, kept in primitive arrays instead of one object per
+ * line. Line <code>i</code> covers the characters from the end of line <code>i - 1</code> (or
+ * <code>0</code>) up to, but excluding, <code>getLineEnd(i)</code>, including its delimiter.
+ * Like {@link ListLineTracker} a trailing line is only recorded when it is not empty.
+ * <p>
+ * Texts using exactly the {@link DefaultLineTracker#DELIMITERS default delimiters} are scanned
+ * in parallel chunks on the common fork/join pool once they exceed {@link #PARALLEL_THRESHOLD}
+ * characters. All other texts are scanned sequentially with the tracker's own delimiter search.
+ * </p>
+ */
+final class LineIndex {
+
+	/**
+	 * Finds the next line delimiter in a text, see
+	 * {@link AbstractLineTracker#nextDelimiterInfo(String, int)}.
+	 */
+	interface DelimiterFinder {
+		/**
+		 * Returns the information about the first delimiter found in the given text starting at
+		 * the given offset.
+		 *
+		 * @param text the text to be searched
+		 * @param offset the offset in the given text
+		 * @return the information of the first found delimiter or <code>null</code>
+		 */
+		DelimiterInfo nextDelimiterInfo(String text, int offset);
+	}
+
+	/** The minimal text length for which the default delimiters are scanned in parallel. */
+	static final int PARALLEL_THRESHOLD= 4 * 1024 * 1024;
+	/** The number of characters scanned by a single fork/join leaf task. */
+	private static final int CHUNK_SIZE= 512 * 1024;
+	/** Marks a line without delimiter. */
+	private static final byte NO_DELIMITER= -1;
+	/** Index of "\r" in {@link DefaultLineTracker#DELIMITERS}. */
+	private static final byte CR= 0;
+	/** Index of "\n" in {@link DefaultLineTracker#DELIMITERS}. */
+	private static final byte LF= 1;
+	/** Index of "\r\n" in {@link DefaultLineTracker#DELIMITERS}. */
+	private static final byte CRLF= 2;
+	/** The number of characters copied at once when scanning for the default delimiters. */
+	private static final int BUFFER_SIZE= 8 * 1024;
+	/** The initial capacity of the line arrays. */
+	private static final int INITIAL_CAPACITY= 16;
+
+	/** The exclusive end offset of each line, including its delimiter. */
+	private int[] fEnds;
+	/** The index of each line's delimiter in {@link #fDelimiterTable}, or {@link #NO_DELIMITER}. */
+	private byte[] fDelimiters;
+	/** The number of lines. */
+	private int fCount;
+	/** The distinct delimiters found in the text. */
+	private String[] fDelimiterTable;
+	/** The length of the indexed text. */
+	private int fTextLength;
+
+	private LineIndex(int capacity, String[] delimiterTable) {
+		fEnds= new int[capacity];
+		fDelimiters= new byte[capacity];
+		fDelimiterTable= delimiterTable;
+	}
+
+	/**
+	 * Creates an empty line index.
+	 */
+	LineIndex() {
+		this(0, new String[0]);
+	}
+
+	/**
+	 * Computes the line structure of the given text.
+	 *
+	 * @param text the text to index, may be <code>null</code>
+	 * @param defaultDelimiters <code>true</code> if <code>finder</code> recognizes exactly the
+	 *            {@link DefaultLineTracker#DELIMITERS default delimiters}, which allows for a
+	 *            parallel scan of large texts
+	 * @param finder the delimiter search of the tracker
+	 * @return the line index of <code>text</code>
+	 */
+	static LineIndex create(String text, boolean defaultDelimiters, DelimiterFinder finder) {
+		if (text == null || text.isEmpty())
+			return new LineIndex();
+
+		LineIndex index;
+		if (defaultDelimiters)
+			index= scanDefault(text);
+		else
+			index= scan(text, finder);
+		index.fTextLength= text.length();
+		if (index.getLineEnd(index.fCount - 1) < index.fTextLength)
+			index.add(index.fTextLength, NO_DELIMITER);
+		return index;
+	}
+
+	/**
+	 * Sequentially scans <code>text</code> using the given delimiter search.
+	 *
+	 * @param text the text to scan
+	 * @param finder the delimiter search
+	 * @return the delimited lines of <code>text</code>
+	 */
+	private static LineIndex scan(String text, DelimiterFinder finder) {
+		LineIndex index= new LineIndex(INITIAL_CAPACITY, new String[0]);
+		DelimiterInfo info= finder.nextDelimiterInfo(text, 0);
+		while (info != null && info.delimiterIndex > -1) {
+			int end= info.delimiterIndex + info.delimiterLength;
+			index.add(end, index.delimiterIndex(info.delimiter));
+			info= finder.nextDelimiterInfo(text, end);
+		}
+		return index;
+	}
+
+	/**
+	 * Scans <code>text</code> for the default delimiters, in parallel for large texts.
+	 *
+	 * @param text the text to scan
+	 * @return the delimited lines of <code>text</code>
+	 */
+	private static LineIndex scanDefault(String text) {
+		int length= text.length();
+		if (length < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2)
+			return scanDefault(text, 0, length);
+
+		LineIndex[] chunks= new LineIndex[(length + CHUNK_SIZE - 1) / CHUNK_SIZE];
+		ForkJoinPool.commonPool().invoke(new ScanTask(text, chunks, 0, chunks.length));
+
+		int count= 0;
+		for (LineIndex chunk : chunks)
+			count+= chunk.fCount;
+		LineIndex index= new LineIndex(count + 1, DefaultLineTracker.DELIMITERS);
+		for (LineIndex chunk : chunks) {
+			System.arraycopy(chunk.fEnds, 0, index.fEnds, index.fCount, chunk.fCount);
+			System.arraycopy(chunk.fDelimiters, 0, index.fDelimiters, index.fCount, chunk.fCount);
+			index.fCount+= chunk.fCount;
+		}
+		return index;
+	}
+
+	/**
+	 * Scans the given range of <code>text</code> for the default delimiters. A "\r\n" delimiter
+	 * that straddles the end of the range is reported by this range and skipped by the range
+	 * starting with its '\n'.
+	 *
+	 * @param text the text to scan
+	 * @param start the start offset of the range
+	 * @param end the exclusive end offset of the range
+	 * @return the lines delimited within the range, indexing into
+	 *         {@link DefaultLineTracker#DELIMITERS}
+	 */
+	private static LineIndex scanDefault(String text, int start, int end) {
+		LineIndex index= new LineIndex(Math.max(INITIAL_CAPACITY, (end - start) >> 6), DefaultLineTracker.DELIMITERS);
+		if (start > 0 && start < end && text.charAt(start) == '\n' && text.charAt(start - 1) == '\r')
+			start++;
+
+		// bulk copies are considerably faster than String#charAt on large texts
+		char[] buffer= new char[Math.min(BUFFER_SIZE, end - start)];
+		int length= text.length();
+		int skip= 0;
+		for (int base= start; base < end; base+= buffer.length) {
+			int count= Math.min(buffer.length, end - base);
+			text.getChars(base, base + count, buffer, 0);
+			int i= skip;
+			for (; i < count; i++) {
+				char ch= buffer[i];
+				if (ch > '\r')
+					continue;
+				if (ch == '\n') {
+					index.add(base + i + 1, LF);
+				} else if (ch == '\r') {
+					int next= base + i + 1;
+					char following= i + 1 < count ? buffer[i + 1] : next < length ? text.charAt(next) : 0;
+					if (following == '\n') {
+						index.add(next + 1, CRLF);
+						i++;
+					} else {
+						index.add(next, CR);
+					}
+				}
+			}
+			// a "\r\n" crossing into the next buffer has already been reported
+			skip= i - count;
+		}
+		return index;
+	}
+
+	/**
+	 * Fork/join task scanning a range of chunks for the default delimiters.
+	 */
+	private static final class ScanTask extends RecursiveAction {
+		private static final long serialVersionUID= 1L;
+
+		private final String fText;
+		private final LineIndex[] fChunks;
+		private final int fFirst;
+		private final int fLast;
+
+		ScanTask(String text, LineIndex[] chunks, int first, int last) {
+			fText= text;
+			fChunks= chunks;
+			fFirst= first;
+			fLast= last;
+		}
+
+		@Override
+		protected void compute() {
+			if (fLast - fFirst == 1) {
+				int start= fFirst * CHUNK_SIZE;
+				fChunks[fFirst]= scanDefault(fText, start, Math.min(start + CHUNK_SIZE, fText.length()));
+			} else {
+				int middle= (fFirst + fLast) >>> 1;
+				invokeAll(new ScanTask(fText, fChunks, fFirst, middle), new ScanTask(fText, fChunks, middle, fLast));
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of <code>delimiter</code> in the delimiter table, adding it if needed.
+	 *
+	 * @param delimiter the delimiter
+	 * @return the index of <code>delimiter</code>
+	 */
+	private byte delimiterIndex(String delimiter) {
+		for (int i= 0; i < fDelimiterTable.length; i++) {
+			if (fDelimiterTable[i].equals(delimiter))
+				return (byte) i;
+		}
+		if (fDelimiterTable.length == Byte.MAX_VALUE)
+			throw new IllegalStateException("Too many distinct line delimiters"); //$NON-NLS-1$
+		fDelimiterTable= Arrays.copyOf(fDelimiterTable, fDelimiterTable.length + 1);
+		fDelimiterTable[fDelimiterTable.length - 1]= delimiter;
+		return (byte) (fDelimiterTable.length - 1);
+	}
+
+	private void add(int end, byte delimiter) {
+		if (fCount == fEnds.length) {
+			int capacity= Math.max(INITIAL_CAPACITY, fCount + (fCount >> 1));
+			fEnds= Arrays.copyOf(fEnds, capacity);
+			fDelimiters= Arrays.copyOf(fDelimiters, capacity);
+		}
+		fEnds[fCount]= end;
+		fDelimiters[fCount]= delimiter;
+		fCount++;
+	}
+
+	/**
+	 * Returns the number of recorded lines.
+	 *
+	 * @return the number of recorded lines
+	 */
+	int getLineCount() {
+		return fCount;
+	}
+
+	/**
+	 * Returns the length of the indexed text.
+	 *
+	 * @return the text length
+	 */
+	int getTextLength() {
+		return fTextLength;
+	}
+
+	/**
+	 * Returns the offset of the given line.
+	 *
+	 * @param line the line, <code>0 &lt;= line &lt;= getLineCount()</code>
+	 * @return the offset of <code>line</code>
+	 */
+	int getLineOffset(int line) {
+		return line == 0 ? 0 : fEnds[line - 1];
+	}
+
+	/**
+	 * Returns the exclusive end offset of the given line, including its delimiter.
+	 *
+	 * @param line the line, <code>-1 &lt;= line &lt; getLineCount()</code>
+	 * @return the end offset of <code>line</code>, <code>0</code> for <code>-1</code>
+	 */
+	int getLineEnd(int line) {
+		return line < 0 ? 0 : fEnds[line];
+	}
+
+	/**
+	 * Returns the length of the given line, including its delimiter.
+	 *
+	 * @param line the line, <code>0 &lt;= line &lt; getLineCount()</code>
+	 * @return the length of <code>line</code>
+	 */
+	int getLineLength(int line) {
+		return fEnds[line] - getLineOffset(line);
+	}
+
+	/**
+	 * Returns the delimiter of the given line.
+	 *
+	 * @param line the line, <code>0 &lt;= line &lt; getLineCount()</code>
+	 * @return the delimiter of <code>line</code>, <code>null</code> if it has none
+	 */
+	String getLineDelimiter(int line) {
+		byte delimiter= fDelimiters[line];
+		return delimiter == NO_DELIMITER ? null : fDelimiterTable[delimiter];
+	}
+
+	/**
+	 * Returns the line containing the given offset.
+	 *
+	 * @param offset the offset, <code>0 &lt;= offset &lt; getTextLength()</code>
+	 * @return the line containing <code>offset</code>
+	 */
+	int findLine(int offset) {
+		int left= 0;
+		int right= fCount - 1;
+		while (left < right) {
+			int mid= (left + right) >>> 1;
+			if (fEnds[mid] > offset)
+				right= mid;
+			else
+				left= mid + 1;
+		}
+		return left;
+	}
+}
@@ -13,9 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
 
 /**
@@ -37,9 +34,7 @@ import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
 abstract class ListLineTracker implements ILineTracker {
 
 	/** The line information */
-	private final List<Line> fLines= new ArrayList<>();
-	/** The length of the tracked text */
-	private int fTextLength;
+	private LineIndex fLines= new LineIndex();
 
 	/**
 	 * Creates a new line tracker.
@@ -54,39 +49,9 @@ abstract class ListLineTracker implements ILineTracker {
 	 * @return the line of the offset
 	 */
 	private int findLine(int offset) {
-
-		if (fLines.isEmpty())
+		if (fLines.getLineCount() == 0 || offset < 0)
 			return -1;
-
-		int left= 0;
-		int right= fLines.size() - 1;
-		int mid= 0;
-		Line line= null;
-
-		while (left < right) {
-
-			mid= (left + right) / 2;
-
-			line= fLines.get(mid);
-			if (offset < line.offset) {
-				if (left == mid)
-					right= left;
-				else
-					right= mid - 1;
-			} else if (offset > line.offset) {
-				if (right == mid)
-					left= right;
-				else
-					left= mid + 1;
-			} else if (offset == line.offset) {
-				left= right= mid;
-			}
-		}
-
-		line= fLines.get(left);
-		if (line.offset > offset)
-			--left;
-		return left;
+		return fLines.findLine(offset);
 	}
 
 	/**
@@ -105,15 +70,14 @@ abstract class ListLineTracker implements ILineTracker {
 
 		int target= offset + length;
 
-		Line l= fLines.get(startLine);
-
-		if (l.delimiter == null)
+		if (fLines.getLineDelimiter(startLine) == null)
 			return 1;
 
-		if (l.offset + l.length > target)
+		int end= fLines.getLineEnd(startLine);
+		if (end > target)
 			return 1;
 
-		if (l.offset + l.length == target)
+		if (end == target)
 			return 2;
 
 		return getLineNumberOfOffset(target) - startLine + 1;
@@ -121,7 +85,7 @@ abstract class ListLineTracker implements ILineTracker {
 
 	@Override
 	public final int getLineLength(int line) throws BadLocationException {
-		int lines= fLines.size();
+		int lines= fLines.getLineCount();
 
 		if (line < 0 || line > lines)
 			throw new BadLocationException();
@@ -129,26 +93,25 @@ abstract class ListLineTracker implements ILineTracker {
 		if (lines == 0 || lines == line)
 			return 0;
 
-		Line l= fLines.get(line);
-		return l.length;
+		return fLines.getLineLength(line);
 	}
 
 	@Override
 	public final int getLineNumberOfOffset(int position) throws BadLocationException {
+		int textLength= fLines.getTextLength();
 		if (position < 0) {
 			throw new BadLocationException("Negative offset : " + position); //$NON-NLS-1$
-		} else if (position > fTextLength) {
-			throw new BadLocationException("Offset > length: " + position + " > " + fTextLength);  //$NON-NLS-1$//$NON-NLS-2$
+		} else if (position > textLength) {
+			throw new BadLocationException("Offset > length: " + position + " > " + textLength);  //$NON-NLS-1$//$NON-NLS-2$
 		}
 
-		if (position == fTextLength) {
+		if (position == textLength) {
 
-			int lastLine= fLines.size() - 1;
+			int lastLine= fLines.getLineCount() - 1;
 			if (lastLine < 0)
 				return 0;
 
-			Line l= fLines.get(lastLine);
-			return (l.delimiter != null ? lastLine + 1 : lastLine);
+			return (fLines.getLineDelimiter(lastLine) != null ? lastLine + 1 : lastLine);
 		}
 
 		return findLine(position);
@@ -156,15 +119,18 @@ abstract class ListLineTracker implements ILineTracker {
 
 	@Override
 	public final IRegion getLineInformationOfOffset(int position) throws BadLocationException {
-		if (position > fTextLength)
-			throw new BadLocationException("Offset > length: " + position + " > " + fTextLength);  //$NON-NLS-1$//$NON-NLS-2$
+		int textLength= fLines.getTextLength();
+		if (position > textLength)
+			throw new BadLocationException("Offset > length: " + position + " > " + textLength);  //$NON-NLS-1$//$NON-NLS-2$
 
-		if (position == fTextLength) {
-			int size= fLines.size();
+		if (position == textLength) {
+			int size= fLines.getLineCount();
 			if (size == 0)
 				return new Region(0, 0);
-			Line l= fLines.get(size - 1);
-			return (l.delimiter != null ? new Line(fTextLength, 0) : new Line(fTextLength - l.length, l.length));
+			if (fLines.getLineDelimiter(size - 1) != null)
+				return new Line(textLength, 0);
+			int length= fLines.getLineLength(size - 1);
+			return new Line(textLength - length, length);
 		}
 
 		return getLineInformation(findLine(position));
@@ -172,7 +138,7 @@ abstract class ListLineTracker implements ILineTracker {
 
 	@Override
 	public final IRegion getLineInformation(int line) throws BadLocationException {
-		int lines= fLines.size();
+		int lines= fLines.getLineCount();
 
 		if (line < 0 || line > lines)
 			throw new BadLocationException();
@@ -180,18 +146,18 @@ abstract class ListLineTracker implements ILineTracker {
 		if (lines == 0)
 			return new Line(0, 0);
 
-		if (line == lines) {
-			Line l= fLines.get(line - 1);
-			return new Line(l.offset + l.length, 0);
-		}
+		if (line == lines)
+			return new Line(fLines.getLineEnd(line - 1), 0);
 
-		Line l= fLines.get(line);
-		return (l.delimiter != null ? new Line(l.offset, l.length - l.delimiter.length()) : l);
+		int offset= fLines.getLineOffset(line);
+		int length= fLines.getLineLength(line);
+		String delimiter= fLines.getLineDelimiter(line);
+		return (delimiter != null ? new Line(offset, length - delimiter.length()) : new Line(offset, length));
 	}
 
 	@Override
 	public final int getLineOffset(int line) throws BadLocationException {
-		int lines= fLines.size();
+		int lines= fLines.getLineCount();
 
 		if (line < 0 || line > lines)
 			throw new BadLocationException();
@@ -200,31 +166,28 @@ abstract class ListLineTracker implements ILineTracker {
 			return 0;
 
 		if (line == lines) {
-			Line l= fLines.get(line - 1);
-			if (l.delimiter != null)
-				return l.offset + l.length;
+			if (fLines.getLineDelimiter(line - 1) != null)
+				return fLines.getLineEnd(line - 1);
 			throw new BadLocationException();
 		}
 
-		Line l= fLines.get(line);
-		return l.offset;
+		return fLines.getLineOffset(line);
 	}
 
 	@Override
 	public final int getNumberOfLines() {
-		int lines= fLines.size();
+		int lines= fLines.getLineCount();
 
 		if (lines == 0)
 			return 1;
 
-		Line l= fLines.get(lines - 1);
-		return (l.delimiter != null ? lines + 1 : lines);
+		return (fLines.getLineDelimiter(lines - 1) != null ? lines + 1 : lines);
 	}
 
 	@Override
 	public final int getNumberOfLines(int position, int length) throws BadLocationException {
 
-		if (position < 0 || position + length > fTextLength)
+		if (position < 0 || position + length > fLines.getTextLength())
 			throw new BadLocationException();
 
 		if (length == 0) // optimization
@@ -248,7 +211,7 @@ abstract class ListLineTracker implements ILineTracker {
 
 	@Override
 	public final String getLineDelimiter(int line) throws BadLocationException {
-		int lines= fLines.size();
+		int lines= fLines.getLineCount();
 
 		if (line < 0 || line > lines)
 			throw new BadLocationException();
@@ -259,8 +222,7 @@ abstract class ListLineTracker implements ILineTracker {
 		if (line == lines)
 			return null;
 
-		Line l= fLines.get(line);
-		return l.delimiter;
+		return fLines.getLineDelimiter(line);
 	}
 
 	/**
@@ -274,49 +236,14 @@ abstract class ListLineTracker implements ILineTracker {
 	protected abstract DelimiterInfo nextDelimiterInfo(String text, int offset);
 
 	/**
-	 * Creates the line structure for the given text. Newly created lines are inserted into the line
-	 * structure starting at the given position. Returns the number of newly created lines.
+	 * Tells whether {@link #nextDelimiterInfo(String, int)} recognizes exactly the
+	 * {@link DefaultLineTracker#DELIMITERS default delimiters}, in which case large texts are
+	 * scanned in parallel.
 	 *
-	 * @param text the text for which to create a line structure
-	 * @param insertPosition the position at which the newly created lines are inserted into the
-	 *        tracker's line structure
-	 * @param offset the offset of all newly created lines
-	 * @return the number of newly created lines
+	 * @return <code>true</code> if this tracker uses the default delimiters
 	 */
-	private int createLines(String text, int insertPosition, int offset) {
-
-		int count= 0;
-		int start= 0;
-		DelimiterInfo delimiterInfo= nextDelimiterInfo(text, 0);
-
-		while (delimiterInfo != null && delimiterInfo.delimiterIndex > -1) {
-
-			int index= delimiterInfo.delimiterIndex + (delimiterInfo.delimiterLength - 1);
-
-			if (insertPosition + count >= fLines.size())
-				fLines.add(new Line(offset + start, offset + index, delimiterInfo.delimiter));
-			else
-				fLines.add(insertPosition + count, new Line(offset + start, offset + index, delimiterInfo.delimiter));
-
-			++count;
-			start= index + 1;
-			delimiterInfo= nextDelimiterInfo(text, start);
-		}
-
-		if (start < text.length()) {
-			if (insertPosition + count < fLines.size()) {
-				// there is a line below the current
-				Line l= fLines.get(insertPosition + count);
-				int delta= text.length() - start;
-				l.offset-= delta;
-				l.length+= delta;
-			} else {
-				fLines.add(new Line(offset + start, offset + text.length() - 1, null));
-				++count;
-			}
-		}
-
-		return count;
+	boolean hasDefaultDelimiters() {
+		return false;
 	}
 
 	@Override
@@ -326,22 +253,16 @@ abstract class ListLineTracker implements ILineTracker {
 
 	@Override
 	public final void set(String text) {
-		fLines.clear();
-		if (text != null) {
-			fTextLength= text.length();
-			createLines(text, 0, 0);
-		} else {
-			fTextLength= 0;
-		}
+		fLines= LineIndex.create(text, hasDefaultDelimiters(), this::nextDelimiterInfo);
 	}
 
 	/**
-	 * Returns the internal data structure, a {@link List} of {@link Line}s. Used only by
+	 * Returns the internal data structure. Used only by
 	 * {@link TreeLineTracker#TreeLineTracker(ListLineTracker)}.
 	 *
-	 * @return the internal list of lines.
+	 * @return the internal line index
 	 */
-	final List<Line> getLines() {
+	final LineIndex getLines() {
 		return fLines;
 	}
 }
@@ -0,0 +1,420 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * Implements a text store backed by a balanced tree of text pieces. Each piece refers to a range
+ * of an immutable buffer, either the initial content, the text passed to {@link #set(String)} or a
+ * text inserted by {@link #replace(int, int, String)}. None of these operations copies the given
+ * text, so the initial content may also be a lazily computed <code>CharSequence</code>, e.g. a view
+ * on a file.
+ * <p>
+ * The tree is height balanced (AVL) and its nodes are immutable; a modification only recreates
+ * the nodes on the path to the modified pieces.
+ * </p>
+ * <p>
+ * <strong>Performance:</strong> Unlike the {@link GapTextStore}, the cost of a change does not
+ * depend on the distance from the previous change. Let <var>n</var> be the number of pieces, then
+ * {@link #replace(int, int, String)} and {@link #get(int)} perform in <i>O(log n)</i>,
+ * {@linkplain #get(int, int) get(int, <var>length</var>)} in <i>O(log n + length)</i> and
+ * {@link #set(String)} in <i>O(1)</i>. Sequential calls to {@link #get(int)} within the same piece
+ * perform in <i>O(1)</i>. The number of pieces is proportional to the number of changes. This store is intended for very large documents; for typical documents
+ * the {@link GapTextStore} is faster.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see CopyOnWriteTextStore for a copy-on-write text store wrapper
+ * @since 3.15
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class PieceTreeTextStore implements ITextStore {
+
+	/**
+	 * The maximum length of a piece that is modified in place. Adjacent pieces are merged if the
+	 * result does not exceed this length.
+	 */
+	private static final int MAX_PIECE_LENGTH= 2048;
+
+	/**
+	 * A node of the piece tree.
+	 */
+	private static abstract class Node {
+		/** The number of characters in the subtree of this node */
+		final int fLength;
+		/** The height of the subtree of this node, <code>0</code> for pieces */
+		final int fHeight;
+
+		Node(int length, int height) {
+			fLength= length;
+			fHeight= height;
+		}
+	}
+
+	/**
+	 * A leaf of the piece tree describing a range of a buffer.
+	 */
+	private static final class Piece extends Node {
+		/** The buffer this piece refers to */
+		final CharSequence fBuffer;
+		/** The start of this piece in the buffer */
+		final int fStart;
+
+		Piece(CharSequence buffer, int start, int length) {
+			super(length, 0);
+			fBuffer= buffer;
+			fStart= start;
+		}
+
+		String getText() {
+			return fBuffer.subSequence(fStart, fStart + fLength).toString();
+		}
+
+		void getChars(int start, int end, char[] dest, int destPos) {
+			if (fBuffer instanceof String)
+				((String) fBuffer).getChars(fStart + start, fStart + end, dest, destPos);
+			else
+				fBuffer.subSequence(fStart + start, fStart + end).toString().getChars(0, end - start, dest, destPos);
+		}
+	}
+
+	/**
+	 * An inner node of the piece tree.
+	 */
+	private static final class Branch extends Node {
+		final Node fLeft;
+		final Node fRight;
+
+		Branch(Node left, Node right) {
+			super(left.fLength + right.fLength, Math.max(left.fHeight, right.fHeight) + 1);
+			fLeft= left;
+			fRight= right;
+		}
+	}
+
+	/**
+	 * A piece together with its offset in the text store.
+	 */
+	private static final class PieceLocation {
+		final Piece fPiece;
+		final int fOffset;
+
+		PieceLocation(Piece piece, int offset) {
+			fPiece= piece;
+			fOffset= offset;
+		}
+	}
+
+	/** The root of the piece tree, <code>null</code> if the store is empty */
+	private Node fRoot;
+
+	/**
+	 * The piece that has been accessed last by {@link #get(int)}, may be <code>null</code>. This is
+	 * a single field so that concurrent readers always see a consistent piece and offset.
+	 */
+	private PieceLocation fCachedPiece;
+
+	/**
+	 * Creates a new empty text store.
+	 */
+	public PieceTreeTextStore() {
+	}
+
+	/**
+	 * Creates a new text store with the given initial content. The content is not copied and must
+	 * not change while it is referenced by this text store.
+	 *
+	 * @param content the initial content, may not be <code>null</code>
+	 */
+	public PieceTreeTextStore(CharSequence content) {
+		fRoot= content.length() == 0 ? null : new Piece(content, 0, content.length());
+	}
+
+	@Override
+	public char get(int offset) {
+		PieceLocation cached= fCachedPiece;
+		if (cached != null) {
+			int relative= offset - cached.fOffset;
+			if (relative >= 0 && relative < cached.fPiece.fLength)
+				return cached.fPiece.fBuffer.charAt(cached.fPiece.fStart + relative);
+		}
+
+		if (offset < 0 || offset >= getLength())
+			throw new IndexOutOfBoundsException(offset);
+
+		Node node= fRoot;
+		int nodeOffset= 0;
+		while (node instanceof Branch) {
+			Branch branch= (Branch) node;
+			int leftLength= branch.fLeft.fLength;
+			if (offset - nodeOffset < leftLength) {
+				node= branch.fLeft;
+			} else {
+				nodeOffset+= leftLength;
+				node= branch.fRight;
+			}
+		}
+		Piece piece= (Piece) node;
+		fCachedPiece= new PieceLocation(piece, nodeOffset);
+		return piece.fBuffer.charAt(piece.fStart + offset - nodeOffset);
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new IndexOutOfBoundsException();
+		if (length == 0)
+			return ""; //$NON-NLS-1$
+
+		char[] chars= new char[length];
+		getChars(fRoot, offset, offset + length, chars, 0);
+		return new String(chars);
+	}
+
+	/**
+	 * Copies the characters in <code>[start, end)</code> of the given subtree to
+	 * <code>dest</code>.
+	 *
+	 * @param node the subtree root
+	 * @param start the start offset relative to the subtree
+	 * @param end the end offset relative to the subtree
+	 * @param dest the destination array
+	 * @param destPos the index in <code>dest</code> to copy the first character to
+	 */
+	private static void getChars(Node node, int start, int end, char[] dest, int destPos) {
+		while (node instanceof Branch) {
+			Branch branch= (Branch) node;
+			int leftLength= branch.fLeft.fLength;
+			if (end <= leftLength) {
+				node= branch.fLeft;
+			} else if (start >= leftLength) {
+				node= branch.fRight;
+				start-= leftLength;
+				end-= leftLength;
+			} else {
+				getChars(branch.fLeft, start, leftLength, dest, destPos);
+				destPos+= leftLength - start;
+				node= branch.fRight;
+				start= 0;
+				end-= leftLength;
+			}
+		}
+		((Piece) node).getChars(start, end, dest, destPos);
+	}
+
+	@Override
+	public int getLength() {
+		return fRoot == null ? 0 : fRoot.fLength;
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		int textLength= text == null ? 0 : text.length();
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new IndexOutOfBoundsException();
+		if (length == 0 && textLength == 0)
+			return;
+
+		fCachedPiece= null;
+		if (fRoot != null) {
+			Node replaced= replaceInPiece(fRoot, offset, length, text, textLength);
+			if (replaced != null) {
+				fRoot= replaced;
+				return;
+			}
+		}
+
+		Node[] head= split(fRoot, offset);
+		Node[] tail= split(head[1], length);
+		Node result= head[0];
+		if (textLength > 0)
+			result= join(result, new Piece(text, 0, textLength));
+		fRoot= join(result, tail[1]);
+	}
+
+	@Override
+	public void set(String text) {
+		fCachedPiece= null;
+		fRoot= text == null || text.isEmpty() ? null : new Piece(text, 0, text.length());
+	}
+
+	/**
+	 * Performs the replacement inside a single piece if the range is covered by a single piece and
+	 * the resulting piece does not exceed {@link #MAX_PIECE_LENGTH}. This is the typing case and
+	 * avoids fragmenting the tree into many tiny pieces.
+	 *
+	 * @param node the subtree root
+	 * @param offset the offset relative to the subtree
+	 * @param length the number of characters to replace
+	 * @param text the replacement text, may be <code>null</code>
+	 * @param textLength the length of the replacement text
+	 * @return the new subtree root or <code>null</code> if the replacement cannot be performed in a
+	 *         single piece
+	 */
+	private static Node replaceInPiece(Node node, int offset, int length, String text, int textLength) {
+		if (node instanceof Branch) {
+			Branch branch= (Branch) node;
+			int leftLength= branch.fLeft.fLength;
+			if (offset + length <= leftLength) {
+				Node left= replaceInPiece(branch.fLeft, offset, length, text, textLength);
+				if (left != null)
+					return new Branch(left, branch.fRight);
+				if (offset != leftLength)
+					return null;
+			}
+			if (offset >= leftLength) {
+				Node right= replaceInPiece(branch.fRight, offset - leftLength, length, text, textLength);
+				if (right != null)
+					return new Branch(branch.fLeft, right);
+			}
+			return null;
+		}
+
+		Piece piece= (Piece) node;
+		int newLength= piece.fLength - length + textLength;
+		if (newLength > MAX_PIECE_LENGTH)
+			return null;
+		if (newLength == 0)
+			return null;
+
+		StringBuilder buffer= new StringBuilder(newLength);
+		buffer.append(piece.fBuffer, piece.fStart, piece.fStart + offset);
+		if (text != null)
+			buffer.append(text);
+		buffer.append(piece.fBuffer, piece.fStart + offset + length, piece.fStart + piece.fLength);
+		return new Piece(buffer.toString(), 0, newLength);
+	}
+
+	/**
+	 * Splits the given subtree at <code>offset</code>.
+	 *
+	 * @param node the subtree root, may be <code>null</code>
+	 * @param offset the offset relative to the subtree
+	 * @return the subtrees before and after <code>offset</code>, each may be <code>null</code>
+	 */
+	private static Node[] split(Node node, int offset) {
+		if (node == null || offset == 0)
+			return new Node[] { null, node };
+		if (offset == node.fLength)
+			return new Node[] { node, null };
+
+		if (node instanceof Branch) {
+			Branch branch= (Branch) node;
+			int leftLength= branch.fLeft.fLength;
+			if (offset == leftLength)
+				return new Node[] { branch.fLeft, branch.fRight };
+			if (offset < leftLength) {
+				Node[] parts= split(branch.fLeft, offset);
+				parts[1]= join(parts[1], branch.fRight);
+				return parts;
+			}
+			Node[] parts= split(branch.fRight, offset - leftLength);
+			parts[0]= join(branch.fLeft, parts[0]);
+			return parts;
+		}
+
+		Piece piece= (Piece) node;
+		return new Node[] {
+				new Piece(piece.fBuffer, piece.fStart, offset),
+				new Piece(piece.fBuffer, piece.fStart + offset, piece.fLength - offset) };
+	}
+
+	/**
+	 * Concatenates two subtrees. The result is balanced if both subtrees are balanced.
+	 *
+	 * @param left the left subtree, may be <code>null</code>
+	 * @param right the right subtree, may be <code>null</code>
+	 * @return the concatenation, <code>null</code> if both subtrees are <code>null</code>
+	 */
+	private static Node join(Node left, Node right) {
+		if (left == null)
+			return right;
+		if (right == null)
+			return left;
+
+		if (left.fHeight > right.fHeight + 1) {
+			Branch branch= (Branch) left;
+			return balance(branch.fLeft, join(branch.fRight, right));
+		}
+		if (right.fHeight > left.fHeight + 1) {
+			Branch branch= (Branch) right;
+			return balance(join(left, branch.fLeft), branch.fRight);
+		}
+
+		if (left instanceof Piece && right instanceof Piece) {
+			Piece merged= merge((Piece) left, (Piece) right);
+			if (merged != null)
+				return merged;
+		} else if (left instanceof Branch && right instanceof Piece) {
+			Branch branch= (Branch) left;
+			if (branch.fRight instanceof Piece) {
+				Piece merged= merge((Piece) branch.fRight, (Piece) right);
+				if (merged != null)
+					return new Branch(branch.fLeft, merged);
+			}
+		} else if (left instanceof Piece && right instanceof Branch) {
+			Branch branch= (Branch) right;
+			if (branch.fLeft instanceof Piece) {
+				Piece merged= merge((Piece) left, (Piece) branch.fLeft);
+				if (merged != null)
+					return new Branch(merged, branch.fRight);
+			}
+		}
+		return new Branch(left, right);
+	}
+
+	/**
+	 * Merges two adjacent pieces if the result does not exceed {@link #MAX_PIECE_LENGTH}.
+	 *
+	 * @param left the left piece
+	 * @param right the right piece
+	 * @return the merged piece or <code>null</code> if the pieces are too long
+	 */
+	private static Piece merge(Piece left, Piece right) {
+		int length= left.fLength + right.fLength;
+		if (length > MAX_PIECE_LENGTH)
+			return null;
+		if (left.fBuffer == right.fBuffer && left.fStart + left.fLength == right.fStart)
+			return new Piece(left.fBuffer, left.fStart, length);
+		return new Piece(left.getText().concat(right.getText()), 0, length);
+	}
+
+	/**
+	 * Creates a branch for the given subtrees, performing a single or double rotation if their
+	 * heights differ by two.
+	 *
+	 * @param left the left subtree
+	 * @param right the right subtree
+	 * @return the balanced subtree
+	 */
+	private static Node balance(Node left, Node right) {
+		if (left.fHeight > right.fHeight + 1) {
+			Branch l= (Branch) left;
+			if (l.fLeft.fHeight >= l.fRight.fHeight)
+				return new Branch(l.fLeft, new Branch(l.fRight, right));
+			Branch lr= (Branch) l.fRight;
+			return new Branch(new Branch(l.fLeft, lr.fLeft), new Branch(lr.fRight, right));
+		}
+		if (right.fHeight > left.fHeight + 1) {
+			Branch r= (Branch) right;
+			if (r.fRight.fHeight >= r.fLeft.fHeight)
+				return new Branch(new Branch(left, r.fLeft), r.fRight);
+			Branch rl= (Branch) r.fLeft;
+			return new Branch(new Branch(left, rl.fLeft), new Branch(rl.fRight, r.fRight));
+		}
+		return new Branch(left, right);
+	}
+}
@@ -173,32 +173,64 @@ abstract class TreeLineTracker implements ILineTracker {
 	 * @param tracker the list line tracker
 	 */
 	TreeLineTracker(ListLineTracker tracker) {
-		final List<Line> lines= tracker.getLines();
-		final int n= lines.size();
-		if (n == 0)
-			return;
+		build(tracker.getLines());
+	}
 
-		Line line= lines.get(0);
-		String delim= line.delimiter;
-		if (delim == null)
-			delim= NO_DELIM;
-		int length= line.length;
-		fRoot= new Node(length, delim);
-		Node node= fRoot;
+	/**
+	 * Replaces the whole tree by a perfectly balanced tree holding the lines of
+	 * <code>lines</code>, followed by the empty last line if the last indexed line is delimited.
+	 * This runs in <i>O(n)</i>, whereas inserting line by line would cost <i>O(n * log n)</i>.
+	 *
+	 * @param lines the line structure of the new text
+	 */
+	private void build(LineIndex lines) {
+		int n= lines.getLineCount();
+		if (n == 0 || lines.getLineDelimiter(n - 1) != null)
+			n++;
+		fRoot= build(lines, 0, n - 1, null);
 
-		for (int i= 1; i < n; i++) {
-			line= lines.get(i);
-			delim= line.delimiter;
-			if (delim == null)
-				delim= NO_DELIM;
-			length= line.length;
-			node= insertAfter(node, length, delim);
-		}
+		if (ASSERT) checkTree();
+	}
 
-		if (node.delimiter != NO_DELIM)
-			insertAfter(node, 0, NO_DELIM);
+	/**
+	 * Builds a balanced subtree for the lines <code>first</code> to <code>last</code>.
+	 *
+	 * @param lines the line structure
+	 * @param first the first line of the subtree
+	 * @param last the last line of the subtree, inclusive
+	 * @param parent the parent of the subtree
+	 * @return the root of the subtree, <code>null</code> if it is empty
+	 */
+	private Node build(LineIndex lines, int first, int last, Node parent) {
+		if (first > last)
+			return null;
+
+		int mid= (first + last) >>> 1;
+		Node node;
+		if (mid < lines.getLineCount()) {
+			String delimiter= lines.getLineDelimiter(mid);
+			node= new Node(lines.getLineLength(mid), delimiter == null ? NO_DELIM : delimiter);
+		} else {
+			node= new Node(0, NO_DELIM);
+		}
+		node.parent= parent;
+		node.line= mid - first;
+		node.offset= lines.getLineOffset(mid) - lines.getLineOffset(first);
+		node.left= build(lines, first, mid - 1, node);
+		node.right= build(lines, mid + 1, last, node);
+		node.balance= (byte) (height(last - mid) - height(mid - first));
+		return node;
+	}
 
-		if (ASSERT) checkTree();
+	/**
+	 * Returns the height of a subtree of the given size built by
+	 * {@link #build(LineIndex, int, int, Node)}.
+	 *
+	 * @param size the number of nodes in the subtree
+	 * @return the height of the subtree
+	 */
+	private static int height(int size) {
+		return Integer.SIZE - Integer.numberOfLeadingZeros(size);
 	}
 
 	/**
@@ -1054,6 +1086,17 @@ abstract class TreeLineTracker implements ILineTracker {
 	 */
 	protected abstract DelimiterInfo nextDelimiterInfo(String text, int offset);
 
+	/**
+	 * Tells whether {@link #nextDelimiterInfo(String, int)} recognizes exactly the
+	 * {@link DefaultLineTracker#DELIMITERS default delimiters}, in which case large texts are
+	 * scanned in parallel.
+	 *
+	 * @return <code>true</code> if this tracker uses the default delimiters
+	 */
+	boolean hasDefaultDelimiters() {
+		return false;
+	}
+
 	@Override
 	public final String getLineDelimiter(int line) throws BadLocationException {
 		Node node= nodeByLine(line);
@@ -1206,12 +1249,7 @@ abstract class TreeLineTracker implements ILineTracker {
 
 	@Override
 	public final void set(String text) {
-		fRoot= new Node(0, NO_DELIM);
-		try {
-			replace(0, 0, text);
-		} catch (BadLocationException x) {
-			throw new InternalError();
-		}
+		build(LineIndex.create(text, hasDefaultDelimiters(), this::nextDelimiterInfo));
 	}
 
 	@Override
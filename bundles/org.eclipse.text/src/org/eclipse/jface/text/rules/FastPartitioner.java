@@ -340,6 +340,9 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 
 			fScanner.setPartialRange(fDocument, reparseStart, fDocument.getLength() - reparseStart, contentType, partitionStart);
 
+			int changeEnd= e.getOffset() + newLength;
+			// the end of the removed positions, the scanner may still be inside of them
+			int removedEnd= -1;
 			int behindLastScannedPosition= reparseStart;
 			IToken token= fScanner.nextToken();
 
@@ -348,6 +351,21 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 				contentType= getTokenContentType(token);
 
 				if (!isSupportedContentType(contentType)) {
+					int end= fScanner.getTokenOffset() + fScanner.getTokenLength();
+					if (end >= changeEnd) {
+						// remove the positions covered by default content
+						while (first < category.length && category[first].offset < end && category[first].offset + category[first].length <= end) {
+							TypedPosition p= (TypedPosition) category[first++];
+							rememberRegion(p.offset, p.length);
+							fDocument.removePosition(fPositionCategory, p);
+							removedEnd= Math.max(removedEnd, p.offset + p.length);
+						}
+						// if the scan is in default content behind the change and outside of any
+						// position, removed or only shifted by the change, the rest of the
+						// partitioning is unchanged and we are done
+						if (fScanner.getTokenOffset() >= removedEnd && (first == category.length || (category[first].offset >= end && category[first].offset > changeEnd)))
+							return createRegion();
+					}
 					token= fScanner.nextToken();
 					continue;
 				}
@@ -368,6 +386,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 
 						rememberRegion(p.offset, p.length);
 						fDocument.removePosition(fPositionCategory, p);
+						removedEnd= Math.max(removedEnd, p.offset + p.length);
 						++ first;
 
 					} else
@@ -16,6 +16,7 @@
 package org.eclipse.jface.text.source;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
@@ -32,6 +33,7 @@ import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.Position;
@@ -114,23 +116,12 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 				Position position= fModel.getPosition(next);
 				if (position != null) {
 					int offset= position.getOffset();
-					if (isWithinRegion(offset, position.getLength()))
+					if (isWithinRegion(fRegion, offset, position.getLength(), fCanStartBefore, fCanEndAfter))
 						return next;
 				}
 			}
 			return null;
 		}
-
-		private boolean isWithinRegion(int start, int length) {
-			if (fCanStartBefore && fCanEndAfter)
-				return fRegion.overlapsWith(start, length);
-			else if (fCanStartBefore)
-				return fRegion.includes(start + length - (length > 0 ? 1 : 0));
-			else if (fCanEndAfter)
-				return fRegion.includes(start);
-			else
-				return fRegion.includes(start) && fRegion.includes(start + length - (length > 0 ? 1 : 0));
-		}
 	}
 
 	/**
@@ -186,6 +177,251 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 		}
 	}
 
+	/**
+	 * Snapshot of the annotations of a model ordered by the offsets of their positions. A tree
+	 * over the last offsets of the positions keeps the maximum of each subtree, which leads to the
+	 * positions reaching into a region without visiting those ending before it. Finding the
+	 * annotations of a region thus takes logarithmic time in the number of annotations of the
+	 * model.
+	 * <p>
+	 * The index is replaced once annotations have been added or removed or the document has
+	 * changed, see {@link AnnotationModel#getRegionIndex(boolean)}. As position updaters keep the
+	 * order of the positions, the order of the replaced index usually remains valid and the new
+	 * index is built in linear time.
+	 * </p>
+	 *
+	 * @since 3.15
+	 */
+	private static final class RegionIndex {
+
+		/** The model's stamp the index has been built for. */
+		private final int fStamp;
+		/** The number of document changes the index has been built for. */
+		private final int fDocumentChanges;
+		/** The document's modification stamp the index has been built for. */
+		private final long fDocumentStamp;
+		private final Annotation[] fAnnotations;
+		private final Position[] fPositions;
+		/** The offsets of the positions in ascending order. */
+		private final int[] fOffsets;
+		/** The number of leaves of the tree, a power of two. */
+		private final int fLeafCount;
+		/**
+		 * The tree of the maximal last offsets. Node <code>i</code> has the children
+		 * <code>2 * i</code> and <code>2 * i + 1</code>, the leaves start at
+		 * <code>fLeafCount</code>.
+		 */
+		private final int[] fMaxLastOffsets;
+
+		/**
+		 * @param stamp the model's stamp
+		 * @param documentChanges the number of document changes
+		 * @param documentStamp the document's modification stamp
+		 * @param annotations the annotations
+		 * @param positions the positions of the annotations, in the same order
+		 */
+		public RegionIndex(int stamp, int documentChanges, long documentStamp, Annotation[] annotations, Position[] positions) {
+			int size= annotations.length;
+			long[] keys= null;
+			for (int i= 1; i < size; i++) {
+				if (positions[i].getOffset() < positions[i - 1].getOffset()) {
+					keys= new long[size];
+					for (int j= 0; j < size; j++)
+						keys[j]= ((long) positions[j].getOffset() << 32) | j;
+					Arrays.sort(keys);
+					break;
+				}
+			}
+
+			fStamp= stamp;
+			fDocumentChanges= documentChanges;
+			fDocumentStamp= documentStamp;
+			fAnnotations= new Annotation[size];
+			fPositions= new Position[size];
+			fOffsets= new int[size];
+			int leafCount= 1;
+			while (leafCount < size)
+				leafCount<<= 1;
+			fLeafCount= leafCount;
+			fMaxLastOffsets= new int[2 * leafCount];
+			Arrays.fill(fMaxLastOffsets, Integer.MIN_VALUE);
+
+			for (int i= 0; i < size; i++) {
+				int index= keys != null ? (int) keys[i] : i;
+				Position position= positions[index];
+				fAnnotations[i]= annotations[index];
+				fPositions[i]= position;
+				fOffsets[i]= position.getOffset();
+				fMaxLastOffsets[leafCount + i]= getLastOffset(position);
+			}
+			for (int node= leafCount - 1; node > 0; node--)
+				fMaxLastOffsets[node]= Math.max(fMaxLastOffsets[2 * node], fMaxLastOffsets[2 * node + 1]);
+		}
+
+		private static int getLastOffset(Position position) {
+			int length= position.getLength();
+			return position.getOffset() + (length > 0 ? length - 1 : 0);
+		}
+
+		/**
+		 * Returns the index of the first position with an offset not smaller than the given
+		 * offset.
+		 *
+		 * @param offset the offset
+		 * @return the index of the first position starting at or after <code>offset</code>
+		 */
+		public int indexOf(int offset) {
+			int left= 0;
+			int right= fOffsets.length;
+			while (left < right) {
+				int mid= (left + right) >>> 1;
+				if (fOffsets[mid] < offset)
+					left= mid + 1;
+				else
+					right= mid;
+			}
+			return left;
+		}
+
+		/**
+		 * Returns the index of the first position in the given range of indices whose last
+		 * offset is not smaller than the given offset.
+		 *
+		 * @param from the first index to consider
+		 * @param to the index after the last index to consider
+		 * @param offset the offset the position has to reach
+		 * @return the index of the first position reaching <code>offset</code> or
+		 *         <code>-1</code> if there is none
+		 */
+		public int nextReaching(int from, int to, int offset) {
+			if (from >= to)
+				return -1;
+
+			int node= fLeafCount + from;
+			while (fMaxLastOffsets[node] < offset) {
+				// skip the subtree and continue with the next one to its right
+				while ((node & 1) == 1 && node > 1)
+					node>>= 1;
+				if (node == 1)
+					return -1;
+				node++;
+			}
+			while (node < fLeafCount) {
+				node<<= 1;
+				if (fMaxLastOffsets[node] < offset)
+					node++;
+			}
+			int index= node - fLeafCount;
+			return index < to ? index : -1;
+		}
+
+		public int size() {
+			return fAnnotations.length;
+		}
+
+		/**
+		 * Tells whether the index is up to date.
+		 *
+		 * @param stamp the model's stamp
+		 * @param documentChanges the number of document changes
+		 * @param documentStamp the document's modification stamp
+		 * @return <code>true</code> if the index has been built for the given stamps
+		 */
+		public boolean isCurrent(int stamp, int documentChanges, long documentStamp) {
+			// the document stamp covers changes whose notification is deferred
+			return fStamp == stamp && fDocumentChanges == documentChanges && fDocumentStamp == documentStamp;
+		}
+
+		public Annotation getAnnotation(int index) {
+			return fAnnotations[index];
+		}
+
+		public Position getPosition(int index) {
+			return fPositions[index];
+		}
+	}
+
+	/**
+	 * Iterator that returns the annotations of a {@link RegionIndex} inside a given region.
+	 *
+	 * @since 3.15
+	 */
+	private static final class RegionIndexIterator implements Iterator<Annotation> {
+
+		private final RegionIndex fIndex;
+		private final Map<Position, Annotation> fMap;
+		private final Position fRegion;
+		private final boolean fCanStartBefore;
+		private final boolean fCanEndAfter;
+		/** The index after the last candidate. */
+		private final int fEnd;
+		/** The index of the next candidate. */
+		private int fCandidate;
+		private Annotation fNext;
+
+		/**
+		 * Iterator that returns the annotations of the index which are inside
+		 * the given region and still managed by the model.
+		 * <p>
+		 * See {@link IAnnotationModelExtension2} for a definition of inside.
+		 * </p>
+		 *
+		 * @param index the index to query
+		 * @param map the model's map from positions to annotations
+		 * @param offset start position of the region
+		 * @param length length of the region
+		 * @param canStartBefore include annotations starting before region
+		 * @param canEndAfter include annotations ending after region
+		 */
+		public RegionIndexIterator(RegionIndex index, Map<Position, Annotation> map, int offset, int length, boolean canStartBefore, boolean canEndAfter) {
+			fIndex= index;
+			fMap= map;
+			fRegion= new Position(offset, length);
+			fCanStartBefore= canStartBefore;
+			fCanEndAfter= canEndAfter;
+			// positions inside the region start at its end at the latest
+			long end= (long) offset + length;
+			fEnd= end < Integer.MAX_VALUE ? index.indexOf((int) end + 1) : index.size();
+			fCandidate= canStartBefore ? 0 : index.indexOf(offset);
+			fNext= findNext();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return fNext != null;
+		}
+
+		@Override
+		public Annotation next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			Annotation result= fNext;
+			fNext= findNext();
+			return result;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		private Annotation findNext() {
+			while (true) {
+				// positions ending before the region are never inside of it
+				int candidate= fCanStartBefore ? fIndex.nextReaching(fCandidate, fEnd, fRegion.getOffset()) : fCandidate < fEnd ? fCandidate : -1;
+				if (candidate == -1)
+					return null;
+
+				fCandidate= candidate + 1;
+				Annotation annotation= fIndex.getAnnotation(candidate);
+				Position position= fIndex.getPosition(candidate);
+				if (fMap.get(position) == annotation && isWithinRegion(fRegion, position.getOffset(), position.getLength(), fCanStartBefore, fCanEndAfter))
+					return annotation;
+			}
+		}
+	}
+
 	/**
 	 * A single iterator builds its behavior based on a sequence of iterators.
 	 *
@@ -298,6 +534,40 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 * @since 3.0
 	 */
 	private Object fModificationStamp= new Object();
+	/**
+	 * The stamp of the annotations and their positions, changes whenever annotations are added,
+	 * removed or moved by the model.
+	 * @since 3.15
+	 */
+	private volatile int fRegionIndexStamp;
+	/**
+	 * The number of changes of the connected document.
+	 * @since 3.15
+	 */
+	private volatile int fDocumentChanges;
+	/**
+	 * The region index, built on demand.
+	 * @since 3.15
+	 */
+	private volatile RegionIndex fRegionIndex;
+	/**
+	 * The model stamp and number of document changes of the last region query answered by the
+	 * document, see {@link #getRegionIndex(boolean)}.
+	 * @since 3.15
+	 */
+	private long fQueriedState;
+	/**
+	 * The number of region queries answered by the document since the state last changed.
+	 * @since 3.15
+	 */
+	private int fQueryCount;
+	/**
+	 * The number of region queries in an unchanged state after which the region index is built.
+	 * Queries following each change of the document, for instance while typing, are answered by
+	 * the document instead of rebuilding the index every time.
+	 * @since 3.15
+	 */
+	private static final int STABLE_QUERY_COUNT= 8;
 
 	/**
 	 * Creates a new annotation model. The annotation is empty, i.e. does not
@@ -317,6 +587,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 			@Override
 			public void documentChanged(DocumentEvent event) {
 				fDocumentChanged= true;
+				fDocumentChanges++;
 			}
 		};
 	}
@@ -427,6 +698,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 			addPosition(fDocument, position);
 			annotations.put(annotation, position);
 			fPositions.put(position, annotation);
+			invalidateRegionIndex();
 			synchronized (getLockObject()) {
 				getAnnotationModelEvent().annotationAdded(annotation);
 			}
@@ -720,12 +992,12 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 * @since 3.4
 	 */
 	private Iterator<Annotation> getRegionAnnotationIterator(int offset, int length, boolean canStartBefore, boolean canEndAfter) {
-		if (!(fDocument instanceof AbstractDocument))
-			return new RegionIterator(getAnnotationIterator(true), this, offset, length, canStartBefore, canEndAfter);
-
-		AbstractDocument document= (AbstractDocument) fDocument;
 		cleanup(true);
+		RegionIndex index= getRegionIndex(fDocument instanceof AbstractDocument);
+		if (index != null)
+			return new RegionIndexIterator(index, fPositions, offset, length, canStartBefore, canEndAfter);
 
+		AbstractDocument document= (AbstractDocument) fDocument;
 		try {
 			Position[] positions= document.getPositions(IDocument.DEFAULT_CATEGORY, offset, length, canStartBefore, canEndAfter);
 			return new AnnotationsInterator(positions, fPositions);
@@ -735,6 +1007,122 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 		}
 	}
 
+	/**
+	 * Returns the region index of the annotations managed by this model, builds it if the
+	 * annotations or their positions have changed since it has been built.
+	 * <p>
+	 * If requested, a stale index is only rebuilt once the annotations and the document have not
+	 * changed for a number of queries, e.g. while scrolling, and <code>null</code> is returned
+	 * before, so that the caller queries the document instead.
+	 * </p>
+	 *
+	 * @param deferRebuild whether to rebuild a stale index only once the state is stable
+	 * @return the region index or <code>null</code> if a stale index is not rebuilt yet
+	 * @since 3.15
+	 */
+	private RegionIndex getRegionIndex(boolean deferRebuild) {
+		int stamp= fRegionIndexStamp;
+		int documentChanges= fDocumentChanges;
+		long documentStamp= fDocument instanceof IDocumentExtension4 ? ((IDocumentExtension4) fDocument).getModificationStamp() : IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		RegionIndex index= fRegionIndex;
+		if (index != null && index.isCurrent(stamp, documentChanges, documentStamp))
+			return index;
+
+		if (deferRebuild) {
+			// concurrent queries may miscount, which only moves the point of the rebuild
+			long state= ((long) stamp << 32) | (documentChanges & 0xFFFFFFFFL);
+			if (state != fQueriedState) {
+				fQueriedState= state;
+				fQueryCount= 0;
+			}
+			if (++fQueryCount < STABLE_QUERY_COUNT)
+				return null;
+		}
+
+		Annotation[] annotations;
+		Position[] positions;
+		if (index != null && index.fStamp == stamp) {
+			// the same annotations, reuse their previous order which is most likely still sorted
+			int size= index.size();
+			ArrayList<Annotation> current= new ArrayList<>(size);
+			ArrayList<Position> currentPositions= new ArrayList<>(size);
+			for (int i= 0; i < size; i++) {
+				Position p= index.getPosition(i);
+				if (!p.isDeleted()) {
+					current.add(index.getAnnotation(i));
+					currentPositions.add(p);
+				}
+			}
+			annotations= current.toArray(new Annotation[current.size()]);
+			positions= currentPositions.toArray(new Position[currentPositions.size()]);
+		} else {
+			ArrayList<Annotation> current= new ArrayList<>();
+			ArrayList<Position> currentPositions= new ArrayList<>();
+			IAnnotationMap map= getAnnotationMap();
+			Object mapLock= map.getLockObject();
+
+			if (mapLock == null) {
+				Iterator<Annotation> e= map.keySetIterator();
+				while (e.hasNext()) {
+					Annotation a= e.next();
+					Position p= map.get(a);
+					if (p != null && !p.isDeleted()) {
+						current.add(a);
+						currentPositions.add(p);
+					}
+				}
+			} else {
+				synchronized (mapLock) {
+					map.forEach((a, p) -> {
+						if (p != null && !p.isDeleted()) {
+							current.add(a);
+							currentPositions.add(p);
+						}
+					});
+				}
+			}
+			annotations= current.toArray(new Annotation[current.size()]);
+			positions= currentPositions.toArray(new Position[currentPositions.size()]);
+		}
+
+		index= new RegionIndex(stamp, documentChanges, documentStamp, annotations, positions);
+		fRegionIndex= index;
+		return index;
+	}
+
+	/**
+	 * Marks the region index as stale. Called whenever annotations are added or removed or their
+	 * positions are changed by the model.
+	 *
+	 * @since 3.15
+	 */
+	private void invalidateRegionIndex() {
+		fRegionIndexStamp++;
+	}
+
+	/**
+	 * Tells whether the given range is inside the given region as defined by
+	 * {@link IAnnotationModelExtension2}.
+	 *
+	 * @param region the region
+	 * @param start the start of the range
+	 * @param length the length of the range
+	 * @param canStartBefore whether the range can start before the region
+	 * @param canEndAfter whether the range can end after the region
+	 * @return <code>true</code> if the range is inside the region
+	 * @since 3.15
+	 */
+	private static boolean isWithinRegion(Position region, int start, int length, boolean canStartBefore, boolean canEndAfter) {
+		if (canStartBefore && canEndAfter)
+			return region.overlapsWith(start, length);
+		else if (canStartBefore)
+			return region.includes(start + length - (length > 0 ? 1 : 0));
+		else if (canEndAfter)
+			return region.includes(start);
+		else
+			return region.includes(start) && region.includes(start + length - (length > 0 ? 1 : 0));
+	}
+
 	/**
 	 * Returns all annotations managed by this model. <code>cleanup</code>
 	 * indicates whether all annotations whose associated positions are
@@ -815,6 +1203,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 		annotations.clear();
 		fPositions.clear();
+		invalidateRegionIndex();
 
 		if (fireModelChanged)
 			fireModelChanged();
@@ -845,6 +1234,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 			annotations.remove(annotation);
 			fPositions.remove(p);
+			invalidateRegionIndex();
 			synchronized (getLockObject()) {
 				getAnnotationModelEvent().annotationRemoved(annotation, p);
 			}
@@ -891,6 +1281,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 					} catch (BadLocationException e) {
 						// ignore invalid position
 					}
+					invalidateRegionIndex();
 				}
 				synchronized (getLockObject()) {
 					getAnnotationModelEvent().annotationChanged(annotation);
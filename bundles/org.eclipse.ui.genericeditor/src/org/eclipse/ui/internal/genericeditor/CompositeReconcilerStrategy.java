@@ -13,7 +13,19 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.genericeditor;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.text.IDocument;
@@ -24,12 +36,99 @@ import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategyExtension;
 
+/**
+ * Reconciles with several strategies, one after the other by default.
+ * <p>
+ * If concurrent reconciling is enabled, e.g. with the system property
+ * <code>org.eclipse.ui.genericeditor.concurrentReconciling</code>, the
+ * strategies reconcile a dirty region concurrently: the calling reconciler
+ * thread runs the first strategy and the others run on a pool shared by all
+ * composite strategies. The call returns once all strategies are done, so the
+ * dirty regions of the reconciler are still processed one after the other, and
+ * coalesced once for all strategies. This requires the strategies to be
+ * thread safe with respect to each other: they must not share state without
+ * synchronization, and must not rely on the order in which they run.
+ * </p>
+ */
 public class CompositeReconcilerStrategy
 		implements IReconcilingStrategy, IReconcilingStrategyExtension, ITextViewerLifecycle {
+
+	/**
+	 * The time in seconds after which idle threads of the pool terminate.
+	 */
+	private static final int KEEP_ALIVE = 30;
+
+	/**
+	 * Whether strategies reconcile concurrently unless specified otherwise.
+	 */
+	private static final boolean CONCURRENT_RECONCILING = Boolean
+			.getBoolean("org.eclipse.ui.genericeditor.concurrentReconciling"); //$NON-NLS-1$
+
+	private static ExecutorService fgPool;
+
+	/**
+	 * The latency of a reconciling strategy, that is the time it takes to
+	 * reconcile.
+	 */
+	public static final class Latency {
+		private long count;
+		private long totalNanos;
+		private long maxNanos;
+		private long lastNanos;
+
+		synchronized void record(long nanos) {
+			count++;
+			totalNanos += nanos;
+			maxNanos = Math.max(maxNanos, nanos);
+			lastNanos = nanos;
+		}
+
+		/**
+		 * @return the number of times the strategy reconciled
+		 */
+		public synchronized long getCount() {
+			return count;
+		}
+
+		/**
+		 * @return the average time in nanoseconds the strategy took to reconcile
+		 */
+		public synchronized long getAverageNanos() {
+			return count == 0 ? 0 : totalNanos / count;
+		}
+
+		/**
+		 * @return the longest time in nanoseconds the strategy took to reconcile
+		 */
+		public synchronized long getMaxNanos() {
+			return maxNanos;
+		}
+
+		/**
+		 * @return the time in nanoseconds the strategy took the last time it
+		 *         reconciled
+		 */
+		public synchronized long getLastNanos() {
+			return lastNanos;
+		}
+	}
+
 	private List<IReconcilingStrategy> fReconcilingStrategies;
+	private final boolean fConcurrent;
+	private final Map<IReconcilingStrategy, Latency> fLatencies = new ConcurrentHashMap<>();
 
 	public CompositeReconcilerStrategy(List<IReconcilingStrategy> strategies) {
+		this(strategies, CONCURRENT_RECONCILING);
+	}
+
+	/**
+	 * @param strategies the strategies to reconcile with
+	 * @param concurrent whether the strategies reconcile concurrently, see the
+	 *                   class comment for the requirements
+	 */
+	public CompositeReconcilerStrategy(List<IReconcilingStrategy> strategies, boolean concurrent) {
 		this.fReconcilingStrategies = strategies;
+		this.fConcurrent = concurrent;
 	}
 
 	@Override
@@ -43,11 +142,11 @@ public class CompositeReconcilerStrategy
 
 	@Override
 	public void initialReconcile() {
-		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
+		reconcileAll(strategy -> {
 			if (strategy instanceof IReconcilingStrategyExtension) {
 				((IReconcilingStrategyExtension) strategy).initialReconcile();
 			}
-		}
+		});
 	}
 
 	@Override
@@ -59,16 +158,99 @@ public class CompositeReconcilerStrategy
 
 	@Override
 	public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
-		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
-			strategy.reconcile(dirtyRegion, subRegion);
-		}
+		reconcileAll(strategy -> strategy.reconcile(dirtyRegion, subRegion));
 	}
 
 	@Override
 	public void reconcile(IRegion partition) {
-		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
-			strategy.reconcile(partition);
+		reconcileAll(strategy -> strategy.reconcile(partition));
+	}
+
+	/**
+	 * Returns the latencies of the strategies which have reconciled so far.
+	 *
+	 * @return the latency of each strategy
+	 */
+	public Map<IReconcilingStrategy, Latency> getLatencies() {
+		return Collections.unmodifiableMap(fLatencies);
+	}
+
+	private void reconcileAll(Consumer<IReconcilingStrategy> action) {
+		if (fConcurrent && fReconcilingStrategies.size() > 1) {
+			reconcileConcurrently(action);
+		} else {
+			for (IReconcilingStrategy strategy : fReconcilingStrategies) {
+				timedReconcile(strategy, action);
+			}
+		}
+	}
+
+	private void reconcileConcurrently(Consumer<IReconcilingStrategy> action) {
+		int size = fReconcilingStrategies.size();
+		ExecutorService pool = getPool();
+		List<Future<?>> futures = new ArrayList<>(size - 1);
+		for (int i = 1; i < size; i++) {
+			IReconcilingStrategy strategy = fReconcilingStrategies.get(i);
+			futures.add(pool.submit(() -> timedReconcile(strategy, action)));
+		}
+
+		RuntimeException failure = null;
+		try {
+			timedReconcile(fReconcilingStrategies.get(0), action);
+		} catch (RuntimeException e) {
+			failure = e;
 		}
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				futures.get(i).get();
+			} catch (InterruptedException e) {
+				// the reconciler is stopping, abandon the other strategies
+				for (int j = i; j < futures.size(); j++) {
+					futures.get(j).cancel(true);
+				}
+				Thread.currentThread().interrupt();
+				break;
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e.getCause() instanceof RuntimeException runtimeException ? runtimeException
+							: new IllegalStateException(e.getCause());
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private void timedReconcile(IReconcilingStrategy strategy, Consumer<IReconcilingStrategy> action) {
+		long start = System.nanoTime();
+		try {
+			action.accept(strategy);
+		} finally {
+			fLatencies.computeIfAbsent(strategy, s -> new Latency()).record(System.nanoTime() - start);
+		}
+	}
+
+	private static synchronized ExecutorService getPool() {
+		if (fgPool == null) {
+			fgPool = createPool();
+		}
+		return fgPool;
+	}
+
+	private static ExecutorService createPool() {
+		int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+		AtomicInteger count = new AtomicInteger();
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable,
+							CompositeReconcilerStrategy.class.getSimpleName() + ' ' + count.incrementAndGet());
+					thread.setPriority(Thread.MIN_PRIORITY);
+					thread.setDaemon(true);
+					return thread;
+				});
+		pool.allowCoreThreadTimeOut(true);
+		return pool;
 	}
 
 	@Override
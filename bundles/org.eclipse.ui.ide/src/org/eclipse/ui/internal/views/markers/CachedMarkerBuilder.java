@@ -130,7 +130,7 @@ public class CachedMarkerBuilder {
 
 		if (isIncremental()) {
 			if (incrementJob != null) {
-				incrementJob.clearEntries();
+				incrementJob.clearUpdates();
 			}
 		}
 	}
@@ -435,11 +435,12 @@ public class CachedMarkerBuilder {
 				// ensure cancellation before calling the method
 				// updateJob.cancel();
 			} else {
-				/*
-				 * updateJob = isIncremental() ? new IncrementUpdateJob(this):
-				 * new MarkerUpdateJob(this);
-				 */
-				updateJob = new MarkerUpdateJob(this);
+				if (isIncremental()) {
+					incrementJob = new IncrementUpdateJob(this);
+					updateJob = incrementJob;
+				} else {
+					updateJob = new MarkerUpdateJob(this);
+				}
 				updateJob.setPriority(Job.LONG);
 				updateJob.setSystem(true);
 			}
@@ -580,20 +581,24 @@ public class CachedMarkerBuilder {
 	}
 
 ///////	<Incremental update code>///////
-		private IncrementUpdateJob incrementJob;
+	/*
+	 * Incremental updating can be disabled with system property
+	 * org.eclipse.ui.CachedMarkerBuilder.incremental=false
+	 */
+	private static final boolean INCREMENTAL = Boolean
+			.parseBoolean(System.getProperty("org.eclipse.ui.CachedMarkerBuilder.incremental", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private IncrementUpdateJob incrementJob;
+
 	/**
-	 * Checks whether the builder should perform incrementally Note : Incremental
-	 * updating method is NOT used and tested yet but left out for further
-	 * investigation(*).
+	 * Checks whether the builder should perform incrementally. The markers are
+	 * collected once and then kept up to date with the marker deltas, see
+	 * {@link IncrementUpdateJob}.
 	 *
 	 * @return Returns true if we should collect markers incrementally.
 	 */
 	boolean isIncremental() {
-		/*
-		 * We do not update incrementally. We have
-		 * code for further investigation(*) for this anyway.
-		 */
-		return false;
+		return INCREMENTAL;
 	}
 
 	/**
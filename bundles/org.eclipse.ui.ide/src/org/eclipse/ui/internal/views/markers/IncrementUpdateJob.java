@@ -14,10 +14,11 @@
 
 package org.eclipse.ui.internal.views.markers;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -25,61 +26,43 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.views.markers.internal.MarkerMessages;
 
 /**
- * The job that performs incremental update. Once the processing is complete it
- * schedules an UI update. If it'll be possible and beneficial switch to
- * incremental updatation, this has been left out for further investigation(*).
- * only, and not used currently.
+ * The job that performs incremental update. The markers are collected once,
+ * after that the queued marker deltas are applied to the sorted and grouped
+ * {@link Markers} by marker id, see
+ * {@link Markers#applyUpdate(Collection, Collection, IProgressMonitor)}. Once
+ * the processing is complete it schedules an UI update.
+ *
+ * Marker operations cannot be locked between gathering the markers and
+ * receiving their deltas. The queue is cleared before gathering, so a delta
+ * may be applied to markers that already reflect it; since entries are
+ * replaced and removed by marker id this leaves the same result.
  *
  * @since 3.6
  */
 class IncrementUpdateJob extends MarkerUpdateJob {
 
-	private LinkedList<MarkerEntry> incrementEntryList;
 	private LinkedList<MarkerUpdate> updateQueue;
 
 	public IncrementUpdateJob(CachedMarkerBuilder builder) {
 		super(builder);
-		incrementEntryList = new LinkedList<>();
 	}
 
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
 		monitor.beginTask(MarkerMessages.MarkerView_processUpdates, IProgressMonitor.UNKNOWN);
-		boolean clean= isClean();
-		if (clean) {
-			clearEntries();
-		}
-		Collection<MarkerEntry> markerEntries = incrementalEntries();
-		if (clean) {
-			/*
-			 * Unfortunately we cannot lock marker operations between gathering
-			 * and updation. We have this code in place only for further
-			 * investigation
-			 */
-			clean = !clean(markerEntries, monitor);
-			LinkedList<MarkerUpdate> queue = getUpdatesQueue();
-			synchronized (queue) {
-				queue.clear();
-			}
-		}
-		if (monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
-		}
-		if (!clean) {
+		if (!isClean()) {
 			builder.registerTypesToListener();
 			if (!processUpdates(monitor)) {
-				return Status.CANCEL_STATUS;
+				// the updates could not be applied, collect again
+				setClean();
 			}
 		}
-		if (!processMarkerEntries(markerEntries, monitor)) {
+		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
-		if (monitor.isCanceled()) {
+		if (isClean() && !collectMarkers(monitor)) {
 			return Status.CANCEL_STATUS;
 		}
-		// update with sorted entries
-		updateIncrementalList(markerEntries);
-
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
@@ -93,151 +76,92 @@ class IncrementUpdateJob extends MarkerUpdateJob {
 	}
 
 	/**
-	 * Update the list
+	 * Collect, sort and group all the markers again.
 	 */
-	private boolean updateIncrementalList(Collection<MarkerEntry> markerEntries) {
-		markerEntries.clear();
-		Markers clone = builder.getMarkers();
-		synchronized (clone) {
-			clone = clone.getClone();
+	private boolean collectMarkers(IProgressMonitor monitor) {
+		resetClean();
+		// the changes queued so far are part of what we collect, the ones
+		// queued meanwhile are applied by the next run
+		clearUpdates();
+		Collection<MarkerEntry> markerEntries = new LinkedList<>();
+		if (!clean(markerEntries, monitor) || monitor.isCanceled()
+				|| !processMarkerEntries(markerEntries, monitor)) {
+			setClean();
+			return false;
 		}
-		markerEntries.addAll(Arrays.asList(clone.getMarkerEntryArray()));
 		return true;
 	}
 
 	/**
 	 * Process the incremental updates
+	 *
+	 * @return <code>false</code> if the updates could not be applied
 	 */
 	private boolean processUpdates(IProgressMonitor monitor) {
-		Collection<MarkerEntry> markerEntries = incrementalEntries();
-		int addCount = 0, removedCount = 0, changedCount = 0, size = 0, newSize = 0;
+		List<MarkerUpdate> updates;
 		LinkedList<MarkerUpdate> queue = getUpdatesQueue();
-		MarkerUpdate next = null;
-		do {
-			synchronized (queue) {
-				if (!queue.isEmpty()) {
-					next = queue.removeFirst();
-				} else {
-					next = null;
-				}
-			}
-			if (monitor.isCanceled() || next == null) {
-				break;
-			}
-			/**
-			 * The following performs incremental updation of the markers that
-			 * were gathered intially, and keeps them synched at any point with
-			 * the markers of interest in Workspace
-			 */
-			// unfortunately marker operations cannot be locked
-			// so locking between gathering of markers and
-			// marker deltas is not possible
-			size = markerEntries.size();
-			handleRemovedEntries(markerEntries, next.removed);
-			newSize = markerEntries.size();
-			removedCount += size - newSize;
-
-			handleChangedEntries(markerEntries, next.changed);
-			changedCount += next.changed.size();
-
-			size = newSize;
-			handleAddedEntries(markerEntries, next.added);
-			newSize = markerEntries.size();
-			removedCount += newSize - size;
-		} while (next != null);
-		boolean[] changeFlags = new boolean[] { addCount > 0, removedCount > 0,
-				changedCount > 0 };
-		for (boolean changeFlag : changeFlags) {
-			if (changeFlag) {
-				builder.updateChangeFlags(changeFlags);
+		synchronized (queue) {
+			if (queue.isEmpty()) {
 				return true;
 			}
+			updates = new ArrayList<>(queue);
+			queue.clear();
 		}
-		return false;
-	}
-
-	private void handleAddedEntries(Collection<MarkerEntry> markerEntries, Collection<MarkerEntry> added) {
+		/*
+		 * Fold the updates into the entries to add and the markers to remove,
+		 * a later update of a marker overrides the earlier ones.
+		 */
 		MarkerContentGenerator generator = builder.getGenerator();
-		Iterator<MarkerEntry> iterator = added.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			if (generator.select(entry)) {
-				markerEntries.add(entry);
+		MarkerIdMap addedById = new MarkerIdMap(0);
+		Collection<MarkerEntry> removed = new ArrayList<>();
+		int addCount = 0, removedCount = 0, changedCount = 0;
+		for (MarkerUpdate update : updates) {
+			for (MarkerEntry entry : update.removed) {
+				addedById.remove(entry.getID());
+				removed.add(entry);
+				removedCount++;
 			}
-		}
-	}
-
-	private void handleChangedEntries(Collection<MarkerEntry> markerEntries,
-			Collection<MarkerEntry> changed) {
-		MarkerContentGenerator generator = builder.getGenerator();
-		Iterator<MarkerEntry> iterator = changed.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			Iterator<MarkerEntry> iterator2 = markerEntries.iterator();
-			while (iterator2.hasNext()) {
-				MarkerEntry oldEntry = iterator2.next();
-				if (oldEntry.getMarker().equals(entry.getMarker())) {
-					iterator2.remove();
+			for (MarkerEntry entry : update.changed) {
+				addedById.remove(entry.getID());
+				if (generator.select(entry)) {
+					addedById.put(entry.getID(), entry, 0);
+				} else {
+					removed.add(entry);
 				}
+				changedCount++;
 			}
-			if (!generator.select(entry)) {
-				iterator.remove();
-			}
-		}
-		markerEntries.addAll(changed);
-	}
-
-	private void handleRemovedEntries(Collection<MarkerEntry> markerEntries,
-			Collection<MarkerEntry> removed) {
-		boolean found = false;
-		Iterator<MarkerEntry> iterator = markerEntries.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			found = entry.getStaleState();
-			if (found) {
-				iterator.remove();
-			}
-			if (removed.isEmpty()) {
-				continue;
-			}
-			Iterator<MarkerEntry> iterator2 = removed.iterator();
-			while (iterator2.hasNext()) {
-				MarkerEntry stale = iterator2.next();
-				if (stale.getMarker().equals(entry.getMarker())) {
-					iterator2.remove();
-					if (!found) {
-						iterator.remove();
-					}
-					break;
+			for (MarkerEntry entry : update.added) {
+				if (generator.select(entry)) {
+					addedById.put(entry.getID(), entry, 0);
+					addCount++;
 				}
 			}
 		}
-		if (removed.isEmpty()) {
-			// TODO: do we check for residuals?
-			return;
-		}
-		// TODO: do we check for residuals?
-		iterator = markerEntries.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			if (entry.getMarker() != null && !entry.getMarker().exists()) {
-				iterator.remove();
+		Collection<MarkerEntry> added = addedById.entries();
+		if (!builder.getMarkers().applyUpdate(added, removed, monitor)) {
+			if (!monitor.isCanceled()) {
+				return false;
 			}
+			// keep the updates for the next run
+			synchronized (queue) {
+				queue.addFirst(new MarkerUpdate(added, removed, Collections.emptyList()));
+			}
+			return true;
 		}
+		boolean[] changeFlags = new boolean[] { addCount > 0, removedCount > 0,
+				changedCount > 0 };
+		builder.updateChangeFlags(changeFlags);
+		return true;
 	}
 
 	/**
-	 * Clean
-	 */
-	void clearEntries() {
-		incrementEntryList = new LinkedList<>();
-	}
-
-	/**
-	 * @return Returns the incrementEntryies.
+	 * Discard the queued updates
 	 */
-	Collection<MarkerEntry> incrementalEntries() {
-		return incrementEntryList;
+	void clearUpdates() {
+		LinkedList<MarkerUpdate> queue = getUpdatesQueue();
+		synchronized (queue) {
+			queue.clear();
+		}
 	}
 
 	/**
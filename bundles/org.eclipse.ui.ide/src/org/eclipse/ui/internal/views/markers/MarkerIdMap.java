@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.internal.views.markers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The MarkerIdMap maps marker ids to their {@link MarkerEntry} with open
+ * addressing on primitive keys, so that looking up the entries of a marker
+ * delta neither boxes the ids nor allocates a node per entry. Along with the
+ * entry it keeps a small int value, used by {@link Markers} for the severity
+ * bucket the entry was counted in.
+ *
+ * Note: this class is not thread safe.
+ *
+ * @since 3.22
+ */
+class MarkerIdMap {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+	private MarkerEntry[] entries;
+	private int[] values;
+	private int size;
+
+	MarkerIdMap(int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		// keep the load below 1/2
+		while (capacity < expectedSize * 2) {
+			capacity <<= 1;
+		}
+		keys = new long[capacity];
+		entries = new MarkerEntry[capacity];
+		values = new int[capacity];
+	}
+
+	/**
+	 * @return the entry of the marker with the given id or <code>null</code>
+	 */
+	MarkerEntry get(long id) {
+		int slot = find(id);
+		return slot < 0 ? null : entries[slot];
+	}
+
+	/**
+	 * @return the value stored with the entry of the marker with the given id
+	 *         or -1
+	 */
+	int getValue(long id) {
+		int slot = find(id);
+		return slot < 0 ? -1 : values[slot];
+	}
+
+	/**
+	 * Map the id to the entry, replacing any previous entry of that id.
+	 */
+	void put(long id, MarkerEntry entry, int value) {
+		int mask = keys.length - 1;
+		int slot = hash(id) & mask;
+		while (entries[slot] != null) {
+			if (keys[slot] == id) {
+				entries[slot] = entry;
+				values[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = id;
+		entries[slot] = entry;
+		values[slot] = value;
+		if (++size * 2 > keys.length) {
+			rehash(keys.length << 1);
+		}
+	}
+
+	/**
+	 * Remove the entry of the marker with the given id.
+	 *
+	 * @return the removed entry or <code>null</code>
+	 */
+	MarkerEntry remove(long id) {
+		int slot = find(id);
+		if (slot < 0) {
+			return null;
+		}
+		MarkerEntry removed = entries[slot];
+		size--;
+		// shift back the following entries of the cluster so that lookups
+		// never stop early at the freed slot
+		int mask = keys.length - 1;
+		int free = slot;
+		int next = (slot + 1) & mask;
+		while (entries[next] != null) {
+			int home = hash(keys[next]) & mask;
+			if (((next - home) & mask) >= ((next - free) & mask)) {
+				keys[free] = keys[next];
+				entries[free] = entries[next];
+				values[free] = values[next];
+				free = next;
+			}
+			next = (next + 1) & mask;
+		}
+		entries[free] = null;
+		return removed;
+	}
+
+	/**
+	 * @return the mapped entries
+	 */
+	List<MarkerEntry> entries() {
+		List<MarkerEntry> result = new ArrayList<>(size);
+		for (MarkerEntry entry : entries) {
+			if (entry != null) {
+				result.add(entry);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the number of mapped ids
+	 */
+	int size() {
+		return size;
+	}
+
+	private int find(long id) {
+		int mask = keys.length - 1;
+		int slot = hash(id) & mask;
+		while (entries[slot] != null) {
+			if (keys[slot] == id) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		MarkerEntry[] oldEntries = entries;
+		int[] oldValues = values;
+		keys = new long[capacity];
+		entries = new MarkerEntry[capacity];
+		values = new int[capacity];
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldEntries[i] == null) {
+				continue;
+			}
+			int slot = hash(oldKeys[i]) & mask;
+			while (entries[slot] != null) {
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = oldKeys[i];
+			entries[slot] = oldEntries[i];
+			values[slot] = oldValues[i];
+		}
+	}
+
+	/**
+	 * Marker ids are sequential, spread them over the table.
+	 */
+	private static int hash(long id) {
+		long h = id * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
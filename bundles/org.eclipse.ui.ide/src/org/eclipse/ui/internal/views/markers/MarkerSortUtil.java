@@ -322,6 +322,22 @@ public class MarkerSortUtil {
 		}
 	}
 
+	/**
+	 * Returns whether {@link #sortStartingKElement(MarkerEntry[], Comparator, int, int, int, IProgressMonitor)}
+	 * sorts the whole range <code>[from,to]</code> rather than only its first
+	 * k elements, so that elements can be inserted in it with a binary search.
+	 */
+	static boolean sortsWholeRange(int from, int to, int k) {
+		int n = to - from + 1;
+		if (n <= 1) {
+			return true;
+		}
+		if (k < 1 || k > n) {
+			return false;
+		}
+		return BATCH_SIZE == Integer.MAX_VALUE || (n <= BATCH_SIZE && (((float) n / k) <= MERGE_OR_HEAP_SWITCH));
+	}
+
 	public static void sortStartingKElement(MockMarkerEntry[] fArray1,
  Comparator<MarkerItem> comparator, int from,
 			int k, int limit) {
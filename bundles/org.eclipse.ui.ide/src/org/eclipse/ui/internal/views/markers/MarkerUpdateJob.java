@@ -155,6 +155,13 @@ class MarkerUpdateJob extends Job {
 		this.clean = true;
 	}
 
+	/**
+	 * Indicate the requested clean is being done
+	 */
+	void resetClean() {
+		this.clean = false;
+	}
+
 	/**
 	 * @return last update time
 	 */
@@ -20,7 +20,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -56,11 +55,20 @@ class Markers {
 
 	private volatile boolean inChange;
 
-	// markerToEntryMap is a lazily created map from the markers to thier
-	// corresponding entry
-	private Map<IMarker, MarkerEntry> markerToEntryMap;
+	// the grouping entries of the categories, null if not grouped
+	private MarkerGroupingEntry[] categoryGroups;
+
+	// entriesById is a lazily created map from the marker ids to their
+	// corresponding entry, along with the index of their severity in
+	// severityCounts
+	private MarkerIdMap entriesById;
+	private int[] severityCounts;
 	private Integer[] markerCounts;
 
+	// whether the ranges of the categories, or the whole array, are sorted
+	// completely so that entries can be inserted with a binary search
+	private boolean sorted;
+
 	Markers(CachedMarkerBuilder builder) {
 		this.builder = builder;
 	}
@@ -78,14 +86,15 @@ class Markers {
 		boolean initialVal = inChange;
 		try {
 			inChange = true;
-			if (markerToEntryMap != null) {
-				markerToEntryMap.clear();
-				markerToEntryMap = null;
-			}
+			entriesById = null;
+			severityCounts = null;
 			markerCounts = null;
+			sorted = false;
 			if (markerEntries.isEmpty()) {
 				categories = EMPTY_CATEGORY_ARRAY;
+				categoryGroups = sortAndGroup && builder.isShowingHierarchy() ? new MarkerGroupingEntry[0] : null;
 				markerEntryArray = EMPTY_ENTRY_ARRAY;
+				sorted = sortAndGroup;
 				return true;
 			}
 			if (monitor.isCanceled()) {
@@ -105,6 +114,7 @@ class Markers {
 				}
 			} else {
 				categories = EMPTY_CATEGORY_ARRAY;
+				categoryGroups = null;
 			}
 			return true;
 		} finally {
@@ -125,6 +135,7 @@ class Markers {
 				categories = markerCategories;
 			} else {
 				categories = EMPTY_CATEGORY_ARRAY;
+				categoryGroups = null;
 			}
 
 			if (monitor.isCanceled()) {
@@ -147,6 +158,8 @@ class Markers {
 		MarkerCategory lastCategory = null;
 		try {
 			inChange = true;
+			sorted = false;
+			boolean wholeRanges = true;
 			if (builder.isShowingHierarchy()) {
 				Comparator<MarkerItem> comparator = markerComparator.getFieldsComparator();
 				for (MarkerCategory category : categories) {
@@ -161,6 +174,7 @@ class Markers {
 					MarkerSortUtil.sortStartingKElement(markerEntryArray,
 							comparator, category.start, category.end, effLimit,
 							monitor);
+					wholeRanges &= MarkerSortUtil.sortsWholeRange(category.start, category.end, effLimit);
 				}
 			} else {
 				if (monitor.isCanceled()) {
@@ -170,10 +184,12 @@ class Markers {
 				int effLimit = getShowingLimit(avaialble);
 				MarkerSortUtil.sortStartingKElement(markerEntryArray,
 						markerComparator, effLimit, monitor);
+				wholeRanges = MarkerSortUtil.sortsWholeRange(0, avaialble, effLimit);
 			}
 			if (monitor.isCanceled()) {
 				return false;
 			}
+			sorted = wholeRanges;
 			monitor.worked(50);
 			return true;
 		} catch (IllegalArgumentException e) {
@@ -219,15 +235,18 @@ class Markers {
 				builder.getCategoryGroup(), newMarkers.length - 1, monitor);
 		int start = 0;
 		MarkerCategory[] markerCategories = new MarkerCategory[boundaryInfoMap.size()];
+		MarkerGroupingEntry[] groups = new MarkerGroupingEntry[boundaryInfoMap.size()];
 		int i = 0;
 		int end = 0;
 		for (Entry<MarkerGroupingEntry, Integer> entry : boundaryInfoMap.entrySet()) {
 			end = entry.getValue();
+			groups[i] = entry.getKey();
 			markerCategories[i++] = new MarkerCategory(this, start, end,
 					builder.getCategoryGroup().getMarkerField()
 							.getValue(newMarkers[start]));
 			start = end + 1;
 		}
+		categoryGroups = groups;
 		return markerCategories;
 	}
 
@@ -288,7 +307,8 @@ class Markers {
 	 */
 	Integer[] getMarkerCounts() {
 		if (markerCounts == null) {
-			markerCounts = getMarkerCounts(markerEntryArray);
+			int[] counts = severityCounts;
+			markerCounts = counts == null ? getMarkerCounts(markerEntryArray) : toMarkerCounts(counts);
 		}
 		return markerCounts;
 	}
@@ -304,24 +324,35 @@ class Markers {
 	static Integer[] getMarkerCounts(MarkerEntry[] entries) {
 		int[] ints = new int[] { 0, 0, 0, 0 };
 		for (MarkerEntry entry : entries) {
-			IMarker marker = entry.getMarker();
-			int severity = -1;
-			Object value = null;
-			try {
-				value = marker.getAttribute(IMarker.SEVERITY);
-			} catch (CoreException e) {
-				entry.checkIfMarkerStale();
-			}
-			if (value instanceof Integer) {
-				severity = ((Integer) value).intValue();
-			}
-			if (severity >= IMarker.SEVERITY_INFO) {
-				ints[severity]++;
-			} else {
-				ints[3]++;
-			}
+			ints[getSeverityIndex(entry)]++;
+		}
+		return toMarkerCounts(ints);
+	}
+
+	/**
+	 * @return the index of the severity of the entry in the
+	 *         [errors,warnings,infos,others] counts
+	 */
+	private static int getSeverityIndex(MarkerEntry entry) {
+		IMarker marker = entry.getMarker();
+		int severity = -1;
+		Object value = null;
+		try {
+			value = marker.getAttribute(IMarker.SEVERITY);
+		} catch (CoreException e) {
+			entry.checkIfMarkerStale();
+		}
+		if (value instanceof Integer) {
+			severity = ((Integer) value).intValue();
+		}
+		if (severity >= IMarker.SEVERITY_INFO && severity <= IMarker.SEVERITY_ERROR) {
+			return IMarker.SEVERITY_ERROR - severity;
 		}
-		return new Integer[] { ints[2], ints[1], ints[0], ints[3] };
+		return 3;
+	}
+
+	private static Integer[] toMarkerCounts(int[] counts) {
+		return new Integer[] { counts[0], counts[1], counts[2], counts[3] };
 	}
 
 	/**
@@ -330,16 +361,264 @@ class Markers {
 	 * @return {@link MarkerItem}
 	 */
 	public synchronized MarkerItem getMarkerItem(IMarker marker) {
-		if (markerToEntryMap == null) {
-			markerToEntryMap = new HashMap<>();
-			for (MarkerEntry markerEntry : markerEntryArray) {
-				IMarker nextMarker = markerEntry.getMarker();
-				if (nextMarker != null) {
-					markerToEntryMap.put(nextMarker, markerEntry);
+		MarkerEntry entry = getEntriesById().get(marker.getId());
+		if (entry != null && marker.equals(entry.getMarker())) {
+			return entry;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the map from marker ids to entries, creating it and the counts of
+	 * severities on first use.
+	 */
+	private MarkerIdMap getEntriesById() {
+		if (entriesById == null) {
+			MarkerEntry[] entries = markerEntryArray;
+			MarkerIdMap map = new MarkerIdMap(entries.length);
+			int[] counts = new int[] { 0, 0, 0, 0 };
+			for (MarkerEntry entry : entries) {
+				IMarker marker = entry.getMarker();
+				if (marker != null) {
+					int severityIndex = getSeverityIndex(entry);
+					map.put(marker.getId(), entry, severityIndex);
+					counts[severityIndex]++;
 				}
 			}
+			entriesById = map;
+			severityCounts = counts;
+			markerCounts = null;
 		}
-		return markerToEntryMap.get(marker);
+		return entriesById;
+	}
+
+	/**
+	 * Apply the changes of marker deltas to the sorted and grouped entries
+	 * without collecting, sorting and grouping all of them again. The entries
+	 * of removed markers are taken out, the added entries are inserted into
+	 * the range of their category with a binary search and the counts are
+	 * updated as we go, so that the comparisons cost O(changes × log n).
+	 *
+	 * @param added
+	 *            the entries to add, an existing entry of the same marker is
+	 *            replaced. There must be at most one entry per marker.
+	 * @param removed
+	 *            the entries of the markers to remove
+	 * @return <code>false</code> if the update could not be applied and the
+	 *         markers need to be collected again
+	 */
+	synchronized boolean applyUpdate(Collection<MarkerEntry> added, Collection<MarkerEntry> removed,
+			IProgressMonitor monitor) {
+		if (!sorted || monitor.isCanceled()) {
+			return false;
+		}
+		boolean initialVal = inChange;
+		try {
+			inChange = true;
+			boolean hierarchy = builder.isShowingHierarchy();
+			if (hierarchy != (categoryGroups != null)) {
+				// grouping has been switched since the last collection
+				return false;
+			}
+			MarkerGroup group = builder.getCategoryGroup();
+			if (hierarchy && group == null) {
+				return false;
+			}
+			MarkerComparator markerComparator = builder.getComparator();
+			Comparator<MarkerItem> comparator = hierarchy ? markerComparator.getFieldsComparator() : markerComparator;
+
+			// group and sort the additions first, this is the only part that
+			// can be cancelled
+			TreeMap<MarkerGroupingEntry, List<MarkerEntry>> additions = new TreeMap<>(
+					hierarchy ? group.getEntriesComparator() : (g1, g2) -> 0);
+			for (MarkerEntry entry : added) {
+				if (monitor.isCanceled()) {
+					return false;
+				}
+				IMarker marker = entry.getMarker();
+				MarkerGroupingEntry groupingEntry = null;
+				if (hierarchy) {
+					try {
+						groupingEntry = group.findGroupValue(marker.getType(), marker);
+					} catch (CoreException e) {
+						entry.checkIfMarkerStale();
+						continue;
+					}
+				}
+				additions.computeIfAbsent(groupingEntry, g -> new ArrayList<>()).add(entry);
+			}
+			for (List<MarkerEntry> entries : additions.values()) {
+				if (monitor.isCanceled()) {
+					return false;
+				}
+				entries.sort(comparator);
+			}
+
+			// take the replaced and removed entries out of the index
+			MarkerIdMap index = getEntriesById();
+			int[] counts = severityCounts;
+			MarkerIdMap dropped = new MarkerIdMap(added.size() + removed.size());
+			for (MarkerEntry entry : removed) {
+				dropEntry(index, counts, dropped, entry.getMarker());
+			}
+			for (MarkerEntry entry : added) {
+				dropEntry(index, counts, dropped, entry.getMarker());
+			}
+
+			// merge the remaining entries of every category with its additions
+			MarkerEntry[] oldEntries = markerEntryArray;
+			MarkerCategory[] oldCategories = categories;
+			int maxSize = oldEntries.length;
+			for (List<MarkerEntry> entries : additions.values()) {
+				maxSize += entries.size();
+			}
+			MarkerEntry[] newEntries = new MarkerEntry[maxSize];
+			List<MarkerCategory> newCategories = new ArrayList<>();
+			List<MarkerGroupingEntry> newGroups = new ArrayList<>();
+			int size = 0;
+			if (hierarchy) {
+				MarkerGroupingEntry[] groups = categoryGroups;
+				Comparator<MarkerGroupingEntry> groupComparator = group.getEntriesComparator();
+				for (int i = 0; i < oldCategories.length; i++) {
+					additions.putIfAbsent(groups[i], new ArrayList<>());
+				}
+				// both are in the order of the groups
+				int next = 0;
+				for (Entry<MarkerGroupingEntry, List<MarkerEntry>> addition : additions.entrySet()) {
+					int start = size;
+					String name = null;
+					MarkerCategory oldCategory = null;
+					if (next < oldCategories.length && groupComparator.compare(groups[next], addition.getKey()) == 0) {
+						oldCategory = oldCategories[next++];
+					}
+					if (oldCategory != null) {
+						name = oldCategory.getName();
+						size = mergeRange(oldEntries, oldCategory.start, oldCategory.end + 1, dropped,
+								addition.getValue(), comparator, newEntries, size);
+					} else {
+						size = mergeRange(oldEntries, 0, 0, dropped, addition.getValue(), comparator,
+								newEntries, size);
+					}
+					if (size > start) {
+						if (name == null) {
+							name = group.getMarkerField().getValue(newEntries[start]);
+						}
+						newCategories.add(new MarkerCategory(this, start, size - 1, name));
+						newGroups.add(addition.getKey());
+					}
+				}
+			} else {
+				List<MarkerEntry> entries = additions.isEmpty() ? Collections.emptyList()
+						: additions.firstEntry().getValue();
+				size = mergeRange(oldEntries, 0, oldEntries.length, dropped, entries, comparator, newEntries,
+						size);
+			}
+			if (size != newEntries.length) {
+				newEntries = Arrays.copyOf(newEntries, size);
+			}
+
+			// index the additions
+			for (List<MarkerEntry> entries : additions.values()) {
+				for (MarkerEntry entry : entries) {
+					int severityIndex = getSeverityIndex(entry);
+					index.put(entry.getMarker().getId(), entry, severityIndex);
+					counts[severityIndex]++;
+					// we are done with the comparisons
+					entry.clearCache();
+				}
+			}
+			MarkerEntry.clearCollationCache();
+
+			markerEntryArray = newEntries;
+			categories = hierarchy ? newCategories.toArray(EMPTY_CATEGORY_ARRAY) : EMPTY_CATEGORY_ARRAY;
+			categoryGroups = hierarchy ? newGroups.toArray(new MarkerGroupingEntry[newGroups.size()]) : null;
+			markerCounts = null;
+			return true;
+		} finally {
+			inChange = initialVal;
+		}
+	}
+
+	/**
+	 * Remove the entry of the marker from the index and remember it in
+	 * dropped.
+	 */
+	private static void dropEntry(MarkerIdMap index, int[] counts, MarkerIdMap dropped, IMarker marker) {
+		if (marker == null) {
+			return;
+		}
+		long id = marker.getId();
+		int severityIndex = index.getValue(id);
+		MarkerEntry old = index.remove(id);
+		if (old != null) {
+			counts[severityIndex]--;
+			dropped.put(id, old, severityIndex);
+		}
+	}
+
+	/**
+	 * Copy the entries in [from,to) of oldEntries, that have not been dropped,
+	 * into newEntries merged with the sorted additions. Each entry is copied
+	 * once.
+	 *
+	 * @return the size of newEntries after the merge
+	 */
+	private static int mergeRange(MarkerEntry[] oldEntries, int from, int to, MarkerIdMap dropped,
+			List<MarkerEntry> additions, Comparator<MarkerItem> comparator, MarkerEntry[] newEntries,
+			int size) {
+		int low = from;
+		for (MarkerEntry addition : additions) {
+			int position = upperBound(oldEntries, low, to, dropped, addition, comparator);
+			size = copyRemaining(oldEntries, low, position, dropped, newEntries, size);
+			newEntries[size++] = addition;
+			low = position;
+		}
+		return copyRemaining(oldEntries, low, to, dropped, newEntries, size);
+	}
+
+	/**
+	 * Copy the entries in [from,to) of oldEntries, that have not been dropped,
+	 * into newEntries.
+	 *
+	 * @return the size of newEntries after the copy
+	 */
+	private static int copyRemaining(MarkerEntry[] oldEntries, int from, int to, MarkerIdMap dropped,
+			MarkerEntry[] newEntries, int size) {
+		for (int i = from; i < to; i++) {
+			if (!isDropped(oldEntries[i], dropped)) {
+				newEntries[size++] = oldEntries[i];
+			}
+		}
+		return size;
+	}
+
+	private static boolean isDropped(MarkerEntry entry, MarkerIdMap dropped) {
+		IMarker marker = entry.getMarker();
+		return marker != null && dropped.get(marker.getId()) == entry;
+	}
+
+	/**
+	 * Dropped entries are skipped, they may no longer be in order as their
+	 * markers have changed.
+	 *
+	 * @return the index in [low,high] behind the last entry that has not been
+	 *         dropped and is not greater than entry
+	 */
+	private static int upperBound(MarkerEntry[] entries, int low, int high, MarkerIdMap dropped,
+			MarkerEntry entry, Comparator<MarkerItem> comparator) {
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			int probe = middle;
+			while (probe < high && isDropped(entries[probe], dropped)) {
+				probe++;
+			}
+			if (probe < high && comparator.compare(entries[probe], entry) <= 0) {
+				low = probe + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
 	}
 
 	/**
@@ -381,6 +660,11 @@ class Markers {
 		if (!inChange) {
 			markers.markerEntryArray = markerEntryArray.clone();
 			markers.categories = categories.clone();
+			// share the counts kept by the index, if any
+			int[] counts = severityCounts;
+			if (counts != null) {
+				markers.markerCounts = toMarkerCounts(counts);
+			}
 		}
 		return markers;
 	}
@@ -172,10 +172,8 @@ class MarkersChangeListener implements IResourceChangeListener {
 	 * of the markers that were gathered initially, and keeps them synched at
 	 * any point with the markers of interest in Workspace. Unfortunately marker
 	 * operations cannot be locked so locking between gathering of markers and
-	 * marker deltas is not possible.
-	 *
-	 * Note : this method of updating is NOT used and tested yet and has holes
-	 * but left out SOLELY for further investigation(*).
+	 * marker deltas is not possible, see {@link IncrementUpdateJob} for how
+	 * the updates are applied.
 	 */
 	private void handleIncrementalChange(IResourceChangeEvent event) {
 		IMarkerDelta[] markerDeltas = event.findMarkerDeltas(null, true);
@@ -522,6 +520,20 @@ class MarkerUpdateScheduler {
 		// updateTimer.reset();
 	}
 
+	/**
+	 * Schedule marker update for marker changes. Unlike the other updates these
+	 * do not need to collect the markers again if the builder applies the
+	 * changes incrementally.
+	 */
+	private void scheduleChangesUpdate(long delay, boolean cancelPrevious) {
+		builder.setBuilding(true);
+		if (cancelPrevious) {
+			cancelQueuedUIUpdates();
+			cancelUpdate();
+		}
+		updateJob = builder.scheduleUpdateJob(delay, !builder.isIncremental());
+	}
+
 	/**
 	 * Schedule marker update.
 	 */
@@ -780,7 +792,7 @@ class MarkerUpdateScheduler {
 
 		private void go(long delay, boolean cancelPrevious) {
 			timeB4Update = System.currentTimeMillis() + delay;
-			scheduleUpdate(delay + AFTER_MARGIN, cancelPrevious);
+			scheduleChangesUpdate(delay + AFTER_MARGIN, cancelPrevious);
 		}
 	}
 }
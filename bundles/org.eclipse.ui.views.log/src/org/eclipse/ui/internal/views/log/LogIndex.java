@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.views.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.ui.IMemento;
+
+/**
+ * Index of the entries of a log file. A single pass over the file records the
+ * offsets, severity and session of every entry, so that filtering and
+ * limiting the entries is done on the index and only the entries that are
+ * shown are read and parsed. The index is extended with the entries appended
+ * to the file since the last pass.
+ * <p>
+ * The file is read through a {@link FileChannel} rather than mapped into
+ * memory: a mapped file can neither be deleted nor truncated on Windows until
+ * the mapping is garbage collected, which breaks deleting the log.
+ * </p>
+ */
+class LogIndex {
+	private static final int MEGABYTE = 1024 * 1024;
+	/** Entries are read up to this size, the rest of their stack is dropped */
+	private static final int MAX_ENTRY_SIZE = 16 * MEGABYTE;
+	private static final byte[] ENTRY = "!ENTRY".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+	private static final byte[] SESSION = LogSession.SESSION.getBytes(StandardCharsets.US_ASCII);
+
+	private final File file;
+
+	/** Size of the chunks the file is indexed in */
+	private final int chunkSize;
+
+	/** Offset of the first line which has not been indexed yet */
+	private long indexedLength;
+
+	/**
+	 * The key of the indexed file, if the file system has one, to detect that
+	 * the file was replaced
+	 */
+	private Object fileKey;
+
+	// the entries, ends are -1 while the entry is the last one of the file
+	private int size;
+	private long[] starts = new long[256];
+	private long[] ends = new long[256];
+	private byte[] severities = new byte[256];
+	private int[] entrySessions = new int[256];
+
+	// the sessions, ends are the end of the session header
+	private int sessionCount;
+	private long[] sessionStarts = new long[16];
+	private long[] sessionEnds = new long[16];
+
+	/** The most recent session, see LogReader#updateCurrentSession */
+	private int currentSession = -1;
+	private Date currentSessionDate;
+
+	/** Whether the last item of the file is an entry rather than a session */
+	private boolean lastIsEntry;
+
+	LogIndex(File file) {
+		this(file, MEGABYTE);
+	}
+
+	LogIndex(File file, int chunkSize) {
+		this.file = file;
+		this.chunkSize = chunkSize;
+	}
+
+	File getFile() {
+		return file;
+	}
+
+	/**
+	 * Reads the entries shown in the view, like
+	 * {@link LogReader#parseLogFile(File, long, List, IMemento)} does, from the
+	 * whole file. If the number of entries is not limited, only the entries in
+	 * the last maxLogTailSizeInMegaByte of the file are read.
+	 *
+	 * @return the most recent session
+	 */
+	synchronized LogSession read(long maxLogTailSizeInMegaByte, List<LogEntry> entries, IMemento memento) {
+		if (!file.exists())
+			return null;
+
+		boolean useLimit = memento.getString(LogView.P_USE_LIMIT).equals("true"); //$NON-NLS-1$
+		int limit = useLimit ? memento.getInteger(LogView.P_LOG_LIMIT).intValue() : Integer.MAX_VALUE;
+		if (limit == 0)
+			return null;
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			update(channel);
+
+			long from = 0;
+			if (currentSession >= 0 && !memento.getString(LogView.P_SHOW_ALL_SESSIONS).equals("true")) //$NON-NLS-1$
+				from = sessionStarts[currentSession];
+			long maxTailSizeInBytes = maxLogTailSizeInMegaByte > 0 ? maxLogTailSizeInMegaByte * MEGABYTE
+					: MEGABYTE;
+			if (!useLimit)
+				from = Math.max(from, indexedLength - maxTailSizeInBytes);
+
+			int[] selected = select(from, limit, memento);
+			Map<Integer, LogSession> sessions = new HashMap<>();
+			LogSession current = currentSession >= 0 ? getSession(channel, currentSession, sessions)
+					: size > 0 ? getSession(channel, -1, sessions) : null;
+			for (int index : selected) {
+				LogSession session = getSession(channel, entrySessions[index], sessions);
+				LogEntry entry = LogReader.parseEntry(readText(channel, starts[index], ends[index]), session);
+				if (entry != null)
+					entries.add(entry);
+			}
+			if (!useLimit && indexedLength > maxTailSizeInBytes && entries.isEmpty())
+				entries.add(LogReader.createNoEntryWarning(maxLogTailSizeInMegaByte, current));
+			return current;
+		} catch (IOException e) { // do nothing
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the indices of the last entries starting at or after from that
+	 * are not filtered, in the order of the file.
+	 */
+	private int[] select(long from, int limit, IMemento memento) {
+		boolean[] logged = new boolean[IStatus.ERROR + 1];
+		for (int severity = 0; severity < logged.length; severity++)
+			logged[severity] = LogReader.isLogged(severity, memento);
+
+		int[] selected = new int[Math.min(limit, size)];
+		int count = 0;
+		for (int i = size - 1; i >= 0 && count < selected.length && starts[i] >= from; i--) {
+			int severity = severities[i];
+			if (severity >= 0 && severity < logged.length && logged[severity])
+				selected[count++] = i;
+		}
+		int[] result = new int[count];
+		for (int i = 0; i < count; i++)
+			result[i] = selected[count - 1 - i];
+		return result;
+	}
+
+	/**
+	 * Indexes the lines added to the file since the last update, or the whole
+	 * file if it has been truncated or replaced.
+	 */
+	private void update(FileChannel channel) throws IOException {
+		long length = channel.size();
+		Object key = Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+		if (length < indexedLength || isReplaced(channel, key))
+			reset();
+		fileKey = key;
+
+		ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+		byte[] bytes = buffer.array();
+		long position = indexedLength;
+		boolean skipping = false;
+		while (position < length) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read <= 0)
+				break;
+			int lineStart = 0;
+			for (int i = 0; i < read; i++) {
+				byte b = bytes[i];
+				if (b != '\n' && b != '\r')
+					continue;
+				if (!skipping)
+					indexLine(bytes, lineStart, i, position + lineStart);
+				skipping = false;
+				lineStart = i + 1;
+			}
+			if (lineStart == 0) {
+				if (read < bytes.length)
+					break; // the last line is indexed once it is terminated
+				// a line longer than the buffer is neither an entry nor a
+				// session header
+				skipping = true;
+				lineStart = read;
+			}
+			position += lineStart;
+		}
+		indexedLength = position;
+	}
+
+	/**
+	 * Returns whether the indexed file was replaced by one which is at least
+	 * as long. Besides the file key, which not all file systems have, the last
+	 * indexed entry or session header has to be at its offset still.
+	 */
+	private boolean isReplaced(FileChannel channel, Object key) throws IOException {
+		if (indexedLength == 0)
+			return false;
+		if (!Objects.equals(fileKey, key))
+			return true;
+		long last = lastIsEntry ? starts[size - 1] : sessionCount > 0 ? sessionStarts[sessionCount - 1] : -1;
+		if (last < 0)
+			return false;
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, last + buffer.position()) < 0)
+				break;
+		}
+		byte[] bytes = buffer.array();
+		int to = buffer.position();
+		int start = 0;
+		while (start < to && (bytes[start] == ' ' || bytes[start] == '\t'))
+			start++;
+		return !startsWith(bytes, start, to, lastIsEntry ? ENTRY : SESSION);
+	}
+
+	private void indexLine(byte[] bytes, int from, int to, long offset) {
+		int start = from;
+		while (start < to && (bytes[start] == ' ' || bytes[start] == '\t'))
+			start++;
+		if (startsWith(bytes, start, to, ENTRY)) {
+			String line = new String(bytes, start, to - start, StandardCharsets.UTF_8).trim();
+			LogEntry entry = new LogEntry();
+			try {
+				entry.processEntry(line);
+			} catch (IllegalArgumentException e) {
+				// tossed by LogReader as well, the line stays part of the
+				// previous entry
+				return;
+			}
+			endLast(offset);
+			addEntry(offset, entry.getSeverity());
+		} else if (startsWith(bytes, start, to, SESSION)) {
+			String line = new String(bytes, start, to - start, StandardCharsets.UTF_8).trim();
+			LogSession session = new LogSession();
+			session.processLogLine(line);
+			endLast(offset);
+			addSession(offset, session.getDate());
+		}
+	}
+
+	private void endLast(long offset) {
+		if (lastIsEntry) {
+			ends[size - 1] = offset;
+		} else if (sessionCount > 0 && sessionEnds[sessionCount - 1] < 0) {
+			sessionEnds[sessionCount - 1] = offset;
+		}
+	}
+
+	private void addEntry(long offset, int severity) {
+		if (size == starts.length) {
+			int capacity = size * 2;
+			starts = Arrays.copyOf(starts, capacity);
+			ends = Arrays.copyOf(ends, capacity);
+			severities = Arrays.copyOf(severities, capacity);
+			entrySessions = Arrays.copyOf(entrySessions, capacity);
+		}
+		starts[size] = offset;
+		ends[size] = -1;
+		severities[size] = (byte) severity;
+		entrySessions[size] = currentSession;
+		size++;
+		lastIsEntry = true;
+	}
+
+	private void addSession(long offset, Date date) {
+		if (sessionCount == sessionStarts.length) {
+			int capacity = sessionCount * 2;
+			sessionStarts = Arrays.copyOf(sessionStarts, capacity);
+			sessionEnds = Arrays.copyOf(sessionEnds, capacity);
+		}
+		sessionStarts[sessionCount] = offset;
+		sessionEnds[sessionCount] = -1;
+		// same order as LogReader#updateCurrentSession
+		if (currentSession < 0 || (currentSessionDate == null && date != null)
+				|| (currentSessionDate != null && date == null)
+				|| (currentSessionDate != null && date != null && date.after(currentSessionDate))) {
+			currentSession = sessionCount;
+			currentSessionDate = date;
+		}
+		sessionCount++;
+		lastIsEntry = false;
+	}
+
+	private void reset() {
+		indexedLength = 0;
+		size = 0;
+		sessionCount = 0;
+		currentSession = -1;
+		currentSessionDate = null;
+		lastIsEntry = false;
+	}
+
+	/**
+	 * Returns the session, parsing it on first use. Index -1 stands for the
+	 * entries before the first session.
+	 */
+	private LogSession getSession(FileChannel channel, int index, Map<Integer, LogSession> sessions)
+			throws IOException {
+		LogSession session = sessions.get(index);
+		if (session == null) {
+			session = index < 0 ? new LogSession()
+					: LogReader.parseSession(readText(channel, sessionStarts[index], sessionEnds[index]));
+			sessions.put(index, session);
+		}
+		return session;
+	}
+
+	/**
+	 * Reads the text between the offsets, up to the indexed end of the file
+	 * if end is -1.
+	 */
+	private String readText(FileChannel channel, long start, long end) throws IOException {
+		long to = end < 0 ? indexedLength : end;
+		ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(to - start, MAX_ENTRY_SIZE));
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, start + buffer.position()) < 0)
+				break;
+		}
+		return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+	}
+
+	private static boolean startsWith(byte[] bytes, int from, int to, byte[] prefix) {
+		if (to - from < prefix.length)
+			return false;
+		for (int i = 0; i < prefix.length; i++) {
+			if (bytes[from + i] != prefix[i])
+				return false;
+		}
+		return true;
+	}
+}
@@ -44,18 +44,76 @@ class LogReader {
 				&& memento.getInteger(LogView.P_LOG_LIMIT).intValue() == 0)
 			return null;
 
+		LogSession currentSession = null;
+		long maxTailSizeInBytes = maxLogTailSizeInMegaByte > 0 ? maxLogTailSizeInMegaByte * ONE_MEGA_BYTE_IN_BYTES
+				: ONE_MEGA_BYTE_IN_BYTES;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new TailInputStream(file, maxTailSizeInBytes), StandardCharsets.UTF_8))) {
+			currentSession = parse(reader, null, entries, memento);
+		} catch (IOException e) { // do nothing
+		} finally {
+			if (file.length() > maxLogTailSizeInMegaByte && entries.isEmpty()) {
+				entries.add(createNoEntryWarning(maxLogTailSizeInMegaByte, currentSession));
+			}
+		}
+
+		return currentSession;
+	}
+
+	/**
+	 * Parses a single entry, with its sub-entries, from the text of the log
+	 * between its !ENTRY line and the next entry or session.
+	 *
+	 * @param text    the text of the entry
+	 * @param session the session the entry belongs to
+	 * @return the entry or <code>null</code> if the text does not start with a
+	 *         valid entry
+	 */
+	static LogEntry parseEntry(String text, LogSession session) {
+		List<LogEntry> entries = new ArrayList<>(1);
+		parse(new BufferedReader(new StringReader(text)), session, entries, null);
+		return entries.isEmpty() ? null : entries.get(0);
+	}
+
+	/**
+	 * Parses the session from the text of the log between its !SESSION line
+	 * and the first entry or next session.
+	 *
+	 * @param text the text of the session header
+	 * @return the session
+	 */
+	static LogSession parseSession(String text) {
+		LogSession session = parse(new BufferedReader(new StringReader(text)), null, new ArrayList<>(0), null);
+		return session != null ? session : new LogSession();
+	}
+
+	static LogEntry createNoEntryWarning(long maxLogTailSizeInMegaByte, LogSession currentSession) {
+		LogEntry entry = new LogEntry(new Status(IStatus.WARNING, Activator.PLUGIN_ID, NLS.bind(
+				Messages.LogReader_warn_noEntryWithinMaxLogTailSize, Long.valueOf(maxLogTailSizeInMegaByte))));
+		entry.setSession(currentSession == null ? new LogSession() : currentSession);
+		return entry;
+	}
+
+	/**
+	 * Parses the entries read from the reader.
+	 *
+	 * @param initialSession the session of the entries before the first
+	 *                       !SESSION line, or <code>null</code> to create one
+	 * @param memento        the filters and limit of the view, or
+	 *                       <code>null</code> to keep all entries
+	 * @return the most recent session
+	 */
+	private static LogSession parse(BufferedReader reader, LogSession initialSession, List<LogEntry> entries,
+			IMemento memento) {
 		ArrayList<LogEntry> parents = new ArrayList<>();
 		LogEntry current = null;
-		LogSession session = null;
+		LogSession session = initialSession;
 		int writerState = UNKNOWN_STATE;
 		StringWriter swriter = null;
 		PrintWriter writer = null;
 		int state = UNKNOWN_STATE;
-		LogSession currentSession = null;
-		long maxTailSizeInBytes = maxLogTailSizeInMegaByte > 0 ? maxLogTailSizeInMegaByte * ONE_MEGA_BYTE_IN_BYTES
-				: ONE_MEGA_BYTE_IN_BYTES;
-		try (BufferedReader reader = new BufferedReader(
-				new InputStreamReader(new TailInputStream(file, maxTailSizeInBytes), StandardCharsets.UTF_8))) {
+		LogSession currentSession = initialSession;
+		try {
 			for (;;) {
 				String line0 = reader.readLine();
 				if (line0 == null)
@@ -106,7 +164,8 @@ class LogReader {
 					writerState = SESSION_STATE;
 					currentSession = updateCurrentSession(currentSession, session);
 					// if current session is most recent and not showing all sessions
-					if (currentSession.equals(session) && !memento.getString(LogView.P_SHOW_ALL_SESSIONS).equals("true")) //$NON-NLS-1$
+					if (memento != null && currentSession.equals(session)
+							&& !memento.getString(LogView.P_SHOW_ALL_SESSIONS).equals("true")) //$NON-NLS-1$
 						entries.clear();
 					break;
 				case ENTRY_STATE:
@@ -160,12 +219,6 @@ class LogReader {
 			}
 		} catch (IOException e) { // do nothing
 		} finally {
-			if (file.length() > maxLogTailSizeInMegaByte && entries.isEmpty()) {
-				LogEntry entry = new LogEntry(new Status(IStatus.WARNING, Activator.PLUGIN_ID, NLS.bind(
-						Messages.LogReader_warn_noEntryWithinMaxLogTailSize, Long.valueOf(maxLogTailSizeInMegaByte))));
-				entry.setSession(currentSession == null ? new LogSession() : currentSession);
-				entries.add(entry);
-			}
 			if (writer != null) {
 				setData(current, session, writerState, swriter);
 				writer.close();
@@ -220,6 +273,10 @@ class LogReader {
 	 * Adds entry to the list if it's not filtered. Removes entries exceeding the count limit.
 	 */
 	private static void addEntry(LogEntry entry, List<LogEntry> entries, IMemento memento) {
+		if (memento == null) {
+			entries.add(entry);
+			return;
+		}
 
 		if (isLogged(entry, memento)) {
 			entries.add(entry);
@@ -238,7 +295,14 @@ class LogReader {
 	 * @return is entry logged or filtered
 	 */
 	public static boolean isLogged(LogEntry entry, IMemento memento) {
-		int severity = entry.getSeverity();
+		return isLogged(entry.getSeverity(), memento);
+	}
+
+	/**
+	 * Returns whether entries of the given severity are logged (true) or filtered (false).
+	 * @return is the severity logged or filtered
+	 */
+	static boolean isLogged(int severity, IMemento memento) {
 		switch (severity) {
 			case IStatus.INFO :
 				return memento.getString(LogView.P_LOG_INFO).equals("true"); //$NON-NLS-1$
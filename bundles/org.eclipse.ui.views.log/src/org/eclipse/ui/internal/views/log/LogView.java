@@ -124,6 +124,7 @@ public class LogView extends ViewPart implements LogListener {
 
 	private IMemento fMemento;
 	private File fInputFile;
+	private LogIndex fLogIndex;
 	private String fDirectory;
 
 	private Comparator<?> fComparator;
@@ -903,7 +904,7 @@ public class LogView extends ViewPart implements LogListener {
 	private CompletableFuture<List<LogEntry>> fetchLogEntries() {
 		return CompletableFuture.supplyAsync(() -> {
 			List<LogEntry> result = new ArrayList<>();
-			LogSession lastLogSession = LogReader.parseLogFile(this.fInputFile, getLogMaxTailSize(), result,
+			LogSession lastLogSession = getLogIndex(this.fInputFile).read(getLogMaxTailSize(), result,
 					this.fMemento);
 			if (lastLogSession != null
 					&& (lastLogSession.getDate() == null || isEclipseStartTime(lastLogSession.getDate()))) {
@@ -915,6 +916,17 @@ public class LogView extends ViewPart implements LogListener {
 		});
 	}
 
+	/**
+	 * Returns the index of the given file, which is kept while the file is
+	 * shown so that reloading only indexes the entries appended since.
+	 */
+	private synchronized LogIndex getLogIndex(File file) {
+		if (fLogIndex == null || !fLogIndex.getFile().equals(file)) {
+			fLogIndex = new LogIndex(file);
+		}
+		return fLogIndex;
+	}
+
 	private void updateLogViewer(List<LogEntry> entries) {
 		OptionalInt maxSeverity = entries.stream().mapToInt(LogEntry::getSeverity).max();
 		synchronized (elements) {
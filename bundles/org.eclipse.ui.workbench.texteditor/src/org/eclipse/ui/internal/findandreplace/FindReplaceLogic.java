@@ -24,10 +24,13 @@ import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.swt.graphics.Point;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
+
 import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
 import org.eclipse.jface.text.IFindReplaceTargetExtension4;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 
@@ -346,7 +349,9 @@ public class FindReplaceLogic implements IFindReplaceLogic {
 
 	/**
 	 * Replaces all occurrences of the user's findString with the replace string.
-	 * Returns the number of replacements that occur.
+	 * Returns the number of replacements that occur. Targets supporting
+	 * {@link IFindReplaceTargetExtension5} search all occurrences in one pass and
+	 * replace them in a single edit.
 	 *
 	 * @return the number of occurrences
 	 *
@@ -356,6 +361,17 @@ public class FindReplaceLogic implements IFindReplaceLogic {
 			return 0;
 		}
 
+		if (target instanceof IFindReplaceTargetExtension5 batchTarget) {
+			int[] replacements = new int[1];
+			executeWithReplaceAllEnabled(() -> {
+				replacements[0] = batchTarget.replaceAll(findString, replaceString,
+						isAvailableAndActive(SearchOptions.CASE_SENSITIVE),
+						isAvailableAndActive(SearchOptions.WHOLE_WORD), isAvailableAndActive(SearchOptions.REGEX),
+						new NullProgressMonitor());
+			});
+			return replacements[0];
+		}
+
 		List<Point> replacements = new ArrayList<>();
 		executeInForwardMode(() -> {
 			executeWithReplaceAllEnabled(() -> {
@@ -16,10 +16,14 @@ package org.eclipse.ui.texteditor;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Point;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
 import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
 import org.eclipse.jface.text.IFindReplaceTargetExtension4;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.IRegion;
 
 
@@ -28,7 +32,7 @@ import org.eclipse.jface.text.IRegion;
  * @since 2.1
  */
 class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension2,
-		IFindReplaceTargetExtension3, IFindReplaceTargetExtension4 {
+		IFindReplaceTargetExtension3, IFindReplaceTargetExtension4, IFindReplaceTargetExtension5 {
 
 	/** The editor */
 	private AbstractTextEditor fEditor;
@@ -191,6 +195,28 @@ class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtensi
 			getExtension().setReplaceAllMode(replaceAll);
 	}
 
+	@Override
+	public int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) {
+		if (!isEditable())
+			return 0;
+
+		if (getTarget() instanceof IFindReplaceTargetExtension5)
+			return ((IFindReplaceTargetExtension5) getTarget()).replaceAll(findString, replaceString, caseSensitive, wholeWord, regExSearch, monitor);
+
+		// fallback
+		int count= 0;
+		int offset= 0;
+		while (findAndSelect(offset, findString, true, caseSensitive, wholeWord, regExSearch) != -1) {
+			if (monitor != null && monitor.isCanceled())
+				throw new OperationCanceledException();
+			replaceSelection(replaceString, regExSearch);
+			Point selection= getSelection();
+			offset= selection.x + selection.y;
+			count++;
+		}
+		return count;
+	}
+
 	@Override
 	public boolean validateTargetState() {
 		return fEditor.validateEditorInputState();
@@ -16,6 +16,7 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.decorators;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -26,6 +27,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.core.commands.internal.util.Tracing;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -44,6 +46,7 @@ import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.WorkbenchMessages;
+import org.eclipse.ui.internal.misc.Policy;
 import org.eclipse.ui.progress.UIJob;
 import org.eclipse.ui.progress.WorkbenchJob;
 
@@ -63,18 +66,19 @@ import org.eclipse.ui.progress.WorkbenchJob;
  * the <code>element</code> into <code>awaitingDecoration</code> and an
  * associated <code>DecorationReference</code> into
  * <code>awaitingDecorationValues</code> and schedules the
- * <code>decorationJob</code> to be executed asynchonously.</li>
+ * <code>decorationJobs</code> to be executed asynchonously.</li>
  *
- * <li>The <code>decorationJob</code> processes the list of elements in
- * <code>awaitingDecoration</code> one by one. For each element, it calls
+ * <li>The <code>decorationJobs</code> are a bounded pool of workers which
+ * process the list of elements in <code>awaitingDecoration</code>, each of them
+ * takes the next element until the list is empty. For each element, it calls
  * <code>ensureResultCached</code>, which in turn calls the actual lightweight
  * decorator(s) for the element and stores the decoration result in the
  * <code>resultCache</code> and adds the element to the
  * <code>pendingUpdate</code> collection to remember that it needs to be updated
  * in the UI.</li>
  *
- * <li>When the <code>decorationJob</code> has finished processing all elements
- * in <code>awaitingDecoration</code>, it finally schedules the
+ * <li>When a <code>decorationJob</code> finds no more elements in
+ * <code>awaitingDecoration</code>, it finally schedules the
  * <code>updateJob</code>.</li>
  *
  * <li>
@@ -105,17 +109,42 @@ import org.eclipse.ui.progress.WorkbenchJob;
  * </ol>
  *
  * So, in summary, a decoration is first enqueued, then calculated
- * asynchronously by the <code>decorationJob</code> and enqueued for UI-update,
- * and finally, the <code>updateJob</code> fires events which cause the viewers
- * to update the UI using the now available decoration results.
+ * asynchronously by one of the <code>decorationJobs</code> and enqueued for
+ * UI-update, and finally, the <code>updateJob</code> fires events which cause
+ * the viewers to update the UI using the now available decoration results.
+ *
+ * <p>
+ * The <code>resultCache</code> keeps the most recently used results of each
+ * context. The elements of a {@link LabelProviderChangedEvent} and the cached
+ * elements adapting to them are decorated again, their previous results are
+ * served until then. All results are cleared if the decorators change.
+ * </p>
  */
 public class DecorationScheduler {
 
 	private static final ILabelProviderListener[] EMPTY_LISTENER_LIST = new ILabelProviderListener[0];
 
+	/** The maximum number of results cached for each decoration context */
+	static final int MAX_CACHED_RESULTS = 10000;
+
+	/**
+	 * The number of jobs decorating elements in parallel. Can be set with the
+	 * system property <code>org.eclipse.ui.decorators.workers</code>. By default
+	 * all elements are decorated in one thread, as decorators may not expect to
+	 * be called concurrently.
+	 */
+	private static final int WORKERS = Math.max(1,
+			Integer.getInteger("org.eclipse.ui.decorators.workers", 1).intValue()); //$NON-NLS-1$
+
+	/**
+	 * The component name to print when displaying tracing information.
+	 */
+	private static final String TRACING_COMPONENT = "DECORATORS"; //$NON-NLS-1$
+
 	// When decorations are computed they are added to this cache via
-	// scheduleUpdateJob() method
-	private final Map<IDecorationContext, Map<Object, DecorationResult>> resultCache = new ConcurrentHashMap<>();
+	// scheduleUpdateJob() method. The maps of the contexts are synchronized
+	// LRU maps.
+	private final Map<IDecorationContext, Map<Object, CachedResult>> resultCache = new ConcurrentHashMap<>();
 
 	/**
 	 * Objects that are awaiting a label update. manually synchronized on
@@ -131,7 +160,7 @@ public class DecorationScheduler {
 
 	private final DecoratorManager decoratorManager;
 
-	private final Job decorationJob;
+	private final Job[] decorationJobs;
 
 	// Notifies about updateJob or clearJob finishing
 	private final class JobChangeListener extends JobChangeAdapter {
@@ -181,7 +210,10 @@ public class DecorationScheduler {
 	 */
 	DecorationScheduler(DecoratorManager manager) {
 		decoratorManager = manager;
-		decorationJob = createDecorationJob();
+		decorationJobs = new Job[WORKERS];
+		for (int i = 0; i < WORKERS; i++) {
+			decorationJobs[i] = createDecorationJob();
+		}
 	}
 
 	/**
@@ -243,7 +275,13 @@ public class DecorationScheduler {
 	 * incomplete constructed DecorationScheduler.this
 	 */
 	void schedule() {
-		decorationJob.schedule();
+		int workers;
+		synchronized (this) {
+			workers = Math.max(1, Math.min(decorationJobs.length, awaitingDecoration.size()));
+		}
+		for (int i = 0; i < workers; i++) {
+			decorationJobs[i].schedule();
+		}
 	}
 
 	/**
@@ -292,16 +330,46 @@ public class DecorationScheduler {
 	}
 
 	private DecorationResult internalGetResult(Object element, IDecorationContext context) {
-		Map<Object, DecorationResult> results = resultCache.get(context);
+		Map<Object, CachedResult> results = resultCache.get(context);
 		if (results != null) {
-			return results.get(element);
+			CachedResult cached = results.get(element);
+			if (cached != null) {
+				return cached.result;
+			}
 		}
 		return null;
 	}
 
-	protected void internalPutResult(Object element, IDecorationContext context, DecorationResult result) {
-		Map<Object, DecorationResult> results = resultCache.computeIfAbsent(context, ctx -> new ConcurrentHashMap<>());
-		results.put(element, result);
+	protected void internalPutResult(Object element, Object adaptedElement, IDecorationContext context,
+			DecorationResult result) {
+		Map<Object, CachedResult> results = resultCache.computeIfAbsent(context, ctx -> createResultMap());
+		results.put(element, new CachedResult(result, adaptedElement));
+	}
+
+	/**
+	 * Create a map which keeps the {@link #MAX_CACHED_RESULTS} most recently used
+	 * results.
+	 */
+	private static Map<Object, CachedResult> createResultMap() {
+		return Collections.synchronizedMap(new LinkedHashMap<Object, CachedResult>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Entry<Object, CachedResult> eldest) {
+				return size() > MAX_CACHED_RESULTS;
+			}
+		});
+	}
+
+	/**
+	 * Return the number of cached results of all contexts.
+	 */
+	int getCachedResultCount() {
+		int count = 0;
+		for (Map<Object, CachedResult> results : resultCache.values()) {
+			count += results.size();
+		}
+		return count;
 	}
 
 	/**
@@ -373,19 +441,25 @@ public class DecorationScheduler {
 
 				SubMonitor subMonitor = SubMonitor.convert(monitor,
 						WorkbenchMessages.DecorationScheduler_CalculatingTask, awaitingDecoration.size() + 1);
+				long start = Policy.DEBUG_DECORATORS ? System.currentTimeMillis() : 0;
+				int queueDepth = Policy.DEBUG_DECORATORS ? getAwaitingDecorationCount() : 0;
+				int decorated = 0;
 				// will block if there are no resources to be decorated
 				DecorationReference reference;
 
 				boolean queued = false;
-				// for each in awaitingDecorationValues, but not locking the map during the whole iteration:
+				// for each in awaitingDecorationValues, but not locking the map during the whole iteration.
+				// The other decoration jobs take elements from the same map.
 				while ((reference = removeNextReference()) != null) {
 					subMonitor.split(1);
 					queued = true;
+					decorated++;
 					Object element = reference.getElement();
+					Object adaptedElement = reference.getAdaptedElement();
 					boolean force = reference.shouldForceUpdate();
 					Collection<IDecorationContext> contexts = reference.getContexts();
 					for (IDecorationContext context : contexts) {
-						queued |= queue(element, force, context);
+						queued |= queue(element, adaptedElement, force, context);
 					}
 					subMonitor.setWorkRemaining(awaitingDecoration.size() + 1); // may grow asynchronously
 					// Only notify listeners when we have exhausted the
@@ -394,24 +468,32 @@ public class DecorationScheduler {
 				if (queued) {
 					scheduleUpdateJob();
 				}
+				if (Policy.DEBUG_DECORATORS && decorated > 0) {
+					Tracing.printTrace(TRACING_COMPONENT, getName() + ": " + decorated + " elements decorated in " //$NON-NLS-1$ //$NON-NLS-2$
+							+ (System.currentTimeMillis() - start) + "ms, queue depth " + queueDepth + " at start, " //$NON-NLS-1$ //$NON-NLS-2$
+							+ getAwaitingDecorationCount() + " now, " + getCachedResultCount() + " cached results"); //$NON-NLS-1$ //$NON-NLS-2$
+					decoratorManager.getLightweightManager().traceStatistics();
+				}
 				return Status.OK_STATUS;
 			}
 
 			/**
 			 * Ensure that a result is cached for the given element and context
 			 *
-			 * @param element the elements
-			 * @param force   whether an update should be forced
-			 * @param context the decoration context
+			 * @param element        the elements
+			 * @param adaptedElement the adapted value of element, may be null
+			 * @param force          whether an update should be forced
+			 * @param context        the decoration context
 			 */
-			private boolean queue(Object element, boolean force, IDecorationContext context) {
+			private boolean queue(Object element, Object adaptedElement, boolean force, IDecorationContext context) {
 				DecorationBuilder cacheResult = new DecorationBuilder(context);
 				// Calculate the decoration
 				decoratorManager.getLightweightManager().getDecorations(element, cacheResult);
 
 				// If we should update regardless then put a result
-				// anyways
-				if (cacheResult.hasValue() || force) {
+				// anyways. The same applies if there is a result from
+				// an earlier decoration, it is obsolete now.
+				if (cacheResult.hasValue() || force || internalGetResult(element, context) != null) {
 
 					// Synchronize on the result lock as we want to
 					// be sure that we do not try and decorate during
@@ -423,7 +505,7 @@ public class DecorationScheduler {
 					// order to indicate that the decoration is
 					// ready
 
-					internalPutResult(element, context, cacheResult.createResult());
+					internalPutResult(element, adaptedElement, context, cacheResult.createResult());
 
 					// Add an update for only the original element
 					// to
@@ -478,6 +560,41 @@ public class DecorationScheduler {
 		clearJob.schedule();
 	}
 
+	/**
+	 * The decorations of some elements have changed. Queue the cached elements
+	 * which are or adapt to one of them for decoration again. Their results are
+	 * served until they are replaced, the results of all other elements are kept.
+	 *
+	 * @param elements the elements whose decorations have changed
+	 */
+	void invalidateResults(Object[] elements) {
+		Set<Object> changed = new HashSet<>(Arrays.asList(elements));
+		for (Entry<IDecorationContext, Map<Object, CachedResult>> contextResults : resultCache.entrySet()) {
+			// the adapted values of the affected elements
+			Map<Object, Object> affected = new LinkedHashMap<>();
+			Map<Object, CachedResult> results = contextResults.getValue();
+			synchronized (results) {
+				for (Entry<Object, CachedResult> entry : results.entrySet()) {
+					Object adaptedElement = entry.getValue().adaptedElement;
+					if (changed.contains(entry.getKey())
+							|| (adaptedElement != null && changed.contains(adaptedElement))) {
+						affected.put(entry.getKey(), adaptedElement);
+					}
+				}
+			}
+			for (Entry<Object, Object> entry : affected.entrySet()) {
+				queueForDecoration(entry.getKey(), entry.getValue(), true, null, contextResults.getKey());
+			}
+		}
+	}
+
+	/**
+	 * Return the number of elements awaiting decoration.
+	 */
+	synchronized int getAwaitingDecorationCount() {
+		return awaitingDecoration.size();
+	}
+
 	private Job getClearJob() {
 		Job clear = new Job(WorkbenchMessages.DecorationScheduler_ClearResultsJob) {
 
@@ -579,17 +696,12 @@ public class DecorationScheduler {
 			}
 
 			/**
-			 * Clear any cached information.
+			 * Clear any cached information. The results are kept, they are
+			 * invalidated by element.
 			 */
 			private void resetState() {
 				currentIndex = NEEDS_INIT;// Reset
 				removedListeners.clear();
-				// Other decoration requests may have occurred due to
-				// updates or we may have timed out updating listeners.
-				// Only clear the results if there are none pending.
-				if (awaitingDecoration.isEmpty()) {
-					resultCache.clear();
-				}
 			}
 
 			private void setUpUpdates() {
@@ -717,4 +829,19 @@ public class DecorationScheduler {
 		}
 
 	}
+
+	/**
+	 * A cached decoration result and the adapted value of its element.
+	 */
+	private static final class CachedResult {
+
+		final DecorationResult result;
+
+		final Object adaptedElement;
+
+		CachedResult(DecorationResult result, Object adaptedElement) {
+			this.result = result;
+			this.adaptedElement = adaptedElement;
+		}
+	}
 }
@@ -612,7 +612,6 @@ public class DecoratorManager implements ILabelProviderListener, IDecoratorManag
 	 * occur due to changes in enablement.
 	 */
 	public void clearCaches() {
-		getLightweightManager().reset();
 		fullTextRunnable.clearReferences();
 		fullImageRunnable.clearReferences();
 	}
@@ -647,11 +646,14 @@ public class DecoratorManager implements ILabelProviderListener, IDecoratorManag
 	@Override
 	public void labelProviderChanged(LabelProviderChangedEvent event) {
 		Object[] elements = event.getElements();
-		scheduler.clearResults();
 		// If the elements are not specified send out a general update
 		if (elements == null) {
+			scheduler.clearResults();
 			fireListeners(event);
 		} else {
+			// Results are cached for the elements adapting to the changed ones
+			// too, decorate them again but keep the results of all others
+			scheduler.invalidateResults(elements);
 			// Assume that someone is going to care about the
 			// decoration result and just start it right away
 			for (Object element : elements) {
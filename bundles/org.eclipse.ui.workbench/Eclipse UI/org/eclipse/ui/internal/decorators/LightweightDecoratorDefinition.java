@@ -84,7 +84,7 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 	 * The DeclarativeDecorator is the internal decorator supplied by the decorator
 	 * definition.
 	 */
-	private ILightweightLabelDecorator decorator;
+	private volatile ILightweightLabelDecorator decorator;
 
 	private int quadrant;
 
@@ -100,10 +100,11 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 	 * Gets the decorator and creates it if it does not exist yet. Throws a
 	 * CoreException if there is a problem creating the decorator. This method
 	 * should not be called unless a check for enabled to be true is done first.
+	 * Synchronized as the decoration scheduler decorates in several threads.
 	 *
 	 * @return Returns a ILabelDecorator
 	 */
-	protected ILightweightLabelDecorator internalGetDecorator() throws CoreException {
+	protected synchronized ILightweightLabelDecorator internalGetDecorator() throws CoreException {
 		if (labelProviderCreationFailed) {
 			return null;
 		}
@@ -269,7 +270,7 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 	}
 
 	@Override
-	protected void refreshDecorator() {
+	protected synchronized void refreshDecorator() {
 		// Only do something if disabled so as to prevent
 		// gratutitous activation
 		if (!this.enabled && decorator != null) {
@@ -16,6 +16,10 @@ package org.eclipse.ui.internal.decorators;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.core.commands.internal.util.Tracing;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
@@ -25,6 +29,7 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.internal.ObjectContributorManager;
 import org.eclipse.ui.internal.WorkbenchMessages;
 import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.misc.Policy;
 import org.eclipse.ui.internal.misc.StatusUtil;
 import org.eclipse.ui.internal.util.Util;
 
@@ -117,7 +122,16 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 		}
 	}
 
-	private LightweightRunnable runnable = new LightweightRunnable();
+	/**
+	 * The component name to print when displaying tracing information.
+	 */
+	private static final String TRACING_COMPONENT = "DECORATORS"; //$NON-NLS-1$
+
+	/**
+	 * Time spent in each decorator since the statistics were last traced, only
+	 * collected if {@link Policy#DEBUG_DECORATORS} is set.
+	 */
+	private final Map<LightweightDecoratorDefinition, LongAdder[]> statistics = new ConcurrentHashMap<>();
 
 	// The lightweight definitions read from the registry
 	private LightweightDecoratorDefinition[] lightweightDefinitions;
@@ -158,7 +172,7 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	 * @return whether the definition was added
 	 * @since 3.0
 	 */
-	public boolean addDecorator(LightweightDecoratorDefinition decorator) {
+	public synchronized boolean addDecorator(LightweightDecoratorDefinition decorator) {
 		if (getLightweightDecoratorDefinition(decorator.getId()) == null) {
 			LightweightDecoratorDefinition[] oldDefs = lightweightDefinitions;
 			lightweightDefinitions = new LightweightDecoratorDefinition[lightweightDefinitions.length + 1];
@@ -190,7 +204,7 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	 * @return whether the definition was removed
 	 * @since 3.1
 	 */
-	public boolean removeDecorator(LightweightDecoratorDefinition decorator) {
+	public synchronized boolean removeDecorator(LightweightDecoratorDefinition decorator) {
 		int idx = getLightweightDecoratorDefinitionIdx(decorator.getId());
 		if (idx != -1) {
 			LightweightDecoratorDefinition[] oldDefs = lightweightDefinitions;
@@ -270,13 +284,6 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 		return false;
 	}
 
-	/**
-	 * Reset any cached values.
-	 */
-	void reset() {
-		runnable.clearReferences();
-	}
-
 	/**
 	 * Shutdown the decorator manager by disabling all of the decorators so that
 	 * dispose() will be called on them.
@@ -310,7 +317,7 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	/**
 	 * Get the lightweight registered for elements of this type.
 	 */
-	LightweightDecoratorDefinition[] getDecoratorsFor(Object element) {
+	synchronized LightweightDecoratorDefinition[] getDecoratorsFor(Object element) {
 
 		if (element == null) {
 			return EMPTY_LIGHTWEIGHT_DEF;
@@ -355,8 +362,37 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	 */
 	private void decorate(Object element, DecorationBuilder decoration, LightweightDecoratorDefinition decorator) {
 
-		runnable.setValues(element, decoration, decorator);
-		SafeRunner.run(runnable);
+		// the decoration scheduler may decorate in several threads, so each
+		// decoration uses its own runnable
+		LightweightRunnable currentRunnable = new LightweightRunnable();
+		currentRunnable.setValues(element, decoration, decorator);
+		if (!Policy.DEBUG_DECORATORS) {
+			SafeRunner.run(currentRunnable);
+			return;
+		}
+		long start = System.nanoTime();
+		SafeRunner.run(currentRunnable);
+		LongAdder[] times = statistics.computeIfAbsent(decorator, d -> new LongAdder[] { new LongAdder(), new LongAdder() });
+		times[0].increment();
+		times[1].add(System.nanoTime() - start);
+	}
+
+	/**
+	 * Print the number of decorations and the time spent in each decorator since
+	 * the last call of this method. Does nothing unless
+	 * {@link Policy#DEBUG_DECORATORS} is set.
+	 */
+	void traceStatistics() {
+		for (LightweightDecoratorDefinition decorator : statistics.keySet()) {
+			LongAdder[] times = statistics.remove(decorator);
+			if (times == null) {
+				continue;
+			}
+			long count = times[0].sum();
+			long nanos = times[1].sum();
+			Tracing.printTrace(TRACING_COMPONENT, decorator.getId() + ": " + count + " decorations in " //$NON-NLS-1$ //$NON-NLS-2$
+					+ nanos / 1000000 + "ms, " + (count == 0 ? 0 : nanos / count / 1000) + "us average"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
 	}
 
 	/**
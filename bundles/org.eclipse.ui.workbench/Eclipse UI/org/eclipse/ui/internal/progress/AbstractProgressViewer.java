@@ -34,4 +34,16 @@ public abstract class AbstractProgressViewer extends StructuredViewer {
 	 * @param elements job tree elements to remove
 	 */
 	public abstract void remove(JobTreeElement... elements);
+
+	/**
+	 * Refresh the elements of the receiver. Subclasses may override to refresh
+	 * all elements at once.
+	 *
+	 * @param elements job tree elements to refresh
+	 */
+	public void refresh(JobTreeElement... elements) {
+		for (JobTreeElement element : elements) {
+			refresh(element, true);
+		}
+	}
 }
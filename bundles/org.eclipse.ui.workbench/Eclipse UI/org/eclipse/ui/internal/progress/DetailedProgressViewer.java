@@ -372,6 +372,31 @@ public class DetailedProgressViewer extends AbstractProgressViewer {
 		updateSize();
 	}
 
+	/**
+	 * Refresh the items of the shown elements and add the others in one go, so
+	 * the items are sorted and laid out once for all elements.
+	 */
+	@Override
+	public void refresh(JobTreeElement... elements) {
+		if (control.isDisposed()) {
+			return;
+		}
+		List<JobTreeElement> notShown = new ArrayList<>();
+		for (JobTreeElement element : elements) {
+			ProgressInfoItem item = jobItemControls.get(element);
+			if (item == null) {
+				notShown.add(element);
+			} else {
+				item.refresh();
+			}
+		}
+		if (notShown.isEmpty()) {
+			updateSize();
+		} else {
+			add(notShown.toArray(new JobTreeElement[notShown.size()]));
+		}
+	}
+
 	@Override
 	public void remove(JobTreeElement... elements) {
 
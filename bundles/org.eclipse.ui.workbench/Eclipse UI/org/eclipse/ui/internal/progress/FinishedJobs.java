@@ -17,10 +17,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import org.eclipse.core.commands.common.EventManager;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.jobs.Job;
@@ -53,13 +51,135 @@ public final class FinishedJobs extends EventManager {
 		void removed(JobTreeElement jte);
 	}
 
+	/**
+	 * The kept elements in the order they finished, together with their finish
+	 * times. The elements are stored in a ring buffer, removing the oldest element
+	 * and adding a new one does not move any other element.
+	 */
+	static final class KeptElements {
+
+		private JobTreeElement[] elements = new JobTreeElement[16];
+
+		private long[] times = new long[16];
+
+		/** Position of the oldest slot */
+		private int head;
+
+		/** Number of slots from the oldest to the newest, including empty ones */
+		private int used;
+
+		private final Map<JobTreeElement, Integer> positions = new HashMap<>();
+
+		boolean contains(JobTreeElement element) {
+			return positions.containsKey(element);
+		}
+
+		boolean isEmpty() {
+			return positions.isEmpty();
+		}
+
+		int size() {
+			return positions.size();
+		}
+
+		/**
+		 * Add the element as the newest one if it is not contained yet.
+		 */
+		void add(JobTreeElement element, long time) {
+			if (positions.containsKey(element)) {
+				return;
+			}
+			if (used == elements.length) {
+				// compact if at least a quarter is empty, grow otherwise
+				resize(positions.size() * 4 <= elements.length * 3 ? elements.length : elements.length * 2);
+			}
+			int position = (head + used) % elements.length;
+			elements[position] = element;
+			times[position] = time;
+			positions.put(element, Integer.valueOf(position));
+			used++;
+		}
+
+		boolean remove(JobTreeElement element) {
+			Integer position = positions.remove(element);
+			if (position == null) {
+				return false;
+			}
+			elements[position.intValue()] = null;
+			while (used > 0 && elements[head] == null) {
+				head = (head + 1) % elements.length;
+				used--;
+			}
+			return true;
+		}
+
+		/**
+		 * @return the finish time of the element or <code>-1</code> if it is not
+		 *         contained
+		 */
+		long getTime(JobTreeElement element) {
+			Integer position = positions.get(element);
+			return position == null ? -1 : times[position.intValue()];
+		}
+
+		/**
+		 * @return the oldest element or <code>null</code> if empty
+		 */
+		JobTreeElement getOldest() {
+			return used == 0 ? null : elements[head];
+		}
+
+		JobTreeElement[] toArray() {
+			JobTreeElement[] result = new JobTreeElement[positions.size()];
+			int count = 0;
+			for (int i = 0; i < used; i++) {
+				JobTreeElement element = elements[(head + i) % elements.length];
+				if (element != null) {
+					result[count++] = element;
+				}
+			}
+			return result;
+		}
+
+		void clear() {
+			elements = new JobTreeElement[16];
+			times = new long[16];
+			head = 0;
+			used = 0;
+			positions.clear();
+		}
+
+		private void resize(int capacity) {
+			JobTreeElement[] newElements = new JobTreeElement[capacity];
+			long[] newTimes = new long[capacity];
+			int count = 0;
+			for (int i = 0; i < used; i++) {
+				int position = (head + i) % elements.length;
+				if (elements[position] != null) {
+					newElements[count] = elements[position];
+					newTimes[count] = times[position];
+					positions.put(elements[position], Integer.valueOf(count));
+					count++;
+				}
+			}
+			elements = newElements;
+			times = newTimes;
+			head = 0;
+			used = count;
+		}
+	}
+
+	/**
+	 * The maximum number of kept elements. If more jobs finish which should be
+	 * kept, the oldest ones are removed.
+	 */
+	public static final int MAX_KEPT = 1000;
+
 	private static FinishedJobs theInstance;
 
 	private IJobProgressManagerListener listener;
 
-	private final Set<JobTreeElement> keptjobinfos = new LinkedHashSet<>();
-
-	private final Map<JobTreeElement, Long> finishedTime = new HashMap<>();
+	private final KeptElements keptjobinfos = new KeptElements();
 
 	private static JobTreeElement[] emptyInfos;
 
@@ -193,15 +313,12 @@ public final class FinishedJobs extends EventManager {
 
 		synchronized (keptjobinfos) {
 			if (!keptjobinfos.contains(info)) {
-				keptjobinfos.add(info);
-
 				long now = System.currentTimeMillis();
-				finishedTime.put(info, Long.valueOf(now));
+				keptjobinfos.add(info, now);
 
 				JobTreeElement parent = info.getParent();
 				if (!(parent == null || keptjobinfos.contains(parent))) {
-					keptjobinfos.add(parent);
-					finishedTime.put(parent, Long.valueOf(now));
+					keptjobinfos.add(parent, now);
 				}
 
 				fire = true;
@@ -213,6 +330,24 @@ public final class FinishedJobs extends EventManager {
 				KeptJobsListener jv = (KeptJobsListener) listener;
 				jv.finished(info);
 			}
+			removeOldest();
+		}
+	}
+
+	/**
+	 * Remove the oldest kept elements until no more than {@link #MAX_KEPT} are
+	 * left.
+	 */
+	private void removeOldest() {
+		while (true) {
+			JobTreeElement oldest;
+			synchronized (keptjobinfos) {
+				if (keptjobinfos.size() <= MAX_KEPT) {
+					return;
+				}
+				oldest = keptjobinfos.getOldest();
+			}
+			remove(oldest);
 		}
 	}
 
@@ -276,8 +411,7 @@ public final class FinishedJobs extends EventManager {
 				synchronized (keptjobinfos) {
 					if (element == info && !keptjobinfos.contains(tinfo)) {
 						Iterable<JobTreeElement> toBeRemoved = findJobsToRemove(element);
-						keptjobinfos.add(tinfo);
-						finishedTime.put(tinfo, Long.valueOf(System.currentTimeMillis()));
+						keptjobinfos.add(tinfo, System.currentTimeMillis());
 
 						for (JobTreeElement jobTreeElement : toBeRemoved) {
 							remove(jobTreeElement);
@@ -325,7 +459,6 @@ public final class FinishedJobs extends EventManager {
 		synchronized (keptjobinfos) {
 			if (keptjobinfos.remove(jte)) {
 				removed = true;
-				finishedTime.remove(jte);
 				disposeAction(jte);
 
 				// delete all elements that have jte as their direct or indirect parent
@@ -337,7 +470,6 @@ public final class FinishedJobs extends EventManager {
 							if (keptjobinfos.remove(jobTreeElement)) {
 								disposeAction(jobTreeElement);
 							}
-							finishedTime.remove(jobTreeElement);
 						}
 					}
 				}
@@ -363,7 +495,7 @@ public final class FinishedJobs extends EventManager {
 			if (keptjobinfos.isEmpty()) {
 				return emptyInfos;
 			}
-			return keptjobinfos.toArray(new JobTreeElement[keptjobinfos.size()]);
+			return keptjobinfos.toArray();
 		}
 	}
 
@@ -375,9 +507,12 @@ public final class FinishedJobs extends EventManager {
 	 *         unknown element
 	 */
 	public Date getFinishDate(JobTreeElement jte) {
-		Long o = finishedTime.get(jte);
-		if (o != null) {
-			return new Date(o.longValue());
+		long time;
+		synchronized (keptjobinfos) {
+			time = keptjobinfos.getTime(jte);
+		}
+		if (time >= 0) {
+			return new Date(time);
 		}
 		return null;
 	}
@@ -404,7 +539,6 @@ public final class FinishedJobs extends EventManager {
 				disposeAction(jobTreeElement);
 			}
 			keptjobinfos.clear();
-			finishedTime.clear();
 		}
 
 		// notify listeners
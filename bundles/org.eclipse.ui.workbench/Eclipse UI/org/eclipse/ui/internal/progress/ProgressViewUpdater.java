@@ -14,6 +14,7 @@
 package org.eclipse.ui.internal.progress;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -47,6 +48,19 @@ class ProgressViewUpdater implements IJobProgressManagerListener {
 	Throttler throttledUpdate = new Throttler(PlatformUI.getWorkbench().getDisplay(), Duration.ofMillis(100),
 			this::update);
 
+	/**
+	 * Time in milliseconds one update may spend on refreshing elements. Refreshes
+	 * which do not fit are deferred to the next update, so thousands of changing
+	 * jobs do not block the UI thread.
+	 */
+	static final long REFRESH_BUDGET = 40;
+
+	/**
+	 * Number of elements refreshed before the time is checked against the
+	 * {@link #REFRESH_BUDGET}.
+	 */
+	private static final int REFRESH_CHUNK = 32;
+
 	final KeptJobsListener finishedJobsListener = new FinishedJobsListener();
 
 	/**
@@ -285,10 +299,9 @@ class ProgressViewUpdater implements IJobProgressManagerListener {
 			JobTreeElement[] keptFinsihedItems = elements[3];
 			JobTreeElement[] keptRemovedItems = elements[4];
 
+			refreshWithinBudget(updateItems);
+
 			for (IProgressUpdateCollector collector : collectors.keySet()) {
-				if (updateItems.length > 0) {
-					collector.refresh(updateItems);
-				}
 				if (additionItems.length > 0) {
 					collector.add(additionItems);
 				}
@@ -305,6 +318,28 @@ class ProgressViewUpdater implements IJobProgressManagerListener {
 		}
 	}
 
+	/**
+	 * Refresh the elements in all collectors until the {@link #REFRESH_BUDGET} is
+	 * spent. The remaining elements are refreshed by the next update.
+	 */
+	private void refreshWithinBudget(JobTreeElement[] updateItems) {
+		long start = System.currentTimeMillis();
+		for (int from = 0; from < updateItems.length; from += REFRESH_CHUNK) {
+			if (from > 0 && System.currentTimeMillis() - start > REFRESH_BUDGET) {
+				for (int i = from; i < updateItems.length; i++) {
+					currentInfo.refresh(updateItems[i]);
+				}
+				throttledUpdate.throttledExec();
+				return;
+			}
+			JobTreeElement[] chunk = Arrays.copyOfRange(updateItems, from,
+					Math.min(from + REFRESH_CHUNK, updateItems.length));
+			for (IProgressUpdateCollector collector : collectors.keySet()) {
+				collector.refresh(chunk);
+			}
+		}
+	}
+
 	@Override
 	public void refreshJobInfo(JobInfo info) {
 		currentInfo.refresh(info);
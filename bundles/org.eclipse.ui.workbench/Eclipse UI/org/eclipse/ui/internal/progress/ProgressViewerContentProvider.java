@@ -71,9 +71,7 @@ public class ProgressViewerContentProvider extends ProgressContentProvider {
 
 	@Override
 	public void refresh(JobTreeElement... elements) {
-		for (Object refresh : getRoots(elements, true)) {
-			progressViewer.refresh(refresh, true);
-		}
+		progressViewer.refresh(getRoots(elements, true));
 	}
 
 	@Override
@@ -36,6 +36,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		FileBuffersForNonAccessibleWorkspaceFiles.class,
 		FileStoreFileBuffersForWorkspaceFiles.class,
 		FileStoreFileBuffersForExternalFiles.class,
+		FileStoreFileBuffersForLazilyDecodedExternalFiles.class,
 		FileStoreFileBuffersForNonExistingExternalFiles.class,
 		FileStoreFileBuffersForNonExistingWorkspaceFiles.class,
 		TextFileManagerDocCreationTests.class,
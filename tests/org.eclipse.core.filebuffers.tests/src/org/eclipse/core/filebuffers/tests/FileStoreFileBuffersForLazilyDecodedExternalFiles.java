@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.core.filebuffers.tests;
+
+import org.junit.After;
+import org.junit.Before;
+
+/**
+ * Runs the file store file buffer tests for external files with lazily decoded documents.
+ */
+public class FileStoreFileBuffersForLazilyDecodedExternalFiles extends FileStoreFileBuffersForExternalFiles {
+
+	private static final String LAZY_DECODING_THRESHOLD= "org.eclipse.core.filebuffers.lazyDecodingThreshold";
+
+	private String fThreshold;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		fThreshold= System.setProperty(LAZY_DECODING_THRESHOLD, "0");
+		super.setUp();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+		if (fThreshold == null)
+			System.clearProperty(LAZY_DECODING_THRESHOLD);
+		else
+			System.setProperty(LAZY_DECODING_THRESHOLD, fThreshold);
+	}
+}
@@ -16,10 +16,14 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.tests.css.core;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import org.eclipse.e4.ui.css.core.impl.engine.CSSEngineImpl;
 import org.eclipse.e4.ui.tests.css.core.util.TestElement;
@@ -27,6 +31,7 @@ import org.junit.jupiter.api.Test;
 import org.w3c.css.sac.Selector;
 import org.w3c.css.sac.SelectorList;
 import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSStyleDeclaration;
 
 class CSSEngineTest {
 
@@ -80,6 +85,47 @@ class CSSEngineTest {
 		assertFalse(engine.matches(selector, "", null));
 	}
 
+	@Test
+	void testApplyStylesSkipsUnchangedChildren() throws Exception {
+		List<Object> styled = new ArrayList<>();
+		TestCSSEngine engine = new TestCSSEngine() {
+			@Override
+			public void applyStyleDeclaration(Object element, CSSStyleDeclaration style, String pseudo) {
+				styled.add(element);
+				super.applyStyleDeclaration(element, style, pseudo);
+			}
+		};
+		engine.setElementProvider((element, aEngine) -> element instanceof Element e ? e : null);
+		engine.parseStyleSheet(new StringReader("""
+				Shell { color: black; }
+				.active Button { color: red; }
+				Label { color: blue; }
+				"""));
+		TestElement shell = new TestElement("Shell", engine);
+		TestElement button = new TestElement("Button", shell, engine);
+		TestElement label = new TestElement("Label", shell, engine);
+
+		engine.applyStyles(shell, true);
+		assertEquals(List.of(shell, label), styled);
+
+		// the element the styling starts at is always styled
+		styled.clear();
+		engine.applyStyles(shell, true);
+		assertEquals(List.of(shell), styled);
+
+		// only the children whose rules changed are styled
+		styled.clear();
+		shell.setClass("active");
+		engine.applyStyles(shell, true);
+		assertEquals(List.of(shell, button), styled);
+
+		// a reset styles everything again
+		styled.clear();
+		engine.reset();
+		engine.parseStyleSheet(new StringReader("Label { color: blue; }"));
+		engine.applyStyles(shell, true);
+		assertEquals(List.of(label), styled);
+	}
 
 	private TestCSSEngine engineWhichProducesElementsWithAttributeA() {
 		TestCSSEngine engine = new TestCSSEngine();
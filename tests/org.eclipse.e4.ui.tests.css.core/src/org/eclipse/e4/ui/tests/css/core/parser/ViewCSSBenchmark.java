@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.ui.tests.css.core.parser;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.e4.ui.css.core.impl.dom.DocumentCSSImpl;
+import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl;
+import org.eclipse.e4.ui.css.swt.engine.CSSSWTEngineImpl;
+import org.eclipse.e4.ui.tests.css.core.util.ParserTestUtil;
+import org.eclipse.e4.ui.tests.css.core.util.TestElement;
+import org.eclipse.swt.widgets.Display;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.css.ViewCSS;
+
+/**
+ * Measures computing the styles of a whole element tree, the way a theme
+ * switch restyles the workbench. This is not part of the test suite; run it as
+ * a JUnit plug-in test. The number of rules can be set with the system
+ * property <code>viewCSSBenchmark.rules</code>.
+ */
+public class ViewCSSBenchmark {
+
+	private static final int RULES = Integer.getInteger("viewCSSBenchmark.rules", 500).intValue();
+	private static final String[] TYPES = { "Shell", "Composite", "CTabFolder", "Label", "Button", "Text", "Tree" };
+	private static final int DEPTH = 5;
+	private static final int CHILDREN = 6;
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int ROUNDS = 10;
+
+	@Test
+	void restyleTree() throws Exception {
+		CSSSWTEngineImpl engine = new CSSSWTEngineImpl(Display.getDefault());
+		DocumentCSSImpl docCss = new DocumentCSSImpl();
+		docCss.addStyleSheet(ParserTestUtil.parseCss(createStyleSheet()));
+
+		List<TestElement> elements = new ArrayList<>();
+		TestElement root = new TestElement("Shell", engine);
+		elements.add(root);
+		createChildren(root, 1, engine, elements);
+
+		assertTrue(restyle(new ViewCSSImpl(docCss), elements) > 0);
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			restyle(new ViewCSSImpl(docCss), elements);
+		}
+		long cold = 0;
+		long warm = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			ViewCSSImpl viewCSS = new ViewCSSImpl(docCss);
+			long start = System.nanoTime();
+			restyle(viewCSS, elements);
+			cold += System.nanoTime() - start;
+			start = System.nanoTime();
+			restyle(viewCSS, elements);
+			warm += System.nanoTime() - start;
+		}
+		System.out.printf("ViewCSSBenchmark: %d rules, %d elements, first restyle %.1f ms, repeated restyle %.1f ms%n",
+				Integer.valueOf(RULES), Integer.valueOf(elements.size()), Double.valueOf(cold / 1e6 / ROUNDS),
+				Double.valueOf(warm / 1e6 / ROUNDS));
+	}
+
+	private static int restyle(ViewCSS viewCSS, List<TestElement> elements) {
+		int styled = 0;
+		for (TestElement element : elements) {
+			if (viewCSS.getComputedStyle(element, null) != null) {
+				styled++;
+			}
+		}
+		return styled;
+	}
+
+	private static void createChildren(TestElement parent, int depth, CSSSWTEngineImpl engine,
+			List<TestElement> elements) {
+		if (depth == DEPTH) {
+			return;
+		}
+		for (int i = 0; i < CHILDREN; i++) {
+			TestElement child = new TestElement(TYPES[(depth + i) % TYPES.length], parent, engine);
+			child.setClass("class" + (i % 4) + (depth % 2 == 0 ? " even" : ""));
+			if (i == 0) {
+				child.setId("id" + depth);
+			}
+			elements.add(child);
+			createChildren(child, depth + 1, engine, elements);
+		}
+	}
+
+	private static String createStyleSheet() {
+		StringBuilder css = new StringBuilder();
+		for (int i = 0; i < RULES; i++) {
+			String type = TYPES[i % TYPES.length];
+			switch (i % 5) {
+			case 0 -> css.append(type);
+			case 1 -> css.append('.').append("rule").append(i);
+			case 2 -> css.append(type).append(".class").append(i % 4);
+			case 3 -> css.append(".even ").append(type);
+			default -> css.append('#').append("id").append(i % DEPTH);
+			}
+			css.append(" { color: #").append(String.format("%06x", Integer.valueOf(i))).append("; }\n");
+		}
+		return css.toString();
+	}
+}
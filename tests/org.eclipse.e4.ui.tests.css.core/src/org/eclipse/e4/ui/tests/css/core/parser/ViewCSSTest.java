@@ -169,6 +169,73 @@ public class ViewCSSTest {
 		assertTrue(cssRules2.size() > cssRules.size());
 	}
 
+	@Test
+	void testIndexedSelectorsKeepRuleOrder() throws Exception {
+		String css = """
+			#myId { color: red; }
+			.myClass { color: green; }
+			Button { color: blue; }
+			* { color: black; }
+			""";
+		ViewCSS viewCSS = createViewCss(css);
+
+		TestElement button = new TestElement("Button", engine);
+		button.setClass("other myClass");
+		button.setId("myId");
+		assertEquals("color: red;", viewCSS.getComputedStyle(button, null).getCssText());
+
+		TestElement label = new TestElement("Label", engine);
+		label.setClass("myClass  myClass");
+		assertEquals("color: green;", viewCSS.getComputedStyle(label, null).getCssText());
+
+		TestElement shell = new TestElement("Shell", engine);
+		assertEquals("color: black;", viewCSS.getComputedStyle(shell, null).getCssText());
+	}
+
+	@Test
+	void testComputedStyleCacheFollowsElementChanges() throws Exception {
+		String css = """
+			Button { color: blue; }
+			.active Button { color: red; }
+			Button[flat='true'] { color: green; }
+			""";
+		ViewCSS viewCSS = createViewCss(css);
+
+		final TestElement shell = new TestElement("Shell", engine);
+		final TestElement composite = new TestElement("Composite", shell, engine);
+		final TestElement button = new TestElement("Button", composite, engine);
+		assertEquals("color: blue;", viewCSS.getComputedStyle(button, null).getCssText());
+
+		// class change of an ancestor
+		shell.setClass("active");
+		assertEquals("color: red;", viewCSS.getComputedStyle(button, null).getCssText());
+
+		// attribute change
+		button.setAttribute("flat", "true");
+		assertEquals("color: green;", viewCSS.getComputedStyle(button, null).getCssText());
+
+		shell.setClass(null);
+		button.setAttribute("flat", "false");
+		assertEquals("color: blue;", viewCSS.getComputedStyle(button, null).getCssText());
+	}
+
+	@Test
+	void testComputedStyleCacheClearedOnStyleSheetChange() throws Exception {
+		CSSStyleSheet styleSheet = ParserTestUtil.parseCss("Button { color: blue; }");
+		DocumentCSSImpl docCss = new DocumentCSSImpl();
+		docCss.addStyleSheet(styleSheet);
+		ViewCSSImpl viewCSS = new ViewCSSImpl(docCss);
+
+		TestElement button = new TestElement("Button", engine);
+		TestElement label = new TestElement("Label", engine);
+		assertEquals("color: blue;", viewCSS.getComputedStyle(button, null).getCssText());
+		assertNull(viewCSS.getComputedStyle(label, null));
+
+		docCss.addStyleSheet(ParserTestUtil.parseCss("Button, Label { color: green; }"));
+		assertEquals("color: green;", viewCSS.getComputedStyle(button, null).getCssText());
+		assertEquals("color: green;", viewCSS.getComputedStyle(label, null).getCssText());
+	}
+
 	private static ViewCSS createViewCss(String css) throws IOException {
 		CSSStyleSheet styleSheet = ParserTestUtil.parseCss(css);
 		DocumentCSSImpl docCss = new DocumentCSSImpl();
@@ -24,6 +24,7 @@ import org.eclipse.e4.ui.tests.application.ModelElementTest;
 import org.eclipse.e4.ui.tests.application.ModelRobustnessTest;
 import org.eclipse.e4.ui.tests.application.ResourceHandlerTest;
 import org.eclipse.e4.ui.tests.application.StartupTestSuite;
+import org.eclipse.e4.ui.tests.application.UIEventBatchTest;
 import org.eclipse.e4.ui.tests.application.UIEventTypesTest;
 import org.eclipse.e4.ui.tests.workbench.AreaRendererTest;
 import org.eclipse.e4.ui.tests.workbench.Bug308317Test;
@@ -44,6 +45,7 @@ import org.eclipse.e4.ui.tests.workbench.MToolItemTest;
 import org.eclipse.e4.ui.tests.workbench.MWindowTest;
 import org.eclipse.e4.ui.tests.workbench.ModelAssemblerFragmentOrderingTests;
 import org.eclipse.e4.ui.tests.workbench.ModelAssemblerTests;
+import org.eclipse.e4.ui.tests.workbench.ModelIndexTest;
 import org.eclipse.e4.ui.tests.workbench.ModelServiceImplTest;
 import org.eclipse.e4.ui.tests.workbench.PartFocusTest;
 import org.eclipse.e4.ui.tests.workbench.PartOnTopManagerTest;
@@ -67,6 +69,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 		StartupTestSuite.class,
 		UIEventTypesTest.class,
+		UIEventBatchTest.class,
 		Bug299755Test.class,
 		Bug308220Test.class,
 		Bug320857Test.class,
@@ -104,6 +107,7 @@ import org.junit.runners.Suite;
 		AreaRendererTest.class,
 		SWTPartRendererTest.class,
 		ModelServiceImplTest.class,
+		ModelIndexTest.class,
 		CompositePartClosingTest.class
 })
 public class UIAllTests {
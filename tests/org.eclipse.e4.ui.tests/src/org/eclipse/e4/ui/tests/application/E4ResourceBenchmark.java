@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.ui.tests.application;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
+import org.eclipse.e4.ui.internal.workbench.E4XMIResourceFactory;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationFactory;
+import org.eclipse.e4.ui.model.application.ui.advanced.MAdvancedFactory;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspective;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspectiveStack;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
+import org.eclipse.e4.ui.model.application.ui.basic.MBasicFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.junit.Test;
+
+/**
+ * Compares load and save times of a large workbench model in XMI and in the
+ * binary format. This is not part of the test suite; run it as a JUnit plug-in
+ * test. The number of perspectives can be set with the system property
+ * <code>e4ResourceBenchmark.perspectives</code>.
+ */
+public class E4ResourceBenchmark {
+
+	private static final int PERSPECTIVES = Integer.getInteger("e4ResourceBenchmark.perspectives", 200).intValue(); //$NON-NLS-1$
+	private static final int STACKS_PER_PERSPECTIVE = 6;
+	private static final int PARTS_PER_STACK = 8;
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int ROUNDS = 10;
+
+	@Test
+	public void compareFormats() throws IOException {
+		E4XMIResource resource = createModel();
+		int elements = count(resource);
+
+		byte[] xmi = save(resource, false);
+		byte[] binary = save(resource, true);
+		assertEquals(elements, count(load(xmi)));
+		assertEquals(elements, count(load(binary)));
+
+		report("XMI", resource, xmi, false);
+		report("binary", resource, binary, true);
+	}
+
+	private void report(String format, E4XMIResource resource, byte[] bytes, boolean binary) throws IOException {
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			load(bytes);
+			save(resource, binary);
+		}
+		long loadTime = 0;
+		long saveTime = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			load(bytes);
+			loadTime += System.nanoTime() - start;
+			start = System.nanoTime();
+			save(resource, binary);
+			saveTime += System.nanoTime() - start;
+		}
+		System.out.printf("E4ResourceBenchmark %s: %d elements, %d KB, load %.1f ms, save %.1f ms%n", format, //$NON-NLS-1$
+				Integer.valueOf(count(resource)), Integer.valueOf(bytes.length >> 10),
+				Double.valueOf(loadTime / 1e6 / ROUNDS), Double.valueOf(saveTime / 1e6 / ROUNDS));
+	}
+
+	private static E4XMIResource createModel() {
+		E4XMIResource resource = (E4XMIResource) new E4XMIResourceFactory()
+				.createResource(URI.createURI("workbench.xmi")); //$NON-NLS-1$
+		MApplication application = MApplicationFactory.INSTANCE.createApplication();
+		MTrimmedWindow window = MBasicFactory.INSTANCE.createTrimmedWindow();
+		application.getChildren().add(window);
+		MPerspectiveStack perspectiveStack = MAdvancedFactory.INSTANCE.createPerspectiveStack();
+		window.getChildren().add(perspectiveStack);
+		for (int p = 0; p < PERSPECTIVES; p++) {
+			MPerspective perspective = MAdvancedFactory.INSTANCE.createPerspective();
+			perspective.setElementId("perspective" + p); //$NON-NLS-1$
+			perspectiveStack.getChildren().add(perspective);
+			for (int s = 0; s < STACKS_PER_PERSPECTIVE; s++) {
+				MPartStack stack = MBasicFactory.INSTANCE.createPartStack();
+				stack.setContainerData(Integer.toString(100 * s));
+				perspective.getChildren().add(stack);
+				for (int i = 0; i < PARTS_PER_STACK; i++) {
+					String id = "part" + s + '.' + i; //$NON-NLS-1$
+					MPart part = (MPart) window.getSharedElements().stream()
+							.filter(e -> id.equals(e.getElementId())).findFirst().orElse(null);
+					if (part == null) {
+						part = MBasicFactory.INSTANCE.createPart();
+						part.setElementId(id);
+						part.setLabel("Part " + id); //$NON-NLS-1$
+						part.getTags().add("View"); //$NON-NLS-1$
+						part.getPersistedState().put("memento", "<memento id=\"" + id + "\"/>"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						window.getSharedElements().add(part);
+					}
+					MPlaceholder placeholder = MAdvancedFactory.INSTANCE.createPlaceholder();
+					placeholder.setElementId(id);
+					placeholder.setRef(part);
+					stack.getChildren().add(placeholder);
+				}
+			}
+		}
+		resource.getContents().add((EObject) application);
+		return resource;
+	}
+
+	private static byte[] save(E4XMIResource resource, boolean binary) throws IOException {
+		Map<String, Object> options = new HashMap<>();
+		options.put(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.TRUE);
+		options.put(E4XMIResource.OPTION_BINARY_FORMAT, Boolean.valueOf(binary));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		resource.save(out, options);
+		return out.toByteArray();
+	}
+
+	private static E4XMIResource load(byte[] bytes) throws IOException {
+		E4XMIResource resource = (E4XMIResource) new E4XMIResourceFactory()
+				.createResource(URI.createURI("workbench.xmi")); //$NON-NLS-1$
+		resource.load(new ByteArrayInputStream(bytes), null);
+		return resource;
+	}
+
+	private static int count(E4XMIResource resource) {
+		int count = 0;
+		for (TreeIterator<EObject> it = resource.getAllContents(); it.hasNext(); it.next()) {
+			count++;
+		}
+		return count;
+	}
+}
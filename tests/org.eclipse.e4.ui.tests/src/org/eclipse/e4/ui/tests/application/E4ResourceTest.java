@@ -17,15 +17,25 @@ package org.eclipse.e4.ui.tests.application;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.MApplicationFactory;
+import org.eclipse.e4.ui.model.application.ui.advanced.MAdvancedFactory;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
 import org.eclipse.e4.ui.model.application.ui.basic.MBasicFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
 import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.e4.ui.workbench.IWorkbench;
 import org.eclipse.emf.ecore.EObject;
 import org.junit.Test;
 
@@ -68,4 +78,89 @@ public class E4ResourceTest {
 			assertSame(e.getValue(), eObject);
 		}
 	}
+
+	@Test
+	public void testBinaryRoundTrip() throws IOException {
+		E4XMIResource r = new E4XMIResource();
+		MApplication a = MApplicationFactory.INSTANCE.createApplication();
+		MTrimmedWindow w = MBasicFactory.INSTANCE.createTrimmedWindow();
+		a.getChildren().add(w);
+		MPart part = MBasicFactory.INSTANCE.createPart();
+		part.setElementId("part");
+		part.getPersistedState().put("key", "value");
+		w.getSharedElements().add(part);
+		MPlaceholder placeholder = MAdvancedFactory.INSTANCE.createPlaceholder();
+		placeholder.setRef(part);
+		w.getChildren().add(placeholder);
+		r.getContents().add((EObject) a);
+		String partId = r.getID((EObject) part);
+
+		E4XMIResource loaded = load(save(r, false));
+
+		MApplication loadedApp = (MApplication) loaded.getContents().get(0);
+		MTrimmedWindow loadedWindow = (MTrimmedWindow) loadedApp.getChildren().get(0);
+		MPart loadedPart = (MPart) loadedWindow.getSharedElements().get(0);
+		assertEquals("part", loadedPart.getElementId());
+		assertEquals("value", loadedPart.getPersistedState().get("key"));
+		assertSame(loadedPart, ((MPlaceholder) loadedWindow.getChildren().get(0)).getRef());
+		assertEquals(partId, loaded.getID((EObject) loadedPart));
+		assertSame(loadedPart, loaded.getEObject(partId));
+	}
+
+	@Test
+	public void testBinaryFilterPersistState() throws IOException {
+		E4XMIResource r = new E4XMIResource();
+		MApplication a = MApplicationFactory.INSTANCE.createApplication();
+		MTrimmedWindow w = MBasicFactory.INSTANCE.createTrimmedWindow();
+		a.getChildren().add(w);
+		MPartStack stack = MBasicFactory.INSTANCE.createPartStack();
+		w.getChildren().add(stack);
+		MPart kept = MBasicFactory.INSTANCE.createPart();
+		stack.getChildren().add(kept);
+		MPart dropped = MBasicFactory.INSTANCE.createPart();
+		dropped.getPersistedState().put(IWorkbench.PERSIST_STATE, Boolean.FALSE.toString());
+		stack.getChildren().add(dropped);
+		stack.setSelectedElement(dropped);
+		r.getContents().add((EObject) a);
+
+		E4XMIResource loaded = load(save(r, true));
+
+		MApplication loadedApp = (MApplication) loaded.getContents().get(0);
+		MPartStack loadedStack = (MPartStack) ((MTrimmedWindow) loadedApp.getChildren().get(0)).getChildren()
+				.get(0);
+		assertEquals(1, loadedStack.getChildren().size());
+		assertEquals(null, loadedStack.getSelectedElement());
+		// the saved model itself is unchanged
+		assertSame(dropped, stack.getSelectedElement());
+	}
+
+	@Test
+	public void testXMIStillLoaded() throws IOException {
+		E4XMIResource r = new E4XMIResource();
+		MApplication a = MApplicationFactory.INSTANCE.createApplication();
+		a.setElementId("app");
+		r.getContents().add((EObject) a);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		r.save(out, null);
+
+		E4XMIResource loaded = load(out.toByteArray());
+
+		assertEquals("app", ((MApplication) loaded.getContents().get(0)).getElementId());
+	}
+
+	private static byte[] save(E4XMIResource r, boolean filter) throws IOException {
+		Map<String, Object> options = new HashMap<>();
+		options.put(E4XMIResource.OPTION_BINARY_FORMAT, Boolean.TRUE);
+		options.put(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.valueOf(filter));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		r.save(out, options);
+		assertTrue(out.size() > 0);
+		return out.toByteArray();
+	}
+
+	private static E4XMIResource load(byte[] bytes) throws IOException {
+		E4XMIResource loaded = new E4XMIResource();
+		loaded.load(new ByteArrayInputStream(bytes), null);
+		return loaded;
+	}
 }
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.ui.tests.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.internal.workbench.UIEventPublisher;
+import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.application.MApplicationFactory;
+import org.eclipse.e4.ui.workbench.UIEvents;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.service.event.Event;
+
+/**
+ * Tests the batch mode of the {@link UIEventPublisher}.
+ */
+public class UIEventBatchTest extends HeadlessApplicationElementTest {
+	private final List<Event> events = new ArrayList<>();
+	private final List<Event> batches = new ArrayList<>();
+	private UIEventPublisher publisher;
+
+	@Override
+	protected MApplicationElement createApplicationElement(IEclipseContext appContext) throws Exception {
+		return MApplicationFactory.INSTANCE.createApplication();
+	}
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		IEclipseContext applicationContext = rule.getApplicationContext();
+		publisher = applicationContext.get(UIEventPublisher.class);
+		IEventBroker appEB = applicationContext.get(IEventBroker.class);
+		appEB.subscribe(UIEvents.ApplicationElement.TOPIC_ELEMENTID, events::add);
+		appEB.subscribe(UIEvents.ApplicationElement.TOPIC_TAGS, events::add);
+		appEB.subscribe(UIEventPublisher.TOPIC_BATCH, batches::add);
+	}
+
+	@Test
+	public void testNoBatch() {
+		applicationElement.setElementId("a");
+		assertEquals(1, events.size());
+		assertFalse(UIEventPublisher.isInBatch(events.get(0)));
+		assertTrue(batches.isEmpty());
+	}
+
+	@Test
+	public void testBatchCoalescesSet() {
+		applicationElement.setElementId("a");
+		events.clear();
+
+		publisher.beginBatch();
+		try {
+			applicationElement.setElementId("b");
+			applicationElement.setElementId("c");
+			applicationElement.getTags().add("tag");
+			assertEquals(3, events.size());
+			assertTrue(UIEventPublisher.isInBatch(events.get(0)));
+			assertTrue(batches.isEmpty());
+		} finally {
+			publisher.endBatch();
+		}
+
+		assertEquals(1, batches.size());
+		List<Event> idEvents = UIEventPublisher.getBatchEvents(batches.get(0), UIEvents.ApplicationElement.TOPIC_ELEMENTID);
+		assertEquals(1, idEvents.size());
+		assertEquals("a", idEvents.get(0).getProperty(UIEvents.EventTags.OLD_VALUE));
+		assertEquals("c", idEvents.get(0).getProperty(UIEvents.EventTags.NEW_VALUE));
+		assertEquals(2, UIEventPublisher.getBatchEvents(batches.get(0), UIEvents.UIModelTopicBase + "/*").size());
+	}
+
+	@Test
+	public void testNestedBatch() {
+		publisher.beginBatch();
+		try {
+			publisher.beginBatch();
+			try {
+				applicationElement.setElementId("a");
+			} finally {
+				publisher.endBatch();
+			}
+			assertTrue(batches.isEmpty());
+		} finally {
+			publisher.endBatch();
+		}
+		assertEquals(1, batches.size());
+	}
+
+	@Test
+	public void testEmptyBatch() {
+		publisher.beginBatch();
+		publisher.endBatch();
+		assertTrue(batches.isEmpty());
+	}
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.tests.workbench;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import jakarta.inject.Inject;
+import java.util.List;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.ui.internal.workbench.ModelIndex;
+import org.eclipse.e4.ui.internal.workbench.UIEventPublisher;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MWindow;
+import org.eclipse.e4.ui.tests.rules.WorkbenchContextRule;
+import org.eclipse.e4.ui.workbench.modeling.EModelService;
+import org.eclipse.emf.common.notify.Notifier;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ModelIndexTest {
+
+	@Rule
+	public WorkbenchContextRule contextRule = new WorkbenchContextRule();
+
+	@Inject
+	private IEclipseContext context;
+
+	@Inject
+	private EModelService modelService;
+
+	private MApplication application;
+	private MWindow window;
+	private MPartStack stack;
+	private ModelIndex index;
+
+	@Before
+	public void setUp() {
+		application = modelService.createModelElement(MApplication.class);
+		window = modelService.createModelElement(MWindow.class);
+		application.getChildren().add(window);
+		stack = modelService.createModelElement(MPartStack.class);
+		window.getChildren().add(stack);
+
+		UIEventPublisher publisher = new UIEventPublisher(context);
+		context.set(UIEventPublisher.class, publisher);
+		((Notifier) application).eAdapters().add(publisher);
+		index = publisher.getModelIndex();
+	}
+
+	private MPart createPart(String id) {
+		MPart part = modelService.createModelElement(MPart.class);
+		part.setElementId(id);
+		return part;
+	}
+
+	@Test
+	public void testAddedElementsAreIndexed() {
+		MPart part = createPart("part");
+		stack.getChildren().add(part);
+
+		assertTrue(index.isIndexed(part));
+		assertTrue(index.getCandidates("part", null, null).contains(part));
+		assertSame(part, modelService.find("part", application));
+	}
+
+	@Test
+	public void testRemovedElementsAreNotIndexed() {
+		MPart part = createPart("part");
+		stack.getChildren().add(part);
+		stack.getChildren().remove(part);
+
+		assertFalse(index.isIndexed(part));
+		assertTrue(index.getCandidates("part", null, null).isEmpty());
+		assertNull(modelService.find("part", application));
+	}
+
+	@Test
+	public void testIdAndTagChanges() {
+		MPart part = createPart("before");
+		stack.getChildren().add(part);
+
+		part.setElementId("after");
+		part.getTags().add("tag");
+
+		assertTrue(index.getCandidates("before", null, null).isEmpty());
+		assertSame(part, modelService.find("after", application));
+		assertEquals(List.of(part), modelService.findElements(application, null, MPart.class, List.of("tag")));
+
+		part.getTags().clear();
+		assertTrue(modelService.findElements(application, null, null, List.of("tag")).isEmpty());
+	}
+
+	@Test
+	public void testSharedElementFoundThroughPlaceholder() {
+		MPart shared = createPart("shared");
+		window.getSharedElements().add(shared);
+		MPlaceholder placeholder = modelService.createModelElement(MPlaceholder.class);
+		stack.getChildren().add(placeholder);
+
+		assertTrue(modelService.findElements(stack, "shared", MPart.class).isEmpty());
+
+		placeholder.setRef(shared);
+		assertEquals(List.of(shared), modelService.findElements(stack, "shared", MPart.class));
+	}
+
+	@Test
+	public void testSearchFlagsAndOrderAreKept() {
+		MPart first = createPart("part");
+		MPart second = createPart("part");
+		stack.getChildren().add(first);
+		stack.getChildren().add(second);
+		MPart shared = createPart("part");
+		window.getSharedElements().add(0, shared);
+
+		assertEquals(List.of(first, second), modelService.findElements(application, "part", MPart.class));
+		assertEquals(List.of(shared, first, second), modelService.findElements(application, "part", MPart.class,
+				null, EModelService.ANYWHERE | EModelService.IN_SHARED_ELEMENTS));
+	}
+}
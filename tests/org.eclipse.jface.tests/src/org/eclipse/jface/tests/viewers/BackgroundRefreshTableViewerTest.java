@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.jface.viewers.ViewerFilter;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the background refresh mode of the structured viewers.
+ */
+public class BackgroundRefreshTableViewerTest {
+
+	private static final int COUNT = 5000;
+
+	private Shell shell;
+
+	private TableViewer viewer;
+
+	private List<String> input;
+
+	private volatile Thread filterThread;
+
+	@Before
+	public void setUp() {
+		shell = new Shell();
+		shell.setLayout(new FillLayout());
+		viewer = new TableViewer(shell);
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+		viewer.setLabelProvider(new LabelProvider());
+		input = new ArrayList<>();
+		for (int i = 0; i < COUNT; i++) {
+			input.add(String.format("%05d", Integer.valueOf(COUNT - i)));
+		}
+		viewer.setInput(input);
+		viewer.setUseBackgroundRefresh(true);
+		shell.open();
+	}
+
+	@After
+	public void tearDown() {
+		shell.dispose();
+	}
+
+	@Test
+	public void testSortAndFilterInBackground() {
+		assertTrue(viewer.isUseBackgroundRefresh());
+		viewer.setComparator(new ViewerComparator());
+		viewer.addFilter(new ViewerFilter() {
+			@Override
+			public boolean select(Viewer v, Object parentElement, Object element) {
+				filterThread = Thread.currentThread();
+				return Integer.parseInt((String) element) % 2 == 0;
+			}
+		});
+		Display display = shell.getDisplay();
+		assertTrue(DisplayHelper.waitForCondition(display, 10000,
+				() -> viewer.getTable().getItemCount() == COUNT / 2));
+		assertNotSame(display.getThread(), filterThread);
+		assertEquals("00002", viewer.getElementAt(0));
+		assertEquals(String.format("%05d", Integer.valueOf(COUNT)), viewer.getElementAt(COUNT / 2 - 1));
+	}
+
+	@Test
+	public void testLaterRefreshWins() {
+		viewer.setComparator(new ViewerComparator());
+		input.remove(0);
+		viewer.refresh();
+		input.remove(0);
+		viewer.refresh();
+		assertTrue(DisplayHelper.waitForCondition(shell.getDisplay(), 10000,
+				() -> viewer.getTable().getItemCount() == COUNT - 2));
+		DisplayHelper.runEventLoop(shell.getDisplay(), 100);
+		assertEquals(COUNT - 2, viewer.getTable().getItemCount());
+		assertEquals("00001", viewer.getElementAt(0));
+	}
+
+	@Test
+	public void testChangedContentIsSortedInUIThread() {
+		viewer.setComparator(new ViewerComparator());
+		// the model changes after the elements were handed to the background
+		input.add("00000");
+		assertTrue(DisplayHelper.waitForCondition(shell.getDisplay(), 10000,
+				() -> viewer.getTable().getItemCount() == COUNT + 1));
+		assertEquals("00000", viewer.getElementAt(0));
+		assertEquals("00001", viewer.getElementAt(1));
+	}
+
+	@Test
+	public void testDisable() {
+		viewer.setUseBackgroundRefresh(false);
+		assertFalse(viewer.isUseBackgroundRefresh());
+		viewer.setComparator(new ViewerComparator());
+		assertEquals("00001", viewer.getElementAt(0));
+	}
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.deferred.DeferredTreeContentProvider;
+import org.eclipse.jface.viewers.deferred.IConcurrentModel;
+import org.eclipse.jface.viewers.deferred.IConcurrentTreeModel;
+import org.eclipse.jface.viewers.deferred.SetModel;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DeferredTreeContentProviderTest {
+
+	private static final int BIG = 100000;
+
+	private Shell shell;
+
+	private TreeViewer viewer;
+
+	private final Map<Object, SetModel> children = new HashMap<>();
+
+	private final IConcurrentTreeModel treeModel = new IConcurrentTreeModel() {
+		@Override
+		public IConcurrentModel getChildren(Object parent) {
+			return children.computeIfAbsent(parent, p -> new SetModel());
+		}
+
+		@Override
+		public boolean hasChildren(Object element) {
+			return children.containsKey(element);
+		}
+
+		@Override
+		public Object getParent(Object element) {
+			String name = (String) element;
+			int index = name.lastIndexOf('/');
+			return index < 0 ? this : name.substring(0, index);
+		}
+	};
+
+	@Before
+	public void setUp() {
+		shell = new Shell();
+		shell.setLayout(new FillLayout());
+		shell.setSize(300, 300);
+		viewer = new TreeViewer(shell, SWT.VIRTUAL);
+		viewer.setUseHashlookup(true);
+		viewer.setLabelProvider(new LabelProvider());
+		viewer.setContentProvider(new DeferredTreeContentProvider(Comparator.naturalOrder()));
+
+		((SetModel) treeModel.getChildren(treeModel)).set(new Object[] { "c", "big", "a" });
+		Object[] big = new Object[BIG];
+		for (int i = 0; i < BIG; i++) {
+			big[i] = String.format("big/%06d", Integer.valueOf(BIG - i));
+		}
+		((SetModel) treeModel.getChildren("big")).set(big);
+		shell.open();
+	}
+
+	@After
+	public void tearDown() {
+		shell.dispose();
+	}
+
+	@Test
+	public void testRootsAreSorted() {
+		viewer.setInput(treeModel);
+		Tree tree = viewer.getTree();
+		Display display = shell.getDisplay();
+		assertTrue(DisplayHelper.waitForCondition(display, 10000,
+				() -> tree.getItemCount() == 3 && "c".equals(tree.getItem(2).getData())));
+		assertEquals("a", tree.getItem(0).getData());
+		assertEquals("big", tree.getItem(1).getData());
+	}
+
+	@Test
+	public void testExpandCreatesVisibleItemsOnly() {
+		viewer.setInput(treeModel);
+		Tree tree = viewer.getTree();
+		Display display = shell.getDisplay();
+		assertTrue(DisplayHelper.waitForCondition(display, 10000,
+				() -> tree.getItemCount() == 3 && "big".equals(tree.getItem(1).getData())));
+
+		viewer.setExpandedState("big", true);
+		TreeItem bigItem = tree.getItem(1);
+		assertTrue(DisplayHelper.waitForCondition(display, 10000,
+				() -> bigItem.getItemCount() == BIG && "big/000001".equals(bigItem.getItem(0).getData())));
+		assertEquals("big/000002", bigItem.getItem(1).getData());
+
+		int materialized = 0;
+		for (int i = 0; i < BIG; i += 97) {
+			if (bigItem.getItem(i).getData() != null) {
+				materialized++;
+			}
+		}
+		assertTrue("Too many children were sent to the tree: " + materialized, materialized < BIG / 97 / 2);
+	}
+
+	@Test
+	public void testCollapseDiscardsChildren() {
+		viewer.setInput(treeModel);
+		Tree tree = viewer.getTree();
+		Display display = shell.getDisplay();
+		assertTrue(DisplayHelper.waitForCondition(display, 10000,
+				() -> tree.getItemCount() == 3 && "big".equals(tree.getItem(1).getData())));
+		viewer.setExpandedState("big", true);
+		TreeItem bigItem = tree.getItem(1);
+		assertTrue(DisplayHelper.waitForCondition(display, 10000, () -> bigItem.getItemCount() == BIG));
+
+		// collapse the way the user does
+		Event event = new Event();
+		event.item = bigItem;
+		tree.notifyListeners(SWT.Collapse, event);
+		bigItem.setExpanded(false);
+		assertTrue(DisplayHelper.waitForCondition(display, 10000, () -> bigItem.getItemCount() == 1));
+	}
+}
@@ -50,6 +50,7 @@ import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDat
 		HTML2TextReaderTest.class,
 		TextHoverPopupTest.class,
 		TextPresentationTest.class,
+		PresentationReconcilerTest.class,
 		DefaultUndoManagerTest.class,
 		TextViewerTest.class,
 		TextViewerUndoManagerTest.class,
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextPresentation;
+import org.eclipse.jface.text.TextViewer;
+import org.eclipse.jface.text.presentation.IPresentationRepairer;
+import org.eclipse.jface.text.presentation.PresentationReconciler;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+/**
+ * Tests the idle repair of damage outside of the viewport by the {@link PresentationReconciler}.
+ */
+public class PresentationReconcilerTest {
+
+	private Shell fShell;
+	private TextViewer fViewer;
+	private final BitSet fRepaired= new BitSet();
+
+	@Before
+	public void setUp() {
+		fShell= new Shell();
+		fShell.setSize(400, 300);
+		fViewer= new TextViewer(fShell, SWT.V_SCROLL);
+		fViewer.getTextWidget().setSize(400, 300);
+		fShell.open();
+	}
+
+	@After
+	public void tearDown() {
+		if (fShell != null && !fShell.isDisposed()) {
+			fShell.dispose();
+		}
+		fShell= null;
+	}
+
+	@Test
+	public void testViewportIsRepairedFirst() {
+		PresentationReconciler reconciler= new PresentationReconciler();
+		reconciler.setRepairer(new RecordingRepairer(), IDocument.DEFAULT_CONTENT_TYPE);
+		reconciler.setIdleRepairBudget(5);
+		reconciler.install(fViewer);
+
+		IDocument document= new Document("line\n".repeat(20_000));
+		fViewer.setDocument(document);
+
+		assertTrue("Viewport not repaired", fRepaired.get(0));
+		assertFalse("Whole document repaired at once", fRepaired.get(document.getLength() - 1));
+
+		assertTrue("Pending damage not repaired", new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fRepaired.nextClearBit(0) >= document.getLength();
+			}
+		}.waitForCondition(fShell.getDisplay(), 10_000));
+	}
+
+	@Test
+	public void testCompleteDamageIsRepairedByDefault() {
+		PresentationReconciler reconciler= new PresentationReconciler();
+		reconciler.setRepairer(new RecordingRepairer(), IDocument.DEFAULT_CONTENT_TYPE);
+		reconciler.install(fViewer);
+
+		IDocument document= new Document("line\n".repeat(20_000));
+		fViewer.setDocument(document);
+
+		assertTrue(fRepaired.nextClearBit(0) >= document.getLength());
+	}
+
+	private class RecordingRepairer implements IPresentationRepairer {
+
+		@Override
+		public void setDocument(IDocument document) {
+			fRepaired.clear();
+		}
+
+		@Override
+		public void createPresentation(TextPresentation presentation, ITypedRegion damage) {
+			fRepaired.set(damage.getOffset(), damage.getOffset() + damage.getLength());
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.rules;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+
+/**
+ * Measures the initial partitioning of the {@link FastPartitioner} and its updates for edits near
+ * the top of documents of growing sizes. This is not part of the test suite; run it as a Java
+ * application, optionally passing the largest document length in characters as argument.
+ */
+public class FastPartitionerBenchmark {
+
+	private static final String COMMENT= "comment"; //$NON-NLS-1$
+	private static final String STRING= "string"; //$NON-NLS-1$
+
+	private static final int WARMUP_ROUNDS= 3;
+	private static final int EDITS= 500;
+
+	public static void main(String[] args) throws BadLocationException {
+		int maxLength= args.length > 0 ? Integer.parseInt(args[0]) : 10 * 1024 * 1024;
+		for (int length= 10 * 1024; length <= maxLength; length*= 10) {
+			String text= createText(length);
+			for (int i= 0; i < WARMUP_ROUNDS; i++)
+				measure(text);
+			long[] times= measure(text);
+			System.out.printf("%10d chars  connect: %6d ms, code edits: %6d ms, comment edits: %6d ms, comment toggles: %6d ms%n", //$NON-NLS-1$
+					text.length(), times[0], times[1], times[2], times[3]);
+		}
+	}
+
+	private static long[] measure(String text) throws BadLocationException {
+		IDocument document= new Document(text);
+		FastPartitioner partitioner= new FastPartitioner(createScanner(), new String[] { IDocument.DEFAULT_CONTENT_TYPE, COMMENT, STRING });
+
+		long start= System.nanoTime();
+		partitioner.connect(document);
+		document.setDocumentPartitioner(partitioner);
+		long connect= System.nanoTime() - start;
+
+		// typing in code, the first line is code
+		start= System.nanoTime();
+		for (int i= 0; i < EDITS; i++)
+			document.replace(4 + i, 0, "x"); //$NON-NLS-1$
+		long code= System.nanoTime() - start;
+
+		// typing in the comment on the second line
+		int offset= document.getLineOffset(1) + 4;
+		start= System.nanoTime();
+		for (int i= 0; i < EDITS; i++)
+			document.replace(offset + i, 0, "x"); //$NON-NLS-1$
+		long comment= System.nanoTime() - start;
+
+		// opening and closing an unterminated comment at the top
+		start= System.nanoTime();
+		for (int i= 0; i < EDITS / 10; i++) {
+			document.replace(0, 0, "/*"); //$NON-NLS-1$
+			document.replace(0, 2, ""); //$NON-NLS-1$
+		}
+		long toggles= System.nanoTime() - start;
+
+		partitioner.disconnect();
+		return new long[] { connect / 1_000_000, code / 1_000_000, comment / 1_000_000, toggles / 1_000_000 };
+	}
+
+	private static RuleBasedPartitionScanner createScanner() {
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		IToken comment= new Token(COMMENT);
+		IToken string= new Token(STRING);
+		scanner.setPredicateRules(new IPredicateRule[] {
+				new MultiLineRule("/*", "*/", comment), //$NON-NLS-1$ //$NON-NLS-2$
+				new SingleLineRule("\"", "\"", string, '\\') //$NON-NLS-1$ //$NON-NLS-2$
+		});
+		return scanner;
+	}
+
+	private static String createText(int length) {
+		String[] lines= {
+				"int value= compute(left, right) + offset;\n", //$NON-NLS-1$
+				"/* a comment of a single line */\n", //$NON-NLS-1$
+				"String name= \"a string literal\";\n", //$NON-NLS-1$
+				"/*\n * a comment\n * of several lines\n */\n", //$NON-NLS-1$
+				"if (value > 0) { return name; }\n" //$NON-NLS-1$
+		};
+		StringBuilder builder= new StringBuilder(length + 64);
+		for (int i= 0; builder.length() < length; i++)
+			builder.append(lines[i % lines.length]);
+		return builder.toString();
+	}
+}
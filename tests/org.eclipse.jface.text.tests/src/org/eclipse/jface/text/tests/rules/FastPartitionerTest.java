@@ -321,6 +321,44 @@ public class FastPartitionerTest {
 
 	}
 
+	@Test
+	public void testChangeInDefaultContent() throws Exception {
+		fDoc.set("docu     ment/* comment */docu     ment");
+
+		fDoc.replace(2, 0, "xx");
+		assertComputePartitioning_InterleavingPartitions(new int[] { 15, 28 });
+
+		fDoc.replace(30, 5, "");
+		assertComputePartitioning_InterleavingPartitions(new int[] { 15, 28 });
+	}
+
+	@Test
+	public void testDeletePartitionStart() throws Exception {
+		fDoc.set("docu/* a */docu/* b */docu");
+
+		fDoc.replace(3, 3, "");
+		assertComputePartitioning_InterleavingPartitions(new int[] { 12, 19 });
+
+		fDoc.replace(11, 3, "");
+		assertComputePartitioning_InterleavingPartitions(new int[0]);
+	}
+
+	@Test
+	public void testSplitPartitionSpanningChange() throws Exception {
+		fDoc.set("/* x /* y */ z");
+
+		fDoc.replace(2, 0, "*/");
+		assertComputePartitioning_InterleavingPartitions(new int[] { 0, 4, 7, 14 });
+	}
+
+	@Test
+	public void testSplitPartitionSpanningChangeBeforePartition() throws Exception {
+		fDoc.set("/* x /* y */ z /* w */");
+
+		fDoc.replace(2, 0, "*/");
+		assertComputePartitioning_InterleavingPartitions(new int[] { 0, 4, 7, 14, 17, 24 });
+	}
+
 	private void assertComputePartitioning_InterleavingPartitions(int[] offsets) {
 		assertComputePartitioning_InterleavingPartitions(0, fDoc.getLength(), offsets, DEFAULT);
 	}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.search.core.text.TextSearchEngine;
+import org.eclipse.search.core.text.TextSearchMatchAccess;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.tests.ResourceHelper;
+import org.eclipse.search.ui.text.FileTextSearchScope;
+
+/**
+ * Measures the throughput in files per second and the peak heap of a text search over a synthetic
+ * workspace. This is not part of the test suite; run it as a JUnit plug-in test. The number of
+ * files can be set with the system property <code>textSearchBenchmark.files</code>.
+ */
+public class TextSearchBenchmark {
+
+	private static final String PROJECT_NAME= "search-benchmark"; //$NON-NLS-1$
+	private static final int FILES= Integer.getInteger("textSearchBenchmark.files", 20_000).intValue(); //$NON-NLS-1$
+	private static final int FILES_PER_FOLDER= 500;
+	private static final int WARMUP_ROUNDS= 2;
+	private static final int ROUNDS= 5;
+
+	private static IProject fgProject;
+	private static int fgExpectedMatches;
+
+	private static class CountingRequestor extends TextSearchRequestor {
+		private final AtomicInteger fMatches= new AtomicInteger();
+
+		@Override
+		public boolean canRunInParallel() {
+			return true;
+		}
+
+		@Override
+		public boolean acceptPatternMatch(TextSearchMatchAccess matchAccess) throws CoreException {
+			fMatches.incrementAndGet();
+			return true;
+		}
+	}
+
+	@BeforeClass
+	public static void createWorkspace() throws Exception {
+		fgProject= ResourceHelper.createProject(PROJECT_NAME);
+		Random random= new Random(4711);
+		IFolder folder= null;
+		for (int i= 0; i < FILES; i++) {
+			if (i % FILES_PER_FOLDER == 0) {
+				folder= ResourceHelper.createFolder(fgProject.getFolder("folder" + i / FILES_PER_FOLDER)); //$NON-NLS-1$
+			}
+			ResourceHelper.createFile(folder, "file" + i + ".txt", createContent(random)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	@AfterClass
+	public static void deleteWorkspace() throws CoreException {
+		ResourceHelper.deleteProject(PROJECT_NAME);
+	}
+
+	@Test
+	public void searchSyntheticWorkspace() throws Exception {
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] { fgProject }, (String[]) null, false);
+		Pattern pattern= PatternConstructor.createPattern("needle\\d+", true, true); //$NON-NLS-1$
+
+		for (int i= 0; i < WARMUP_ROUNDS; i++) {
+			search(scope, pattern);
+		}
+		long totalTime= 0;
+		long peakHeap= 0;
+		for (int i= 0; i < ROUNDS; i++) {
+			System.gc();
+			List<MemoryPoolMXBean> heapPools= ManagementFactory.getMemoryPoolMXBeans().stream()
+					.filter(pool -> pool.getType() == MemoryType.HEAP).toList();
+			heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+			long start= System.nanoTime();
+			search(scope, pattern);
+			totalTime+= System.nanoTime() - start;
+			peakHeap= Math.max(peakHeap, heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum());
+		}
+		double filesPerSecond= FILES * ROUNDS / (totalTime / 1e9);
+		System.out.printf("TextSearchBenchmark: %d files, %.0f files/s, peak heap %d MB%n", //$NON-NLS-1$
+				Integer.valueOf(FILES), Double.valueOf(filesPerSecond), Long.valueOf(peakHeap >> 20));
+	}
+
+	private static void search(FileTextSearchScope scope, Pattern pattern) {
+		CountingRequestor requestor= new CountingRequestor();
+		TextSearchEngine.create().search(scope, requestor, pattern, null);
+		assertEquals("Number of matches", fgExpectedMatches, requestor.fMatches.get()); //$NON-NLS-1$
+	}
+
+	private static String createContent(Random random) {
+		int lines= 20 + random.nextInt(400);
+		StringBuilder buf= new StringBuilder(lines * 40);
+		for (int i= 0; i < lines; i++) {
+			if (random.nextInt(50) == 0) {
+				buf.append("\tfind the needle").append(i).append(" in this line\n"); //$NON-NLS-1$ //$NON-NLS-2$
+				fgExpectedMatches++;
+			} else {
+				buf.append("\tint value").append(i).append("= compute(value, ").append(random.nextInt()).append(");\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}
+		return buf.toString();
+	}
+}
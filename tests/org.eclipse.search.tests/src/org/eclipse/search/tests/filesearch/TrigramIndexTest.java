@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TrigramIndex;
+import org.eclipse.search.internal.core.text.Trigrams;
+
+public class TrigramIndexTest {
+
+	private Path fDirectory;
+	private TrigramIndex fIndex;
+
+	@Before
+	public void setUp() throws Exception {
+		fDirectory= Files.createTempDirectory("trigram-index"); //$NON-NLS-1$
+		fIndex= new TrigramIndex(fDirectory);
+		fIndex.load();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fIndex.close();
+		try (Stream<Path> files= Files.walk(fDirectory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+	}
+
+	@Test
+	public void testLiteralPattern() {
+		assertArrayEquals(Trigrams.of("needle"), Trigrams.of(Pattern.compile("needle")));
+		assertArrayEquals(Trigrams.of("a.b"), Trigrams.of(Pattern.compile("a.b", Pattern.LITERAL)));
+		assertArrayEquals(Trigrams.of("NEEDLE"), Trigrams.of(Pattern.compile("needle", Pattern.CASE_INSENSITIVE)));
+		assertNull(Trigrams.of(Pattern.compile("ab")));
+		assertNull(Trigrams.of(Pattern.compile("abc*de")));
+	}
+
+	@Test
+	public void testUnsupportedPattern() {
+		assertNull(Trigrams.of(Pattern.compile("needle|haystack")));
+		assertNull(Trigrams.of(Pattern.compile("(?i)needle")));
+		assertNull(Trigrams.of(Pattern.compile("needle", Pattern.COMMENTS)));
+	}
+
+	@Test
+	public void testPatternTrigramsAreContainedInMatches() {
+		String[] patterns= { "needle", "ne+dle", "nee?dle", "n(ee)dle", "need.e", "[a-z]eedle", "need\\w+", "nee\\sdle", "\\Qnee.dle\\E",
+				"ab{0,2}cdef", "abcd*efg", "x\\d+abc", "ab\\tcd", "abc(?:d|e)fgh", "^abcd$", "xyz(abc)+" };
+		String[] samples= { "a NEEDLE", "neeeedle", "nedle", "nEe dle", "need.e needle", "nee.dle", "acdef abbcdef", "abcefg ABCDDDEFG",
+				"x12abc", "ab\tcd", "abcdfgh abcefgh", "abcd", "xyzabcabc" };
+		Random random= new Random(4711);
+		String alphabet= "abcdeeeflnxyzNEDL.\t 0123"; //$NON-NLS-1$
+		for (String regex : patterns) {
+			for (int flags : new int[] { 0, Pattern.CASE_INSENSITIVE, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE }) {
+				Pattern pattern= Pattern.compile(regex, flags);
+				int[] required= Trigrams.of(pattern);
+				assertNotNull(regex, required);
+				for (String text : samples) {
+					assertContainsAll(pattern, required, text);
+				}
+				for (int i= 0; i < 2000; i++) {
+					StringBuilder text= new StringBuilder();
+					int length= random.nextInt(40);
+					for (int j= 0; j < length; j++) {
+						text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+					}
+					assertContainsAll(pattern, required, text.toString());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSearchPatterns() {
+		String[] texts= { "a needle here", "A NEEDLE here", "needles", "the needle.", "x_needle_y" };
+		for (boolean isCaseSensitive : new boolean[] { true, false }) {
+			for (boolean isWholeWord : new boolean[] { true, false }) {
+				Pattern pattern= PatternConstructor.createPattern("needle", false, true, isCaseSensitive, isWholeWord); //$NON-NLS-1$
+				int[] required= Trigrams.of(pattern);
+				assertNotNull(pattern.pattern(), required);
+				assertTrue(pattern.pattern(), required.length > 0);
+				for (String text : texts) {
+					assertContainsAll(pattern, required, text);
+				}
+			}
+		}
+		Pattern wildcard= PatternConstructor.createPattern("nee*le", false, true, false, false); //$NON-NLS-1$
+		assertContainsAll(wildcard, Trigrams.of(wildcard), "a NEEDLE"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testSelectCandidates() throws IOException {
+		fIndex.update("/p/a.txt", 1, Trigrams.of("a needle in a haystack")); //$NON-NLS-1$ //$NON-NLS-2$
+		fIndex.update("/p/b.txt", 1, Trigrams.of("only hay")); //$NON-NLS-1$ //$NON-NLS-2$
+		fIndex.update("/p/c.txt", 1, Trigrams.of("NEEDLE")); //$NON-NLS-1$ //$NON-NLS-2$
+		fIndex.update("/p/d.bin", 1, null); //$NON-NLS-1$
+		assertEquals(4, fIndex.getFileCount());
+
+		String[] paths= { "/p/a.txt", "/p/b.txt", "/p/c.txt", "/p/d.bin", "/p/new.txt" };
+		long[] stamps= { 1, 1, 1, 1, 1 };
+		assertEquals(bits(0, 2, 3, 4), fIndex.selectCandidates(paths, stamps, Trigrams.of("needle"))); //$NON-NLS-1$
+		assertEquals(bits(1, 3, 4), fIndex.selectCandidates(paths, stamps, Trigrams.of("only"))); //$NON-NLS-1$
+
+		// changed and open files are always candidates
+		stamps[1]= 2;
+		stamps[2]= TrigramIndex.NO_STAMP;
+		assertEquals(bits(1, 2, 3, 4), fIndex.selectCandidates(paths, stamps, Trigrams.of("thread"))); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testUpdateAndRemove() throws IOException {
+		fIndex.update("/p/a.txt", 1, Trigrams.of("needle")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(fIndex.isCurrent("/p/a.txt", 1)); //$NON-NLS-1$
+		fIndex.update("/p/a.txt", 2, Trigrams.of("thread")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(fIndex.isCurrent("/p/a.txt", 1)); //$NON-NLS-1$
+		assertTrue(fIndex.isCurrent("/p/a.txt", 2)); //$NON-NLS-1$
+		String[] paths= { "/p/a.txt" };
+		long[] stamps= { 2 };
+		assertEquals(bits(), fIndex.selectCandidates(paths, stamps, Trigrams.of("needle"))); //$NON-NLS-1$
+		assertEquals(bits(0), fIndex.selectCandidates(paths, stamps, Trigrams.of("thread"))); //$NON-NLS-1$
+
+		fIndex.remove("/p/a.txt"); //$NON-NLS-1$
+		assertEquals(0, fIndex.getFileCount());
+		assertEquals(bits(0), fIndex.selectCandidates(paths, stamps, Trigrams.of("needle"))); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testSaveAndLoad() throws IOException {
+		int fileCount= 2000;
+		// every save writes a segment, enough rounds to merge segments several times
+		for (int round= 0; round < 20; round++) {
+			for (int i= round; i < fileCount; i+= 20) {
+				fIndex.update(path(i), i, Trigrams.of(content(i)));
+			}
+			fIndex.save();
+		}
+		// replace and remove some files after the merges
+		for (int i= 0; i < fileCount; i+= 7) {
+			fIndex.update(path(i), fileCount + i, Trigrams.of(replacedContent(i)));
+		}
+		fIndex.remove(path(1));
+		long[] keep= new long[fileCount - 2];
+		for (int i= 2; i < fileCount; i++) {
+			keep[i - 2]= TrigramIndex.hash(path(i));
+		}
+		Arrays.sort(keep);
+		fIndex.retainAll(keep);
+		verifyIndex(fIndex, fileCount);
+
+		fIndex.save();
+		fIndex.close();
+		fIndex= new TrigramIndex(fDirectory);
+		fIndex.load();
+		verifyIndex(fIndex, fileCount);
+	}
+
+	@Test
+	public void testLoadCorruptIndex() throws IOException {
+		fIndex.update("/p/a.txt", 1, Trigrams.of("needle")); //$NON-NLS-1$ //$NON-NLS-2$
+		fIndex.save();
+		fIndex.close();
+		Files.write(fDirectory.resolve("files.idx"), new byte[] { 1, 2, 3 }); //$NON-NLS-1$
+		fIndex= new TrigramIndex(fDirectory);
+		try {
+			fIndex.load();
+			assertTrue("load should fail", false); //$NON-NLS-1$
+		} catch (IOException e) {
+			fIndex.clear();
+		}
+		assertEquals(0, fIndex.getFileCount());
+		fIndex.load();
+		assertEquals(0, fIndex.getFileCount());
+	}
+
+	private static void verifyIndex(TrigramIndex index, int fileCount) throws IOException {
+		String[] paths= new String[fileCount];
+		long[] stamps= new long[fileCount];
+		for (int i= 0; i < fileCount; i++) {
+			paths[i]= path(i);
+			stamps[i]= i % 7 == 0 ? fileCount + i : i;
+		}
+		assertEquals(fileCount - 2, index.getFileCount());
+		BitSet expected= bits(0, 1); // removed files are unknown
+		for (int i= 0; i < fileCount; i++) {
+			String content= i % 7 == 0 ? replacedContent(i) : content(i);
+			if (content.contains("word42")) { //$NON-NLS-1$
+				expected.set(i);
+			}
+		}
+		assertEquals(expected, index.selectCandidates(paths, stamps, Trigrams.of("word42"))); //$NON-NLS-1$
+	}
+
+	private static String path(int i) {
+		return "/project/folder" + i % 10 + "/file" + i + ".txt"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	private static String content(int i) {
+		return "word" + i + " word" + i * 31 % 1000 + " common"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	private static String replacedContent(int i) {
+		return "word" + i; //$NON-NLS-1$
+	}
+
+	private static BitSet bits(int... indices) {
+		BitSet bits= new BitSet();
+		for (int index : indices) {
+			bits.set(index);
+		}
+		return bits;
+	}
+
+	private static void assertContainsAll(Pattern pattern, int[] required, String text) {
+		int[] trigrams= Trigrams.of(text);
+		Matcher matcher= pattern.matcher(text);
+		if (matcher.find()) {
+			for (int key : required) {
+				assertTrue(pattern + " in '" + text + "'", Arrays.binarySearch(trigrams, key) >= 0); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.text.quicksearch.internal.core.LineCache;
+import org.eclipse.text.quicksearch.internal.core.LineCache.FileLines;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("restriction")
+public class LineCacheTest {
+
+	private IProject project;
+
+	@Before
+	public void setUp() throws Exception {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(getClass().getName() + System.currentTimeMillis());
+		project.create(null);
+		project.open(null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		project.delete(true, null);
+	}
+
+	@Test
+	public void testStampValidation() {
+		LineCache cache = new LineCache(1000);
+		IFile file = project.getFile("a.txt");
+		FileLines lines = lines(1, "first", "second");
+		cache.put(file, lines);
+		assertSame(lines, cache.get(file, 1));
+		assertEquals(11, cache.getCachedChars());
+		assertNull(cache.get(file, 2));
+		assertNull(cache.get(file, 1));
+		assertEquals(0, cache.getCachedChars());
+	}
+
+	@Test
+	public void testEviction() {
+		LineCache cache = new LineCache(100);
+		IFile[] files = new IFile[6];
+		for (int i = 0; i < 5; i++) {
+			files[i] = project.getFile("file" + i + ".txt");
+			cache.put(files[i], lines(1, "0123456789", "0123456789"));
+		}
+		assertEquals(100, cache.getCachedChars());
+		assertNotNull(cache.get(files[0], 1)); // now the most recently used
+		files[5] = project.getFile("file5.txt");
+		cache.put(files[5], lines(1, "0123456789", "0123456789"));
+		assertEquals(100, cache.getCachedChars());
+		assertNotNull(cache.get(files[0], 1));
+		assertNull(cache.get(files[1], 1));
+		assertNotNull(cache.get(files[2], 1));
+		assertNotNull(cache.get(files[5], 1));
+
+		// files larger than a quarter of the budget are not cached
+		IFile large = project.getFile("large.txt");
+		cache.put(large, lines(1, "01234567890123456789012345"));
+		assertNull(cache.get(large, 1));
+		assertEquals(100, cache.getCachedChars());
+	}
+
+	@Test
+	public void testLowerCaseLines() {
+		LineCache cache = new LineCache(1000);
+		IFile file = project.getFile("a.txt");
+		FileLines lines = lines(1, "lower", "Mixed CASE", "\u0130stanbul \u03a3\u039f\u03a3");
+		cache.put(file, lines);
+		String[] lowerCaseLines = cache.getLowerCaseLines(lines);
+		// conversion is per char, so lengths and offsets are preserved
+		assertArrayEquals(new String[] { "lower", "mixed case", "istanbul \u03c3\u03bf\u03c3" }, lowerCaseLines);
+		assertSame(lines.getLine(0), lowerCaseLines[0]);
+		assertSame(lowerCaseLines, cache.getLowerCaseLines(lines));
+		// only the converted copies are charged
+		assertEquals(27 + 22, cache.getCachedChars());
+	}
+
+	private static FileLines lines(long stamp, String... lines) {
+		int[] offsets = new int[lines.length];
+		for (int i = 1; i < lines.length; i++) {
+			offsets[i] = offsets[i - 1] + lines[i - 1].length() + 1;
+		}
+		return new FileLines(stamp, lines, offsets);
+	}
+}
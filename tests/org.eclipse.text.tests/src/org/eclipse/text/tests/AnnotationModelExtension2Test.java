@@ -276,4 +276,48 @@ public class AnnotationModelExtension2Test {
 		assertPermutations(true, true, expected);
 	}
 
+	@Test
+	public void testAheadBehindAfterDocumentChange() throws Exception {
+		addAnnotations(fAnnotationModel, fAnnotationModel, fAnnotationModel);
+		assertEquals(new Annotation[] { fInside, fInsideIn, fInsideOut, fAfter, fAfterIn, fBefore, fBeforeIn }, getAnnotations(true, true), fAnnotationModel, fAnnotationModel, fAnnotationModel);
+
+		// moves the annotations after the region out of it
+		fDocument.replace(15, 0, "more wood ");
+		assertEquals(new Annotation[] { fInside, fInsideIn, fInsideOut, fBefore, fBeforeIn }, getAnnotations(true, true), fAnnotationModel, fAnnotationModel, fAnnotationModel);
+
+		// moves them back into the region, collapses the inner annotation
+		fDocument.replace(11, 19, "");
+		assertEquals(new Annotation[] { fInside, fInsideIn, fInsideOut, fAfter, fAfterIn, fAfterOut, fBefore, fBeforeIn }, getAnnotations(true, true), fAnnotationModel, fAnnotationModel, fAnnotationModel);
+	}
+
+	@Test
+	public void testAheadBehindRepeatedlyAfterDocumentChange() throws Exception {
+		addAnnotations(fAnnotationModel, fAnnotationModel, fAnnotationModel);
+		fDocument.replace(15, 0, "more wood ");
+
+		// the first queries are answered by the document, the later ones by the rebuilt index
+		for (int i= 0; i < 20; i++)
+			assertEquals(new Annotation[] { fInside, fInsideIn, fInsideOut, fBefore, fBeforeIn }, getAnnotations(true, true), fAnnotationModel, fAnnotationModel, fAnnotationModel);
+
+		fDocument.replace(11, 19, "");
+		for (int i= 0; i < 20; i++)
+			assertEquals(new Annotation[] { fInside, fInsideIn, fInsideOut, fAfter, fAfterIn, fAfterOut, fBefore, fBeforeIn }, getAnnotations(true, true), fAnnotationModel, fAnnotationModel, fAnnotationModel);
+	}
+
+	@Test
+	public void testAheadBehindAfterReplaceAnnotations() throws Exception {
+		addAnnotations(fAnnotationModel, fAnnotationModel, fAnnotationModel);
+		assertEquals(new Annotation[] { fInside, fInsideIn, fInsideOut, fAfter, fAfterIn, fBefore, fBeforeIn }, getAnnotations(true, true), fAnnotationModel, fAnnotationModel, fAnnotationModel);
+
+		Annotation added= new Annotation(false);
+		HashMap<Annotation, Position> annotationsToAdd= new HashMap<>();
+		annotationsToAdd.put(added, new Position(15, 0));
+		fAnnotationModel.replaceAnnotations(new Annotation[] { fInside, fBeforeIn }, annotationsToAdd);
+		assertEquals(new Annotation[] { fInsideIn, fInsideOut, fAfter, fAfterIn, fBefore, added }, getAnnotations(true, true), fAnnotationModel, fAnnotationModel, fAnnotationModel);
+
+		fAnnotationModel.modifyAnnotationPosition(added, new Position(40, 2));
+		fAnnotationModel.modifyAnnotationPosition(fAfterOut, new Position(5, 6));
+		assertEquals(new Annotation[] { fInsideIn, fInsideOut, fAfter, fAfterIn, fBefore, fAfterOut }, getAnnotations(true, true), fAnnotationModel, fAnnotationModel, fAnnotationModel);
+	}
+
 }
@@ -23,6 +23,7 @@ import org.junit.Test;
 import org.eclipse.jface.text.CopyOnWriteTextStore;
 import org.eclipse.jface.text.GapTextStore;
 import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTreeTextStore;
 
 /**
  * Test suite for the CopyOnWriteTextStore.
@@ -35,6 +36,9 @@ public class CopyOnWriteTextStoreTest {
 		COWTextStore() {
 			super(new GapTextStore());
 		}
+		COWTextStore(ITextStore modifiableTextStore, ITextStore largeTextStore, int largeTextThreshold) {
+			super(modifiableTextStore, largeTextStore, largeTextThreshold);
+		}
 		ITextStore getStore() {
 			return fTextStore;
 		}
@@ -43,6 +47,12 @@ public class CopyOnWriteTextStoreTest {
 		}
 	}
 
+	private static class LargeCOWTextStore extends COWTextStore {
+		LargeCOWTextStore() {
+			super(new GapTextStore(), new PieceTreeTextStore(), 10);
+		}
+	}
+
 	private static final String INITIAL_CONTENT= "xxxxx";
 
 	private COWTextStore fText;
@@ -82,6 +92,24 @@ public class CopyOnWriteTextStoreTest {
 
 	}
 
+	@Test
+	public void testFirstModificationOfLargeContent() {
+
+		fText= new LargeCOWTextStore();
+		fText.set(INITIAL_CONTENT);
+		checkReplace(1, 1, "y");
+		assertEquals(GapTextStore.class, fText.getStore().getClass());
+
+		fText.set(INITIAL_CONTENT + INITIAL_CONTENT);
+		checkReplace(1, 1, "y");
+		assertEquals(PieceTreeTextStore.class, fText.getStore().getClass());
+
+		fText.set(INITIAL_CONTENT);
+		checkReplace(1, 1, "y");
+		assertEquals(GapTextStore.class, fText.getStore().getClass());
+
+	}
+
 	@Test
 	public void testSet() {
 
@@ -15,11 +15,16 @@ package org.eclipse.text.tests;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Random;
+
 import org.junit.Test;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.ConfigurableLineTracker;
+import org.eclipse.jface.text.DefaultLineTracker;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ILineTracker;
 
 public class DefaultLineTrackerTest {
 
@@ -37,4 +42,95 @@ public class DefaultLineTrackerTest {
 		assertEquals(document.getLineDelimiter(2), null);
 
 	}
+
+	@Test
+	public void testSetLargeText() throws BadLocationException {
+		String text= createLargeText();
+		DefaultLineTracker tracker= new DefaultLineTracker();
+		ConfigurableLineTracker expected= new ConfigurableLineTracker(DefaultLineTracker.DELIMITERS);
+		tracker.set(text);
+		expected.set(text);
+		assertSameLines(expected, tracker);
+
+		// converts the tracker to its tree based implementation
+		tracker.replace(0, 0, "\n");
+		expected.replace(0, 0, "\n");
+		assertSameLines(expected, tracker);
+
+		tracker.set(text + "\r");
+		expected.set(text + "\r");
+		assertSameLines(expected, tracker);
+
+		tracker.replace(text.length() / 2, 1000, "x\r\ny");
+		expected.replace(text.length() / 2, 1000, "x\r\ny");
+		assertSameLines(expected, tracker);
+	}
+
+	@Test
+	public void testSetRandomText() throws BadLocationException {
+		Random random= new Random(7);
+		char[] chars= { 'a', 'b', '\r', '\n' };
+		for (int i= 0; i < 200; i++) {
+			char[] text= new char[random.nextInt(20000)];
+			for (int j= 0; j < text.length; j++)
+				text[j]= chars[random.nextInt(chars.length)];
+			DefaultLineTracker tracker= new DefaultLineTracker();
+			ConfigurableLineTracker expected= new ConfigurableLineTracker(DefaultLineTracker.DELIMITERS);
+			tracker.set(new String(text));
+			expected.set(new String(text));
+			assertSameLines(expected, tracker);
+		}
+	}
+
+	@Test
+	public void testSetEmptyText() throws BadLocationException {
+		DefaultLineTracker tracker= new DefaultLineTracker();
+		tracker.set("a\nb");
+		tracker.replace(0, 0, "\r\n");
+		tracker.set("");
+		assertEquals(1, tracker.getNumberOfLines());
+		assertEquals(0, tracker.getLineLength(0));
+		assertEquals(null, tracker.getLineDelimiter(0));
+		tracker.set("\r\n");
+		assertEquals(2, tracker.getNumberOfLines());
+		assertEquals("\r\n", tracker.getLineDelimiter(0));
+		assertEquals(2, tracker.getLineOffset(1));
+	}
+
+	/**
+	 * Creates a text large enough to be scanned in parallel, with "\r\n" delimiters straddling
+	 * the scan chunk boundaries.
+	 *
+	 * @return the text
+	 */
+	private static String createLargeText() {
+		Random random= new Random(42);
+		StringBuilder buffer= new StringBuilder(5 * 1024 * 1024);
+		String[] delimiters= { "\r", "\n", "\r\n", "\n\r", "" };
+		while (buffer.length() < 5 * 1024 * 1024) {
+			for (int i= random.nextInt(120); i > 0; i--)
+				buffer.append((char) ('a' + random.nextInt(26)));
+			buffer.append(delimiters[random.nextInt(delimiters.length)]);
+			if (random.nextInt(100) == 0) {
+				// place a "\r\n" across the next power of two boundary
+				int boundary= Integer.highestOneBit(buffer.length()) << 1;
+				while (buffer.length() < boundary - 1)
+					buffer.append('x');
+				buffer.append("\r\n");
+			}
+		}
+		return buffer.toString();
+	}
+
+	private static void assertSameLines(ILineTracker expected, ILineTracker actual) throws BadLocationException {
+		int lines= expected.getNumberOfLines();
+		assertEquals(lines, actual.getNumberOfLines());
+		for (int i= 0; i < lines; i++) {
+			assertEquals(expected.getLineOffset(i), actual.getLineOffset(i));
+			assertEquals(expected.getLineLength(i), actual.getLineLength(i));
+			assertEquals(expected.getLineDelimiter(i), actual.getLineDelimiter(i));
+		}
+		for (int offset= 0, length= Math.min(100_000, expected.getLineOffset(lines - 1)); offset < length; offset+= 7)
+			assertEquals(expected.getLineNumberOfOffset(offset), actual.getLineNumberOfOffset(offset));
+	}
 }
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.Position;
+
+/**
+ * Tests that a {@link DefaultPositionUpdater} which only visits the positions affected by a
+ * change adapts the positions like one which visits all positions.
+ *
+ * @since 3.15
+ */
+public class DefaultPositionUpdaterTest {
+
+	private static final String SKIPPING= "skipping";
+	private static final String VISITING= "visiting";
+
+	private Document fDocument;
+
+	@Before
+	public void setUp() {
+		fDocument= new Document("x-x-x-x-x-x-x-x-x-x-x-x-x-x-x-x-x-x-x-x");
+		fDocument.addPositionCategory(SKIPPING);
+		fDocument.addPositionUpdater(new DefaultPositionUpdater(SKIPPING, true));
+		fDocument.addPositionCategory(VISITING);
+		fDocument.addPositionUpdater(new DefaultPositionUpdater(VISITING, false));
+	}
+
+	private void addPosition(int offset, int length) throws BadLocationException, BadPositionCategoryException {
+		fDocument.addPosition(SKIPPING, new Position(offset, length));
+		fDocument.addPosition(VISITING, new Position(offset, length));
+	}
+
+	private void replace(int offset, int length, String text) throws BadLocationException, BadPositionCategoryException {
+		Position[] skipping= fDocument.getPositions(SKIPPING);
+		Position[] visiting= fDocument.getPositions(VISITING);
+
+		fDocument.replace(offset, length, text);
+
+		String change= "replace(" + offset + ", " + length + ", \"" + text + "\")";
+		assertEquals(change, toString(visiting), toString(skipping));
+		assertEquals(change, toString(fDocument.getPositions(VISITING)), toString(fDocument.getPositions(SKIPPING)));
+		// the positions ordered by their last offsets are kept in order, so they are found
+		for (int i= 0; i <= fDocument.getLength(); i++)
+			assertEquals(change + " ending from " + i, toString(getEndingFrom(i)), toString(sort(fDocument.getPositions(SKIPPING, i, Integer.MAX_VALUE - i, true, false))));
+	}
+
+	private Position[] getEndingFrom(int offset) throws BadPositionCategoryException {
+		List<Position> ending= new ArrayList<>();
+		for (Position position : fDocument.getPositions(SKIPPING)) {
+			int lastOffset= position.length > 0 ? position.offset + position.length - 1 : position.offset;
+			if (lastOffset >= offset)
+				ending.add(position);
+		}
+		return sort(ending.toArray(new Position[ending.size()]));
+	}
+
+	private static Position[] sort(Position[] positions) {
+		Arrays.sort(positions, (p1, p2) -> p1.offset != p2.offset ? Integer.compare(p1.offset, p2.offset) : Integer.compare(p1.length, p2.length));
+		return positions;
+	}
+
+	private static String toString(Position[] positions) {
+		StringBuilder builder= new StringBuilder();
+		for (Position position : positions)
+			builder.append('[').append(position.offset).append(',').append(position.length).append(position.isDeleted ? ",deleted] " : "] ");
+		return builder.toString();
+	}
+
+	@Test
+	public void testInsert() throws Exception {
+		addPosition(0, 0);
+		addPosition(0, 4);
+		addPosition(4, 0);
+		addPosition(4, 4);
+		addPosition(6, 2);
+		addPosition(8, 0);
+		addPosition(12, 3);
+
+		replace(4, 0, "yy");
+		replace(5, 0, "yy");
+		replace(1, 0, "y");
+		replace(fDocument.getLength(), 0, "y");
+		replace(0, 0, "y");
+	}
+
+	@Test
+	public void testDelete() throws Exception {
+		addPosition(0, 0);
+		addPosition(2, 6);
+		addPosition(4, 0);
+		addPosition(5, 0);
+		addPosition(5, 1);
+		addPosition(8, 0);
+		addPosition(8, 4);
+		addPosition(12, 3);
+
+		replace(4, 4, "");
+		replace(3, 1, "");
+		replace(3, 0, "");
+		replace(10, 2, "");
+		replace(0, 1, "");
+	}
+
+	@Test
+	public void testReplace() throws Exception {
+		addPosition(2, 8);
+		addPosition(4, 0);
+		addPosition(6, 0);
+		addPosition(6, 2);
+		addPosition(10, 0);
+		addPosition(10, 2);
+
+		replace(6, 4, "yyy");
+		replace(4, 2, "y");
+		replace(2, 1, "yyyy");
+		replace(0, 20, "y");
+	}
+
+	@Test
+	public void testZeroLengthPositionAtShrunkenEnd() throws Exception {
+		addPosition(10, 12);
+		addPosition(18, 0);
+		addPosition(19, 0);
+
+		// shrinks the first position to end at the zero-length position
+		replace(18, 5, "");
+		// shifts the zero-length position but not the end of the first one
+		replace(18, 0, "yyyy");
+		// deletes the zero-length position
+		replace(17, 7, "");
+	}
+
+	@Test
+	public void testRandomChanges() throws Exception {
+		Random random= new Random(42);
+		for (int i= 0; i < 200; i++) {
+			int length= fDocument.getLength();
+			int offset= random.nextInt(length + 1);
+			if (random.nextInt(3) == 0) {
+				addPosition(offset, random.nextInt(4) == 0 ? 0 : random.nextInt(length - offset + 1));
+			} else {
+				char[] text= new char[random.nextInt(6)];
+				Arrays.fill(text, 'y');
+				replace(offset, random.nextInt(Math.min(8, length - offset + 1)), new String(text));
+			}
+		}
+	}
+}
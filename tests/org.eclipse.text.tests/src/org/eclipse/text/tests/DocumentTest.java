@@ -16,6 +16,9 @@ package org.eclipse.text.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Comparator;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -471,4 +474,21 @@ public class DocumentTest {
 
 		checkPositions(positions);
 	}
+
+	@Test
+	public void testOverlappingPositions() throws Exception {
+		Position[] positions= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 65, 5, true, true);
+		Arrays.sort(positions, Comparator.comparingInt(Position::getOffset));
+		checkPositions(new Position[] {
+			new Position( 38, 111),
+			new Position( 61,  12)
+		}, positions);
+
+		positions= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 130, 2, true, true);
+		Arrays.sort(positions, Comparator.comparingInt(Position::getOffset));
+		checkPositions(new Position[] {
+			new Position( 38, 111),
+			new Position(119,  27)
+		}, positions);
+	}
 }
@@ -27,6 +27,9 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
@@ -503,4 +506,91 @@ public class FindReplaceDocumentAdapterTest {
 		}
 		fail();
 	}
+
+	@Test
+	public void testFindAll() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+
+		IRegion[] result= adapter.findAll(0, fDocument.getLength(), "public", true, true, false, null);
+		assertArrayEquals(new IRegion[] { new Region(38, 6), new Region(75, 6), new Region(119, 6) }, result);
+
+		result= adapter.findAll(0, fDocument.getLength(), "COMMENT", false, false, false, null);
+		assertEquals(3, result.length);
+
+		result= adapter.findAll(0, fDocument.getLength(), "COMMENT", true, false, false, null);
+		assertEquals(0, result.length);
+
+		// only matches lying completely within the range
+		result= adapter.findAll(40, 80, "public", true, false, false, null);
+		assertArrayEquals(new IRegion[] { new Region(75, 6) }, result);
+
+		// word boundaries are evaluated against the text around the range
+		result= adapter.findAll(76, 10, "ublic", true, false, false, null);
+		assertArrayEquals(new IRegion[] { new Region(76, 5) }, result);
+		result= adapter.findAll(76, 10, "\\bublic", true, false, true, null);
+		assertEquals(0, result.length);
+
+		// empty matches are skipped
+		result= adapter.findAll(0, fDocument.getLength(), "x*", true, false, true, null);
+		assertEquals(0, result.length);
+
+		result= adapter.findAll(0, fDocument.getLength(), "^\\t[^\\t]", true, false, true, null);
+		assertEquals(2, result.length);
+	}
+
+	@Test
+	public void testReplaceAll() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+
+		IRegion[] result= adapter.replaceAll(0, fDocument.getLength(), "method", "function", true, false, false, null);
+		assertArrayEquals(new IRegion[] { new Region(87, 8), new Region(133, 8) }, result);
+		assertEquals("function1", fDocument.get(87, 9));
+		assertEquals("function2", fDocument.get(133, 9));
+
+		result= adapter.replaceAll(0, fDocument.getLength(), "function(\\d)", "m$1_\\C$0", true, false, true, null);
+		assertEquals(2, result.length);
+		assertEquals("m1_function1()", fDocument.get(result[0].getOffset(), result[0].getLength() + 2));
+		assertEquals("m2_function2", fDocument.get(result[1].getOffset(), result[1].getLength()));
+
+		result= adapter.replaceAll(0, fDocument.getLength(), "comment(\\d)", "\\C$1NOTE", false, false, true, null);
+		assertEquals(2, result.length);
+		assertEquals("1note", fDocument.get(result[0].getOffset(), result[0].getLength()));
+
+		result= adapter.replaceAll(0, fDocument.getLength(), "nothing", "x", true, false, false, null);
+		assertEquals(0, result.length);
+
+		try {
+			adapter.replaceAll(0, fDocument.getLength(), "(m)", "$2", true, false, true, null);
+			fail();
+		} catch (PatternSyntaxException e) {
+		}
+	}
+
+	@Test
+	public void testReplaceAllInRange() throws Exception {
+		fDocument.set("a a a a a");
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+
+		IRegion[] result= adapter.replaceAll(2, 5, "a", "bb", true, false, false, null);
+		assertArrayEquals(new IRegion[] { new Region(2, 2), new Region(5, 2), new Region(8, 2) }, result);
+		assertEquals("a bb bb bb a", fDocument.get());
+
+		result= adapter.replaceAll(0, fDocument.getLength(), "b", null, true, false, false, null);
+		assertEquals(6, result.length);
+		assertEquals("a    a", fDocument.get());
+	}
+
+	@Test
+	public void testReplaceAllCanceled() throws Exception {
+		String original= fDocument.get();
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		monitor.setCanceled(true);
+		try {
+			adapter.replaceAll(0, fDocument.getLength(), "public", "private", true, false, false, monitor);
+			fail();
+		} catch (OperationCanceledException e) {
+		}
+		assertEquals(original, fDocument.get());
+	}
 }
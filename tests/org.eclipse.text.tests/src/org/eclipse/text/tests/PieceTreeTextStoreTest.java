@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTreeTextStore;
+
+public class PieceTreeTextStoreTest extends TextStoreTest {
+
+	@Override
+	protected ITextStore createTextStore() {
+		return new PieceTreeTextStore();
+	}
+
+	@Test
+	public void testRandomEditsOnLargeText() {
+		Random random= new Random(4711);
+		StringBuilder expected= new StringBuilder();
+		for (int i= 0; i < 100_000; i++)
+			expected.append((char) ('a' + random.nextInt(26)));
+
+		ITextStore store= createTextStore();
+		store.set(expected.toString());
+		for (int i= 0; i < 5_000; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(Math.min(5_000, expected.length() - offset) + 1);
+			String text= randomText(random, random.nextInt(4) == 0 ? random.nextInt(5_000) : random.nextInt(10));
+			expected.replace(offset, offset + length, text);
+			store.replace(offset, length, text);
+			assertEquals(expected.length(), store.getLength());
+
+			int start= random.nextInt(expected.length() + 1);
+			int end= start + random.nextInt(expected.length() - start + 1);
+			assertEquals(expected.substring(start, end), store.get(start, end - start));
+			if (start < expected.length())
+				assertEquals(expected.charAt(start), store.get(start));
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+		for (int i= 0; i < expected.length(); i++)
+			assertEquals(expected.charAt(i), store.get(i));
+	}
+
+	@Test
+	public void testCharSequenceContent() {
+		StringBuilder content= new StringBuilder("0123456789\n".repeat(1_000));
+		ITextStore store= new PieceTreeTextStore(content);
+		StringBuilder expected= new StringBuilder(content);
+		store.replace(5_000, 10, "abc");
+		expected.replace(5_000, 5_010, "abc");
+		store.replace(20, 0, "x");
+		expected.replace(20, 20, "x");
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+		assertEquals(expected.substring(4_990, 5_020), store.get(4_990, 30));
+		assertEquals(expected.charAt(7_000), store.get(7_000));
+	}
+
+	@Test
+	public void testTyping() {
+		ITextStore store= createTextStore();
+		StringBuilder expected= new StringBuilder();
+		for (int i= 0; i < 10_000; i++) {
+			String text= i % 80 == 79 ? "\n" : "x";
+			store.replace(expected.length(), 0, text);
+			expected.append(text);
+		}
+		for (int i= 0; i < 1_000; i++) {
+			store.replace(expected.length() - 1, 1, null);
+			expected.setLength(expected.length() - 1);
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+	}
+
+	private static String randomText(Random random, int length) {
+		char[] chars= new char[length];
+		for (int i= 0; i < length; i++)
+			chars[i]= (char) ('A' + random.nextInt(26));
+		return new String(chars);
+	}
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     See git history
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTreeTextStore;
+
+/**
+ * Compares the {@link GapTextStore} with the {@link PieceTreeTextStore} for scattered edits, local
+ * edits and random reads on large texts. This is not part of the test suite; run it as a Java
+ * application, optionally passing the text length in characters as argument.
+ */
+public class TextStoreBenchmark {
+
+	private static final int WARMUP_ROUNDS= 3;
+	private static final int EDITS= 2_000;
+	private static final int READS= 1_000_000;
+
+	public static void main(String[] args) {
+		int length= args.length > 0 ? Integer.parseInt(args[0]) : 50 * 1024 * 1024;
+		String text= createText(length);
+
+		run("GapTextStore", GapTextStore::new, text);
+		run("PieceTreeTextStore", PieceTreeTextStore::new, text);
+	}
+
+	private static void run(String name, Supplier<ITextStore> factory, String text) {
+		for (int i= 0; i < WARMUP_ROUNDS; i++)
+			measure(factory, text);
+		long[] times= measure(factory, text);
+		System.out.printf("%-20s scattered edits: %6d ms, local edits: %6d ms, random reads: %6d ms%n", //$NON-NLS-1$
+				name, times[0], times[1], times[2]);
+	}
+
+	private static long[] measure(Supplier<ITextStore> factory, String text) {
+		Random random= new Random(42);
+		ITextStore store= factory.get();
+		store.set(text);
+
+		long start= System.nanoTime();
+		for (int i= 0; i < EDITS; i++) {
+			int offset= random.nextInt(store.getLength() - 10);
+			store.replace(offset, 5, "inserted"); //$NON-NLS-1$
+		}
+		long scattered= System.nanoTime() - start;
+
+		start= System.nanoTime();
+		int offset= store.getLength() / 2;
+		for (int i= 0; i < EDITS; i++)
+			store.replace(offset + i, 0, "x"); //$NON-NLS-1$
+		long local= System.nanoTime() - start;
+
+		start= System.nanoTime();
+		int checksum= 0;
+		for (int i= 0; i < READS; i++)
+			checksum+= store.get(random.nextInt(store.getLength()));
+		long reads= System.nanoTime() - start;
+		if (checksum == 42)
+			System.out.println();
+
+		return new long[] { scattered / 1_000_000, local / 1_000_000, reads / 1_000_000 };
+	}
+
+	private static String createText(int length) {
+		Random random= new Random(4711);
+		char[] chars= new char[length];
+		for (int i= 0; i < length; i++)
+			chars[i]= i % 80 == 79 ? '\n' : (char) ('a' + random.nextInt(26));
+		return new String(chars);
+	}
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.genericeditor.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
+
+import org.eclipse.ui.internal.genericeditor.CompositeReconcilerStrategy;
+
+public class CompositeReconcilerStrategyTest {
+
+	@Test
+	public void testStrategiesReconcileSequentiallyByDefault() {
+		List<String> calls = Collections.synchronizedList(new ArrayList<>());
+		List<IReconcilingStrategy> strategies = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			String name = "strategy" + i;
+			strategies.add(new AwaitingStrategy(new CountDownLatch(0)) {
+				@Override
+				public void reconcile(IRegion partition) {
+					calls.add(name + '@' + Thread.currentThread().getName());
+				}
+			});
+		}
+		CompositeReconcilerStrategy composite = new CompositeReconcilerStrategy(strategies);
+
+		composite.reconcile(new Region(0, 0));
+
+		String thread = Thread.currentThread().getName();
+		Assert.assertEquals(List.of("strategy0@" + thread, "strategy1@" + thread, "strategy2@" + thread), calls);
+		for (IReconcilingStrategy strategy : strategies) {
+			Assert.assertEquals(1, composite.getLatencies().get(strategy).getCount());
+		}
+	}
+
+	@Test
+	public void testStrategiesReconcileConcurrently() {
+		CountDownLatch latch = new CountDownLatch(3);
+		List<IReconcilingStrategy> strategies = List.of(new AwaitingStrategy(latch), new AwaitingStrategy(latch),
+				new AwaitingStrategy(latch));
+		CompositeReconcilerStrategy composite = new CompositeReconcilerStrategy(strategies, true);
+
+		composite.reconcile(new Region(0, 0));
+
+		Assert.assertEquals("strategies did not run concurrently", 0, latch.getCount());
+		for (IReconcilingStrategy strategy : strategies) {
+			Assert.assertEquals(1, composite.getLatencies().get(strategy).getCount());
+		}
+	}
+
+	@Test
+	public void testFailureIsRethrown() {
+		IReconcilingStrategy failing = new AwaitingStrategy(new CountDownLatch(0)) {
+			@Override
+			public void reconcile(IRegion partition) {
+				throw new IllegalArgumentException();
+			}
+		};
+		for (boolean concurrent : new boolean[] { false, true }) {
+			CompositeReconcilerStrategy composite = new CompositeReconcilerStrategy(
+					List.of(new AwaitingStrategy(new CountDownLatch(0)), failing), concurrent);
+
+			try {
+				composite.reconcile(new Region(0, 0));
+				Assert.fail("failure of a strategy was not rethrown");
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+	}
+
+	private static class AwaitingStrategy implements IReconcilingStrategy {
+
+		private final CountDownLatch fLatch;
+
+		AwaitingStrategy(CountDownLatch latch) {
+			fLatch = latch;
+		}
+
+		@Override
+		public void setDocument(IDocument document) {
+			// not needed
+		}
+
+		@Override
+		public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
+			reconcile(subRegion);
+		}
+
+		@Override
+		public void reconcile(IRegion partition) {
+			fLatch.countDown();
+			try {
+				fLatch.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
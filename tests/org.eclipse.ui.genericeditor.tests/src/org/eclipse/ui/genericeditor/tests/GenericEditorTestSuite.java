@@ -30,6 +30,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		FoldingTest.class,
 		AutoEditTest.class,
 		ReconcilerTest.class,
+		CompositeReconcilerStrategyTest.class,
 		HighlightTest.class,
 		IconsTest.class,
 		TestQuickAssist.class,
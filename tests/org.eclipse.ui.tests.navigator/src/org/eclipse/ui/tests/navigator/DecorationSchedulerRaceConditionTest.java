@@ -14,8 +14,14 @@
 package org.eclipse.ui.tests.navigator;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Semaphore;
 
 import org.eclipse.core.resources.IProject;
@@ -25,6 +31,9 @@ import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.IJobChangeListener;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.jface.viewers.ILabelDecorator;
+import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.jface.viewers.LabelProviderChangedEvent;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.ui.IDecoratorManager;
@@ -211,4 +220,91 @@ public class DecorationSchedulerRaceConditionTest extends NavigatorTestBase {
 		TreeItem[] rootItemsAfter = _viewer.getTree().getItems();
 		assertEquals(TestWorkspace.P1_PROJECT_NAME + DECORATION_TEXT_3, rootItemsAfter[0].getText());
 	}
+
+	@Test
+	public void testConcurrentDecorationRequests() throws Exception {
+		p1Project.setSessionProperty(DecorationSchedulerRaceConditionTestDecorator.DECO_PROP, DECORATION_TEXT_2);
+		p2Project.setSessionProperty(DecorationSchedulerRaceConditionTestDecorator.DECO_PROP, DECORATION_TEXT_2);
+		DecorationSchedulerRaceConditionTestDecorator.unblockDecoration();
+
+		// request the decorations from several threads at once
+		ILabelDecorator decorator = PlatformUI.getWorkbench().getDecoratorManager().getLabelDecorator();
+		List<Throwable> errors = new CopyOnWriteArrayList<>();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+					for (int j = 0; j < 20; j++) {
+						decorator.decorateText(TestWorkspace.P1_PROJECT_NAME, p1Project);
+						decorator.decorateText(TestWorkspace.P2_PROJECT_NAME, p2Project);
+					}
+				} catch (Throwable e) {
+					errors.add(e);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join(TIMEOUT_DECORATOR);
+		}
+		assertTrue("Decoration failed: " + errors, errors.isEmpty());
+
+		_viewer.update(p1Project, null);
+		_viewer.update(p2Project, null);
+		waitForP2Decoration.waitForCondition(Display.getCurrent(), TIMEOUT_DECORATOR);
+		DisplayHelper.sleep(Display.getCurrent(), TIMEOUT_UPDATE_JOB);
+
+		assertEquals(TestWorkspace.P1_PROJECT_NAME + DECORATION_TEXT_2, getText(p1Project));
+		assertEquals(TestWorkspace.P2_PROJECT_NAME + DECORATION_TEXT_2, getText(p2Project));
+	}
+
+	@Test
+	public void testLabelProviderChangeInvalidatesChangedElements() throws Exception {
+		DecorationSchedulerRaceConditionTestDecorator.unblockDecoration();
+
+		// get a result for p2 cached, the one of p1 is cached by setUp()
+		p2Project.setSessionProperty(DecorationSchedulerRaceConditionTestDecorator.DECO_PROP, DECORATION_TEXT_1);
+		DecorationSchedulerRaceConditionTestDecorator.resetWait();
+		_viewer.update(p2Project, null);
+		waitForP2Decoration.waitForCondition(Display.getCurrent(), TIMEOUT_DECORATOR);
+		DisplayHelper.sleep(Display.getCurrent(), TIMEOUT_UPDATE_JOB);
+		assertEquals(TestWorkspace.P2_PROJECT_NAME + DECORATION_TEXT_1, getText(p2Project));
+
+		// report a change for p1 only and hold its decoration
+		p1Project.setSessionProperty(DecorationSchedulerRaceConditionTestDecorator.DECO_PROP, DECORATION_TEXT_3);
+		p2Project.setSessionProperty(DecorationSchedulerRaceConditionTestDecorator.DECO_PROP, DECORATION_TEXT_3);
+		DecorationSchedulerRaceConditionTestDecorator.resetWait();
+		DecorationSchedulerRaceConditionTestDecorator.blockDecoration();
+		IDecoratorManager manager = PlatformUI.getWorkbench().getDecoratorManager();
+		ILabelDecorator decorator = manager.getLabelDecorator();
+		((ILabelProviderListener) manager).labelProviderChanged(new LabelProviderChangedEvent(decorator, p1Project));
+		waitForP1Decoration.waitForCondition(Display.getCurrent(), TIMEOUT_DECORATOR);
+
+		// the previous result of p1 is served while it is decorated again
+		assertEquals(TestWorkspace.P1_PROJECT_NAME + DECORATION_TEXT_1,
+				decorator.decorateText(TestWorkspace.P1_PROJECT_NAME, p1Project));
+
+		DecorationSchedulerRaceConditionTestDecorator.unblockDecoration();
+		DisplayHelper.sleep(Display.getCurrent(), TIMEOUT_UPDATE_JOB);
+		assertEquals(TestWorkspace.P1_PROJECT_NAME + DECORATION_TEXT_3, getText(p1Project));
+
+		// the result of p2 is kept, it is not decorated again
+		assertFalse(DecorationSchedulerRaceConditionTestDecorator.hasP2Run(10));
+		assertEquals(TestWorkspace.P2_PROJECT_NAME + DECORATION_TEXT_1,
+				decorator.decorateText(TestWorkspace.P2_PROJECT_NAME, p2Project));
+	}
+
+	private String getText(IProject project) {
+		for (TreeItem item : _viewer.getTree().getItems()) {
+			if (project.equals(item.getData())) {
+				return item.getText();
+			}
+		}
+		fail("No tree item for " + project.getName());
+		return null;
+	}
 }
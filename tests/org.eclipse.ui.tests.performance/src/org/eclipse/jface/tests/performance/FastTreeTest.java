@@ -57,6 +57,21 @@ public class FastTreeTest extends TreeAddTest {
 		doTestAdd(100, TEST_COUNT, false);
 	}
 
+	/**
+	 * Report the heap used by the items and the element map of the tree.
+	 */
+	public void testHeapPerElement() {
+		openBrowser();
+
+		TestTreeElement input = new TestTreeElement(0, null);
+		input.createChildren(TEST_COUNT * 10);
+		processEvents();
+		long heapBefore = usedHeap();
+		viewer.setInput(input);
+		reportHeapPerElement(heapBefore, input.children.length);
+		assertEquals(input.children.length, viewer.getTree().getItemCount());
+	}
+
 	/**
 	 * Run the test for one of the fast insertions.
 	 */
@@ -129,6 +129,20 @@ public class TableViewerRefreshTest extends ViewerTest {
 		assertPerformance();
 	}
 
+	/**
+	 * Report the heap used by the items and the element map of the table.
+	 */
+	public void testHeapPerElement() {
+		openBrowser();
+		viewer.setInput(null);
+		processEvents();
+
+		long heapBefore = usedHeap();
+		viewer.setInput(getInitialInput());
+		reportHeapPerElement(heapBefore, RefreshTestContentProvider.ELEMENT_COUNT);
+		assertEquals(RefreshTestContentProvider.ELEMENT_COUNT, viewer.getTable().getItemCount());
+	}
+
 	/**
 	 * Test the time for doing a refresh.
 	 */
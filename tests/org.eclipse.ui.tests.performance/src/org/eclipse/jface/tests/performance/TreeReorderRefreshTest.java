@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.performance;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * TreeReorderRefreshTest measures refreshing a tree whose children were
+ * reordered, inserted or removed, and checks that the items match the
+ * children afterwards.
+ */
+public class TreeReorderRefreshTest extends TreeTest {
+
+	private static final int CHILD_COUNT = 2000;
+
+	public TreeReorderRefreshTest(String testName, int tagging) {
+		super(testName, tagging);
+	}
+
+	public TreeReorderRefreshTest(String testName) {
+		super(testName);
+	}
+
+	public void testShuffle() throws CoreException {
+		Random random = new Random(42);
+		doTestRefresh(children -> {
+			List<TestTreeElement> list = Arrays.asList(children.clone());
+			Collections.shuffle(list, random);
+			return list.toArray(new TestTreeElement[children.length]);
+		});
+	}
+
+	public void testInsertInMiddle() throws CoreException {
+		doTestRefresh(children -> {
+			TestTreeElement[] result = new TestTreeElement[children.length + 1];
+			int middle = children.length / 2;
+			System.arraycopy(children, 0, result, 0, middle);
+			result[middle] = new TestTreeElement(children.length, children[0].parent);
+			System.arraycopy(children, middle, result, middle + 1, children.length - middle);
+			return result;
+		});
+	}
+
+	public void testRemoveEveryOther() throws CoreException {
+		doTestRefresh(children -> {
+			TestTreeElement[] result = new TestTreeElement[(children.length + 1) / 2];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = children[i * 2];
+			}
+			return result;
+		});
+	}
+
+	/**
+	 * Refreshes the tree after changing the children of the input with the
+	 * given operation.
+	 */
+	private void doTestRefresh(UnaryOperator<TestTreeElement[]> change) throws CoreException {
+		openBrowser();
+		// keep the order of the content provider
+		viewer.setComparator(null);
+
+		exercise(() -> {
+			TestTreeElement input = new TestTreeElement(0, null);
+			input.createChildren(CHILD_COUNT);
+			viewer.setInput(input);
+			processEvents();
+
+			input.children = change.apply(input.children);
+			startMeasuring();
+			viewer.refresh();
+			processEvents();
+			stopMeasuring();
+
+			assertEquals(input.children.length, viewer.getTree().getItemCount());
+			for (int i = 0; i < input.children.length; i++) {
+				assertSame(input.children[i], viewer.getTree().getItem(i).getData());
+			}
+		}, MIN_ITERATIONS, slowGTKIterations(), JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+}
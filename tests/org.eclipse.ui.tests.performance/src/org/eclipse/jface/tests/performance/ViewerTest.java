@@ -87,6 +87,29 @@ public abstract class ViewerTest extends BasicPerformanceTest {
 		}
 	}
 
+	/**
+	 * Return the used heap after running the garbage collector.
+	 * @return long
+	 */
+	protected static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Report the heap used for each element since <code>heapBefore</code> was
+	 * taken.
+	 */
+	protected void reportHeapPerElement(long heapBefore, int elements) {
+		processEvents();
+		long used = usedHeap() - heapBefore;
+		System.out.println(getName() + ": " + elements + " elements, " + used / 1024 + " KB heap, "
+				+ used / elements + " bytes per element");
+	}
+
 	/**
 	 * Return the number of iterations for tests that are slow on Linux
 	 * @return int
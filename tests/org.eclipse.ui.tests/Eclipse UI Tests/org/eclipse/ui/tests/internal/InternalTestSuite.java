@@ -20,6 +20,7 @@ import org.eclipse.ui.tests.markers.DeclarativeFilterActivityTest;
 import org.eclipse.ui.tests.markers.DeclarativeFilterDeclarationTest;
 import org.eclipse.ui.tests.markers.MarkerHelpRegistryReaderTest;
 import org.eclipse.ui.tests.markers.MarkerHelpRegistryTest;
+import org.eclipse.ui.tests.markers.MarkerIncrementalUpdateTest;
 import org.eclipse.ui.tests.markers.MarkerQueryTest;
 import org.eclipse.ui.tests.markers.MarkerSortUtilTest;
 import org.eclipse.ui.tests.markers.MarkerSupportRegistryTests;
@@ -43,6 +44,7 @@ import org.junit.runners.Suite;
 	DeclarativeFilterActivityTest.class,
 	DeclarativeFilterDeclarationTest.class,
 	ResourceMappingMarkersTest.class,
+	MarkerIncrementalUpdateTest.class,
 	MarkerSupportRegistryTests.class,
 	MarkerSupportViewTest.class,
 	MarkerSortUtilTest.class,
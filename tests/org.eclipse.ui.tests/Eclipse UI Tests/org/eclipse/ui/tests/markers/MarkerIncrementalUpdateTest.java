@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.markers;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+import org.eclipse.ui.tests.navigator.AbstractNavigatorTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * MarkerIncrementalUpdateTest checks that the markers view follows marker
+ * changes once the markers have been collected.
+ */
+@RunWith(JUnit4.class)
+public class MarkerIncrementalUpdateTest extends AbstractNavigatorTest {
+
+	private static final long TIMEOUT = 60000;
+
+	public MarkerIncrementalUpdateTest() {
+		super(MarkerIncrementalUpdateTest.class.getSimpleName());
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		createTestFile();
+	}
+
+	@Test
+	public void testAddChangeAndRemove() throws Exception {
+		IWorkbenchPage page = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+		MarkersTestMarkersView view = (MarkersTestMarkersView) page.showView("org.eclipse.ui.tests.markerTests");
+		Display display = view.getSite().getShell().getDisplay();
+
+		IMarker error = createProblem("error", IMarker.SEVERITY_ERROR);
+		IMarker warning = createProblem("warning", IMarker.SEVERITY_WARNING);
+		IMarker info = createProblem("info", IMarker.SEVERITY_INFO);
+		assertTrue("Markers were not shown", DisplayHelper.waitForCondition(display, TIMEOUT,
+				() -> shows(view, error) && shows(view, warning) && shows(view, info)));
+
+		info.delete();
+		warning.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		IMarker added = createProblem("added", IMarker.SEVERITY_WARNING);
+		assertTrue("Marker changes were not applied", DisplayHelper.waitForCondition(display, TIMEOUT,
+				() -> !shows(view, info) && shows(view, added)));
+		assertTrue(shows(view, error));
+		assertTrue(shows(view, warning));
+
+		added.delete();
+		error.delete();
+		warning.delete();
+		assertTrue("Markers were not removed", DisplayHelper.waitForCondition(display, TIMEOUT,
+				() -> !shows(view, added) && !shows(view, error) && !shows(view, warning)));
+	}
+
+	private IMarker createProblem(String message, int severity) throws Exception {
+		IMarker marker = testFile.createMarker(IMarker.PROBLEM);
+		marker.setAttribute(IMarker.MESSAGE, message);
+		marker.setAttribute(IMarker.SEVERITY, severity);
+		return marker;
+	}
+
+	private static boolean shows(MarkersTestMarkersView view, IMarker marker) {
+		List<IMarker> markers = Arrays.asList(view.getCurrentMarkers());
+		return markers.contains(marker);
+	}
+}
@@ -19,6 +19,8 @@ import static org.junit.Assert.assertArrayEquals;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -27,6 +29,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.internal.progress.FinishedJobs;
+import org.eclipse.ui.internal.progress.FinishedJobs.KeptJobsListener;
 import org.eclipse.ui.internal.progress.JobInfo;
 import org.eclipse.ui.internal.progress.JobTreeElement;
 import org.eclipse.ui.internal.progress.ProgressInfoItem;
@@ -197,6 +200,95 @@ public class ProgressViewTests extends ProgressTestCase {
 		}
 	}
 
+	@Test
+	public void testKeptJobsAreRemovedOldestFirst() throws Exception {
+		int overflow = 10;
+		List<JobTreeElement> finished = Collections.synchronizedList(new ArrayList<>());
+		List<JobTreeElement> removed = Collections.synchronizedList(new ArrayList<>());
+		KeptJobsListener listener = new KeptJobsListener() {
+			@Override
+			public void finished(JobTreeElement jte) {
+				finished.add(jte);
+			}
+
+			@Override
+			public void removed(JobTreeElement jte) {
+				removed.add(jte);
+			}
+		};
+		FinishedJobs finishedJobs = FinishedJobs.getInstance();
+		finishedJobs.addListener(listener);
+		try {
+			for (int i = 0; i < FinishedJobs.MAX_KEPT + overflow; i++) {
+				Job job = new Job("Kept Job " + i) {
+					@Override
+					protected IStatus run(IProgressMonitor monitor) {
+						return Status.OK_STATUS;
+					}
+				};
+				job.setProperty(IProgressConstants.KEEP_PROPERTY, Boolean.TRUE);
+				job.schedule();
+				job.join();
+			}
+			processEventsUntil(() -> finished.size() == FinishedJobs.MAX_KEPT + overflow,
+					TimeUnit.SECONDS.toMillis(10));
+			assertEquals(FinishedJobs.MAX_KEPT + overflow, finished.size());
+
+			// the first jobs that finished were removed, in the order they finished
+			assertEquals(finished.subList(0, overflow), removed);
+			Date previous = null;
+			for (int i = 0; i < finished.size(); i++) {
+				JobTreeElement element = finished.get(i);
+				assertEquals("Wrong kept state of job " + i, i >= overflow, finishedJobs.isKept(element));
+				if (i >= overflow) {
+					Date date = finishedJobs.getFinishDate(element);
+					assertNotNull(date);
+					assertFalse("Finish dates not in order", previous != null && date.before(previous));
+					previous = date;
+				} else {
+					assertNull(finishedJobs.getFinishDate(element));
+				}
+			}
+		} finally {
+			finishedJobs.removeListener(listener);
+		}
+	}
+
+	@Test
+	public void testManyRunningJobsAreShownOnce() throws Exception {
+		openProgressView();
+		int jobCount = progressView.getViewer().getMaxDisplayed();
+		List<DummyJob> jobs = new ArrayList<>();
+		for (int i = 0; i < jobCount; i++) {
+			DummyJob job = new DummyJob("Running Job " + i, Status.OK_STATUS);
+			job.shouldFinish = false;
+			jobs.add(job);
+		}
+		try {
+			// each job reports progress every few milliseconds, so every update has to
+			// refresh many elements
+			for (DummyJob job : jobs) {
+				job.schedule();
+			}
+			for (DummyJob job : jobs) {
+				processEventsUntil(() -> job.inProgress, TimeUnit.SECONDS.toMillis(3));
+			}
+			processEventsUntil(() -> progressView.getViewer().getProgressInfoItems().length == jobCount,
+					TimeUnit.SECONDS.toMillis(5));
+			for (DummyJob job : jobs) {
+				assertEquals("Job not shown once: " + job.getName(), 1, countJobs(job));
+			}
+		} finally {
+			for (DummyJob job : jobs) {
+				job.shouldFinish = true;
+			}
+		}
+		joinJobs(jobs, 10, TimeUnit.SECONDS);
+		processEventsUntil(() -> progressView.getViewer().getProgressInfoItems().length == 0,
+				TimeUnit.SECONDS.toMillis(5));
+		assertEquals("Finished jobs still shown", 0, progressView.getViewer().getProgressInfoItems().length);
+	}
+
 	private int countJobs(Job job) {
 		int count = 0;
 		ProgressInfoItem[] progressInfoItems = progressView.getViewer().getProgressInfoItems();
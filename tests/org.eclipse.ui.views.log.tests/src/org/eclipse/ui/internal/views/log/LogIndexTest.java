@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.views.log;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.ui.IMemento;
+import org.eclipse.ui.XMLMemento;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that {@link LogIndex} finds the same entries whatever the chunks the
+ * file is read in, and that it follows appends to and replacements of the log.
+ */
+public class LogIndexTest {
+
+	private static final String DATE = "2026-10-17 12:00:00.000"; //$NON-NLS-1$
+
+	/** Longer than the session header, so that all headers fit a chunk */
+	private static final int SMALL_CHUNK = 128;
+
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("logindex", ".log"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Test
+	public void testEntriesAcrossChunkBoundaries() throws IOException {
+		StringBuilder log = new StringBuilder(session());
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			String message = "message " + i + " " + "x".repeat(i * 7 % 90); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			log.append(entry(i % 2 == 0 ? 4 : 2, message));
+			expected.add(message);
+		}
+		write(log.toString());
+
+		for (int chunkSize : new int[] { SMALL_CHUNK, SMALL_CHUNK + 1, 333, 1024 * 1024 }) {
+			assertEquals("Chunk size " + chunkSize, expected, read(new LogIndex(file, chunkSize))); //$NON-NLS-1$
+		}
+	}
+
+	@Test
+	public void testOverlongLines() throws IOException {
+		// the long line contains an entry header which must not be taken as one
+		String stack = "at " + "x".repeat(3 * SMALL_CHUNK) + " !ENTRY org.eclipse.ui 4 0 " + DATE //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ "x".repeat(2 * SMALL_CHUNK); //$NON-NLS-1$
+		write(session() + entry(4, "first") + "!STACK 0\n" + stack + '\n' + entry(2, "second")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		List<LogEntry> entries = new ArrayList<>();
+		new LogIndex(file, SMALL_CHUNK).read(0, entries, createMemento());
+		assertEquals(2, entries.size());
+		assertEquals("first", entries.get(0).getMessage()); //$NON-NLS-1$
+		assertEquals(stack, entries.get(0).getStack().trim());
+		assertEquals("second", entries.get(1).getMessage()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testUnterminatedLastLine() throws IOException {
+		write(session() + entry(4, "first") + "!ENTRY org.eclipse.ui 2 0 " + DATE); //$NON-NLS-1$ //$NON-NLS-2$
+		LogIndex index = new LogIndex(file, SMALL_CHUNK);
+		assertEquals(List.of("first"), read(index)); //$NON-NLS-1$
+
+		append("\n!MESSAGE second\n"); //$NON-NLS-1$
+		assertEquals(List.of("first", "second"), read(index)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testAppendedEntries() throws IOException {
+		write(session() + entry(4, "first")); //$NON-NLS-1$
+		LogIndex index = new LogIndex(file, SMALL_CHUNK);
+		assertEquals(List.of("first"), read(index)); //$NON-NLS-1$
+
+		append(entry(2, "second") + entry(1, "third")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of("first", "second", "third"), read(index)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void testTruncatedFile() throws IOException {
+		write(session() + entry(4, "first") + entry(2, "second")); //$NON-NLS-1$ //$NON-NLS-2$
+		LogIndex index = new LogIndex(file, SMALL_CHUNK);
+		assertEquals(List.of("first", "second"), read(index)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		write(session() + entry(1, "new")); //$NON-NLS-1$
+		assertEquals(List.of("new"), read(index)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReplacedFile() throws IOException {
+		write(session() + entry(4, "first")); //$NON-NLS-1$
+		LogIndex index = new LogIndex(file, SMALL_CHUNK);
+		assertEquals(List.of("first"), read(index)); //$NON-NLS-1$
+
+		// a longer file moved in place of the log
+		File replacement = File.createTempFile("logindex", ".log", file.getParentFile()); //$NON-NLS-1$ //$NON-NLS-2$
+		Files.writeString(replacement.toPath(), session() + entry(2, "replaced " + "x".repeat(200)) //$NON-NLS-1$ //$NON-NLS-2$
+				+ entry(1, "last"), StandardCharsets.UTF_8); //$NON-NLS-1$
+		Files.move(replacement.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		assertEquals(List.of("replaced " + "x".repeat(200), "last"), read(index)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void testRewrittenFile() throws IOException {
+		write(session() + entry(4, "first")); //$NON-NLS-1$
+		LogIndex index = new LogIndex(file, SMALL_CHUNK);
+		assertEquals(List.of("first"), read(index)); //$NON-NLS-1$
+
+		// the same file written again with longer content
+		write("some text\n".repeat(20) + session() + entry(2, "rewritten")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of("rewritten"), read(index)); //$NON-NLS-1$
+	}
+
+	private static String session() {
+		return LogSession.SESSION + ' ' + DATE + " -----------------------------------------------\n"; //$NON-NLS-1$
+	}
+
+	private static String entry(int severity, String message) {
+		return "!ENTRY org.eclipse.ui " + severity + " 0 " + DATE + "\n!MESSAGE " + message + '\n'; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	private void write(String text) throws IOException {
+		Files.writeString(file.toPath(), text, StandardCharsets.UTF_8);
+	}
+
+	private void append(String text) throws IOException {
+		Files.writeString(file.toPath(), text, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+	}
+
+	private static List<String> read(LogIndex index) {
+		List<LogEntry> entries = new ArrayList<>();
+		index.read(0, entries, createMemento());
+		List<String> messages = new ArrayList<>();
+		for (LogEntry entry : entries) {
+			messages.add(entry.getMessage());
+		}
+		return messages;
+	}
+
+	private static IMemento createMemento() {
+		XMLMemento memento = XMLMemento.createWriteRoot("logView"); //$NON-NLS-1$
+		memento.putString(LogView.P_LOG_OK, "true"); //$NON-NLS-1$
+		memento.putString(LogView.P_LOG_INFO, "true"); //$NON-NLS-1$
+		memento.putString(LogView.P_LOG_WARNING, "true"); //$NON-NLS-1$
+		memento.putString(LogView.P_LOG_ERROR, "true"); //$NON-NLS-1$
+		memento.putString(LogView.P_USE_LIMIT, "false"); //$NON-NLS-1$
+		memento.putInteger(LogView.P_LOG_LIMIT, 50);
+		memento.putString(LogView.P_SHOW_ALL_SESSIONS, "true"); //$NON-NLS-1$
+		return memento;
+	}
+}
@@ -45,6 +45,7 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.TextSelection;
 import org.eclipse.jface.text.TextViewer;
 
@@ -215,6 +216,20 @@ public class FindReplaceLogicTest {
 				+ "^");
 	}
 
+	@Test
+	public void testReplaceAllInReadOnlyTarget() {
+		TextViewer textViewer= setupTextViewer("aaaa");
+		textViewer.setEditable(false);
+		IFindReplaceTargetExtension5 target= (IFindReplaceTargetExtension5) textViewer.getFindReplaceTarget();
+
+		assertEquals(0, target.replaceAll("a", "b", false, false, false, null));
+		assertThat(textViewer.getDocument().get(), equalTo("aaaa"));
+
+		textViewer.setEditable(true);
+		assertEquals(4, target.replaceAll("a", "b", false, false, false, null));
+		assertThat(textViewer.getDocument().get(), equalTo("bbbb"));
+	}
+
 	@Test
 	public void testPerformSelectAndReplace() {
 		TextViewer textViewer= setupTextViewer("Hello<replace>World<replace>!");